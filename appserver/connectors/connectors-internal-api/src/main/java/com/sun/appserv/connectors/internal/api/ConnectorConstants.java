@@ -281,7 +281,7 @@ public interface ConnectorConstants extends ResourceConstants {
 
     public enum PoolType {
 
-        ASSOCIATE_WITH_THREAD_POOL, STANDARD_POOL, PARTITIONED_POOL, POOLING_DISABLED
+        ASSOCIATE_WITH_THREAD_POOL, STANDARD_POOL, PARTITIONED_POOL, POOLING_DISABLED, CONCURRENT_BAG_POOL
     }
 
     String PM_JNDI_SUFFIX = "__pm";
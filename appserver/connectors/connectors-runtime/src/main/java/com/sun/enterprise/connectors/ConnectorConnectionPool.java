@@ -68,6 +68,7 @@ public class ConnectorConnectionPool implements Serializable {
     private boolean lazyConnectionAssoc;
     private boolean lazyConnectionEnlist;
     private boolean associateWithThread;
+    private boolean lockFreeAcquisition;
     private boolean partitionedPool;
     private boolean poolingOn = true;
     private boolean pingDuringPoolCreation;
@@ -94,6 +95,10 @@ public class ConnectorConnectionPool implements Serializable {
     //JdbcConnectionPoolDeployer.
     private boolean preferValidateOverRecreate;
 
+    //This property will be set by ConnectorConnectionPoolDeployer or
+    //JdbcConnectionPoolDeployer.
+    private boolean adaptiveResize;
+
     private String validateAtmostOncePeriod;
 
     private String conCreationRetryAttempts;
@@ -431,6 +436,24 @@ public class ConnectorConnectionPool implements Serializable {
         this.associateWithThread = enabled;
     }
 
+    /**
+     * Queries the "LockFreeAcquisition" pool property
+     *
+     * @return true if the pool hands out resources without pool-wide locks
+     */
+    public boolean isLockFreeAcquisition() {
+        return lockFreeAcquisition;
+    }
+
+    /**
+     * Setter method of the "LockFreeAcquisition" pool property
+     *
+     * @param enabled enables/disables lock-free acquisition of resources
+     */
+    public void setLockFreeAcquisition(boolean enabled) {
+        this.lockFreeAcquisition = enabled;
+    }
+
     /**
      * Queries the "--nontransactionalconnections, non-transactional-connections" pool attribute
      *
@@ -644,11 +667,15 @@ public class ConnectorConnectionPool implements Serializable {
             sb.append(isConnectionValidationRequired);
             sb.append("\npreferValidateOverRecreate ");
             sb.append(preferValidateOverRecreate);
+            sb.append("\nadaptiveResize ");
+            sb.append(adaptiveResize);
 
             sb.append("\nmatchConnections ");
             sb.append(matchConnections);
             sb.append("\nassociateWithThread ");
             sb.append(associateWithThread);
+            sb.append("\nlockFreeAcquisition ");
+            sb.append(lockFreeAcquisition);
             sb.append("\nlazyConnectionAssoc ");
             sb.append(lazyConnectionAssoc);
             sb.append("\nlazyConnectionEnlist ");
@@ -764,6 +791,24 @@ public class ConnectorConnectionPool implements Serializable {
         this.preferValidateOverRecreate = preferValidateOverRecreate;
     }
 
+    /**
+     * Queries the "AdaptiveResize" pool property
+     *
+     * @return true if the pool is resized following the demand
+     */
+    public boolean isAdaptiveResize() {
+        return adaptiveResize;
+    }
+
+    /**
+     * Setter method of the "AdaptiveResize" pool property
+     *
+     * @param enabled enables/disables resizing the pool following the demand
+     */
+    public void setAdaptiveResize(boolean enabled) {
+        this.adaptiveResize = enabled;
+    }
+
     public long getDynamicReconfigWaitTimeout() {
         return dynamicReconfigWaitTimeout;
     }
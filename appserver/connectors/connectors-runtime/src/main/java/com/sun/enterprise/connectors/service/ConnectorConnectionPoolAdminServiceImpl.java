@@ -761,6 +761,8 @@ public class ConnectorConnectionPoolAdminServiceImpl extends ConnectorService {
             pt = PoolType.POOLING_DISABLED;
         } else if (connectorConnectionPool.isAssociateWithThread()) {
             pt = PoolType.ASSOCIATE_WITH_THREAD_POOL;
+        } else if (connectorConnectionPool.isLockFreeAcquisition()) {
+            pt = PoolType.CONCURRENT_BAG_POOL;
         } else if (connectorConnectionPool.isPartitionedPool()) {
             pt = PoolType.PARTITIONED_POOL;
         }
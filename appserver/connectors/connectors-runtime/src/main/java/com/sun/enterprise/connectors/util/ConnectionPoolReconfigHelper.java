@@ -79,6 +79,12 @@ public final class ConnectionPoolReconfigHelper {
         if (newCcp.isPartitionedPool() != oldCcp.isPartitionedPool()) {
             return ReconfigAction.RECREATE_POOL;
         }
+        if (newCcp.isLockFreeAcquisition() != oldCcp.isLockFreeAcquisition()) {
+            return ReconfigAction.RECREATE_POOL;
+        }
+        if (newCcp.isAdaptiveResize() != oldCcp.isAdaptiveResize()) {
+            return ReconfigAction.RECREATE_POOL;
+        }
         if (newCcp.getPoolDataStructureType() == null && oldCcp.getPoolDataStructureType() != null) {
             return ReconfigAction.RECREATE_POOL;
         }
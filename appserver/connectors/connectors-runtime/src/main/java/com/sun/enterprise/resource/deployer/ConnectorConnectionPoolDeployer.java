@@ -420,6 +420,11 @@ public class ConnectorConnectionPoolDeployer
                     if(LOG.isLoggable(Level.FINE)) {
                         LOG.fine("ASSOCIATEWITHTHREAD");
                     }
+                } else if ("LOCKFREEACQUISITION".equals(ep.getName().toUpperCase(locale))) {
+                    ccp.setLockFreeAcquisition(toBoolean(ep.getValue(), false));
+                    if(LOG.isLoggable(Level.FINE)) {
+                        LOG.fine("LOCKFREEACQUISITION");
+                    }
                 } else if ("POOLDATASTRUCTURE".equals(ep.getName().toUpperCase(locale))) {
                     ccp.setPoolDataStructureType(ep.getValue());
                     if(LOG.isLoggable(Level.FINE)) {
@@ -445,6 +450,11 @@ public class ConnectorConnectionPoolDeployer
                                 value);
                     }
                     ccp.setPreferValidateOverRecreate(toBoolean(value, false));
+                } else if ("ADAPTIVERESIZE".equals(ep.getName().toUpperCase(locale))) {
+                    ccp.setAdaptiveResize(toBoolean(ep.getValue(), false));
+                    if(LOG.isLoggable(Level.FINE)) {
+                        LOG.fine("ADAPTIVERESIZE");
+                    }
                 }
             }
         }
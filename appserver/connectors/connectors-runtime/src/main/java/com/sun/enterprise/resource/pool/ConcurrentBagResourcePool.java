@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.ResourceSpec;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.datastructure.ConcurrentBagDataStructure;
+
+import java.lang.System.Logger;
+import java.util.Hashtable;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.TRACE;
+
+/**
+ * Connection pool with a lock-free acquisition and return of resources.
+ * <p>
+ * The free resources are kept in the {@link ConcurrentBagDataStructure}. A thread first tries the resource it
+ * returned last time, then steals any free resource from other threads. Returned resources are handed over
+ * to the waiting threads directly, without any wait monitor. Only when the bag has nothing usable to offer,
+ * the request falls back to the {@link ConnectionPool} logic which resizes the pool.
+ */
+public class ConcurrentBagResourcePool extends ConnectionPool {
+
+    private static final Logger LOG = System.getLogger(ConcurrentBagResourcePool.class.getName());
+
+    private ConcurrentBagDataStructure bag;
+
+    public ConcurrentBagResourcePool(PoolInfo poolInfo, Hashtable<?, ?> env) throws PoolingException {
+        super(poolInfo, env);
+    }
+
+    @Override
+    protected void initializePoolDataStructure() throws PoolingException {
+        bag = new ConcurrentBagDataStructure(maxPoolSize, this);
+        dataStructure = bag;
+    }
+
+    /**
+     * Tries the resource offered by the bag first. If it is not usable for this request,
+     * continues with the standard search and resize logic of the {@link ConnectionPool}.
+     */
+    @Override
+    protected ResourceHandle getUnenlistedResource(ResourceSpec spec, ResourceAllocator alloc) throws PoolingException {
+        ResourceHandle handle = bag.getResource();
+        if (handle != null && isUsable(handle, alloc)) {
+            setResourceStateToBusy(handle);
+            return handle;
+        }
+        return super.getUnenlistedResource(spec, alloc);
+    }
+
+    /**
+     * Returns the resource to the bag without any pool-wide lock.
+     * The bag hands it over to a waiting thread, if there is any.
+     *
+     * @param resourceHandle the ResourceHandle to be returned
+     */
+    @Override
+    protected void freeUnenlistedResource(ResourceHandle resourceHandle) {
+        LOG.log(DEBUG, "freeUnenlistedResource handle: {0}", resourceHandle);
+        if (!cleanupResource(resourceHandle)) {
+            return;
+        }
+        if (maxConnectionUsage > 0 && resourceHandle.getResourceState().getUsageCount() >= maxConnectionUsage) {
+            performMaxConnectionUsageOperation(resourceHandle);
+            // The resource was removed, so a waiting thread can create a new one.
+            notifyWaitingThreads();
+            return;
+        }
+        // update the monitoring data before another thread can take the resource
+        if (poolLifeCycleListener != null && !resourceHandle.getDestroyByLeakTimeOut()) {
+            poolLifeCycleListener.decrementConnectionUsed(resourceHandle.getId());
+            poolLifeCycleListener.incrementNumConnFree(false, steadyPoolSize);
+        }
+        returnResourceToPool(resourceHandle);
+    }
+
+    @Override
+    protected void waitForFreeResource(long remainingTime) {
+        if (poolLifeCycleListener != null) {
+            poolLifeCycleListener.connectionRequestQueued();
+        }
+        try {
+            LOG.log(TRACE, "Waiting for a resource handover");
+            bag.awaitFreeResource(remainingTime);
+        } catch (InterruptedException e) {
+            LOG.log(TRACE, "Waiting interrupted.", e);
+            Thread.currentThread().interrupt();
+        } finally {
+            if (poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionRequestDequeued();
+            }
+        }
+    }
+
+    @Override
+    protected void notifyWaitingThreads() {
+        bag.wakeUpWaitingThread();
+    }
+
+    @Override
+    public int getWaitQueueLength() {
+        return bag.getWaitingThreadsCount();
+    }
+
+    /**
+     * Checks the resource taken from the bag. If it cannot be used for this request,
+     * it is returned to the bag or removed from the pool.
+     *
+     * @return true if the resource can be given to the caller.
+     */
+    private boolean isUsable(ResourceHandle handle, ResourceAllocator alloc) {
+        if (handle.isEnlisted()) {
+            // see issue #24805 in ConnectionPool
+            bag.returnResource(handle);
+            return false;
+        }
+        if (handle.hasConnectionErrorOccurred()) {
+            bag.removeResource(handle);
+            return false;
+        }
+        if (!matchConnection(handle, alloc) || handle.isShareable() != alloc.shareableWithinComponent()) {
+            returnResourceToPool(handle);
+            return false;
+        }
+        if (!isConnectionValid(handle, alloc)) {
+            bag.removeResource(handle);
+            return false;
+        }
+        return true;
+    }
+}
@@ -27,6 +27,7 @@ import com.sun.enterprise.resource.allocator.ResourceAllocator;
 import com.sun.enterprise.resource.listener.PoolLifeCycleListener;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
 import com.sun.enterprise.resource.pool.datastructure.DataStructureFactory;
+import com.sun.enterprise.resource.pool.resizer.AdaptiveResizer;
 import com.sun.enterprise.resource.pool.resizer.Resizer;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueueFactory;
@@ -44,6 +45,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.Timer;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
 import javax.naming.NamingException;
@@ -140,6 +142,25 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
      */
     protected boolean preferValidateOverRecreate;
 
+    /**
+     * Represents the "AdaptiveResize" property configuration value.<br>
+     * If true, the resizer follows the demand: it samples the wait queue length, the acquisition time and the
+     * utilization of the pool, creates connections in advance before the pool saturates and shrinks the pool
+     * gradually, all within steady-pool-size and max-pool-size. See {@link AdaptiveResizer}.<br>
+     * Default: false
+     */
+    protected boolean adaptiveResize;
+
+    /**
+     * Number of connection requests served, used by the {@link AdaptiveResizer}.
+     */
+    private final LongAdder connectionRequestsServed = new LongAdder();
+
+    /**
+     * Total time in millis the served connection requests spent acquiring a connection.
+     */
+    private final LongAdder connectionRequestsWaitTime = new LongAdder();
+
     /**
      * True if the pool is initialized
      */
@@ -338,10 +359,19 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
      * @param resourceAllocator
      * @throws PoolingException
      */
-    protected synchronized void ensurePoolInitialized(ResourceAllocator resourceAllocator) throws PoolingException {
+    protected void ensurePoolInitialized(ResourceAllocator resourceAllocator) throws PoolingException {
+        // Avoid entering the monitor on every request, blocked virtual threads would pin their carriers.
         if (poolInitialized) {
             return;
         }
+        synchronized (this) {
+            if (!poolInitialized) {
+                initializePool(resourceAllocator);
+            }
+        }
+    }
+
+    private void initializePool(ResourceAllocator resourceAllocator) throws PoolingException {
         LOG.log(DEBUG, "Initializing pool {0} with resource allocator: {1}", poolInfo, resourceAllocator);
         this.allocator = resourceAllocator;
 
@@ -381,11 +411,15 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
             resizerTaskTimer = ConnectorRuntime.getRuntime().getTimer();
         }
 
-        resizerTaskTimer.scheduleAtFixedRate(resizerTask, idletime, idletime);
-        LOG.log(DEBUG, "Scheduled resizer task with the idle time {0} ms", idletime);
+        final long interval = resizerTask.getInterval();
+        resizerTaskTimer.scheduleAtFixedRate(resizerTask, interval, interval);
+        LOG.log(DEBUG, "Scheduled resizer task with the interval {0} ms", interval);
     }
 
     protected Resizer initializeResizer() {
+        if (adaptiveResize) {
+            return new AdaptiveResizer(poolInfo, dataStructure, this, this, preferValidateOverRecreate);
+        }
         return new Resizer(poolInfo, dataStructure, this, this, preferValidateOverRecreate);
     }
 
@@ -459,6 +493,8 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
             final long elapsedTime = System.currentTimeMillis() - startTime;
             if (handle != null) {
                 gateway.acquiredResource();
+                connectionRequestsServed.increment();
+                connectionRequestsWaitTime.add(elapsedTime);
                 if (poolLifeCycleListener != null) {
                     poolLifeCycleListener.connectionAcquired(handle.getId());
                     poolLifeCycleListener.connectionRequestServed(elapsedTime);
@@ -471,25 +507,36 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
             if (blocked) {
                 waitForReconfiguration();
             }
-            // add to wait-queue
-            final Object waitMonitor = new Object();
-            if (poolLifeCycleListener != null) {
-                poolLifeCycleListener.connectionRequestQueued();
-            }
-            synchronized (waitMonitor) {
-                waitQueue.addToQueue(waitMonitor);
-                try {
-                    LOG.log(TRACE, "Getting on wait queue");
-                    waitMonitor.wait(remainingTime);
-                } catch (InterruptedException e) {
-                    LOG.log(TRACE, "Waiting interrupted.", e);
-                    Thread.currentThread().interrupt();
-                } finally {
-                    LOG.log(TRACE, "Removing wait monitor from queue: {0}", waitMonitor);
-                    if (waitQueue.removeFromQueue(waitMonitor) && poolLifeCycleListener != null) {
-                        poolLifeCycleListener.connectionRequestDequeued();
-                    }
-                }
+            waitForFreeResource(remainingTime);
+        }
+    }
+
+    /**
+     * Blocks the calling thread until some resource is possibly available or the remaining time expires.
+     * The caller then tries to acquire a resource again.
+     * <p>
+     * Here the thread waits on a monitor added to the {@link #waitQueue} and notified by
+     * {@link #notifyWaitingThreads()}. Subclasses can use another mechanism, but then they have to
+     * override both methods.
+     *
+     * @param remainingTime time to wait in millis, 0 means wait indefinitely
+     */
+    protected void waitForFreeResource(long remainingTime) {
+        // add to wait-queue
+        final Object waitMonitor = waitQueue.createWaitMonitor();
+        if (poolLifeCycleListener != null) {
+            poolLifeCycleListener.connectionRequestQueued();
+        }
+        try {
+            LOG.log(TRACE, "Getting on wait queue");
+            waitQueue.addToQueueAndWait(waitMonitor, remainingTime);
+        } catch (InterruptedException e) {
+            LOG.log(TRACE, "Waiting interrupted.", e);
+            Thread.currentThread().interrupt();
+        } finally {
+            LOG.log(TRACE, "Removing wait monitor from queue: {0}", waitMonitor);
+            if (waitQueue.removeFromQueue(waitMonitor) && poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionRequestDequeued();
             }
         }
     }
@@ -544,27 +591,26 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
     private void waitForReconfiguration() throws RetryableUnavailableException {
         // Add to reconfig-wait-queue
-        final Object reconfigWaitMonitor = new Object();
-        synchronized (reconfigWaitMonitor) {
-            reconfigWaitQueue.addToQueue(reconfigWaitMonitor);
-            try {
-                if (reconfigWaitTime > 0) {
-                    LOG.log(TRACE, "Getting into reconfig wait queue for {0} ms", reconfigWaitTime);
-                    reconfigWaitMonitor.wait(reconfigWaitTime);
-                }
-            } catch (InterruptedException e) {
-                // http thread can time out, system shutdown, etc.
-                LOG.log(TRACE, "Waiting interrupted.", e);
-                Thread.currentThread().interrupt();
-                return;
-            } finally {
-                // Wait could time out or could be notified
-                LOG.log(TRACE, "Removing wait monitor from reconfig-wait-queue: {0}", reconfigWaitMonitor);
-                reconfigWaitQueue.removeFromQueue(reconfigWaitMonitor);
+        final Object reconfigWaitMonitor = reconfigWaitQueue.createWaitMonitor();
+        try {
+            if (reconfigWaitTime > 0) {
+                LOG.log(TRACE, "Getting into reconfig wait queue for {0} ms", reconfigWaitTime);
+                reconfigWaitQueue.addToQueueAndWait(reconfigWaitMonitor, reconfigWaitTime);
+            } else {
+                reconfigWaitQueue.addToQueue(reconfigWaitMonitor);
             }
-            throw new RetryableUnavailableException(
-                "Pool Reconfigured, Connection Factory can retry the lookup", POOL_RECONFIGURED_ERROR_CODE);
+        } catch (InterruptedException e) {
+            // http thread can time out, system shutdown, etc.
+            LOG.log(TRACE, "Waiting interrupted.", e);
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            // Wait could time out or could be notified
+            LOG.log(TRACE, "Removing wait monitor from reconfig-wait-queue: {0}", reconfigWaitMonitor);
+            reconfigWaitQueue.removeFromQueue(reconfigWaitMonitor);
         }
+        throw new RetryableUnavailableException(
+            "Pool Reconfigured, Connection Factory can retry the lookup", POOL_RECONFIGURED_ERROR_CODE);
     }
 
     private long checkRemainingTime(final long elapsedTime) throws PoolingException {
@@ -1406,22 +1452,15 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
     protected void notifyWaitingThreads() {
         // notify the first thread in the waitQueue
-        Object waitMonitor = null;
-        synchronized (waitQueue) {
-            if (waitQueue.getQueueLength() > 0) {
-                waitMonitor = waitQueue.remove();
-                if (poolLifeCycleListener != null) {
-                    poolLifeCycleListener.connectionRequestDequeued();
-                }
-            }
-        }
+        final Object waitMonitor = waitQueue.poll();
         if (waitMonitor == null) {
             LOG.log(DEBUG, "Wait monitor is null");
         } else {
-            synchronized (waitMonitor) {
-                LOG.log(DEBUG, "Notifying wait monitor: {0}", waitMonitor);
-                waitMonitor.notifyAll();
+            if (poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionRequestDequeued();
             }
+            LOG.log(DEBUG, "Notifying wait monitor: {0}", waitMonitor);
+            waitQueue.notifyWaitMonitor(waitMonitor);
         }
     }
 
@@ -1589,6 +1628,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     private void setAdvancedPoolConfiguration(ConnectorConnectionPool poolResource) {
         matchConnections = poolResource.matchConnections();
         preferValidateOverRecreate = poolResource.isPreferValidateOverRecreate();
+        adaptiveResize = poolResource.isAdaptiveResize();
         maxConnectionUsage = Integer.parseInt(poolResource.getMaxConnectionUsage());
         connectionCreationRetryAttempts_ = Integer.parseInt(poolResource.getConCreationRetryAttempts());
         // Converting seconds to milliseconds as TimerTask will take input in milliseconds
@@ -1685,6 +1725,16 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         return steadyPoolSize;
     }
 
+    @Override
+    public long getConnectionRequestsServed() {
+        return connectionRequestsServed.sum();
+    }
+
+    @Override
+    public long getConnectionRequestsWaitTime() {
+        return connectionRequestsWaitTime.sum();
+    }
+
     @Override
     public void setMaxPoolSize(int size) {
         if (size < dataStructure.getResourcesSize()) {
@@ -58,4 +58,18 @@ public interface PoolProperties {
      * @return wait queue length
      */
     int getWaitQueueLength();
+
+    /**
+     * gets the number of connection requests served since the pool was created
+     *
+     * @return number of served connection requests
+     */
+    long getConnectionRequestsServed();
+
+    /**
+     * gets the total time the served connection requests spent acquiring a connection
+     *
+     * @return total acquisition time in millis
+     */
+    long getConnectionRequestsWaitTime();
 }
@@ -57,6 +57,8 @@ public class ResourcePoolFactoryImpl {
         final ResourcePool pool;
         if (poolType == PoolType.ASSOCIATE_WITH_THREAD_POOL) {
             pool = new AssocWithThreadResourcePool(poolInfo, env);
+        } else if (poolType == PoolType.CONCURRENT_BAG_POOL) {
+            pool = new ConcurrentBagResourcePool(poolInfo, env);
         } else {
             pool = new ConnectionPool(poolInfo, env);
         }
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free datastructure for the pool.
+ * <p>
+ * Every resource is wrapped in an entry holding its state, which is switched between free and in-use
+ * with a compare-and-set. A resource is looked up in this order:
+ * <ol>
+ * <li>the entry the current thread returned last time (thread local slot),
+ * <li>any free entry of the shared list (stealing from other threads).
+ * </ol>
+ * When a resource is returned while other threads wait in {@link #awaitFreeResource(long)}, the entry
+ * is handed over to one of them directly through a synchronous queue, without any monitor.
+ * <p>
+ * The shared list is a copy-on-write list, so only the rare creation and destruction of resources
+ * pays for a copy, while the acquisition and return of resources never block.
+ */
+public class ConcurrentBagDataStructure implements DataStructure {
+
+    private static final Logger LOG = LogDomains.getLogger(ConcurrentBagDataStructure.class, LogDomains.RSR_LOGGER);
+
+    private static final int STATE_FREE = 0;
+    private static final int STATE_IN_USE = 1;
+    private static final int STATE_REMOVED = -1;
+
+    /** Wakes up a waiting thread without handing over any resource. */
+    private static final Object WAKE_UP = new Object();
+
+    private final ResourceHandler handler;
+    private final CopyOnWriteArrayList<BagEntry> sharedEntries = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<ResourceHandle, BagEntry> entries = new ConcurrentHashMap<>();
+    private final ThreadLocal<WeakReference<BagEntry>> lastUsedEntry = new ThreadLocal<>();
+    private final SynchronousQueue<Object> handoffQueue = new SynchronousQueue<>(true);
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile int maxSize;
+
+    public ConcurrentBagDataStructure(int maxSize, ResourceHandler handler) {
+        this.handler = handler;
+        this.maxSize = maxSize;
+        LOG.log(Level.FINEST, "Initializing concurrent bag datastructure with max size {0}", maxSize);
+    }
+
+    @Override
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count; i++) {
+            if (!reserveSlot()) {
+                break;
+            }
+
+            ResourceHandle resource;
+            try {
+                resource = handler.createResource(allocator);
+            } catch (Exception e) {
+                size.decrementAndGet();
+                throw new PoolingException(e.getMessage(), e);
+            }
+
+            BagEntry entry = new BagEntry(resource);
+            entries.put(resource, entry);
+            sharedEntries.add(entry);
+            numResAdded++;
+            handOver(entry);
+        }
+        return numResAdded;
+    }
+
+    @Override
+    public ResourceHandle getResource() {
+        WeakReference<BagEntry> lastUsed = lastUsedEntry.get();
+        if (lastUsed != null) {
+            BagEntry entry = lastUsed.get();
+            if (entry != null && entry.state.compareAndSet(STATE_FREE, STATE_IN_USE)) {
+                return entry.resource;
+            }
+        }
+
+        for (BagEntry entry : sharedEntries) {
+            if (entry.state.compareAndSet(STATE_FREE, STATE_IN_USE)) {
+                return entry.resource;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        BagEntry entry = entries.remove(resource);
+        if (entry == null) {
+            return;
+        }
+        entry.state.set(STATE_REMOVED);
+        sharedEntries.remove(entry);
+        size.decrementAndGet();
+        handler.deleteResource(resource);
+    }
+
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        BagEntry entry = entries.get(resource);
+        if (entry == null || !entry.state.compareAndSet(STATE_IN_USE, STATE_FREE)) {
+            return;
+        }
+        lastUsedEntry.set(new WeakReference<>(entry));
+        handOver(entry);
+    }
+
+    @Override
+    public int getFreeListSize() {
+        int freeListSize = 0;
+        for (BagEntry entry : sharedEntries) {
+            if (entry.state.get() == STATE_FREE) {
+                freeListSize++;
+            }
+        }
+        return freeListSize;
+    }
+
+    @Override
+    public void removeAll() {
+        for (BagEntry entry : sharedEntries) {
+            removeResource(entry.resource);
+        }
+    }
+
+    @Override
+    public int getResourcesSize() {
+        return sharedEntries.size();
+    }
+
+    @Override
+    public List<ResourceHandle> getAllResources() {
+        List<ResourceHandle> allResources = new ArrayList<>(sharedEntries.size());
+        for (BagEntry entry : sharedEntries) {
+            allResources.add(entry.resource);
+        }
+        return allResources;
+    }
+
+    /**
+     * Blocks the calling thread until a resource is handed over by another thread, until the thread is
+     * woken up by {@link #wakeUpWaitingThread()} or until the timeout expires.
+     * <p>
+     * A handed over resource is stored in the thread local slot of the calling thread, so the next
+     * {@link #getResource()} call of this thread finds it first. Other threads may still steal it.
+     * <p>
+     * The calling thread is counted as waiting before it checks the bag once more, so a resource
+     * returned after the last {@link #getResource()} call of this thread is either found by that check
+     * or handed over to this thread.
+     *
+     * @param timeoutInMillis maximum time to wait, 0 means wait indefinitely
+     * @return true if a free resource was found or the thread was woken up before the timeout expired
+     * @throws InterruptedException if the waiting thread was interrupted
+     */
+    public boolean awaitFreeResource(long timeoutInMillis) throws InterruptedException {
+        waitingThreads.incrementAndGet();
+        try {
+            for (BagEntry entry : sharedEntries) {
+                if (entry.state.get() == STATE_FREE) {
+                    lastUsedEntry.set(new WeakReference<>(entry));
+                    return true;
+                }
+            }
+            final Object handedOver;
+            if (timeoutInMillis > 0) {
+                handedOver = handoffQueue.poll(timeoutInMillis, TimeUnit.MILLISECONDS);
+            } else {
+                handedOver = handoffQueue.take();
+            }
+            if (handedOver == null) {
+                return false;
+            }
+            if (handedOver != WAKE_UP) {
+                lastUsedEntry.set(new WeakReference<>((BagEntry) handedOver));
+            }
+            return true;
+        } finally {
+            waitingThreads.decrementAndGet();
+        }
+    }
+
+    /**
+     * Wakes up one thread waiting in {@link #awaitFreeResource(long)}, if there is any.
+     * Used when the pool can create a new resource, ie. after a resource was destroyed.
+     */
+    public void wakeUpWaitingThread() {
+        handOver(WAKE_UP);
+    }
+
+    /**
+     * @return number of threads waiting in {@link #awaitFreeResource(long)}
+     */
+    public int getWaitingThreadsCount() {
+        return waitingThreads.get();
+    }
+
+    /**
+     * Offers the free entry or the {@link #WAKE_UP} signal to waiting threads. The offer succeeds
+     * only if some thread is waiting in the queue at this moment, so this never blocks. It is
+     * repeated while a thread counted as waiting did not reach the queue yet, unless the entry
+     * was taken by another thread in the meantime.
+     */
+    private void handOver(Object handedOver) {
+        for (int i = 0; waitingThreads.get() > 0; i++) {
+            if (handedOver instanceof BagEntry && ((BagEntry) handedOver).state.get() != STATE_FREE) {
+                return;
+            }
+            if (handoffQueue.offer(handedOver)) {
+                return;
+            }
+            // The waiting thread did not reach the queue yet
+            if ((i & 0xff) == 0xff) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int currentSize = size.get();
+            if (currentSize >= maxSize) {
+                return false;
+            }
+            if (size.compareAndSet(currentSize, currentSize + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static final class BagEntry {
+
+        private final ResourceHandle resource;
+        private final AtomicInteger state = new AtomicInteger(STATE_FREE);
+
+        BagEntry(ResourceHandle resource) {
+            this.resource = resource;
+        }
+    }
+}
@@ -45,6 +45,8 @@ public class DataStructureFactory {
                 dataStructure = new ListDataStructure(parameters, maxPoolSize, handler);
             } else if (className.equals(RWLockDataStructure.class.getName())) {
                 dataStructure = new RWLockDataStructure(parameters, maxPoolSize, handler);
+            } else if (className.equals(StripedDataStructure.class.getName())) {
+                dataStructure = new StripedDataStructure(parameters, maxPoolSize, handler);
             } else {
                 dataStructure = initializeCustomDataStructureInPrivilegedMode(className, parameters, maxPoolSize, handler);
             }
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.strategy.ResourceSelectionStrategy;
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Striped datastructure for large pools.
+ * <p>
+ * Free resources are split into shards, each guarded by its own lock. A thread always returns resources
+ * to its home shard, selected by the thread id, and takes them from the same shard first. When the home
+ * shard is empty, the thread steals a resource from other shards, first from those whose lock is not held
+ * at the moment. So threads contend only when they share the home shard or when the pool runs dry.
+ * <p>
+ * The number of shards can be set by the datastructure parameters, ie. {@code "16"}. By default it is
+ * the number of available processors, rounded up to the power of two.
+ * <p>
+ * If the {@link ResourceSelectionStrategy} is set, it is used to select the resource instead.
+ */
+public class StripedDataStructure implements DataStructure {
+
+    private static final Logger LOG = LogDomains.getLogger(StripedDataStructure.class, LogDomains.RSR_LOGGER);
+
+    private static final int MAX_SHARDS = 1 << 10;
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final Set<ResourceHandle> resources = ConcurrentHashMap.newKeySet();
+    private final DataStructureSemaphore availableResources;
+
+    private final ResourceHandler handler;
+    private volatile ResourceSelectionStrategy strategy;
+
+    private int maxSize;
+
+    public StripedDataStructure(String parameters, int maxSize, ResourceHandler handler) {
+        final int shardCount = getShardCount(parameters);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = shardCount - 1;
+        this.availableResources = new DataStructureSemaphore(maxSize);
+        this.handler = handler;
+        this.maxSize = maxSize;
+
+        LOG.log(Level.FINEST, "Initializing striped datastructure with {0} shards and max size {1}",
+            new Object[] {shardCount, maxSize});
+    }
+
+    /**
+     * @param strategy strategy used to select resources instead of the shards, can be null.
+     */
+    public void setResourceSelectionStrategy(ResourceSelectionStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    @Override
+    public synchronized void setMaxSize(int newMaxSize) {
+        int permits = newMaxSize - maxSize;
+
+        switch (Integer.signum(permits)) {
+            case 1:
+                availableResources.release(permits);
+                break;
+            case -1:
+                availableResources.reducePermits(Math.abs(permits));
+                break;
+            default:
+                return;
+        }
+
+        this.maxSize = newMaxSize;
+    }
+
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count; i++) {
+            if (!availableResources.tryAcquire()) {
+                break;
+            }
+
+            ResourceHandle resource;
+            try {
+                resource = handler.createResource(allocator);
+            } catch (Exception e) {
+                availableResources.release();
+                throw new PoolingException(e.getMessage(), e);
+            }
+
+            resources.add(resource);
+            getHomeShard().offer(resource);
+            numResAdded++;
+        }
+        return numResAdded;
+    }
+
+    @Override
+    public ResourceHandle getResource() {
+        ResourceSelectionStrategy selectionStrategy = strategy;
+        if (selectionStrategy != null) {
+            return selectionStrategy.retrieveResource();
+        }
+
+        final int home = getHomeShardIndex();
+        ResourceHandle resource = shards[home].poll();
+        if (resource != null) {
+            return resource;
+        }
+
+        // Steal from shards which are not busy at the moment
+        for (int i = 1; i <= shardMask; i++) {
+            resource = shards[(home + i) & shardMask].trySteal();
+            if (resource != null) {
+                return resource;
+            }
+        }
+
+        // Some shards were busy, so they might still have a free resource
+        for (int i = 1; i <= shardMask; i++) {
+            resource = shards[(home + i) & shardMask].steal();
+            if (resource != null) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        if (!resources.remove(resource)) {
+            return;
+        }
+        // Resource is removed rarely, usually when it is in use, so the free list is often searched in vain
+        for (Shard shard : shards) {
+            if (shard.remove(resource)) {
+                break;
+            }
+        }
+        availableResources.release();
+        handler.deleteResource(resource);
+    }
+
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        if (resources.contains(resource)) {
+            getHomeShard().offer(resource);
+        }
+    }
+
+    @Override
+    public int getFreeListSize() {
+        int freeListSize = 0;
+        for (Shard shard : shards) {
+            freeListSize += shard.size;
+        }
+        return freeListSize;
+    }
+
+    @Override
+    public void removeAll() {
+        for (ResourceHandle resource : resources) {
+            removeResource(resource);
+        }
+    }
+
+    @Override
+    public int getResourcesSize() {
+        return resources.size();
+    }
+
+    @Override
+    public List<ResourceHandle> getAllResources() {
+        return new ArrayList<>(resources);
+    }
+
+    private Shard getHomeShard() {
+        return shards[getHomeShardIndex()];
+    }
+
+    private int getHomeShardIndex() {
+        long threadId = Thread.currentThread().threadId();
+        // Thread ids are sequential, spread them so neighbouring threads do not land in the same shard
+        int hash = (int) (threadId ^ (threadId >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & shardMask;
+    }
+
+    private static int getShardCount(String parameters) {
+        int shardCount = Runtime.getRuntime().availableProcessors();
+        if (parameters != null && !parameters.isBlank()) {
+            try {
+                shardCount = Integer.parseInt(parameters.trim());
+            } catch (NumberFormatException e) {
+                LOG.log(Level.WARNING, "Invalid number of shards [{0}], using {1}", new Object[] {parameters, shardCount});
+            }
+        }
+        shardCount = Math.max(1, Math.min(shardCount, MAX_SHARDS));
+        // Round up to the power of two, so the shard index can be masked
+        return shardCount == 1 ? 1 : Integer.highestOneBit(shardCount - 1) << 1;
+    }
+
+    /**
+     * Free resources of one shard. The last returned resource is taken first by the owner,
+     * while stealing threads take the oldest one.
+     */
+    private static final class Shard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<ResourceHandle> free = new ArrayDeque<>();
+        private volatile int size;
+
+        void offer(ResourceHandle resource) {
+            lock.lock();
+            try {
+                free.addLast(resource);
+                size = free.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        ResourceHandle poll() {
+            if (size == 0) {
+                return null;
+            }
+            lock.lock();
+            try {
+                ResourceHandle resource = free.pollLast();
+                size = free.size();
+                return resource;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        ResourceHandle trySteal() {
+            if (size == 0 || !lock.tryLock()) {
+                return null;
+            }
+            try {
+                return stealUnderLock();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        ResourceHandle steal() {
+            if (size == 0) {
+                return null;
+            }
+            lock.lock();
+            try {
+                return stealUnderLock();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean remove(ResourceHandle resource) {
+            if (size == 0) {
+                return false;
+            }
+            lock.lock();
+            try {
+                boolean removed = free.remove(resource);
+                size = free.size();
+                return removed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private ResourceHandle stealUnderLock() {
+            ResourceHandle resource = free.pollFirst();
+            size = free.size();
+            return resource;
+        }
+    }
+
+    /**
+     * Semaphore whose available permits change according to the
+     * changes in max-pool-size via a reconfiguration.
+     */
+    private static final class DataStructureSemaphore extends Semaphore {
+
+        DataStructureSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.resource.pool.resizer;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.pool.PoolProperties;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+
+import java.lang.System.Logger;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * Resizer following the demand on the pool.
+ * <p>
+ * Every {@link #SAMPLING_INTERVAL} ms it samples the wait queue length, the average time to acquire
+ * a connection and the number of connections in use, and keeps an exponentially weighted moving
+ * average (EWMA) of each of them. From these it computes the size the pool should have:
+ * <ul>
+ * <li>if the connections in use would exceed {@link #HIGH_UTILIZATION} of the pool, or threads
+ * are waiting, or acquiring a connection gets slow, up to "pool-resize-quantity" connections are
+ * created in advance, so the requests don't pay for the connection creation;
+ * <li>if the connections in use stay under {@link #LOW_UTILIZATION} of the pool, one free
+ * connection is removed per sample, so the pool shrinks gradually.
+ * </ul>
+ * The pool is always kept between steady-pool-size and max-pool-size. Idle and invalid connections
+ * are still removed every idle timeout as by the {@link Resizer}.
+ */
+public class AdaptiveResizer extends Resizer {
+
+    private static final Logger LOG = System.getLogger(AdaptiveResizer.class.getName());
+
+    /** Period of the sampling in millis */
+    static final long SAMPLING_INTERVAL = 1000L;
+    /** Weight of the newest sample in the moving averages */
+    static final double ALPHA = 0.3d;
+    /** The pool grows when more of it is in use */
+    static final double HIGH_UTILIZATION = 0.75d;
+    /** The pool shrinks when less of it is in use */
+    static final double LOW_UTILIZATION = 0.5d;
+    /** Average acquisition time in millis considered slow */
+    static final double SLOW_ACQUISITION = 5d;
+
+    private double waitQueueLength;
+    private double acquisitionTime;
+    private double usedResources;
+
+    private long lastRequestsServed;
+    private long lastRequestsWaitTime;
+    private long lastIdleResize = System.currentTimeMillis();
+
+    public AdaptiveResizer(PoolInfo poolInfo, DataStructure ds, PoolProperties pp, ResourceHandler handler,
+        boolean preferValidateOverRecreate) {
+        super(poolInfo, ds, pp, handler, preferValidateOverRecreate);
+        this.lastRequestsServed = pp.getConnectionRequestsServed();
+        this.lastRequestsWaitTime = pp.getConnectionRequestsWaitTime();
+    }
+
+    @Override
+    public long getInterval() {
+        return Math.min(SAMPLING_INTERVAL, pool.getIdleTimeout());
+    }
+
+    @Override
+    public void run() {
+        try {
+            final long now = System.currentTimeMillis();
+            if (now - lastIdleResize >= pool.getIdleTimeout()) {
+                lastIdleResize = now;
+                LOG.log(DEBUG, () -> "Removing idle resources of the pool " + poolInfo);
+                // not forced, the scale down is done gradually by adjustPool
+                resizePool(false);
+            }
+            adjustPool();
+        } catch (Exception e) {
+            LOG.log(WARNING, "Resizing the pool failed for pool: " + poolInfo, e);
+        }
+    }
+
+    /**
+     * Takes a sample of the pool telemetry and grows or shrinks the pool toward the demand.
+     */
+    void adjustPool() {
+        sample();
+        final int size = dataStructure.getResourcesSize();
+        final int steady = pool.getSteadyPoolSize();
+        final int max = pool.getMaxPoolSize();
+        final int step = Math.max(1, pool.getResizeQuantity());
+
+        int target = Math.max(steady, (int) Math.ceil(usedResources / HIGH_UTILIZATION + waitQueueLength));
+        if (acquisitionTime > SLOW_ACQUISITION) {
+            target = Math.max(target, size + step);
+        }
+        target = Math.min(max, target);
+        if (size < target) {
+            growPool(Math.min(step, target - size));
+            return;
+        }
+
+        final int shrinkTarget = (int) Math.ceil(usedResources / LOW_UTILIZATION + waitQueueLength);
+        if (size > Math.max(steady, shrinkTarget) && pool.getWaitQueueLength() == 0
+            && acquisitionTime <= SLOW_ACQUISITION && pool.getResizeQuantity() > 0) {
+            LOG.log(DEBUG, "Shrinking the pool {0} of size {1}, target {2}", poolInfo, size, shrinkTarget);
+            scaleDownPool(1, true);
+        }
+    }
+
+    private void sample() {
+        final long served = pool.getConnectionRequestsServed();
+        final long waitTime = pool.getConnectionRequestsWaitTime();
+        final long servedInSample = served - lastRequestsServed;
+        final double averageTime = servedInSample > 0 ? (double) (waitTime - lastRequestsWaitTime) / servedInSample : 0d;
+        lastRequestsServed = served;
+        lastRequestsWaitTime = waitTime;
+
+        waitQueueLength = average(waitQueueLength, pool.getWaitQueueLength());
+        acquisitionTime = average(acquisitionTime, averageTime);
+        usedResources = average(usedResources, dataStructure.getResourcesSize() - dataStructure.getFreeListSize());
+    }
+
+    private static double average(double average, double sample) {
+        return average + ALPHA * (sample - average);
+    }
+
+    private void growPool(int count) {
+        LOG.log(DEBUG, "Creating {0} resources in advance for the pool {1}", count, poolInfo);
+        for (int i = 0; i < count && dataStructure.getResourcesSize() < pool.getMaxPoolSize(); i++) {
+            try {
+                handler.createResourceAndAddToPool();
+            } catch (PoolingException e) {
+                LOG.log(WARNING, "Creating a resource in advance failed for pool: " + poolInfo, e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return moving average of the wait queue length
+     */
+    public double getWaitQueueLength() {
+        return waitQueueLength;
+    }
+
+    /**
+     * @return moving average of the time to acquire a connection in millis
+     */
+    public double getAcquisitionTime() {
+        return acquisitionTime;
+    }
+
+    /**
+     * @return moving average of the utilization of the pool, between 0 and 1
+     */
+    public double getUtilization() {
+        final int size = dataStructure.getResourcesSize();
+        return size == 0 ? 0d : Math.min(1d, usedResources / size);
+    }
+}
@@ -68,6 +68,13 @@ public class Resizer extends TimerTask {
         this.preferValidateOverRecreate = preferValidateOverRecreate;
     }
 
+    /**
+     * @return the period of this task in millis, by default the idle timeout of the pool
+     */
+    public long getInterval() {
+        return pool.getIdleTimeout();
+    }
+
     @Override
     public void run() {
         LOG.log(DEBUG, () -> "Resizing the pool " + poolInfo);
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pool wait queue which does not use any monitor.
+ * <p>
+ * The queue is guarded by a {@link ReentrantLock} and waiting threads are parked with {@link LockSupport}.
+ * Unlike {@link Object#wait(long)} and blocking on a {@code synchronized} block, neither of them pins
+ * the carrier thread of a virtual thread, so an exhausted pool does not stall the scheduler.
+ * <p>
+ * Can be selected by setting the "PoolWaitQueue" pool property to {@value PoolWaitQueue#PARKING_WAIT_QUEUE}.
+ */
+public class ParkingPoolWaitQueue implements PoolWaitQueue {
+
+    private static final Logger LOG = LogDomains.getLogger(ParkingPoolWaitQueue.class, LogDomains.RSR_LOGGER);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Object> queue = new ArrayDeque<>();
+
+    public ParkingPoolWaitQueue() {
+        LOG.log(Level.FINE, "Initializing Parking Pool Wait Queue");
+    }
+
+    @Override
+    public int getQueueLength() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void addToQueue(Object waitMonitor) {
+        lock.lock();
+        try {
+            queue.addLast(waitMonitor);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeFromQueue(Object waitMonitor) {
+        lock.lock();
+        try {
+            return queue.remove(waitMonitor);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object remove() {
+        lock.lock();
+        try {
+            return queue.removeFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object poll() {
+        lock.lock();
+        try {
+            return queue.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object peek() {
+        lock.lock();
+        try {
+            return queue.peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Collection getQueueContents() {
+        lock.lock();
+        try {
+            return new ArrayList<>(queue);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object createWaitMonitor() {
+        return new Waiter(Thread.currentThread());
+    }
+
+    @Override
+    public void addToQueueAndWait(Object waitMonitor, long timeoutInMillis) throws InterruptedException {
+        if (!(waitMonitor instanceof Waiter)) {
+            // Monitor created by someone else, ie. by a custom pool
+            PoolWaitQueue.super.addToQueueAndWait(waitMonitor, timeoutInMillis);
+            return;
+        }
+        addToQueue(waitMonitor);
+        ((Waiter) waitMonitor).await(timeoutInMillis);
+    }
+
+    @Override
+    public void notifyWaitMonitor(Object waitMonitor) {
+        if (waitMonitor instanceof Waiter) {
+            ((Waiter) waitMonitor).signal();
+        } else {
+            PoolWaitQueue.super.notifyWaitMonitor(waitMonitor);
+        }
+    }
+
+    /**
+     * Resource request of a single thread. The signal is remembered, so it is not lost
+     * even when it comes before the thread parks.
+     */
+    private static final class Waiter {
+
+        private final Thread thread;
+        private volatile boolean signalled;
+
+        Waiter(Thread thread) {
+            this.thread = thread;
+        }
+
+        void await(long timeoutInMillis) throws InterruptedException {
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+            while (!signalled) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if (timeoutInMillis <= 0) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+
+        void signal() {
+            signalled = true;
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public String toString() {
+            return "Waiter[" + thread + ", signalled=" + signalled + "]";
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.Collection;
 public interface PoolWaitQueue {
     String DEFAULT_WAIT_QUEUE = "DEFAULT_WAIT_QUEUE";
     String THREAD_PRIORITY_BASED_WAIT_QUEUE = "THREAD_PRIORITY_BASED_WAIT_QUEUE";
+    String PARKING_WAIT_QUEUE = "PARKING_WAIT_QUEUE";
 
     /**
      * returns the length of wait queue
@@ -73,6 +74,54 @@ public interface PoolWaitQueue {
      */
     Object peek();
 
+    /**
+     * removes the first object (resource request) from the queue if there is any
+     *
+     * @return Object first object or null if the queue is empty
+     */
+    default Object poll() {
+        synchronized (this) {
+            return getQueueLength() > 0 ? remove() : null;
+        }
+    }
+
+    /**
+     * creates the object representing a resource request of the calling thread<br>
+     * The object is then used as the argument of {@link #addToQueueAndWait(Object, long)}
+     *
+     * @return Object wait monitor
+     */
+    default Object createWaitMonitor() {
+        return new Object();
+    }
+
+    /**
+     * adds the wait monitor to the queue and blocks the calling thread until the monitor
+     * is notified via {@link #notifyWaitMonitor(Object)} or the timeout expires<br>
+     * The caller is responsible for removing the monitor from the queue afterwards.
+     *
+     * @param waitMonitor Object created by {@link #createWaitMonitor()}
+     * @param timeoutInMillis maximum time to wait, 0 means wait indefinitely
+     * @throws InterruptedException if the waiting thread was interrupted
+     */
+    default void addToQueueAndWait(Object waitMonitor, long timeoutInMillis) throws InterruptedException {
+        synchronized (waitMonitor) {
+            addToQueue(waitMonitor);
+            waitMonitor.wait(timeoutInMillis);
+        }
+    }
+
+    /**
+     * wakes up the thread waiting on the wait monitor
+     *
+     * @param waitMonitor Object created by {@link #createWaitMonitor()}
+     */
+    default void notifyWaitMonitor(Object waitMonitor) {
+        synchronized (waitMonitor) {
+            waitMonitor.notifyAll();
+        }
+    }
+
     /**
      * used to get access to the list of waiting clients<br>
      * Useful in case of rolling over from one pool to another eg: transparent-dynamic-pool-reconfiguration.
@@ -38,7 +38,9 @@ public class PoolWaitQueueFactory {
     public static PoolWaitQueue createPoolWaitQueue(String className) throws PoolingException {
         PoolWaitQueue waitQueue;
 
-        if (className != null) {
+        if (PoolWaitQueue.PARKING_WAIT_QUEUE.equals(className) || ParkingPoolWaitQueue.class.getName().equals(className)) {
+            waitQueue = new ParkingPoolWaitQueue();
+        } else if (className != null) {
             waitQueue = initializeCustomWaitQueueInPrivilegedMode(className);
         } else {
             waitQueue = new DefaultPoolWaitQueue();
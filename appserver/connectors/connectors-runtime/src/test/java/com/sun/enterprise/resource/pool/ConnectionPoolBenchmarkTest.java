@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool;
+
+import com.sun.appserv.connectors.internal.api.ConnectorConstants.PoolType;
+import com.sun.appserv.connectors.internal.api.ConnectorRuntimeException;
+import com.sun.enterprise.connectors.ConnectorRuntime;
+import com.sun.enterprise.deployment.ConnectorDescriptor;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.ResourceSpec;
+import com.sun.enterprise.resource.allocator.LocalTxConnectorAllocator;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.mock.ManagedConnectionFactoryMock;
+import com.sun.enterprise.resource.pool.mock.ManagedConnectionMock;
+import com.sun.enterprise.resource.pool.mock.MyJavaEETransactionManager;
+import com.sun.enterprise.transaction.api.JavaEETransactionManager;
+
+import jakarta.inject.Provider;
+import jakarta.resource.spi.ConnectionRequestInfo;
+import jakarta.resource.spi.ManagedConnection;
+
+import java.lang.System.Logger;
+import java.util.Collection;
+import java.util.Hashtable;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.Subject;
+
+import org.glassfish.api.admin.ProcessEnvironment;
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.internal.api.DelegatingClassLoader;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Measures the throughput and allocation of the resource acquisition and release
+ * of the {@link ConnectionPool} with an in-memory {@link ManagedConnection}.
+ * Runs only with the benchmark profile.
+ */
+@EnabledIfSystemProperty(named = "test.benchmarks", matches = "true")
+public class ConnectionPoolBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(ConnectionPoolBenchmarkTest.class.getName());
+
+    private static final int POOL_SIZE = 32;
+
+    @Test
+    public void getResourceAndResourceClosed() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .forks(1).threads(Runtime.getRuntime().availableProcessors() * 2).shouldFailOnError(true)
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).measurementTime(TimeValue.milliseconds(500L))
+            .timeout(TimeValue.seconds(10L))
+            .mode(Mode.Throughput).timeUnit(TimeUnit.MILLISECONDS)
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(1));
+        RunResult result = results.iterator().next();
+        Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+        LOG.log(INFO, "Score: {0} {1}, allocated: {2} {3}", result.getPrimaryResult().getScore(),
+            result.getPrimaryResult().getScoreUnit(), allocation == null ? null : allocation.getScore(),
+            allocation == null ? null : allocation.getScoreUnit());
+        assertThat(result.getPrimaryResult().getScore(), greaterThan(0d));
+    }
+
+
+    @Benchmark
+    public ResourceHandle getAndCloseResource(PoolState pool) throws Exception {
+        ResourceHandle resource = pool.connectionPool.getResource(pool.resourceSpec, pool.allocator, null);
+        pool.connectionPool.resourceClosed(resource);
+        return resource;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        ConnectionPool connectionPool;
+        ResourceSpec resourceSpec;
+        ResourceAllocator allocator;
+
+        @Setup(Level.Trial)
+        public void createConnectionPool() throws Exception {
+            new BenchmarkConnectorRuntime().postConstruct();
+
+            PoolInfo poolInfo = ConnectionPoolTest.getPoolInfo();
+            Hashtable<Object, Object> env = new Hashtable<>();
+            env.put("maxPoolSize", POOL_SIZE);
+            env.put("maxWaitTimeInMillis", 10_000);
+            env.put("poolResizeQuantity", 1);
+            connectionPool = new ConnectionPoolTest.MyConnectionPool(poolInfo, env);
+
+            resourceSpec = new ResourceSpec(new SimpleJndiName("myResourceSpec"), ResourceSpec.JNDI_NAME);
+            resourceSpec.setPoolInfo(poolInfo);
+            allocator = new LocalTxConnectorAllocator(null, new InMemoryManagedConnectionFactory(), resourceSpec, null,
+                null, null, null, false);
+
+            ResourceHandle resource = connectionPool.getResource(resourceSpec, allocator, null);
+            assertNotNull(resource);
+            connectionPool.resourceClosed(resource);
+        }
+
+        @TearDown(Level.Trial)
+        public void destroyConnectionPool() {
+            connectionPool.emptyPool();
+        }
+    }
+
+
+    private static class InMemoryManagedConnectionFactory extends ManagedConnectionFactoryMock {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public ManagedConnection createManagedConnection(Subject subject, ConnectionRequestInfo cxRequestInfo) {
+            return new ManagedConnectionMock();
+        }
+
+        @Override
+        public ManagedConnection matchManagedConnections(Set connectionSet, Subject subject,
+            ConnectionRequestInfo cxRequestInfo) {
+            return (ManagedConnection) connectionSet.iterator().next();
+        }
+    }
+
+
+    private static class BenchmarkConnectorRuntime extends ConnectorRuntime {
+
+        private final ProcessEnvironment processEnvironment = new ProcessEnvironment();
+        private final Provider<JavaEETransactionManager> javaEETransactionManagerProvider =
+            () -> new MyJavaEETransactionManager(null);
+
+        BenchmarkConnectorRuntime() throws Exception {
+            // Force 'injection' of private fields
+            InjectionUtil.injectPrivateField(ConnectorRuntime.class, this, "processEnvironment", processEnvironment);
+            InjectionUtil.injectPrivateField(ConnectorRuntime.class, this, "javaEETransactionManagerProvider",
+                javaEETransactionManagerProvider);
+        }
+
+        @Override
+        public PoolType getPoolType(PoolInfo poolInfo) {
+            return PoolType.STANDARD_POOL;
+        }
+
+        @Override
+        public ConnectorDescriptor getConnectorDescriptor(String rarName) throws ConnectorRuntimeException {
+            throw new ConnectorRuntimeException("No rar in benchmark");
+        }
+
+        @Override
+        public DelegatingClassLoader getConnectorClassLoader() {
+            // Return null, system classloader will be used
+            return null;
+        }
+    }
+}
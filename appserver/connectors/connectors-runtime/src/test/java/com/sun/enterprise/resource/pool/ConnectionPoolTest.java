@@ -29,6 +29,8 @@ import com.sun.enterprise.resource.allocator.LocalTxConnectorAllocator;
 import com.sun.enterprise.resource.allocator.ResourceAllocator;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
 import com.sun.enterprise.resource.pool.mock.MyJavaEETransactionManager;
+import com.sun.enterprise.resource.pool.waitqueue.ParkingPoolWaitQueue;
+import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueue;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
 import com.sun.logging.LogDomains;
@@ -39,6 +41,7 @@ import jakarta.resource.spi.ManagedConnectionFactory;
 import jakarta.resource.spi.RetryableUnavailableException;
 import jakarta.transaction.Transaction;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -72,6 +75,7 @@ import static org.easymock.EasyMock.replay;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -131,12 +135,20 @@ public class ConnectionPoolTest {
     }
 
     private void createConnectionPool(int maxPoolSize, int maxWaitTimeInMillis, int poolResizeQuantity) throws PoolingException {
+        createConnectionPool(maxPoolSize, maxWaitTimeInMillis, poolResizeQuantity, null);
+    }
+
+    private void createConnectionPool(int maxPoolSize, int maxWaitTimeInMillis, int poolResizeQuantity, String poolWaitQueue)
+        throws PoolingException {
         PoolInfo poolInfo = ConnectionPoolTest.getPoolInfo();
 
         Hashtable<Object, Object> env = new Hashtable<>();
         env.put("maxPoolSize", Integer.valueOf(maxPoolSize));
         env.put("maxWaitTimeInMillis", Integer.valueOf(maxWaitTimeInMillis));
         env.put("poolResizeQuantity", Integer.valueOf(poolResizeQuantity));
+        if (poolWaitQueue != null) {
+            env.put("poolWaitQueue", poolWaitQueue);
+        }
 
         connectionPool = new MyConnectionPool(poolInfo, env);
         assertEquals(0, connectionPool.getSteadyPoolSize());
@@ -488,6 +500,57 @@ public class ConnectionPoolTest {
         assertEquals(taskCount, usedResouceHandles.size());
     }
 
+    /**
+     * Saturates a small pool from many virtual threads. Threads waiting for a resource must not pin
+     * their carrier threads, otherwise the virtual threads holding the resources could not continue
+     * to return them and no other virtual thread could run.
+     */
+    @Test
+    @Timeout(value = 60)
+    void virtualThreadsSaturatingPoolTest() throws Exception {
+        final int maxConnectionPoolSize = 5;
+        final int maxWaitTimeInMillis = 30_000;
+        final int taskCount = 10_000;
+
+        createConnectionPool(maxConnectionPoolSize, maxWaitTimeInMillis, 1, PoolWaitQueue.PARKING_WAIT_QUEUE);
+        assertInstanceOf(ParkingPoolWaitQueue.class, connectionPool.getPoolWaitQueue());
+
+        ResourceAllocator alloc = new LocalTxConnectorAllocator(null, managedConnectionFactory, resourceSpec, null,
+                null, null, null, false);
+
+        AtomicInteger numberOfThreadsFinished = new AtomicInteger();
+        List<Future<Void>> futures = new ArrayList<>(taskCount);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < taskCount; i++) {
+                futures.add(executor.submit(() -> {
+                    ResourceHandle resource = connectionPool.getResource(resourceSpec, alloc, javaEETransaction);
+                    assertNotNull(resource);
+                    assertResourceIsBusy(resource);
+                    Thread.sleep(1L);
+                    connectionPool.resourceClosed(resource);
+                    numberOfThreadsFinished.incrementAndGet();
+                    return null;
+                }));
+            }
+
+            while (connectionPool.getWaitQueueLength() < maxConnectionPoolSize && numberOfThreadsFinished.get() < taskCount) {
+                Thread.sleep(1L);
+            }
+            // The pool is exhausted now, but other virtual threads must still get a carrier.
+            Thread probe = Thread.ofVirtual().start(() -> LOG.log(Level.INFO, "Probe executed."));
+            assertTrue(probe.join(Duration.ofSeconds(5L)), "Virtual thread was not scheduled while the pool was exhausted.");
+        }
+
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+        assertEquals(taskCount, numberOfThreadsFinished.get());
+        assertEquals(0, connectionPool.getWaitQueueLength());
+        assertResourcesSize(maxConnectionPoolSize);
+
+        cleanupConnectionPool();
+    }
+
     private void runTheTasks(List<Callable<Void>> tasks) throws Exception {
         ExecutorService threadPool = Executors.newFixedThreadPool(1000);
         List<Future<Void>> futures = threadPool.invokeAll(tasks, 30, TimeUnit.SECONDS);
@@ -559,6 +622,7 @@ public class ConnectionPoolTest {
             connectorConnectionPool.setMaxPoolSize("" + myMaxPoolSize);
             connectorConnectionPool.setMaxWaitTimeInMillis("" + maxWaitTimeInMillis);
             connectorConnectionPool.setPoolResizeQuantity("" + poolResizeQuantity);
+            connectorConnectionPool.setPoolWaitQueue((String) env.get("poolWaitQueue"));
 
             return connectorConnectionPool;
         }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.lang.System.Logger;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the throughput and allocation of the pool datastructures when many threads acquire
+ * and return resources.
+ * Runs only with the benchmark profile.
+ */
+@EnabledIfSystemProperty(named = "test.benchmarks", matches = "true")
+public class DataStructureBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(DataStructureBenchmarkTest.class.getName());
+
+    private static final int POOL_SIZE = 512;
+
+    @Test
+    public void getAndReturnResource_8threads() throws Exception {
+        runBenchmark(8);
+    }
+
+
+    @Test
+    public void getAndReturnResource_32threads() throws Exception {
+        runBenchmark(32);
+    }
+
+
+    @Test
+    public void getAndReturnResource_128threads() throws Exception {
+        runBenchmark(128);
+    }
+
+
+    private void runBenchmark(int threads) throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .forks(1).threads(threads).shouldFailOnError(true)
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).measurementTime(TimeValue.milliseconds(500L))
+            .timeout(TimeValue.seconds(10L))
+            .mode(Mode.Throughput).timeUnit(TimeUnit.MILLISECONDS)
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(3));
+        for (RunResult result : results) {
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            LOG.log(INFO, "Threads: {0}, datastructure: {1}, score: {2} {3}, allocated: {4} {5}", threads,
+                result.getParams().getParam("type"), result.getPrimaryResult().getScore(),
+                result.getPrimaryResult().getScoreUnit(), allocation == null ? null : allocation.getScore(),
+                allocation == null ? null : allocation.getScoreUnit());
+            assertThat(result.getPrimaryResult().getScore(), greaterThan(0d));
+        }
+    }
+
+
+    @Benchmark
+    public ResourceHandle getAndReturn(PoolState pool) {
+        ResourceHandle resource;
+        while ((resource = pool.dataStructure.getResource()) == null) {
+            Thread.onSpinWait();
+        }
+        pool.dataStructure.returnResource(resource);
+        return resource;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({"RWLockDataStructure", "ListDataStructure", "StripedDataStructure"})
+        public String type;
+
+        DataStructure dataStructure;
+
+        @Setup(Level.Trial)
+        public void createDataStructure() throws PoolingException {
+            String className = DataStructure.class.getPackageName() + "." + type;
+            dataStructure = DataStructureFactory.getDataStructure(className, null, POOL_SIZE, new StubResourceHandler());
+            dataStructure.addResource(null, POOL_SIZE);
+        }
+
+        @TearDown(Level.Trial)
+        public void removeResources() {
+            dataStructure.removeAll();
+        }
+    }
+
+
+    private static final class StubResourceHandler implements ResourceHandler {
+
+        @Override
+        public void deleteResource(ResourceHandle resourceHandle) {
+        }
+
+        @Override
+        public ResourceHandle createResource(ResourceAllocator allocator) {
+            return new ResourceHandle(null, null, allocator);
+        }
+
+        @Override
+        public void createResourceAndAddToPool() {
+        }
+
+        @Override
+        public Set<ManagedConnection> getInvalidConnections(Set<ManagedConnection> connections) {
+            return Set.of();
+        }
+
+        @Override
+        public void invalidConnectionDetected(ResourceHandle h) {
+        }
+    }
+}
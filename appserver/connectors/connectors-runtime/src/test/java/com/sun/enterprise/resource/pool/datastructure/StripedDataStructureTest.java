@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.ResourceSpec;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.strategy.ResourceSelectionStrategy;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.easymock.IExpectationSetters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.Timeout.ThreadMode;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.easymock.EasyMock.createMockBuilder;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class StripedDataStructureTest {
+
+    private static final int TASK_COUNT = 1000;
+
+    private static final int THREAD_COUNT = 500;
+
+    private static final int RESOURCE_COUNT = TASK_COUNT;
+
+    private volatile ResourceHandler handler;
+    private volatile ResourceAllocator allocator;
+
+    @BeforeEach
+    public void createAndPopulateMocks() throws PoolingException {
+        ResourceHandler localHandler = createNiceMock(ResourceHandler.class);
+        ResourceAllocator localAllocator = createNiceMock(ResourceAllocator.class);
+
+        List<Object> mocks = new ArrayList<>(RESOURCE_COUNT);
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            mocks.add(
+                createMockBuilder(ResourceHandle.class)
+                    .withConstructor(ManagedConnection.class, ResourceSpec.class, ResourceAllocator.class)
+                    .withArgs(null, null, null)
+                    .createNiceMock());
+        }
+
+        IExpectationSetters<ResourceHandle> handlerExpectation = expect(localHandler.createResource(localAllocator));
+        for (Object resource : mocks) {
+            handlerExpectation.andReturn((ResourceHandle) resource);
+        }
+        mocks.add(localHandler);
+        mocks.add(localAllocator);
+
+        replay(mocks.toArray());
+
+        handler = localHandler;
+        allocator = localAllocator;
+    }
+
+    @RepeatedTest(20)
+    @Timeout(value = 10, threadMode = ThreadMode.SEPARATE_THREAD)
+    public void testGetResource() throws Exception {
+        DataStructure dataStructure = new StripedDataStructure(null, RESOURCE_COUNT, handler);
+        assertThat("Add Resources", dataStructure.addResource(allocator, RESOURCE_COUNT), equalTo(RESOURCE_COUNT));
+        assertThat("Add Resource", dataStructure.addResource(allocator, 1), equalTo(0));
+
+        List<Callable<ResourceHandle>> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(dataStructure::getResource);
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        List<Future<ResourceHandle>> futures = threadPool.invokeAll(tasks);
+        assertAll(
+            () -> assertAll(futures.stream().map(f -> (Executable) f::get).collect(Collectors.toList())),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(RESOURCE_COUNT)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0))
+        );
+
+        List<ResourceHandle> resources = futures.stream().map(this::getResult).collect(Collectors.toList());
+        for (ResourceHandle resource : resources) {
+            assertThat(Collections.frequency(resources, resource), equalTo(1));
+        }
+        assertThat("Get Resource", dataStructure.getResource(), nullValue());
+
+        threadPool.shutdownNow();
+    }
+
+    @RepeatedTest(20)
+    @Timeout(value = 10, threadMode = ThreadMode.SEPARATE_THREAD)
+    public void testReturnAndRemoveResource() throws Exception {
+        DataStructure dataStructure = new StripedDataStructure(null, RESOURCE_COUNT, handler);
+        dataStructure.addResource(allocator, RESOURCE_COUNT);
+
+        List<Callable<ResourceHandle>> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            final boolean remove = i % 2 == 0;
+            tasks.add(() -> {
+                ResourceHandle resource;
+                // A free resource always exists, but another thread may take it first
+                while ((resource = dataStructure.getResource()) == null) {
+                    Thread.yield();
+                }
+                if (remove) {
+                    dataStructure.removeResource(resource);
+                } else {
+                    dataStructure.returnResource(resource);
+                }
+                return resource;
+            });
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        List<Future<ResourceHandle>> futures = threadPool.invokeAll(tasks);
+        assertAll(
+            () -> assertAll(futures.stream().map(f -> (Executable) f::get).collect(Collectors.toList())),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(RESOURCE_COUNT / 2)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(RESOURCE_COUNT / 2)),
+            () -> assertThat("All Resources", dataStructure.getAllResources(), hasSize(RESOURCE_COUNT / 2))
+        );
+
+        assertThat("Add Resources", dataStructure.addResource(allocator, RESOURCE_COUNT), equalTo(RESOURCE_COUNT / 2));
+
+        threadPool.shutdownNow();
+    }
+
+    @Test
+    public void testStealFromOtherShard() throws Exception {
+        DataStructure dataStructure = new StripedDataStructure("4", 10, handler);
+        dataStructure.addResource(allocator, 10);
+
+        ExecutorService threadPool = Executors.newSingleThreadExecutor();
+        List<ResourceHandle> resources = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            resources.add(threadPool.submit(dataStructure::getResource).get());
+        }
+        assertThat(dataStructure.getResource(), nullValue());
+        assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0));
+
+        // Returned to the home shard of another thread
+        for (ResourceHandle resource : resources) {
+            threadPool.submit(() -> dataStructure.returnResource(resource)).get();
+        }
+        assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(10));
+        for (int i = 0; i < 10; i++) {
+            assertThat(dataStructure.getResource(), notNullValue());
+        }
+        assertThat(dataStructure.getResource(), nullValue());
+
+        threadPool.shutdownNow();
+    }
+
+    @Test
+    public void testResourceSelectionStrategy() throws Exception {
+        StripedDataStructure dataStructure = new StripedDataStructure(null, 10, handler);
+        dataStructure.addResource(allocator, 10);
+        ResourceHandle selected = dataStructure.getAllResources().get(3);
+        ResourceSelectionStrategy strategy = () -> selected;
+
+        dataStructure.setResourceSelectionStrategy(strategy);
+        assertThat(dataStructure.getResource(), sameInstance(selected));
+
+        dataStructure.setResourceSelectionStrategy(null);
+        assertThat(dataStructure.getResource(), notNullValue());
+    }
+
+    @Test
+    public void testSetMaxSize() throws Exception {
+        DataStructure dataStructure = new StripedDataStructure(null, 5, handler);
+        assertThat("Add Resources", dataStructure.addResource(allocator, 10), equalTo(5));
+        dataStructure.setMaxSize(8);
+        assertThat("Add Resources", dataStructure.addResource(allocator, 10), equalTo(3));
+        dataStructure.setMaxSize(4);
+        dataStructure.removeResource(dataStructure.getResource());
+        assertThat("Add Resources", dataStructure.addResource(allocator, 10), equalTo(0));
+        dataStructure.removeAll();
+        assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(0));
+        assertThat("Add Resources", dataStructure.addResource(allocator, 10), equalTo(4));
+    }
+
+    private <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
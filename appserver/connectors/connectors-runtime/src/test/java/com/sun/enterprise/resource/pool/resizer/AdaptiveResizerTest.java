@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.resource.pool.resizer;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.PoolProperties;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+import com.sun.enterprise.resource.pool.datastructure.RWLockDataStructure;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class AdaptiveResizerTest {
+
+    private static final int STEADY_POOL_SIZE = 2;
+    private static final int MAX_POOL_SIZE = 20;
+
+    private TestPool pool;
+    private DataStructure dataStructure;
+    private AdaptiveResizer resizer;
+
+    @BeforeEach
+    public void createPool() throws PoolingException {
+        pool = new TestPool();
+        dataStructure = new RWLockDataStructure(null, MAX_POOL_SIZE, pool);
+        pool.dataStructure = dataStructure;
+        dataStructure.addResource(null, STEADY_POOL_SIZE);
+        resizer = new AdaptiveResizer(new PoolInfo("adaptive"), dataStructure, pool, pool, false);
+    }
+
+    @Test
+    public void growsBeforeSaturation() {
+        List<ResourceHandle> used = acquire(2);
+        for (int i = 0; i < 10; i++) {
+            resizer.adjustPool();
+        }
+        assertThat(pool.waitQueueLength, equalTo(0));
+        assertThat(dataStructure.getResourcesSize(), greaterThan(2));
+        assertThat(resizer.getUtilization(), lessThanOrEqualTo(AdaptiveResizer.HIGH_UTILIZATION));
+        release(used);
+    }
+
+    @Test
+    public void growsOnSlowAcquisition() {
+        pool.requestsServed = 10;
+        pool.requestsWaitTime = 1000;
+        resizer.adjustPool();
+        assertThat(dataStructure.getResourcesSize(), equalTo(STEADY_POOL_SIZE + pool.getResizeQuantity()));
+    }
+
+    @Test
+    public void staysWithinMaxPoolSize() {
+        pool.waitQueueLength = 100;
+        for (int i = 0; i < 100; i++) {
+            resizer.adjustPool();
+            assertThat(dataStructure.getResourcesSize(), lessThanOrEqualTo(MAX_POOL_SIZE));
+        }
+        assertThat(dataStructure.getResourcesSize(), equalTo(MAX_POOL_SIZE));
+    }
+
+    @Test
+    public void shrinksGradually() {
+        List<ResourceHandle> used = acquire(2);
+        pool.waitQueueLength = 10;
+        for (int i = 0; i < 20; i++) {
+            resizer.adjustPool();
+        }
+        pool.waitQueueLength = 0;
+        release(used);
+
+        int size = dataStructure.getResourcesSize();
+        assertThat(size, greaterThan(10));
+        for (int i = 0; i < 100; i++) {
+            resizer.adjustPool();
+            int newSize = dataStructure.getResourcesSize();
+            assertThat(size - newSize, lessThanOrEqualTo(1));
+            size = newSize;
+        }
+        assertThat(size, equalTo(STEADY_POOL_SIZE));
+    }
+
+    private List<ResourceHandle> acquire(int count) {
+        List<ResourceHandle> handles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            handles.add(dataStructure.getResource());
+        }
+        return handles;
+    }
+
+    private void release(List<ResourceHandle> handles) {
+        for (ResourceHandle handle : handles) {
+            dataStructure.returnResource(handle);
+        }
+    }
+
+    private static class TestPool implements PoolProperties, ResourceHandler {
+
+        private DataStructure dataStructure;
+        private int waitQueueLength;
+        private long requestsServed;
+        private long requestsWaitTime;
+
+        @Override
+        public int getSteadyPoolSize() {
+            return STEADY_POOL_SIZE;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            return MAX_POOL_SIZE;
+        }
+
+        @Override
+        public int getResizeQuantity() {
+            return 2;
+        }
+
+        @Override
+        public long getIdleTimeout() {
+            return 300_000L;
+        }
+
+        @Override
+        public int getWaitQueueLength() {
+            return waitQueueLength;
+        }
+
+        @Override
+        public long getConnectionRequestsServed() {
+            return requestsServed;
+        }
+
+        @Override
+        public long getConnectionRequestsWaitTime() {
+            return requestsWaitTime;
+        }
+
+        @Override
+        public void deleteResource(ResourceHandle resourceHandle) {
+        }
+
+        @Override
+        public ResourceHandle createResource(ResourceAllocator allocator) {
+            return new ResourceHandle(null, null, allocator);
+        }
+
+        @Override
+        public void createResourceAndAddToPool() throws PoolingException {
+            dataStructure.addResource(null, 1);
+        }
+
+        @Override
+        public Set<ManagedConnection> getInvalidConnections(Set<ManagedConnection> connections) {
+            return Set.of();
+        }
+
+        @Override
+        public void invalidConnectionDetected(ResourceHandle h) {
+        }
+    }
+}
@@ -113,6 +113,11 @@ public abstract class ModuleScanner<T extends Descriptor> extends JavaEEScanner<
     protected Set<URI> scannedURI = new HashSet<>();
     protected Set<String> entries = new HashSet<>();
 
+    /**
+     * Whether the parser was created by this scanner. A parser passed in by the deployment
+     * already parsed the archive and its libraries, and may be reused by the next deployments
+     * of the same archive, so nothing is ever parsed into it.
+     */
     private boolean needScanAnnotation;
 
     /**
@@ -18,6 +18,9 @@
 package com.sun.ejb;
 
 import com.sun.ejb.codegen.AsmSerializableBeanGenerator;
+import com.sun.ejb.codegen.BeanInvokerGenerator;
+import com.sun.ejb.codegen.BeanMethodInvoker;
+import com.sun.ejb.codegen.ClassGenerator.ClassDefinitionException;
 import com.sun.ejb.codegen.EjbClassGeneratorFactory;
 import com.sun.ejb.codegen.GeneratorException;
 import com.sun.ejb.codegen.Remote30WrapperGenerator;
@@ -281,6 +284,32 @@ public class EJBUtils {
         return gen.generateSerializableSubclass();
     }
 
+    /**
+     * Loads or generates the {@link BeanMethodInvoker} of the bean class.
+     *
+     * @param loader the class loader of the application
+     * @param beanClass the bean class
+     * @return a new instance of the invoker
+     * @throws ReflectiveOperationException if the invoker could not be instantiated
+     */
+    public static BeanMethodInvoker loadGeneratedBeanMethodInvoker(final ClassLoader loader, final Class<?> beanClass)
+        throws ReflectiveOperationException {
+        final String generatedClassName = BeanInvokerGenerator.getGeneratedInvokerClassName(beanClass.getName());
+        Class<?> invokerClass;
+        try {
+            invokerClass = loader.loadClass(generatedClassName);
+        } catch (ClassNotFoundException e) {
+            BeanInvokerGenerator gen = new BeanInvokerGenerator(loader, beanClass, generatedClassName);
+            try {
+                invokerClass = gen.generateInvokerClass();
+            } catch (ClassDefinitionException | LinkageError e2) {
+                // Another container of the same bean class defined it in the meantime
+                invokerClass = loader.loadClass(generatedClassName);
+            }
+        }
+        return (BeanMethodInvoker) invokerClass.getConstructor().newInstance();
+    }
+
     public static void loadGeneratedRemoteBusinessClasses(String businessInterfaceName) throws Exception {
         ClassLoader appClassLoader = getBusinessIntfClassLoader(businessInterfaceName);
         loadGeneratedRemoteBusinessClasses(appClassLoader, businessInterfaceName);
@@ -17,6 +17,7 @@
 
 package com.sun.ejb;
 
+import com.sun.ejb.codegen.BeanMethodCall;
 import com.sun.ejb.containers.BaseContainer;
 import com.sun.ejb.containers.EJBContextImpl;
 import com.sun.ejb.containers.EJBLocalRemoteObject;
@@ -64,13 +65,16 @@ public class EjbInvocation extends ComponentInvocation
     private TransactionOperationsManager transactionOperationsManager;
 
     EjbInvocation(String compEnvId, Container container) {
+        this(compEnvId, container, getModuleNameOf(container), getAppNameOf(container));
+    }
+
+    EjbInvocation(String compEnvId, Container container, String moduleName, String appName) {
         super.componentId = compEnvId;
         super.container = container;
         super.setComponentInvocationType(ComponentInvocation.ComponentInvocationType.EJB_INVOCATION);
 
-        EjbBundleDescriptor ejbBundleDesc = container.getEjbDescriptor().getEjbBundleDescriptor();
-        moduleName = ejbBundleDesc.getModuleName();
-        appName = ejbBundleDesc.getApplication().getAppName();
+        this.moduleName = moduleName;
+        this.appName = appName;
 
         // By default we enable TransactionOperationsManager checks. But EjbInvocation.clone()
         // clears transactionOperationsManager so that, be default, cloned invocations
@@ -78,6 +82,16 @@ public class EjbInvocation extends ComponentInvocation
         transactionOperationsManager = this;
     }
 
+    static String getModuleNameOf(Container container) {
+        EjbBundleDescriptor ejbBundleDesc = container.getEjbDescriptor().getEjbBundleDescriptor();
+        return ejbBundleDesc.getModuleName();
+    }
+
+    static String getAppNameOf(Container container) {
+        EjbBundleDescriptor ejbBundleDesc = container.getEjbDescriptor().getEjbBundleDescriptor();
+        return ejbBundleDesc.getApplication().getAppName();
+    }
+
     /**
      * The EJBObject/EJBLocalObject which created this EjbInvocation object. This identifies the target bean.
      */
@@ -223,6 +237,9 @@ public class EjbInvocation extends ComponentInvocation
     // True if lock is currently held for this invocation
     private boolean holdingSFSBSerializedLock = false;
 
+    // Reused for the direct calls of the bean class method, created on first use
+    private BeanMethodCall beanMethodCall;
+
     public ClassLoader getOriginalContextClassLoader() {
         return originalContextClassLoader;
     }
@@ -271,6 +288,67 @@ public class EjbInvocation extends ComponentInvocation
         this.doTxProcessingInPostInvoke = doTxProcessingInPostInvoke;
     }
 
+    /**
+     * @return the call object used to invoke the bean class method through a generated invoker
+     */
+    public BeanMethodCall getBeanMethodCall() {
+        if (beanMethodCall == null) {
+            beanMethodCall = new BeanMethodCall();
+        }
+        return beanMethodCall;
+    }
+
+    /**
+     * Clears the state of this finished invocation, so the {@link EjbInvocationFactory} can hand
+     * it out again for the next invocation of the same container.
+     */
+    @Override
+    protected void reset() {
+        super.reset();
+        context = null;
+        transactionOperationsManager = this;
+        ejbObject = null;
+        isLocal = false;
+        isRemote = false;
+        invocationInfo = null;
+        isBusinessInterface = false;
+        isWebService = false;
+        isTimerCallback = false;
+        isMessageDriven = false;
+        isHome = false;
+        clientInterface = null;
+        method = null;
+        ejb = null;
+        exception = null;
+        exceptionFromBeanMethod = null;
+        clientTx = null;
+        transactionAttribute = 0;
+        containerStartsTx = false;
+        originalContextClassLoader = null;
+        methodParams = null;
+        timer = null;
+        preInvokeTxStatus = null;
+        foundInTxCache = false;
+        useFastPath = false;
+        cmcLock = null;
+        doTxProcessingInPostInvoke = false;
+        invId = 0L;
+        yetToSubmitStatus = true;
+        asyncFuture = null;
+        wasCancelCalled = false;
+        webServiceMethod = null;
+        holdingSFSBSerializedLock = false;
+        interceptorIndex = 0;
+        beanMethod = null;
+        webServiceContext = null;
+        message = null;
+        soapMessage = null;
+        contextData = null;
+        if (beanMethodCall != null) {
+            beanMethodCall.clear();
+        }
+    }
+
     @Override
     public EjbInvocation clone() {
         EjbInvocation newInv = (EjbInvocation) super.clone();
@@ -281,6 +359,7 @@ public class EjbInvocation extends ComponentInvocation
         newInv.clientTx = null;
         newInv.preInvokeTxStatus = null;
         newInv.originalContextClassLoader = null;
+        newInv.beanMethodCall = null;
 
         //The cloned invocation contains a ResourceHandler that points to the same
         //  resource list as the original invocation. If any one of these resource lists
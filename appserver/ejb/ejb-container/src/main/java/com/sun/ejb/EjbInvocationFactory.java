@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,31 +17,106 @@
 
 package com.sun.ejb;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
+ * Creates the {@link EjbInvocation}s of a container.
+ * <p>
+ * If invocation reuse is enabled, finished invocations given back by {@link #release(EjbInvocation)}
+ * are reset and kept in slots selected by the id of the calling thread, so a thread invoking
+ * the same container again gets the same invocation object back instead of a new one. Slots are
+ * owned by the factory rather than by a thread local, so nothing stays reachable from pooled
+ * threads once the container is undeployed. A nested invocation on the same thread finds its slot
+ * empty and simply gets a new invocation.
+ *
  * @author Mahesh Kannan
  *         Date: Jan 30, 2008
  */
 public class EjbInvocationFactory {
 
+    private static final int MAX_SLOTS = 1024;
+
     private String compEnvId;
 
     private Container container;
 
+    private final String moduleName;
+
+    private final String appName;
+
+    // null if invocations are not reused
+    private final AtomicReferenceArray<EjbInvocation> reusable;
+
+    private final int slotMask;
+
     public EjbInvocationFactory(String compEnvId, Container container) {
+        this(compEnvId, container, false);
+    }
+
+    public EjbInvocationFactory(String compEnvId, Container container, boolean reuseInvocations) {
+        this(compEnvId, container, EjbInvocation.getModuleNameOf(container), EjbInvocation.getAppNameOf(container),
+            reuseInvocations);
+    }
+
+    EjbInvocationFactory(String compEnvId, Container container, String moduleName, String appName,
+        boolean reuseInvocations) {
         this.compEnvId = compEnvId;
         this.container = container;
+        this.moduleName = moduleName;
+        this.appName = appName;
+        if (reuseInvocations) {
+            int slots = Integer.highestOneBit(Math.min(MAX_SLOTS, Runtime.getRuntime().availableProcessors() * 4) * 2 - 1);
+            this.reusable = new AtomicReferenceArray<>(slots);
+            this.slotMask = slots - 1;
+        } else {
+            this.reusable = null;
+            this.slotMask = 0;
+        }
+    }
+
+    public boolean isReusingInvocations() {
+        return reusable != null;
     }
 
     public EjbInvocation create() {
-        return new EjbInvocation(compEnvId, container);
+        if (reusable != null) {
+            int slot = getSlot();
+            EjbInvocation ejbInv = reusable.getPlain(slot);
+            if (ejbInv != null && reusable.compareAndSet(slot, ejbInv, null)) {
+                return ejbInv;
+            }
+        }
+        return new EjbInvocation(compEnvId, container, moduleName, appName);
     }
 
     public <C extends ComponentContext> EjbInvocation create(Object ejb, C ctx) {
-        EjbInvocation ejbInv = new EjbInvocation(compEnvId, container);
+        EjbInvocation ejbInv = new EjbInvocation(compEnvId, container, moduleName, appName);
         ejbInv.ejb = ejb;
         ejbInv.instance = ejb;
         ejbInv.context = ctx;
 
         return ejbInv;
     }
+
+    /**
+     * Gives back a finished invocation created by {@link #create()}. The caller must not use the
+     * invocation afterwards, and must not release an invocation that is still referenced elsewhere,
+     * like the invocation of an asynchronous method.
+     *
+     * @param ejbInv the finished invocation
+     */
+    public void release(EjbInvocation ejbInv) {
+        if (reusable == null || ejbInv.container != container) {
+            return;
+        }
+        int slot = getSlot();
+        if (reusable.getPlain(slot) == null) {
+            ejbInv.reset();
+            reusable.compareAndSet(slot, null, ejbInv);
+        }
+    }
+
+    private int getSlot() {
+        return (int) Thread.currentThread().threadId() & slotMask;
+    }
 }
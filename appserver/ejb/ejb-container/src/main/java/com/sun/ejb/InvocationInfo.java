@@ -59,6 +59,10 @@ public class InvocationInfo {
     public Method     targetMethod2;
     public boolean    ejbIntfOverride;
 
+    // Index of targetMethod1 in the container's generated BeanMethodInvoker,
+    // or -1 if the bean class method has to be invoked through reflection.
+    public int        targetMethodIndex = -1;
+
     public boolean    flushEnabled;
     public boolean    checkpointEnabled;
 
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.codegen;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import static com.sun.ejb.codegen.ClassGenerator.defineClass;
+import static com.sun.ejb.codegen.Generator.getBaseName;
+import static com.sun.ejb.codegen.Generator.getFullClassName;
+import static com.sun.ejb.codegen.Generator.getPackageName;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.ATHROW;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.I2D;
+import static org.objectweb.asm.Opcodes.I2F;
+import static org.objectweb.asm.Opcodes.I2L;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INSTANCEOF;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.V17;
+
+/**
+ * Generates a {@link BeanMethodInvoker} for a bean class. The generated class switches on the
+ * method index and calls the bean class method with an {@code invokevirtual} instruction, so
+ * business method calls need neither reflection nor a method lookup.
+ * <p>
+ * The invokable methods and their indexes depend only on the bean class, so the generated class
+ * is shared by all the containers of the same bean class.
+ */
+public class BeanInvokerGenerator extends BeanGeneratorBase {
+
+    private static final String INVOKER_INTERNAL_NAME = Type.getInternalName(BeanMethodInvoker.class);
+
+    private final ClassLoader loader;
+    private final Class<?> beanClass;
+    private final String invokerClassName;
+
+    /**
+     * Adds _Invoker to the original name.
+     *
+     * @param beanClass full class name
+     */
+    public static String getGeneratedInvokerClassName(String beanClass) {
+        String packageName = getPackageName(beanClass);
+        String simpleName = getBaseName(beanClass);
+        String generatedSimpleName = "_" + simpleName + "_Invoker";
+        return getFullClassName(packageName, generatedSimpleName);
+    }
+
+    /**
+     * Returns the methods the invoker of the bean class can call, in the order of their indexes:
+     * the public instance methods, except those of {@link Object}, whose parameter and return
+     * types are public and visible to the class loader of the bean class. Returns an empty list
+     * if the bean class itself is not public.
+     *
+     * @param beanClass the bean class
+     * @return the invokable methods, sorted by name and descriptor
+     */
+    public static List<Method> getInvokableMethods(Class<?> beanClass) {
+        List<Method> methods = new ArrayList<>();
+        if (!isAccessible(beanClass, beanClass)) {
+            return methods;
+        }
+        for (Method method : beanClass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            if (!isAccessible(beanClass, method.getReturnType())) {
+                continue;
+            }
+            boolean accessible = true;
+            for (Class<?> paramType : method.getParameterTypes()) {
+                accessible &= isAccessible(beanClass, paramType);
+            }
+            if (accessible) {
+                methods.add(method);
+            }
+        }
+        methods.sort(Comparator.comparing(Method::getName).thenComparing(method -> Type.getMethodDescriptor(method)));
+        return methods;
+    }
+
+    private static boolean isAccessible(Class<?> beanClass, Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        if (!isVisible(beanClass.getClassLoader(), type)) {
+            return false;
+        }
+        // The invoker may end up in another class loader than the bean class, see ClassGenerator
+        for (Class<?> c = type; c != null; c = c.getDeclaringClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(ClassLoader loader, Class<?> type) {
+        if (type.getClassLoader() == loader) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, loader) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public BeanInvokerGenerator(ClassLoader loader, Class<?> beanClass, String invokerClassName) {
+        this.loader = loader;
+        this.beanClass = beanClass;
+        this.invokerClassName = invokerClassName;
+    }
+
+    public Class<?> generateInvokerClass() {
+        String invokerInternalName = invokerClassName.replace('.', '/');
+        String beanInternalName = Type.getInternalName(beanClass);
+        List<Method> methods = getInvokableMethods(beanClass);
+
+        // Frames never merge distinct reference types here, so no class has to be loaded
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                return "java/lang/Object";
+            }
+        };
+
+        cw.visit(V17, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, invokerInternalName, null, "java/lang/Object",
+            new String[] {INVOKER_INTERNAL_NAME});
+
+        generateConstructor(cw, Object.class, true);
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "invoke", "(ILjava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;",
+            null, new String[] {"java/lang/Exception"});
+        mv.visitCode();
+
+        Label unknownMethod = new Label();
+        Label[] cases = new Label[methods.size()];
+        for (int i = 0; i < cases.length; i++) {
+            cases[i] = new Label();
+        }
+        if (cases.length > 0) {
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitTableSwitchInsn(0, cases.length - 1, unknownMethod, cases);
+        }
+
+        for (int i = 0; i < cases.length; i++) {
+            Method method = methods.get(i);
+            mv.visitLabel(cases[i]);
+
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitTypeInsn(CHECKCAST, beanInternalName);
+            Class<?>[] paramTypes = method.getParameterTypes();
+            for (int j = 0; j < paramTypes.length; j++) {
+                mv.visitVarInsn(ALOAD, 3);
+                mv.visitLdcInsn(j);
+                mv.visitInsn(AALOAD);
+                unbox(mv, paramTypes[j]);
+            }
+            mv.visitMethodInsn(INVOKEVIRTUAL, beanInternalName, method.getName(), Type.getMethodDescriptor(method),
+                false);
+            box(mv, method.getReturnType());
+            mv.visitInsn(ARETURN);
+        }
+
+        mv.visitLabel(unknownMethod);
+        mv.visitTypeInsn(NEW, "java/lang/IllegalArgumentException");
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/IllegalArgumentException", "<init>", "()V", false);
+        mv.visitInsn(ATHROW);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+
+        return defineClass(loader, beanClass, getPackageName(invokerClassName), invokerClassName, cw.toByteArray());
+    }
+
+    private static void unbox(MethodVisitor mv, Class<?> type) {
+        if (!type.isPrimitive()) {
+            if (type != Object.class) {
+                mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+            }
+            return;
+        }
+        if (type == boolean.class || type == byte.class || type == char.class) {
+            Type wrapper = Type.getType(getWrapperClass(type));
+            mv.visitTypeInsn(CHECKCAST, wrapper.getInternalName());
+            mv.visitMethodInsn(INVOKEVIRTUAL, wrapper.getInternalName(), type.getName() + "Value",
+                "()" + Type.getDescriptor(type), false);
+            return;
+        }
+
+        // Like Method.invoke, accept the wrappers of the smaller primitive types, as
+        // EjbInvocation.setParameters does
+        Label number = new Label();
+        Label unboxed = new Label();
+        if (type != short.class) {
+            mv.visitInsn(DUP);
+            mv.visitTypeInsn(INSTANCEOF, "java/lang/Character");
+            mv.visitJumpInsn(IFEQ, number);
+            mv.visitTypeInsn(CHECKCAST, "java/lang/Character");
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Character", "charValue", "()C", false);
+            if (type == long.class) {
+                mv.visitInsn(I2L);
+            } else if (type == float.class) {
+                mv.visitInsn(I2F);
+            } else if (type == double.class) {
+                mv.visitInsn(I2D);
+            }
+            mv.visitJumpInsn(GOTO, unboxed);
+        }
+        mv.visitLabel(number);
+        mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
+        mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", type.getName() + "Value",
+            "()" + Type.getDescriptor(type), false);
+        mv.visitLabel(unboxed);
+    }
+
+    private static void box(MethodVisitor mv, Class<?> type) {
+        if (type == void.class) {
+            mv.visitInsn(ACONST_NULL);
+        } else if (type.isPrimitive()) {
+            Type wrapper = Type.getType(getWrapperClass(type));
+            mv.visitMethodInsn(INVOKESTATIC, wrapper.getInternalName(), "valueOf",
+                "(" + Type.getDescriptor(type) + ")" + wrapper.getDescriptor(), false);
+        }
+    }
+
+    private static Class<?> getWrapperClass(Class<?> primitive) {
+        if (primitive == boolean.class) {
+            return Boolean.class;
+        } else if (primitive == byte.class) {
+            return Byte.class;
+        } else if (primitive == char.class) {
+            return Character.class;
+        } else if (primitive == short.class) {
+            return Short.class;
+        } else if (primitive == int.class) {
+            return Integer.class;
+        } else if (primitive == long.class) {
+            return Long.class;
+        } else if (primitive == float.class) {
+            return Float.class;
+        }
+        return Double.class;
+    }
+}
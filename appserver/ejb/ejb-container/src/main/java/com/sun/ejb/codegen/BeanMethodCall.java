@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.codegen;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A call of a bean class method through a {@link BeanMethodInvoker}. One instance is kept per
+ * invocation and set up again for each call, so that passing the call to the security manager
+ * does not allocate a new callable.
+ */
+public final class BeanMethodCall implements Callable<Object> {
+
+    private BeanMethodInvoker invoker;
+    private int methodIndex;
+    private Object bean;
+    private Object[] args;
+
+    /**
+     * @return this call, prepared to invoke the method with the given index on the bean
+     */
+    public BeanMethodCall set(BeanMethodInvoker invoker, int methodIndex, Object bean, Object[] args) {
+        this.invoker = invoker;
+        this.methodIndex = methodIndex;
+        this.bean = bean;
+        this.args = args;
+        return this;
+    }
+
+    /**
+     * Drops the references to the bean and the arguments.
+     */
+    public void clear() {
+        invoker = null;
+        bean = null;
+        args = null;
+    }
+
+    @Override
+    public Object call() throws Exception {
+        return invoker.invoke(methodIndex, bean, args);
+    }
+}
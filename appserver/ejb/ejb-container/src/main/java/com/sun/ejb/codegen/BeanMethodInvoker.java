@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.codegen;
+
+/**
+ * Calls the methods of a bean class directly, without reflection. Implementations are generated
+ * by the {@link BeanInvokerGenerator} for each bean class.
+ */
+public interface BeanMethodInvoker {
+
+    /**
+     * Calls a bean class method. Exceptions thrown by the method are thrown as is, not wrapped
+     * in an {@link java.lang.reflect.InvocationTargetException}.
+     *
+     * @param methodIndex index of the method in {@link BeanInvokerGenerator#getInvokableMethods(Class)}
+     * @param bean the bean instance
+     * @param args the method arguments, primitive values boxed
+     * @return the value returned by the method, boxed; null for void methods
+     * @throws Exception any exception thrown by the method
+     */
+    Object invoke(int methodIndex, Object bean, Object[] args) throws Exception;
+}
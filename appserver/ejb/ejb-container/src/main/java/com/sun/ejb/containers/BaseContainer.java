@@ -24,10 +24,15 @@ import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.EjbInvocationFactory;
 import com.sun.ejb.InvocationInfo;
 import com.sun.ejb.MethodLockInfo;
+import com.sun.ejb.codegen.BeanInvokerGenerator;
+import com.sun.ejb.codegen.BeanMethodInvoker;
 import com.sun.ejb.codegen.EjbOptionalIntfGenerator;
 import com.sun.ejb.containers.interceptors.InterceptorManager;
 import com.sun.ejb.containers.interceptors.SystemInterceptorProxy;
 import com.sun.ejb.containers.util.MethodMap;
+import com.sun.ejb.containers.util.pool.LockFreePool;
+import com.sun.ejb.containers.util.pool.NonBlockingPool;
+import com.sun.ejb.containers.util.pool.ObjectFactory;
 import com.sun.ejb.monitoring.probes.EjbCacheProbeProvider;
 import com.sun.ejb.monitoring.probes.EjbMonitoringProbeProvider;
 import com.sun.ejb.monitoring.probes.EjbTimedObjectProbeProvider;
@@ -236,6 +241,8 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     private static final byte[] homeInstanceKey = { HOME_KEY };
 
     protected static final String SINGLETON_BEAN_POOL_PROP = "singleton-bean-pool";
+    protected static final String LOCK_FREE_BEAN_POOL_PROP = "lock-free-bean-pool";
+    protected static final String REUSE_INVOCATIONS_PROP = "reuse-ejb-invocations";
 
     protected final ClassLoader loader;
     protected Class<?> ejbClass;
@@ -412,6 +419,9 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     // optimized method map for proxies to resolve invocation info
     private MethodMap proxyInvocationInfoMap;
 
+    // generated direct-dispatch invoker of the bean class methods, null if not available
+    private BeanMethodInvoker beanMethodInvoker;
+
     protected Method[] ejbIntfMethods;
     protected InvocationInfo[] ejbIntfMethodInfo;
 
@@ -898,6 +908,24 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         return ejbDescriptor.getUniqueId();
     }
 
+    /**
+     * Creates the pool of bean instances. If glassfish-ejb-jar.xml
+     * &lt;enterprise-beans&gt;&lt;property&gt;lock-free-bean-pool is true, the {@link LockFreePool} is used,
+     * unless the singleton-bean-pool applies.
+     */
+    protected NonBlockingPool createNonBlockingPool(String poolName, ObjectFactory factory, int steadyPoolSize,
+        int resizeQuantity, int maxPoolSize, int idleTimeoutInSeconds) {
+        EjbBundleDescriptor bundle = ejbDescriptor.getEjbBundleDescriptor();
+        boolean singletonBeanPool = Boolean.parseBoolean(bundle.getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP))
+            && steadyPoolSize == 1 && maxPoolSize == 1;
+        if (!singletonBeanPool && Boolean.parseBoolean(bundle.getEnterpriseBeansProperty(LOCK_FREE_BEAN_POOL_PROP))) {
+            return new LockFreePool(getContainerId(), poolName, factory, steadyPoolSize, resizeQuantity, maxPoolSize,
+                idleTimeoutInSeconds, loader);
+        }
+        return new NonBlockingPool(getContainerId(), poolName, factory, steadyPoolSize, resizeQuantity, maxPoolSize,
+            idleTimeoutInSeconds, loader, singletonBeanPool);
+    }
+
     public final long getApplicationId() {
         return ejbDescriptor.getApplication().getUniqueId();
     }
@@ -3065,6 +3093,43 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
             Method m = ejbIntfMethods[i];
             ejbIntfMethodInfo[i] = invocationInfoMap.get(m);
         }
+
+        initializeBeanMethodInvoker();
+    }
+
+    /**
+     * Generates the invoker of the bean class methods, and stores the index of the bean class
+     * method of each invocation info, so that business methods are not invoked through reflection.
+     */
+    private void initializeBeanMethodInvoker() {
+        try {
+            beanMethodInvoker = EJBUtils.loadGeneratedBeanMethodInvoker(loader, ejbClass);
+        } catch (Exception | LinkageError e) {
+            _logger.log(FINE, e, () -> "Bean class methods of " + ejbDescriptor.getName() + " will be invoked through reflection");
+            return;
+        }
+
+        List<Method> invokableMethods = BeanInvokerGenerator.getInvokableMethods(ejbClass);
+        Map<Method, Integer> methodIndexes = new HashMap<>();
+        for (int i = 0; i < invokableMethods.size(); i++) {
+            methodIndexes.put(invokableMethods.get(i), i);
+        }
+        for (InvocationInfo info : invocationInfoMap.values()) {
+            if (info.targetMethod1 != null) {
+                info.targetMethodIndex = methodIndexes.getOrDefault(info.targetMethod1, -1);
+            }
+        }
+    }
+
+    /**
+     * @return the index of the bean class method in the generated invoker, or -1 if the method has
+     *         to be invoked through reflection.
+     */
+    private int getTargetMethodIndex(InvocationInfo info, Method beanClassMethod) {
+        if (beanMethodInvoker == null || info == null || info.targetMethodIndex < 0) {
+            return -1;
+        }
+        return beanClassMethod == info.targetMethod1 ? info.targetMethodIndex : -1;
     }
 
     /**
@@ -3158,6 +3223,17 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         return invFactory.create(ejb, context);
     }
 
+    /**
+     * Gives back a finished synchronous invocation created by {@link #createEjbInvocation()}, so it
+     * can be reused if glassfish-ejb-jar.xml &lt;enterprise-beans&gt;&lt;property&gt;reuse-ejb-invocations
+     * is true. Invocations of asynchronous methods are never reused.
+     */
+    void releaseEjbInvocation(EjbInvocation inv) {
+        if (inv.getEjbFutureTask() == null && (inv.invocationInfo == null || !inv.invocationInfo.isAsynchronous())) {
+            invFactory.release(inv);
+        }
+    }
+
     // default impl
     protected EJBLocalHomeInvocationHandler getEJBLocalHomeInvocationHandler(Class homeIntfClass) throws Exception {
         return new EJBLocalHomeInvocationHandler(ejbDescriptor, homeIntfClass);
@@ -3380,7 +3456,9 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
 
         ComponentEnvManager envManager = ejbContainerUtilImpl.getComponentEnvManager();
         componentId = envManager.bindToComponentNamespace(ejbDescriptor);
-        invFactory = new EjbInvocationFactory(componentId, this);
+        boolean reuseInvocations = Boolean.parseBoolean(
+            ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(REUSE_INVOCATIONS_PROP));
+        invFactory = new EjbInvocationFactory(componentId, this, reuseInvocations);
         ejbContainerUtilImpl.registerContainer(this);
         // create envProps object to be returned from EJBContext.getEnvironment
         Set env = ejbDescriptor.getEnvironmentProperties();
@@ -3601,10 +3679,24 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         try {
             onEjbMethodStart(inv.invocationInfo.str_method_sig);
 
+            int methodIndex = getTargetMethodIndex(inv.invocationInfo, beanClassMethod);
+
             if (inv.useFastPath) {
+                if (methodIndex >= 0 && inv.getBeanMethod() == beanClassMethod) {
+                    try {
+                        return beanMethodInvoker.invoke(methodIndex, inv.ejb, inv.methodParams);
+                    } catch (Throwable t) {
+                        throw new InvocationTargetException(t);
+                    }
+                }
                 return inv.getBeanMethod().invoke(inv.ejb, inv.methodParams);
             }
 
+            if (methodIndex >= 0) {
+                return securityManager.invoke(target, beanClassMethod, params,
+                    inv.getBeanMethodCall().set(beanMethodInvoker, methodIndex, target, params));
+            }
+
             return securityManager.invoke(target, beanClassMethod, params);
 
         } catch (InvocationTargetException ite) {
@@ -4117,7 +4209,15 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
      */
     public Object invokeBeanMethod(EjbInvocation invocation) throws Throwable {
         try {
-            return securityManager.invoke(invocation.ejb, invocation.getBeanMethod(), invocation.getParameters());
+            Method beanMethod = invocation.getBeanMethod();
+            int methodIndex = getTargetMethodIndex(invocation.invocationInfo, beanMethod);
+            if (methodIndex >= 0) {
+                Object bean = invocation.ejb;
+                Object[] params = invocation.getParameters();
+                return securityManager.invoke(bean, beanMethod, params,
+                    invocation.getBeanMethodCall().set(beanMethodInvoker, methodIndex, bean, params));
+            }
+            return securityManager.invoke(invocation.ejb, beanMethod, invocation.getParameters());
         } catch (InvocationTargetException ite) {
             throw ite.getCause();
         }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GZIP compression of the serialized state of stateful session beans.
+ * <p>
+ * The compressed state is recognized by the GZIP magic number, which can never start a Java
+ * serialization stream. Uncompressed state written before compression was enabled, or by
+ * another instance with compression disabled, is therefore still readable.
+ */
+final class CompressedState {
+
+    private static final int GZIP_MAGIC_1 = 0x1F;
+    private static final int GZIP_MAGIC_2 = 0x8B;
+
+    private CompressedState() {
+        // utility class
+    }
+
+    /**
+     * @param data serialized state
+     * @return GZIP compressed state
+     * @throws IOException if the compression failed
+     */
+    static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+        try (GZIPOutputStream gzip = new FastGZIPOutputStream(bos)) {
+            gzip.write(data);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * @param data state, compressed or not
+     * @return serialized state, decompressed if it was compressed
+     * @throws IOException if the decompression failed
+     */
+    static byte[] decompress(byte[] data) throws IOException {
+        if (!isCompressed(data)) {
+            return data;
+        }
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        }
+    }
+
+    /**
+     * @param data state, compressed or not
+     * @return true if the data start with the GZIP magic number
+     */
+    static boolean isCompressed(byte[] data) {
+        return data != null && data.length > 2 && (data[0] & 0xFF) == GZIP_MAGIC_1 && (data[1] & 0xFF) == GZIP_MAGIC_2;
+    }
+
+    private static final class FastGZIPOutputStream extends GZIPOutputStream {
+
+        FastGZIPOutputStream(ByteArrayOutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
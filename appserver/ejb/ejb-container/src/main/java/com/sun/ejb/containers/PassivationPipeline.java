@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Passivates the beans trimmed from a stateful session bean cache in the background.
+ * <p>
+ * Trimmed beans are queued without locking, so a request thread overflowing the cache only pays
+ * for an enqueue. For every full batch of queued candidates one more worker is started on the
+ * executor, up to the configured maximum, so passivations run in parallel but never occupy more
+ * than that many threads. Each worker takes a whole batch from the queue at a time and
+ * passivates it, serializing and storing the beans one after another.
+ * <p>
+ * The pipeline counts passivations, failures and batches, tracks the queue depth, and measures
+ * how long the candidates waited in the queue and how long their passivation took.
+ *
+ * @param <T> type of the queued candidates
+ */
+final class PassivationPipeline<T> {
+
+    private static final Logger LOG = Logger.getLogger(PassivationPipeline.class.getName());
+
+    private final String name;
+    private final int batchSize;
+    private final int maxWorkers;
+    private final Executor executor;
+    private final Predicate<T> passivator;
+    private final ClassLoader classLoader;
+
+    private final ConcurrentLinkedQueue<Candidate<T>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    private final LongAdder queuedCount = new LongAdder();
+    private final LongAdder passivatedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder workerCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalPassivationNanos = new LongAdder();
+    private volatile long maxPassivationNanos;
+
+    /**
+     * @param name name used in the log messages
+     * @param batchSize number of queued candidates per started worker, and number of candidates
+     *            a worker takes from the queue at once
+     * @param maxWorkers maximal number of workers passivating at the same time
+     * @param executor executes the workers
+     * @param passivator passivates one candidate, returns false if it was not passivated
+     * @param classLoader context class loader of the workers
+     */
+    PassivationPipeline(String name, int batchSize, int maxWorkers, Executor executor, Predicate<T> passivator,
+        ClassLoader classLoader) {
+        if (batchSize < 1 || maxWorkers < 1) {
+            throw new IllegalArgumentException("Batch size and max workers must be positive");
+        }
+        this.name = name;
+        this.batchSize = batchSize;
+        this.maxWorkers = maxWorkers;
+        this.executor = executor;
+        this.passivator = passivator;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Queues the candidate for passivation and starts a worker when a batch is full.
+     */
+    void offer(T candidate) {
+        queue.add(new Candidate<>(candidate, System.nanoTime()));
+        queuedCount.increment();
+        int depth = queueDepth.incrementAndGet();
+        int max = maxQueueDepth.get();
+        while (depth > max && !maxQueueDepth.compareAndSet(max, depth)) {
+            max = maxQueueDepth.get();
+        }
+        startWorkers();
+    }
+
+    /**
+     * Removes a candidate from the queue without passivating it, to be handled by the caller.
+     *
+     * @return the candidate or null if the queue is empty
+     */
+    T poll() {
+        Candidate<T> candidate = queue.poll();
+        if (candidate == null) {
+            return null;
+        }
+        queueDepth.decrementAndGet();
+        return candidate.value;
+    }
+
+    private void startWorkers() {
+        while (true) {
+            int active = activeWorkers.get();
+            if (active >= maxWorkers || active >= queueDepth.get() / batchSize) {
+                return;
+            }
+            if (activeWorkers.compareAndSet(active, active + 1)) {
+                try {
+                    executor.execute(this::work);
+                    workerCount.increment();
+                } catch (RuntimeException e) {
+                    activeWorkers.decrementAndGet();
+                    LOG.log(WARNING, e, () -> "Could not start a passivation worker for " + name);
+                    return;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void work() {
+        final Thread currentThread = Thread.currentThread();
+        final ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+        final Candidate<T>[] batch = new Candidate[batchSize];
+        currentThread.setContextClassLoader(classLoader);
+        try {
+            while (true) {
+                int size = 0;
+                while (size < batchSize) {
+                    Candidate<T> candidate = queue.poll();
+                    if (candidate == null) {
+                        break;
+                    }
+                    batch[size++] = candidate;
+                }
+                if (size == 0) {
+                    return;
+                }
+                queueDepth.addAndGet(-size);
+                batchCount.increment();
+                for (int i = 0; i < size; i++) {
+                    passivate(batch[i]);
+                    batch[i] = null;
+                }
+            }
+        } finally {
+            activeWorkers.decrementAndGet();
+            currentThread.setContextClassLoader(previousClassLoader);
+            // Candidates queued while this worker was finishing must not wait for the next offer
+            startWorkers();
+        }
+    }
+
+    private void passivate(Candidate<T> candidate) {
+        long start = System.nanoTime();
+        totalWaitNanos.add(start - candidate.queuedAt);
+        boolean passivated = false;
+        try {
+            passivated = passivator.test(candidate.value);
+        } catch (RuntimeException | Error e) {
+            LOG.log(WARNING, e, () -> "Passivation failed in " + name);
+        } finally {
+            long time = System.nanoTime() - start;
+            totalPassivationNanos.add(time);
+            if (time > maxPassivationNanos) {
+                maxPassivationNanos = time;
+            }
+            if (passivated) {
+                passivatedCount.increment();
+            } else {
+                failedCount.increment();
+            }
+        }
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    int getMaxWorkers() {
+        return maxWorkers;
+    }
+
+    int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    int getActiveWorkers() {
+        return activeWorkers.get();
+    }
+
+    long getQueuedCount() {
+        return queuedCount.sum();
+    }
+
+    long getPassivatedCount() {
+        return passivatedCount.sum();
+    }
+
+    long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    long getWorkerCount() {
+        return workerCount.sum();
+    }
+
+    /**
+     * @return average time the candidates waited in the queue, in milliseconds
+     */
+    double getAverageWaitMillis() {
+        long count = passivatedCount.sum() + failedCount.sum();
+        return count == 0 ? 0d : totalWaitNanos.sum() / 1_000_000d / count;
+    }
+
+    /**
+     * @return average time of one passivation, in milliseconds
+     */
+    double getAveragePassivationMillis() {
+        long count = passivatedCount.sum() + failedCount.sum();
+        return count == 0 ? 0d : totalPassivationNanos.sum() / 1_000_000d / count;
+    }
+
+    /**
+     * @return longest passivation, in milliseconds
+     */
+    double getMaxPassivationMillis() {
+        return maxPassivationNanos / 1_000_000d;
+    }
+
+    /**
+     * @return passivations per second of worker time
+     */
+    double getThroughput() {
+        long nanos = totalPassivationNanos.sum();
+        return nanos == 0 ? 0d : (passivatedCount.sum() + failedCount.sum()) * 1_000_000_000d / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "passivationQSz=" + getQueueDepth() + "; maxPassivationQSz=" + getMaxQueueDepth() + "; activeWorkers="
+            + getActiveWorkers() + "; startedWorkers=" + getWorkerCount() + "; batches=" + getBatchCount()
+            + "; passivated=" + getPassivatedCount() + "; failed=" + getFailedCount() + "; avgWaitMillis="
+            + getAverageWaitMillis() + "; avgPassivationMillis=" + getAveragePassivationMillis()
+            + "; maxPassivationMillis=" + getMaxPassivationMillis() + "; passivationsPerSecond=" + getThroughput();
+    }
+
+    private static final class Candidate<T> {
+
+        final T value;
+        final long queuedAt;
+
+        Candidate(T value, long queuedAt) {
+            this.value = value;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
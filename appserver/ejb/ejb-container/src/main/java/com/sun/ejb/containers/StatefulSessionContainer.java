@@ -93,6 +93,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -216,15 +218,20 @@ public final class StatefulSessionContainer extends BaseContainer implements Cac
     private final static long CONCURRENCY_NOT_ALLOWED = 0;
     private final static long BLOCK_INDEFINITELY = -1;
 
-    private final ArrayList passivationCandidates = new ArrayList();
-    private final Object asyncTaskSemaphore = new Object();
+    /**
+     * Enterprise beans property limiting the number of threads passivating the beans of one container.
+     */
+    static final String PASSIVATION_THREADS_PROP = "sfsb-passivation-threads";
 
-    private int asyncTaskCount = 0;
-    private int asyncCummTaskCount = 0;
+    /**
+     * Enterprise beans property enabling GZIP compression of the passivated and checkpointed state.
+     */
+    static final String COMPRESS_STATE_PROP = "sfsb-compress-state";
 
     private int passivationBatchCount = MIN_PASSIVATION_BATCH_COUNT;
-
-    private int containerTrimCount = 0;
+    private final int passivationThreads;
+    private final boolean compressState;
+    private volatile PassivationPipeline<ComponentContext> passivationPipeline;
 
     private LruSessionCache sessionBeanCache;
     private BackingStore<Serializable, SimpleMetadata> backingStore;
@@ -285,6 +292,39 @@ public final class StatefulSessionContainer extends BaseContainer implements Cac
         prePassivateInvInfo = getLifecycleCallbackInvInfo(sfulDesc.getPrePassivateDescriptors());
 
         isPassivationCapable = sfulDesc.isPassivationCapable();
+
+        passivationThreads = getPassivationThreads(
+            ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(PASSIVATION_THREADS_PROP));
+        compressState = Boolean.parseBoolean(
+            ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(COMPRESS_STATE_PROP));
+        passivationPipeline = createPassivationPipeline();
+    }
+
+    private static int getPassivationThreads(String value) {
+        int defaultThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+        if (value == null) {
+            return defaultThreads;
+        }
+        try {
+            int threads = Integer.parseInt(value.trim());
+            return threads > 0 ? threads : defaultThreads;
+        } catch (NumberFormatException e) {
+            _logger.log(WARNING, "Invalid value of " + PASSIVATION_THREADS_PROP + ": " + value, e);
+            return defaultThreads;
+        }
+    }
+
+    private PassivationPipeline<ComponentContext> createPassivationPipeline() {
+        return new PassivationPipeline<>(traceInfoPrefix + "passivation", Math.max(1, passivationBatchCount), passivationThreads,
+            this::executePassivation, this::passivateEJB, loader);
+    }
+
+    private void executePassivation(Runnable task) {
+        ThreadPoolExecutor executor = ejbContainerUtilImpl.getThreadPoolExecutor(null);
+        if (executor == null) {
+            throw new RejectedExecutionException("No executor available for the passivation of " + ejbName);
+        }
+        executor.execute(task);
     }
 
     @Override
@@ -434,9 +474,10 @@ public final class StatefulSessionContainer extends BaseContainer implements Cac
 
     public String getMonitorAttributeValues() {
         StringBuilder sbuf = new StringBuilder();
-        sbuf.append(" { asyncTaskCount=").append(asyncTaskCount).append("; asyncCummTaskCount=").append(asyncCummTaskCount)
-                .append("; passivationBatchCount=").append(passivationBatchCount).append("; passivationQSz=")
-                .append(passivationCandidates.size()).append("; trimEventCount=").append(containerTrimCount).append(" }");
+        PassivationPipeline<ComponentContext> pipeline = passivationPipeline;
+        sbuf.append(" { passivationBatchCount=").append(passivationBatchCount).append("; passivationThreads=")
+                .append(passivationThreads).append("; trimEventCount=").append(pipeline.getQueuedCount()).append("; ")
+                .append(pipeline).append(" }");
         return sbuf.toString();
     }
 
@@ -2030,6 +2071,8 @@ public final class StatefulSessionContainer extends BaseContainer implements Cac
 
     public void setPassivationBatchCount(int count) {
         this.passivationBatchCount = count;
+        // called while the container is being built, before any bean could be trimmed
+        this.passivationPipeline = createPassivationPipeline();
     }
 
     // called asynchronously from the Recycler
@@ -2207,7 +2250,8 @@ public final class StatefulSessionContainer extends BaseContainer implements Cac
 
     @Override
     public Object deserializeData(byte[] data) throws Exception {
-        Object object = ejbContainerUtilImpl.getJavaEEIOUtils().deserializeObject(data, true, getClassLoader());
+        Object object = ejbContainerUtilImpl.getJavaEEIOUtils().deserializeObject(CompressedState.decompress(data), true,
+                getClassLoader());
         if (object instanceof SessionContextImpl) {
             SessionContextImpl ctx = (SessionContextImpl) object;
             Object ejb = ctx.getEJB();
@@ -2237,7 +2281,8 @@ public final class StatefulSessionContainer extends BaseContainer implements Cac
             ctx.setEJB(null);
             ctx.setEJB(new SerializableEJB(ejb));
         }
-        return ejbContainerUtilImpl.getJavaEEIOUtils().serializeObject(ctx, true);
+        byte[] data = ejbContainerUtilImpl.getJavaEEIOUtils().serializeObject(ctx, true);
+        return compressState ? CompressedState.compress(data) : data;
     }
 
     private void decrementRefCountsForEEMs(SessionContextImpl context) {
@@ -2413,16 +2458,8 @@ public final class StatefulSessionContainer extends BaseContainer implements Cac
                 _logger.log(Level.INFO, SFSB_NOT_RESTORED_AFTER_RESTART);
             }
             sessionBeanCache.shutdown();
-            while (true) {
-                ComponentContext ctx = null;
-                synchronized (asyncTaskSemaphore) {
-                    int sz = passivationCandidates.size();
-                    if (sz > 0) {
-                        ctx = (ComponentContext) passivationCandidates.remove(sz - 1);
-                    } else {
-                        break;
-                    }
-                }
+            ComponentContext ctx;
+            while ((ctx = passivationPipeline.poll()) != null) {
                 passivateEJB(ctx);
             }
 
@@ -2457,17 +2494,9 @@ public final class StatefulSessionContainer extends BaseContainer implements Cac
                 invokePreDestroyAndUndeploy(ctx);
             }
 
-            while (true) {
-                SessionContextImpl ctx = null;
-                synchronized (asyncTaskSemaphore) {
-                    int sz = passivationCandidates.size();
-                    if (sz > 0) {
-                        ctx = (SessionContextImpl) passivationCandidates.remove(sz - 1);
-                        invokePreDestroyAndUndeploy(ctx);
-                    } else {
-                        break;
-                    }
-                }
+            ComponentContext candidate;
+            while ((candidate = passivationPipeline.poll()) != null) {
+                invokePreDestroyAndUndeploy((SessionContextImpl) candidate);
             }
 
             sessionBeanCache.destroy();
@@ -2600,36 +2629,12 @@ public final class StatefulSessionContainer extends BaseContainer implements Cac
     // CacheListener interface
     @Override
     public void trimEvent(Object primaryKey, Object context) {
-        boolean addTask = false;
-        synchronized (asyncTaskSemaphore) {
-            containerTrimCount++;
-            passivationCandidates.add(context);
-            int requiredTaskCount = (passivationCandidates.size() / passivationBatchCount);
-            addTask = (asyncTaskCount < requiredTaskCount);
-
-            if (_logger.isLoggable(FINE)) {
-                _logger.log(FINE,
-                        "qSize: " + passivationCandidates.size() + "; batchCount: " + passivationBatchCount + "; asyncTaskCount: "
-                                + asyncTaskCount + "; requiredTaskCount: " + requiredTaskCount + "; ADDED TASK ==> " + addTask);
-            }
-
-            if (addTask == false) {
-                return;
-            }
-            asyncTaskCount++;
-            asyncCummTaskCount++;
-        }
-
-        try {
-            ASyncPassivator work = new ASyncPassivator();
-            ejbContainerUtilImpl.addWork(work);
-        } catch (Exception ex) {
-            synchronized (asyncTaskSemaphore) {
-                asyncTaskCount--;
-            }
-            _logger.log(WARNING, ADD_CLEANUP_TASK_ERROR, ex);
+        PassivationPipeline<ComponentContext> pipeline = passivationPipeline;
+        pipeline.offer((ComponentContext) context);
+        if (_logger.isLoggable(FINE)) {
+            _logger.log(FINE, "qSize: " + pipeline.getQueueDepth() + "; batchCount: " + passivationBatchCount
+                    + "; activeWorkers: " + pipeline.getActiveWorkers());
         }
-
     }
 
     public void setSFSBUUIDUtil(SFSBUUIDUtil util) {
@@ -2960,47 +2965,6 @@ public final class StatefulSessionContainer extends BaseContainer implements Cac
 
     }
 
-    private class ASyncPassivator implements Runnable {
-
-        @Override
-        public void run() {
-            final Thread currentThread = Thread.currentThread();
-            final ClassLoader previousClassLoader = currentThread.getContextClassLoader();
-            final ClassLoader myClassLoader = loader;
-
-            boolean decrementedTaskCount = false;
-            try {
-                // We need to set the context class loader for
-                // this (deamon) thread!!
-                currentThread.setContextClassLoader(myClassLoader);
-                ComponentContext ctx = null;
-
-                do {
-                    synchronized (asyncTaskSemaphore) {
-                        int sz = passivationCandidates.size();
-                        if (sz > 0) {
-                            ctx = (ComponentContext) passivationCandidates.remove(sz - 1);
-                        } else {
-                            return;
-                        }
-                    }
-                    passivateEJB(ctx);
-                } while (true);
-
-            } catch (Throwable th) {
-                th.printStackTrace();
-            } finally {
-                if (!decrementedTaskCount) {
-                    synchronized (asyncTaskSemaphore) {
-                        asyncTaskCount--;
-                    }
-                }
-
-                currentThread.setContextClassLoader(previousClassLoader);
-            }
-        }
-    }
-
     static class EMNotSerializableException extends NotSerializableException {
 
         private static final long serialVersionUID = 1L;
@@ -108,18 +108,21 @@ public final class InterceptorInvocationHandler implements InvocationHandler, In
         Object returnValue = null;
 
         try {
-            Method beanClassMethod = targetInstance.getClass().getMethod(method.getName(), method.getParameterTypes());
-
-            InterceptorManager.InterceptorChain chain = interceptorManager.getAroundInvokeChain(null, beanClassMethod);
+            AroundInvokeTarget target = interceptorManager.getAroundInvokeTarget(targetInstance.getClass(), method);
 
             Object[] theArgs = (args == null) ? emptyArray : args;
 
+            if (!target.hasInterceptors) {
+                // Nothing to intercept, no need for an invocation context
+                return target.beanClassMethod.invoke(targetInstance, theArgs);
+            }
+
             // Create context for around invoke invocation. Make sure method set on
             // InvocationContext is from bean class.
             AroundInvokeInvocationContext invContext =
-                new AroundInvokeInvocationContext(targetInstance, interceptorInstances, chain, beanClassMethod, theArgs);
+                new AroundInvokeInvocationContext(targetInstance, interceptorInstances, target.chain, target.beanClassMethod, theArgs);
 
-            returnValue = interceptorManager.intercept(chain, invContext);
+            returnValue = interceptorManager.intercept(target.chain, invContext);
 
         } catch (NoSuchMethodException nsme) {
             throw new RuntimeException(nsme);
@@ -42,6 +42,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -95,6 +96,9 @@ public class InterceptorManager {
 
     List<InterceptorDescriptor> frameworkInterceptors = new LinkedList<>();
 
+    // Resolved bean class methods and chains of the proxy methods of non-ejb managed beans
+    private final Map<Method, AroundInvokeTarget> aroundInvokeTargets = new ConcurrentHashMap<>();
+
     public InterceptorManager(Logger _logger, BaseContainer container, Class<?>[] lcAnnotationClasses, String[] pre30LCMethodNames) throws Exception {
         this._logger = _logger;
         this.container = container;
@@ -305,6 +309,20 @@ public class InterceptorManager {
         return this.interceptorsExists;
     }
 
+    /**
+     * Resolves the bean class method and its around-invoke chain for a method invoked through the
+     * proxy of a non-ejb managed bean. The result is computed once per proxy method.
+     */
+    AroundInvokeTarget getAroundInvokeTarget(Class<?> targetClass, Method method) throws NoSuchMethodException {
+        AroundInvokeTarget target = aroundInvokeTargets.get(method);
+        if (target == null || target.targetClass != targetClass) {
+            Method beanClassMethod = targetClass.getMethod(method.getName(), method.getParameterTypes());
+            target = new AroundInvokeTarget(targetClass, beanClassMethod, getAroundInvokeChain(null, beanClassMethod));
+            aroundInvokeTargets.put(method, target);
+        }
+        return target;
+    }
+
     public Object intercept(InterceptorManager.InterceptorChain chain, AroundInvokeContext ctx) throws Throwable {
         return chain.invokeNext(0, ctx);
     }
@@ -719,6 +737,23 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
     }
 }
 
+/**
+ * Bean class method and around-invoke chain resolved for a proxy method.
+ */
+final class AroundInvokeTarget {
+    final Class<?> targetClass;
+    final Method beanClassMethod;
+    final InterceptorManager.InterceptorChain chain;
+    final boolean hasInterceptors;
+
+    AroundInvokeTarget(Class<?> targetClass, Method beanClassMethod, InterceptorManager.InterceptorChain chain) {
+        this.targetClass = targetClass;
+        this.beanClassMethod = beanClassMethod;
+        this.chain = chain;
+        this.hasInterceptors = !(chain instanceof AroundInvokeChainImpl) || ((AroundInvokeChainImpl) chain).size > 0;
+    }
+}
+
 class AroundInvokeInterceptor {
     protected int index;
     protected Method method;
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.containers.EJBContextImpl;
+import com.sun.ejb.containers.EjbContainerUtilImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.sun.enterprise.util.Utility.setContextClassLoader;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Lock-free variant of the {@link NonBlockingPool}.
+ * <p>
+ * Pooled objects are kept in a lock-free deque used as a stack, the most recently returned object is reused first and
+ * the least recently used objects are at the bottom, where the idle timeout resizer removes them. Counters are updated
+ * without locking, so the getObject and returnObject methods never block each other.
+ * <p>
+ * The steady pool size, max pool size, resize quantity and idle timeout have the same meaning as in the
+ * {@link NonBlockingPool}. The pool size may exceed the max pool size for a moment when many objects are returned at
+ * once, but such objects are destroyed immediately. The singleton bean pool is not supported, it is served by the
+ * {@link NonBlockingPool}.
+ */
+public class LockFreePool extends NonBlockingPool {
+
+    private final ConcurrentLinkedDeque<Object> stack = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean resizeTaskAdded = new AtomicBoolean();
+    private final AtomicBoolean resizing = new AtomicBoolean();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder success = new LongAdder();
+    private final String lockFreePoolName;
+    private final boolean maintainSteadySize;
+    private volatile boolean closed;
+
+    public LockFreePool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity,
+        int maxPoolSize, int idleTimeoutInSeconds, ClassLoader loader) {
+        super(beanId, poolName, factory, steadyPoolSize, resizeQuantity, maxPoolSize, idleTimeoutInSeconds, loader, false);
+        this.lockFreePoolName = poolName;
+        this.maintainSteadySize = this.steadyPoolSize > 0;
+    }
+
+    @Override
+    public Object getObject(Object param) {
+        Object pooledObject = stack.pollFirst();
+        if (pooledObject != null) {
+            success.increment();
+            if (size.decrementAndGet() >= steadyPoolSize) {
+                return pooledObject;
+            }
+        } else {
+            poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+            created.increment();
+        }
+
+        if (maintainSteadySize && resizeTaskAdded.compareAndSet(false, true)) {
+            addResizeTask();
+        }
+
+        if (pooledObject != null) {
+            return pooledObject;
+        }
+        try {
+            return pooledObjectFactory.create(param);
+        } catch (RuntimeException th) {
+            poolProbeNotifier.ejbObjectAddFailedEvent(beanId, appName, modName, ejbName);
+            created.decrement();
+            throw th;
+        }
+    }
+
+    private void addResizeTask() {
+        try {
+            EjbContainerUtilImpl.getInstance().addWork(() -> {
+                try {
+                    doResize();
+                } finally {
+                    resizeTaskAdded.set(false);
+                }
+            });
+            _logger.log(FINE, () -> "[Pool-" + lockFreePoolName + "]: Added pool resize task...");
+        } catch (Exception ex) {
+            resizeTaskAdded.set(false);
+            _logger.log(WARNING, ex, () -> "[Pool-" + lockFreePoolName + "]: Cannot perform pool resize task");
+        }
+    }
+
+    @Override
+    public void returnObject(Object object) {
+        if (!closed && size.incrementAndGet() <= maxPoolSize) {
+            stack.offerFirst(object);
+            return;
+        }
+        if (!closed) {
+            size.decrementAndGet();
+        }
+        destroy(object, "exception in returnObj");
+    }
+
+    @Override
+    public void destroyObject(Object object) {
+        destroy(object, "exception in destroyObject");
+    }
+
+    private void destroy(Object object, String message) {
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.increment();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, message, ex);
+        }
+    }
+
+    @Override
+    protected void preload(int count) {
+        List<Object> newInstances = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                newInstances.add(pooledObjectFactory.create(null));
+            }
+        } catch (Exception ex) {
+            // Need not throw this exception up since we are pre-populating
+        }
+        for (Object newInstance : newInstances) {
+            poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+            created.increment();
+            returnObject(newInstance);
+        }
+    }
+
+    @Override
+    protected void remove(int count) {
+        for (int i = 0; i < count; i++) {
+            Object pooledObject = stack.pollFirst();
+            if (pooledObject == null) {
+                return;
+            }
+            size.decrementAndGet();
+            destroy(pooledObject, "exception in remove");
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        ClassLoader origLoader = setContextClassLoader(containerClassLoader);
+        try {
+            _logger.log(FINE, () -> "[Pool-" + lockFreePoolName + "]: Destroying " + size.get() + " beans from the pool...");
+            for (Object pooledObject = stack.pollFirst(); pooledObject != null; pooledObject = stack.pollFirst()) {
+                size.decrementAndGet();
+                try {
+                    destroy(pooledObject, "exception in close");
+                } catch (Throwable th) {
+                    _logger.log(WARNING, "[Pool-" + lockFreePoolName + "]: Error while destroying", th);
+                }
+            }
+        } finally {
+            setContextClassLoader(origLoader);
+        }
+        // cancels the idle timeout timer and unregisters the probe provider
+        super.close();
+    }
+
+    /**
+     * Removes objects idle longer than the idle timeout from the bottom of the stack or populates the pool up to the
+     * steady pool size.
+     */
+    @Override
+    protected void doResize() {
+        if (closed || !resizing.compareAndSet(false, true)) {
+            return;
+        }
+        final Thread currentThread = Thread.currentThread();
+        final ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+        try {
+            currentThread.setContextClassLoader(containerClassLoader);
+            int curSize = size.get();
+            if (curSize > steadyPoolSize) {
+                if (idleTimeoutInSeconds <= 0 || resizeQuantity <= 0) {
+                    return;
+                }
+                int victimCount = Math.min(resizeQuantity, curSize - steadyPoolSize);
+                long allowedIdleTime = System.currentTimeMillis() - idleTimeoutInSeconds * 1000L;
+                _logger.log(FINE, () -> "[Pool-" + lockFreePoolName + "]: Resize:: reducing pool size by: " + victimCount);
+                for (int i = 0; i < victimCount; i++) {
+                    Object pooledObject = stack.pollLast();
+                    if (pooledObject == null) {
+                        break;
+                    }
+                    if (pooledObject instanceof EJBContextImpl ejbContext && ejbContext.getLastTimeUsed() > allowedIdleTime) {
+                        // the oldest object is still in use, so are all others
+                        stack.offerLast(pooledObject);
+                        break;
+                    }
+                    size.decrementAndGet();
+                    destroy(pooledObject, "exception in doResize");
+                }
+            } else if (curSize < steadyPoolSize && maintainSteadySize) {
+                int populateCount = steadyPoolSize - curSize;
+                if (resizeQuantity > 0) {
+                    populateCount = ((populateCount + resizeQuantity - 1) / resizeQuantity) * resizeQuantity;
+                    populateCount = Math.min(populateCount, maxPoolSize - curSize);
+                }
+                if (populateCount > 0) {
+                    preload(populateCount);
+                }
+            }
+        } catch (Throwable th) {
+            _logger.log(WARNING, "[Pool-" + lockFreePoolName + "]: Exception during reSize", th);
+        } finally {
+            resizing.set(false);
+            currentThread.setContextClassLoader(previousClassLoader);
+        }
+        _logger.log(FINE, () -> "[Pool-" + lockFreePoolName + "]: Resize completed; after reSize: " + getAllAttrValues());
+    }
+
+    @Override
+    public int getCreatedCount() {
+        return created.intValue();
+    }
+
+    @Override
+    public int getDestroyedCount() {
+        return destroyed.intValue();
+    }
+
+    @Override
+    public int getPoolSuccess() {
+        return success.intValue();
+    }
+
+    @Override
+    public int getSize() {
+        return size.get();
+    }
+
+    @Override
+    public int getNumBeansInPool() {
+        return size.get();
+    }
+
+    @Override
+    public int getTotalBeansCreated() {
+        return created.intValue();
+    }
+
+    @Override
+    public int getTotalBeansDestroyed() {
+        return destroyed.intValue();
+    }
+
+    @Override
+    public void appendStats(StringBuffer sbuf) {
+        sbuf.append("[Pool: ")
+            .append("SZ=").append(size.get()).append("; ")
+            .append("CC=").append(created.intValue()).append("; ")
+            .append("DC=").append(destroyed.intValue()).append("; ")
+            .append("WC=0; ")
+            .append("MSG=0");
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+        sbuf.append("]");
+    }
+
+    @Override
+    public String getAllMonitoredAttrbuteValues() {
+        return "createdCount=" + created.intValue() + ";destroyedCount=" + destroyed.intValue() + ";waitCount=0;size="
+            + size.get() + ";maxPoolSize=" + maxPoolSize + ";";
+    }
+
+    @Override
+    public String getAllAttrValues() {
+        return "[Pool-" + lockFreePoolName + "] CC=" + created.intValue() + "; DC=" + destroyed.intValue() + "; CS="
+            + size.get() + "; SS=" + steadyPoolSize + "; MS=" + maxPoolSize + ";";
+    }
+}
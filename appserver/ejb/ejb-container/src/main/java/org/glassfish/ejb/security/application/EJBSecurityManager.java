@@ -32,6 +32,7 @@ import com.sun.logging.LogDomains;
 import jakarta.security.jacc.EJBMethodPermission;
 import jakarta.security.jacc.PolicyContext;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -40,6 +41,7 @@ import java.security.CodeSource;
 import java.security.Principal;
 import java.security.cert.Certificate;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -264,6 +266,21 @@ public final class EJBSecurityManager implements SecurityManager {
         return authorizationService.invokeBeanMethod(bean, beanClassMethod, methodParameters);
     }
 
+    @Override
+    public Object invoke(Object bean, Method beanClassMethod, Object[] methodParameters, Callable<Object> directInvocation)
+        throws Throwable {
+        // Same policy context handling as the reflective invocation, without the reflection
+        String previousContextId = PolicyContext.getContextID();
+        PolicyContext.setContextID(contextId);
+        try {
+            return directInvocation.call();
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        } finally {
+            PolicyContext.setContextID(previousContextId);
+        }
+    }
+
     /**
      * This method is used by Message Driven Bean Container to remove the run-as identity information that was set up using the
      * preSetRunAsIdentity method
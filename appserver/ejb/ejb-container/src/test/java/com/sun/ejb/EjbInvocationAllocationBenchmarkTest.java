@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.ejb;
+
+import com.sun.ejb.codegen.BeanMethodInvoker;
+
+import java.lang.System.Logger;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Measures the garbage created per invocation by the invocation objects of a bean without
+ * interceptors, with and without invocation reuse.
+ */
+@State(Scope.Thread)
+public class EjbInvocationAllocationBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(EjbInvocationAllocationBenchmarkTest.class.getName());
+
+    @Param({"false", "true"})
+    private boolean reuse;
+
+    private EjbInvocationFactory factory;
+    private InvocationInfo invocationInfo;
+    private BeanMethodInvoker invoker;
+    private Object bean;
+    private Object[] params;
+
+    @Test
+    public void allocationPerInvocation() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .forks(1).threads(1).shouldFailOnError(true)
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(1).measurementTime(TimeValue.seconds(1L)).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS).mode(Mode.Throughput)
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        for (RunResult result : results) {
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            assertThat(allocation, notNullValue());
+            LOG.log(INFO, "reuse={0}: {1} ops/us, {2} {3}", result.getParams().getParam("reuse"),
+                result.getPrimaryResult().getScore(), allocation.getScore(), allocation.getScoreUnit());
+            assertThat(result.getPrimaryResult().getScore(), greaterThan(0d));
+            if (Boolean.parseBoolean(result.getParams().getParam("reuse"))) {
+                assertThat(allocation.getScore(), lessThan(8d));
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createFactory() throws Exception {
+        factory = new EjbInvocationFactory("benchmark", EjbInvocationFactoryTest.CONTAINER, "module", "app", reuse);
+        Method method = Object.class.getMethod("hashCode");
+        invocationInfo = new InvocationInfo(method);
+        invocationInfo.targetMethod1 = method;
+        invocationInfo.targetMethodIndex = 0;
+        Integer result = 42;
+        invoker = (methodIndex, target, args) -> result;
+        bean = new Object();
+        params = new Object[0];
+    }
+
+    /**
+     * Does what the local business object handler and the container do with the invocation
+     * object of a bean without interceptors.
+     */
+    @Benchmark
+    public Object invoke() throws Exception {
+        EjbInvocation inv = factory.create();
+        inv.isLocal = true;
+        inv.isBusinessInterface = true;
+        inv.method = invocationInfo.method;
+        inv.methodParams = params;
+        inv.invocationInfo = invocationInfo;
+        inv.transactionAttribute = invocationInfo.txAttr;
+        inv.beanMethod = invocationInfo.targetMethod1;
+        inv.instance = inv.ejb = bean;
+        Object returnValue = inv.getBeanMethodCall()
+            .set(invoker, invocationInfo.targetMethodIndex, inv.ejb, inv.methodParams).call();
+        factory.release(inv);
+        return returnValue;
+    }
+}
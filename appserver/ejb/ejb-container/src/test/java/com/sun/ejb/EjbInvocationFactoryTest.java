@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.ejb;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EjbInvocationFactoryTest {
+
+    static final Container CONTAINER = (Container) Proxy.newProxyInstance(EjbInvocationFactoryTest.class.getClassLoader(),
+        new Class<?>[] {Container.class}, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+    @Test
+    public void releasedInvocationIsResetAndReused() throws Exception {
+        EjbInvocationFactory factory = new EjbInvocationFactory("comp", CONTAINER, "module", "app", true);
+        EjbInvocation inv = factory.create();
+        inv.isLocal = true;
+        inv.method = Object.class.getMethod("toString");
+        inv.methodParams = new Object[] {"param"};
+        inv.exception = new IllegalStateException();
+        inv.setTransactionOperationsManager(null);
+        inv.setRegistryFor(String.class, "registered");
+        inv.getContextData().put("key", "value");
+        inv.clearYetToSubmitStatus();
+        factory.release(inv);
+
+        EjbInvocation reused = factory.create();
+        assertSame(inv, reused);
+        assertFalse(reused.isLocal);
+        assertNull(reused.method);
+        assertNull(reused.methodParams);
+        assertNull(reused.exception);
+        assertSame(reused, reused.getTransactionOperationsManager());
+        assertNull(reused.getRegistryFor(String.class));
+        assertTrue(reused.getContextData().isEmpty());
+        assertEquals("comp", reused.getComponentId());
+        assertEquals("module", reused.getModuleName());
+        assertEquals("app", reused.getAppName());
+        assertSame(CONTAINER, reused.getContainer());
+    }
+
+    @Test
+    public void nestedInvocationsAreDistinct() {
+        EjbInvocationFactory factory = new EjbInvocationFactory("comp", CONTAINER, "module", "app", true);
+        EjbInvocation outer = factory.create();
+        EjbInvocation inner = factory.create();
+        assertNotSame(outer, inner);
+        factory.release(inner);
+        factory.release(outer);
+        assertSame(inner, factory.create());
+        assertNotSame(outer, factory.create());
+    }
+
+    @Test
+    public void invocationsAreNotReusedByDefault() {
+        EjbInvocationFactory factory = new EjbInvocationFactory("comp", CONTAINER, "module", "app", false);
+        EjbInvocation inv = factory.create();
+        factory.release(inv);
+        assertNotSame(inv, factory.create());
+    }
+}
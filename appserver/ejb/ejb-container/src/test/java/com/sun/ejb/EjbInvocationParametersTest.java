@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb;
+
+import com.sun.ejb.codegen.BeanInvokerGenerator;
+import com.sun.ejb.codegen.BeanMethodInvoker;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EjbInvocationParametersTest {
+
+    @Test
+    public void widenedParametersAreInvokedLikeByReflection() throws Exception {
+        Method method = WideningBean.class.getMethod("sum", short.class, int.class, long.class, float.class,
+            double.class);
+        EjbInvocation inv = new EjbInvocationFactory("comp", EjbInvocationFactoryTest.CONTAINER, "module", "app",
+            false).create();
+        inv.beanMethod = method;
+        inv.setParameters(new Object[] {(byte) 1, (short) 2, 3, 4, 5.5f});
+
+        BeanMethodInvoker invoker = EJBUtils.loadGeneratedBeanMethodInvoker(
+            EjbInvocationParametersTest.class.getClassLoader(), WideningBean.class);
+        int methodIndex = BeanInvokerGenerator.getInvokableMethods(WideningBean.class).indexOf(method);
+        WideningBean bean = new WideningBean();
+        assertEquals(method.invoke(bean, inv.getParameters()), invoker.invoke(methodIndex, bean, inv.getParameters()));
+        assertEquals(15.5d, invoker.invoke(methodIndex, bean, inv.getParameters()));
+    }
+
+    public static class WideningBean {
+
+        public double sum(short s, int i, long l, float f, double d) {
+            return s + i + l + f + d;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.ejb.codegen;
+
+import com.sun.ejb.EJBUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BeanInvokerGeneratorTest {
+
+    private static List<Method> methods;
+    private static BeanMethodInvoker invoker;
+
+    @BeforeAll
+    public static void generateInvoker() throws Exception {
+        methods = BeanInvokerGenerator.getInvokableMethods(InvokedBean.class);
+        invoker = EJBUtils.loadGeneratedBeanMethodInvoker(BeanInvokerGeneratorTest.class.getClassLoader(),
+            InvokedBean.class);
+    }
+
+    @Test
+    public void generatedClass() throws Exception {
+        assertEquals("com.sun.ejb.codegen._BeanInvokerGeneratorTest$InvokedBean_Invoker", invoker.getClass().getName());
+        BeanMethodInvoker second = EJBUtils.loadGeneratedBeanMethodInvoker(
+            BeanInvokerGeneratorTest.class.getClassLoader(), InvokedBean.class);
+        assertSame(invoker.getClass(), second.getClass());
+    }
+
+    @Test
+    public void invokableMethods() throws Exception {
+        assertEquals(List.of(InvokedBean.class.getMethod("add", int.class, long.class),
+            InvokedBean.class.getMethod("concat", String.class, String[].class),
+            InvokedBean.class.getMethod("fail", String.class), InvokedBean.class.getMethod("reset")), methods);
+    }
+
+    @Test
+    public void primitives() throws Exception {
+        InvokedBean bean = new InvokedBean();
+        assertEquals(5L, invoker.invoke(indexOf("add"), bean, new Object[] {2, 3L}));
+        assertEquals(5L, bean.total);
+    }
+
+    @Test
+    public void widenedPrimitives() throws Exception {
+        InvokedBean bean = new InvokedBean();
+        assertEquals(5L, invoker.invoke(indexOf("add"), bean, new Object[] {(short) 2, (byte) 3}));
+        assertEquals(100L, invoker.invoke(indexOf("add"), bean, new Object[] {'a', 3}));
+    }
+
+    @Test
+    public void references() throws Exception {
+        InvokedBean bean = new InvokedBean();
+        assertEquals("a:b,c", invoker.invoke(indexOf("concat"), bean, new Object[] {"a", new String[] {"b", "c"}}));
+    }
+
+    @Test
+    public void voidMethod() throws Exception {
+        InvokedBean bean = new InvokedBean();
+        bean.total = 10L;
+        assertNull(invoker.invoke(indexOf("reset"), bean, new Object[0]));
+        assertEquals(0L, bean.total);
+    }
+
+    @Test
+    public void exceptionsAreNotWrapped() {
+        IOException e = assertThrows(IOException.class,
+            () -> invoker.invoke(indexOf("fail"), new InvokedBean(), new Object[] {"expected"}));
+        assertEquals("expected", e.getMessage());
+    }
+
+    @Test
+    public void unknownIndex() {
+        assertThrows(IllegalArgumentException.class, () -> invoker.invoke(methods.size(), new InvokedBean(), null));
+    }
+
+    private static int indexOf(String name) {
+        for (int i = 0; i < methods.size(); i++) {
+            if (methods.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    public static class InvokedBean {
+
+        long total;
+
+        public long add(int a, long b) {
+            total = a + b;
+            return total;
+        }
+
+        public String concat(String prefix, String... values) {
+            return prefix + ":" + String.join(",", values);
+        }
+
+        public void fail(String message) throws IOException {
+            throw new IOException(message);
+        }
+
+        public void reset() {
+            total = 0L;
+        }
+
+        public static void ignored() {
+        }
+    }
+}
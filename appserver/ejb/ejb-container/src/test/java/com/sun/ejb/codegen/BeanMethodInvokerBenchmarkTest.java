@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.ejb.codegen;
+
+import com.sun.ejb.EJBUtils;
+
+import java.lang.System.Logger;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares reflective invocation of bean class methods with the generated {@link BeanMethodInvoker},
+ * for a no-interface view call and for a business interface call through a local proxy.
+ * Runs only with the benchmark profile.
+ */
+@EnabledIfSystemProperty(named = "test.benchmarks", matches = "true")
+@State(Scope.Benchmark)
+public class BeanMethodInvokerBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(BeanMethodInvokerBenchmarkTest.class.getName());
+
+    @Param({"reflection", "invoker"})
+    private String dispatch;
+
+    private CalculatorBean bean;
+    private Method addMethod;
+    private int addIndex;
+    private BeanMethodInvoker invoker;
+    private Calculator businessView;
+    private Object[] params;
+
+    @Test
+    public void invokeBusinessMethods() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .forks(1).threads(1).shouldFailOnError(true)
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(1).measurementTime(TimeValue.seconds(1L)).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS).mode(Mode.Throughput)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(4));
+        for (RunResult result : results) {
+            LOG.log(INFO, "{0} with {1}: {2} ops/us", result.getParams().getBenchmark(),
+                result.getParams().getParam("dispatch"), result.getPrimaryResult().getScore());
+            assertThat(result.getPrimaryResult().getScore(), greaterThan(0d));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createBean() throws Exception {
+        bean = new CalculatorBean();
+        addMethod = CalculatorBean.class.getMethod("add", int.class, int.class);
+        addIndex = BeanInvokerGenerator.getInvokableMethods(CalculatorBean.class).indexOf(addMethod);
+        invoker = EJBUtils.loadGeneratedBeanMethodInvoker(getClass().getClassLoader(), CalculatorBean.class);
+        params = new Object[] {20, 22};
+
+        // Like the container, resolve the bean class method from the interface method with a map lookup
+        boolean reflection = "reflection".equals(dispatch);
+        List<Method> invokable = BeanInvokerGenerator.getInvokableMethods(CalculatorBean.class);
+        Map<Method, Method> targetMethods = new HashMap<>();
+        Map<Method, Integer> targetIndexes = new HashMap<>();
+        for (Method method : Calculator.class.getMethods()) {
+            Method target = CalculatorBean.class.getMethod(method.getName(), method.getParameterTypes());
+            targetMethods.put(method, target);
+            targetIndexes.put(method, invokable.indexOf(target));
+        }
+        InvocationHandler handler = reflection
+            ? (proxy, method, args) -> targetMethods.get(method).invoke(bean, args)
+            : (proxy, method, args) -> invoker.invoke(targetIndexes.get(method), bean, args);
+        businessView = (Calculator) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Calculator.class},
+            handler);
+    }
+
+    @Benchmark
+    public Object noInterfaceView() throws Exception {
+        if ("reflection".equals(dispatch)) {
+            return addMethod.invoke(bean, params);
+        }
+        return invoker.invoke(addIndex, bean, params);
+    }
+
+    @Benchmark
+    public Object businessInterface() {
+        return businessView.multiply(6, 7);
+    }
+
+    public interface Calculator {
+
+        int multiply(int a, int b);
+    }
+
+    public static class CalculatorBean implements Calculator {
+
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        @Override
+        public int multiply(int a, int b) {
+            return a * b;
+        }
+    }
+}
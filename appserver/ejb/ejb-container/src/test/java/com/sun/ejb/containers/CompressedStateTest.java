@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.ejb.containers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressedStateTest {
+
+    @Test
+    public void roundTrip() throws Exception {
+        byte[] data = serialize(new ArrayList<>(Collections.nCopies(1000, "state")));
+        assertFalse(CompressedState.isCompressed(data));
+
+        byte[] compressed = CompressedState.compress(data);
+        assertTrue(CompressedState.isCompressed(compressed));
+        assertTrue(compressed.length < data.length);
+        assertArrayEquals(data, CompressedState.decompress(compressed));
+    }
+
+    @Test
+    public void uncompressedStateIsReturnedAsIs() throws Exception {
+        byte[] data = serialize("state");
+        assertSame(data, CompressedState.decompress(data));
+    }
+
+    private static byte[] serialize(Object object) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(object);
+        }
+        return bos.toByteArray();
+    }
+}
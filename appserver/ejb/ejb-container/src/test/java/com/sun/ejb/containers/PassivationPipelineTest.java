@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.ejb.containers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PassivationPipelineTest {
+
+    @Test
+    public void workerIsStartedForEveryFullBatch() {
+        List<Runnable> workers = new ArrayList<>();
+        List<Integer> passivated = new ArrayList<>();
+        PassivationPipeline<Integer> pipeline = new PassivationPipeline<>("test", 4, 2, workers::add,
+            passivated::add, null);
+
+        for (int i = 0; i < 3; i++) {
+            pipeline.offer(i);
+        }
+        assertTrue(workers.isEmpty());
+        pipeline.offer(3);
+        assertEquals(1, workers.size());
+        for (int i = 4; i < 20; i++) {
+            pipeline.offer(i);
+        }
+        assertEquals(2, workers.size(), "Number of workers is limited");
+        assertEquals(20, pipeline.getQueueDepth());
+        assertEquals(20, pipeline.getMaxQueueDepth());
+
+        workers.get(0).run();
+        assertEquals(20, passivated.size());
+        assertEquals(0, pipeline.getQueueDepth());
+        assertEquals(5, pipeline.getBatchCount());
+        assertEquals(20, pipeline.getPassivatedCount());
+        assertEquals(0, pipeline.getFailedCount());
+        assertEquals(1, pipeline.getActiveWorkers());
+    }
+
+    @Test
+    public void failedPassivationsAreCounted() {
+        List<Runnable> workers = new ArrayList<>();
+        PassivationPipeline<Integer> pipeline = new PassivationPipeline<>("test", 2, 1, workers::add, candidate -> {
+            if (candidate == 0) {
+                throw new IllegalStateException("Expected failure");
+            }
+            return candidate % 2 == 0;
+        }, null);
+
+        for (int i = 0; i < 4; i++) {
+            pipeline.offer(i);
+        }
+        workers.get(0).run();
+        assertEquals(1, pipeline.getPassivatedCount());
+        assertEquals(3, pipeline.getFailedCount());
+        assertEquals(0, pipeline.getActiveWorkers());
+    }
+
+    @Test
+    public void rejectedWorkerIsNotCounted() {
+        PassivationPipeline<Integer> pipeline = new PassivationPipeline<>("test", 1, 1, task -> {
+            throw new RejectedExecutionException();
+        }, candidate -> true, null);
+
+        pipeline.offer(1);
+        assertEquals(0, pipeline.getActiveWorkers());
+        assertEquals(0, pipeline.getWorkerCount());
+        assertEquals(1, pipeline.getQueueDepth());
+        assertSame(1, pipeline.poll());
+        assertNull(pipeline.poll());
+        assertEquals(0, pipeline.getQueueDepth());
+    }
+
+    @Test
+    public void workerUsesGivenClassLoader() {
+        ClassLoader loader = new ClassLoader(null) {};
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        List<ClassLoader> loaders = new ArrayList<>();
+        PassivationPipeline<Integer> pipeline = new PassivationPipeline<>("test", 1, 1, Runnable::run,
+            candidate -> loaders.add(Thread.currentThread().getContextClassLoader()), loader);
+
+        pipeline.offer(1);
+        assertEquals(List.of(loader), loaders);
+        assertSame(original, Thread.currentThread().getContextClassLoader());
+    }
+
+    @Test
+    public void allCandidatesArePassivatedInParallel() throws Exception {
+        final int count = 10_000;
+        final int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Set<Integer> passivated = ConcurrentHashMap.newKeySet();
+        AtomicInteger maxConcurrency = new AtomicInteger();
+        AtomicInteger concurrency = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(count);
+        try {
+            PassivationPipeline<Integer> pipeline = new PassivationPipeline<>("test", 8, threads, executor, candidate -> {
+                maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+                try {
+                    return passivated.add(candidate);
+                } finally {
+                    concurrency.decrementAndGet();
+                    done.countDown();
+                }
+            }, null);
+
+            Thread[] producers = new Thread[4];
+            for (int p = 0; p < producers.length; p++) {
+                final int offset = p;
+                producers[p] = new Thread(() -> {
+                    for (int i = offset; i < count; i += producers.length) {
+                        pipeline.offer(i);
+                    }
+                });
+                producers[p].start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            // Whatever the workers did not take yet is drained the same way as on shutdown
+            Integer candidate;
+            while ((candidate = pipeline.poll()) != null) {
+                passivated.add(candidate);
+                done.countDown();
+            }
+
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+            assertEquals(count, passivated.size());
+            assertTrue(maxConcurrency.get() <= threads);
+            assertEquals(0, pipeline.getQueueDepth());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
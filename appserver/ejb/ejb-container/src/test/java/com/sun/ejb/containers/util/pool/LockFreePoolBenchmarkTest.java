@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.lang.System.Logger;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares throughput of the {@link NonBlockingPool} and the {@link LockFreePool} when many threads get and return
+ * bean instances at once.
+ * Runs only with the benchmark profile.
+ */
+@EnabledIfSystemProperty(named = "test.benchmarks", matches = "true")
+@State(Scope.Benchmark)
+public class LockFreePoolBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(LockFreePoolBenchmarkTest.class.getName());
+
+    @Param({"NonBlockingPool", "LockFreePool"})
+    private String poolType;
+
+    private NonBlockingPool pool;
+
+    @Test
+    public void getAndReturn() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .forks(1).threads(Runtime.getRuntime().availableProcessors() * 4).shouldFailOnError(true)
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(1).measurementTime(TimeValue.seconds(1L)).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS).mode(Mode.Throughput)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        for (RunResult result : results) {
+            LOG.log(INFO, "{0}: {1} ops/us", result.getParams().getParam("poolType"),
+                result.getPrimaryResult().getScore());
+            assertThat(result.getPrimaryResult().getScore(), greaterThan(0d));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createPool() {
+        ObjectFactory factory = new ObjectFactory() {
+
+            @Override
+            public Object create(Object param) throws PoolException {
+                return new Object();
+            }
+
+            @Override
+            public void destroy(Object object) {
+            }
+        };
+        if ("LockFreePool".equals(poolType)) {
+            pool = new LockFreePool(1L, "benchmark", factory, 0, 8, 64, 0, getClass().getClassLoader());
+        } else {
+            pool = new NonBlockingPool(1L, "benchmark", factory, 0, 8, 64, 0, getClass().getClassLoader());
+        }
+        pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        pool.prepopulate(64);
+    }
+
+    @TearDown(Level.Trial)
+    public void closePool() {
+        pool.close();
+    }
+
+    @Benchmark
+    public Object getAndReturnObject() {
+        Object bean = pool.getObject(null);
+        pool.returnObject(bean);
+        return bean;
+    }
+}
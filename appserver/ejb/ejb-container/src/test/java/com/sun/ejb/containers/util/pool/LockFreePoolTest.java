@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LockFreePoolTest {
+
+    private final AtomicInteger live = new AtomicInteger();
+    private final ObjectFactory factory = new ObjectFactory() {
+
+        @Override
+        public Object create(Object param) throws PoolException {
+            live.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object object) {
+            live.decrementAndGet();
+        }
+    };
+
+    @Test
+    public void reusesLastReturnedObject() {
+        LockFreePool pool = createPool(10);
+        Object first = pool.getObject(null);
+        Object second = pool.getObject(null);
+        pool.returnObject(first);
+        pool.returnObject(second);
+
+        assertSame(second, pool.getObject(null));
+        assertEquals(1, pool.getSize());
+        assertEquals(2, pool.getCreatedCount());
+        assertEquals(1, pool.getPoolSuccess());
+    }
+
+    @Test
+    public void destroysObjectsOverMaxPoolSize() {
+        LockFreePool pool = createPool(2);
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            objects.add(pool.getObject(null));
+        }
+        objects.forEach(pool::returnObject);
+
+        assertEquals(2, pool.getSize());
+        assertEquals(3, pool.getDestroyedCount());
+        assertEquals(2, live.get());
+
+        pool.close();
+        assertEquals(0, live.get());
+    }
+
+    @Test
+    public void prepopulate() {
+        LockFreePool pool = createPool(4);
+        pool.prepopulate(8);
+        assertEquals(4, pool.getSize());
+        assertEquals(4, pool.getSteadyPoolSize());
+        assertEquals(4, live.get());
+    }
+
+    @Test
+    public void concurrentAccess() throws Exception {
+        final LockFreePool pool = createPool(16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        Object bean = pool.getObject(null);
+                        if (i % 100 == 0) {
+                            pool.destroyObject(bean);
+                        } else {
+                            pool.returnObject(bean);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(pool.getSize() <= 16, "Pool size " + pool.getSize());
+        assertEquals(pool.getSize(), live.get());
+        assertEquals(pool.getCreatedCount() - pool.getDestroyedCount(), pool.getSize());
+    }
+
+    private LockFreePool createPool(int maxPoolSize) {
+        LockFreePool pool = new LockFreePool(1L, "test", factory, 0, 1, maxPoolSize, 0, getClass().getClassLoader());
+        pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        return pool;
+    }
+}
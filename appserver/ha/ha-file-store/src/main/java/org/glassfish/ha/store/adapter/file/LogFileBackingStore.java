@@ -0,0 +1,621 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An implementation of BackingStore that persists any Serializable data to an append-only log.
+ * <p>
+ * Unlike the {@link FileBackingStore}, which writes a file per key, all values are appended to a
+ * few large segment files, so saving a value never creates nor deletes a file. The location of
+ * the current value of each key and the time of its last access are held in an in-memory index,
+ * therefore {@link #updateTimestamp(Serializable, long)}, {@link #size()} and
+ * {@link #removeExpired(long)} do not touch the file system at all.
+ * <p>
+ * Replaced and removed values stay in the log until a background thread compacts the segment
+ * containing them: it copies the live values to the end of the log and deletes the segment.
+ * The copies carry the current access times, which makes them survive a restart; access times
+ * updated since the last save or compaction are replaced by the time of that save after the
+ * restart.
+ * <p>
+ * Vendor specific settings:
+ * <ul>
+ * <li>{@value #MAX_IDLE_TIMEOUT_PROP} - default idle timeout for {@link #removeExpired()},
+ * 600 seconds by default
+ * <li>{@value #SEGMENT_SIZE_PROP} - size of the segment file in bytes after which a new segment
+ * is started, 64 MB by default
+ * <li>{@value #COMPACTION_INTERVAL_PROP} - interval between compactions in seconds, 30 by default
+ * <li>{@value #COMPACTION_THRESHOLD_PROP} - percentage of replaced and removed data in a segment
+ * at which the segment is compacted, 50 by default
+ * </ul>
+ */
+public class LogFileBackingStore<K extends Serializable, V extends Serializable> extends BackingStore<K, V> {
+
+    static final String MAX_IDLE_TIMEOUT_PROP = "max.idle.timeout.in.seconds";
+    static final String SEGMENT_SIZE_PROP = "log.segment.size";
+    static final String COMPACTION_INTERVAL_PROP = "log.compaction.interval.in.seconds";
+    static final String COMPACTION_THRESHOLD_PROP = "log.compaction.threshold";
+
+    private static final Level TRACE_LEVEL = Level.FINE;
+
+    /** Maximal number of tombstones written at once by {@link #removeExpired(long)} */
+    private static final int REMOVE_BATCH_SIZE = 1024;
+
+    private static final int MAX_READ_ATTEMPTS = 3;
+
+    protected Logger logger = Logger.getLogger(LogFileBackingStore.class.getName());
+
+    protected File baseDir;
+
+    private String debugStr;
+
+    private BackingStoreFactory factory;
+
+    private long defaultMaxIdleTimeoutInSeconds = 10L * 60L;
+
+    private long segmentSize = 64L * 1024L * 1024L;
+
+    private long compactionThreshold = 50L;
+
+    private final ConcurrentHashMap<String, IndexEntry> index = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+
+    /** Guards appends to the log and all changes of the index and of the segments */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile LogSegment activeSegment;
+
+    private ScheduledExecutorService compactor;
+
+    private volatile boolean shutdown;
+
+    /**
+     * No arg constructor
+     */
+    public LogFileBackingStore() {
+    }
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf) throws BackingStoreException {
+        if (conf.getLogger() != null) {
+            logger = conf.getLogger();
+        }
+
+        super.initialize(conf);
+        debugStr = "[LogFileBackingStore - " + conf.getStoreName() + "] ";
+
+        baseDir = conf.getBaseDirectory();
+        if (!baseDir.mkdirs() && !baseDir.isDirectory()) {
+            throw new BackingStoreException(
+                "[LogFileBackingStore::initialize] Create base directory (" + baseDir.getAbsolutePath() + ") failed");
+        }
+
+        Map<String, Object> vendorMap = conf.getVendorSpecificSettings();
+        defaultMaxIdleTimeoutInSeconds = getSetting(vendorMap, MAX_IDLE_TIMEOUT_PROP, defaultMaxIdleTimeoutInSeconds);
+        segmentSize = getSetting(vendorMap, SEGMENT_SIZE_PROP, segmentSize);
+        compactionThreshold = getSetting(vendorMap, COMPACTION_THRESHOLD_PROP, compactionThreshold);
+        long compactionInterval = getSetting(vendorMap, COMPACTION_INTERVAL_PROP, 30L);
+
+        writeLock.lock();
+        try {
+            recover();
+        } catch (IOException ex) {
+            throw new BackingStoreException(debugStr + "Could not open the log in " + baseDir.getAbsolutePath(), ex);
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (compactionInterval > 0) {
+            compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "LogFileBackingStore-compactor-" + conf.getStoreName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactor.scheduleWithFixedDelay(this::compact, compactionInterval, compactionInterval, TimeUnit.SECONDS);
+        }
+
+        logger.log(Level.INFO, "[LogFileBackingStore::initialize] Successfully Created and initialized store. "
+            + "Working dir: " + baseDir + "; Recovered keys: " + index.size() + "; Configuration: " + conf);
+    }
+
+    private static long getSetting(Map<String, Object> vendorMap, String name, long defaultValue) {
+        Object value = vendorMap.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException ex) {
+            // Ignore. Use default
+            return defaultValue;
+        }
+    }
+
+    /* package */ void setBackingStoreFactory(BackingStoreFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public BackingStoreFactory getBackingStoreFactory() {
+        return factory;
+    }
+
+    /**
+     * Replays the segments left by the previous run in their order and starts a new segment.
+     */
+    private void recover() throws IOException {
+        String[] fileNames = baseDir.list();
+        if (fileNames != null) {
+            for (String fileName : fileNames) {
+                long id = LogSegment.getSegmentId(fileName);
+                if (id >= 0) {
+                    segments.put(id, LogSegment.open(baseDir, id));
+                }
+            }
+        }
+        for (LogSegment segment : segments.values()) {
+            long validLength = segment.scan(record -> {
+                String key = new String(record.key, UTF_8);
+                IndexEntry previous;
+                if (record.type == LogSegment.PUT) {
+                    previous = index.put(key, new IndexEntry(segment, record.offset, record.length, record.key.length,
+                        record.value.length, record.timestamp));
+                } else {
+                    previous = index.remove(key);
+                    segment.addDeadBytes(record.length);
+                }
+                if (previous != null) {
+                    previous.segment.addDeadBytes(previous.length);
+                }
+            });
+            if (validLength < segment.size()) {
+                logger.log(Level.WARNING, debugStr + "Ignoring " + (segment.size() - validLength)
+                    + " bytes of incomplete records at the end of " + segment.file);
+                segment.addDeadBytes(segment.size() - validLength);
+            }
+        }
+        long nextId = segments.isEmpty() ? 0L : segments.lastKey() + 1;
+        activeSegment = LogSegment.open(baseDir, nextId);
+        segments.put(nextId, activeSegment);
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered load(" + key + ", " + version + ")");
+        }
+
+        String keyString = key.toString();
+        for (int attempt = 1;; attempt++) {
+            IndexEntry entry = index.get(keyString);
+            if (entry == null) {
+                return null;
+            }
+            byte[] data = new byte[entry.valueLength];
+            try {
+                entry.segment.read(entry.getValueOffset(), data);
+            } catch (ClosedByInterruptException ex) {
+                logger.log(Level.WARNING, debugStr + "Interrupted load(" + key + ", " + version + ")", ex);
+                return null;
+            } catch (ClosedChannelException ex) {
+                if (attempt < MAX_READ_ATTEMPTS && (index.get(keyString) != entry || entry.segment.isOpen())) {
+                    // The value was moved by the compaction or replaced, or an interrupted
+                    // reader closed the segment, which is reopened, try again
+                    continue;
+                }
+                logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+                return null;
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+                return null;
+            }
+
+            try (ObjectInputStream ois = super.createObjectInputStream(new ByteArrayInputStream(data))) {
+                @SuppressWarnings("unchecked")
+                V value = (V) ois.readObject();
+                if (logger.isLoggable(TRACE_LEVEL)) {
+                    logger.log(TRACE_LEVEL, debugStr + "Done load(" + key + ", " + version + ")");
+                }
+                return value;
+            } catch (Exception ex) {
+                logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public String save(K sessionKey, V value, boolean isNew) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered save(" + sessionKey + ")");
+        }
+
+        String keyString = sessionKey.toString();
+        byte[] key = keyString.getBytes(UTF_8);
+        byte[] data = getSerializedState(value);
+        long now = System.currentTimeMillis();
+        ByteBuffer record = LogSegment.encode(LogSegment.PUT, key, data, now);
+        int recordLength = record.remaining();
+
+        writeLock.lock();
+        try {
+            checkNotClosed();
+            LogSegment segment = getWritableSegment(recordLength);
+            long offset = segment.append(List.of(record))[0];
+            IndexEntry previous = index.put(keyString,
+                new IndexEntry(segment, offset, recordLength, key.length, data.length, now));
+            if (previous != null) {
+                previous.segment.addDeadBytes(previous.length);
+            }
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "save(" + sessionKey + ") failed", ex);
+            throw new BackingStoreException("Could not save session: " + sessionKey, ex);
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done save(" + sessionKey + ")");
+        }
+        return getBackingStoreConfiguration().getInstanceName();
+    }
+
+    @Override
+    public void remove(K sessionKey) {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered remove(" + sessionKey + ")");
+        }
+        String keyString = sessionKey.toString();
+        boolean status = false;
+        writeLock.lock();
+        try {
+            checkNotClosed();
+            IndexEntry entry = index.get(keyString);
+            if (entry != null) {
+                status = removeEntries(List.of(keyString), List.of(entry), Long.MAX_VALUE) == 1;
+            }
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, debugStr + "Failed to remove(" + sessionKey + ")", ex);
+        } finally {
+            writeLock.unlock();
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done remove( " + sessionKey + "); status => " + status);
+        }
+    }
+
+    @Override
+    public void updateTimestamp(K sessionKey, long time) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered updateTimestamp(" + sessionKey + ", " + time + ")");
+        }
+        IndexEntry entry = index.get(sessionKey.toString());
+        if (entry == null) {
+            logger.log(Level.WARNING, debugStr + ": Cannot update timsestamp for: " + sessionKey + "; Key does not exist");
+        } else {
+            entry.lastAccess = time;
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done updateTimestamp(" + sessionKey + ", " + time + ")");
+        }
+    }
+
+    @Override
+    public int removeExpired() {
+        return removeExpired(defaultMaxIdleTimeoutInSeconds * 1000L);
+    }
+
+    @Override
+    public int removeExpired(long idleForMillis) {
+        long threshold = System.currentTimeMillis() - idleForMillis;
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered removeExpired()");
+        }
+        int expiredSessions = 0;
+        List<String> keys = new ArrayList<>();
+        List<IndexEntry> entries = new ArrayList<>();
+        try {
+            for (Map.Entry<String, IndexEntry> mapping : index.entrySet()) {
+                if (shutdown) {
+                    break;
+                }
+                if (mapping.getValue().lastAccess < threshold) {
+                    keys.add(mapping.getKey());
+                    entries.add(mapping.getValue());
+                    if (keys.size() == REMOVE_BATCH_SIZE) {
+                        expiredSessions += removeExpiredEntries(keys, entries, threshold);
+                    }
+                }
+            }
+            expiredSessions += removeExpiredEntries(keys, entries, threshold);
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done removeExpired()");
+            }
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + " Exception while removing expired sessions", ex);
+        }
+        return expiredSessions;
+    }
+
+    private int removeExpiredEntries(List<String> keys, List<IndexEntry> entries, long threshold) throws IOException {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        writeLock.lock();
+        try {
+            checkNotClosed();
+            return removeEntries(keys, entries, threshold);
+        } finally {
+            writeLock.unlock();
+            keys.clear();
+            entries.clear();
+        }
+    }
+
+    /**
+     * Removes the keys which are still mapped to the given entries, last accessed before the
+     * threshold, and appends their tombstones to the log in one write. Must be called with the
+     * write lock held.
+     *
+     * @param threshold entries accessed at or after this time are kept, because they have been
+     *            accessed since they were selected
+     * @return number of removed keys
+     */
+    private int removeEntries(List<String> keys, List<IndexEntry> entries, long threshold) throws IOException {
+        List<String> removedKeys = new ArrayList<>(keys.size());
+        List<IndexEntry> removedEntries = new ArrayList<>(keys.size());
+        List<ByteBuffer> tombstones = new ArrayList<>(keys.size());
+        int length = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            IndexEntry entry = entries.get(i);
+            if (index.get(keys.get(i)) == entry && entry.lastAccess < threshold) {
+                ByteBuffer tombstone = LogSegment.encode(LogSegment.REMOVE, keys.get(i).getBytes(UTF_8), null,
+                    entry.lastAccess);
+                removedKeys.add(keys.get(i));
+                removedEntries.add(entry);
+                tombstones.add(tombstone);
+                length += tombstone.remaining();
+            }
+        }
+        if (tombstones.isEmpty()) {
+            return 0;
+        }
+        LogSegment segment = getWritableSegment(length);
+        segment.append(tombstones);
+        segment.addDeadBytes(length);
+        for (int i = 0; i < removedKeys.size(); i++) {
+            if (index.remove(removedKeys.get(i), removedEntries.get(i))) {
+                removedEntries.get(i).segment.addDeadBytes(removedEntries.get(i).length);
+            }
+        }
+        return tombstones.size();
+    }
+
+    @Override
+    public int size() throws BackingStoreException {
+        return index.size();
+    }
+
+    /**
+     * Stops the compaction and closes the segments. DOES NOT DELETE THE WORKING DIRECTORY.
+     */
+    public void shutdown() {
+        shutdown = true;
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        writeLock.lock();
+        try {
+            for (LogSegment segment : segments.values()) {
+                try {
+                    segment.close();
+                } catch (IOException ex) {
+                    logger.log(Level.FINE, debugStr + " Error while closing " + segment, ex);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws BackingStoreException {
+        shutdown();
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Entered destroy()");
+            }
+            shutdown();
+            writeLock.lock();
+            try {
+                index.clear();
+                for (LogSegment segment : segments.values()) {
+                    if (!segment.delete()) {
+                        logger.log(Level.WARNING, debugStr + " destroy() failed to remove file: " + segment.file);
+                    }
+                }
+                segments.clear();
+            } finally {
+                writeLock.unlock();
+            }
+            if (!baseDir.delete() && baseDir.exists()) {
+                logger.log(Level.WARNING, debugStr + " destroy() failed to remove dir: " + baseDir.getAbsolutePath());
+            }
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done destroy()");
+            }
+        } catch (Throwable th) {
+            logger.log(Level.WARNING, debugStr + " destroy() failed ", th);
+        }
+    }
+
+    /**
+     * Compacts all segments except the active one where the share of replaced and removed records
+     * reached the threshold, from the oldest one.
+     */
+    void compact() {
+        try {
+            for (LogSegment segment : segments.values()) {
+                if (shutdown) {
+                    return;
+                }
+                if (segment != activeSegment && segment.getDeadBytes() * 100 >= segment.size() * compactionThreshold) {
+                    compact(segment);
+                }
+            }
+        } catch (Throwable th) {
+            if (!shutdown) {
+                logger.log(Level.WARNING, debugStr + " Compaction failed", th);
+            }
+        }
+    }
+
+    private void compact(LogSegment segment) throws IOException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Compacting " + segment);
+        }
+        // A tombstone still hides values in the older segments
+        final boolean keepTombstones = segments.lowerKey(segment.id) != null;
+        segment.scan(record -> {
+            String key = new String(record.key, UTF_8);
+            writeLock.lock();
+            try {
+                checkNotClosed();
+                if (record.type == LogSegment.PUT) {
+                    IndexEntry entry = index.get(key);
+                    if (entry == null || entry.segment != segment || entry.offset != record.offset) {
+                        return;
+                    }
+                    ByteBuffer copy = LogSegment.encode(LogSegment.PUT, record.key, record.value, entry.lastAccess);
+                    int length = copy.remaining();
+                    LogSegment target = getWritableSegment(length);
+                    long offset = target.append(List.of(copy))[0];
+                    IndexEntry moved = new IndexEntry(target, offset, length, record.key.length, record.value.length,
+                        entry.lastAccess);
+                    index.put(key, moved);
+                    // The access time could be updated meanwhile
+                    moved.lastAccess = Math.max(moved.lastAccess, entry.lastAccess);
+                } else if (keepTombstones && !index.containsKey(key)) {
+                    ByteBuffer copy = LogSegment.encode(LogSegment.REMOVE, record.key, null, record.timestamp);
+                    int length = copy.remaining();
+                    LogSegment target = getWritableSegment(length);
+                    target.append(List.of(copy));
+                    target.addDeadBytes(length);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        });
+        writeLock.lock();
+        try {
+            segments.remove(segment.id);
+        } finally {
+            writeLock.unlock();
+        }
+        if (!segment.delete()) {
+            logger.log(Level.WARNING, debugStr + " Couldn't remove compacted segment: " + segment.file);
+        }
+    }
+
+    /**
+     * @return active segment with enough space for the record, must be called with the write lock held
+     */
+    private LogSegment getWritableSegment(int recordLength) throws IOException {
+        LogSegment segment = activeSegment;
+        if (segment.size() > 0 && segment.size() + recordLength > segmentSize) {
+            segment = LogSegment.open(baseDir, segment.id + 1);
+            segments.put(segment.id, segment);
+            activeSegment = segment;
+        }
+        return segment;
+    }
+
+    private void checkNotClosed() throws IOException {
+        if (shutdown) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    private byte[] getSerializedState(V value) throws BackingStoreException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+        } catch (IOException ioEx) {
+            throw new BackingStoreException("Error during getSerializedState", ioEx);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * Location of the current value of a key in the log.
+     */
+    private static final class IndexEntry {
+
+        final LogSegment segment;
+        final long offset;
+        final int length;
+        final int keyLength;
+        final int valueLength;
+        volatile long lastAccess;
+
+        IndexEntry(LogSegment segment, long offset, int length, int keyLength, int valueLength, long lastAccess) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.keyLength = keyLength;
+            this.valueLength = valueLength;
+            this.lastAccess = lastAccess;
+        }
+
+        long getValueOffset() {
+            return offset + LogSegment.HEADER_SIZE + keyLength;
+        }
+    }
+}
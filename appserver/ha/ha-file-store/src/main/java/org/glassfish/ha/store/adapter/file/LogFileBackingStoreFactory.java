@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.Serializable;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.api.BackingStoreTransaction;
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * Creates the {@link LogFileBackingStore}, selected by the {@code log-file} persistence type.
+ */
+@Service(name = "log-file")
+public class LogFileBackingStoreFactory implements BackingStoreFactory {
+
+    @Override
+    public <K extends Serializable, V extends Serializable> BackingStore<K, V> createBackingStore(
+            BackingStoreConfiguration<K, V> conf) throws BackingStoreException {
+        LogFileBackingStore<K, V> store = new LogFileBackingStore<>();
+        store.setBackingStoreFactory(this);
+        store.initialize(conf);
+        return store;
+    }
+
+    @Override
+    public BackingStoreTransaction createBackingStoreTransaction() {
+        // As for the FileBackingStore, save() writes the data immediately
+        return new FileStoreTransaction();
+    }
+}
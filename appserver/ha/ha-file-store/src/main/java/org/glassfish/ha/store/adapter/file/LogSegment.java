@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * One file of the log of the {@link LogFileBackingStore}.
+ * <p>
+ * The file is a sequence of records. Each record consists of a header with the record type, the
+ * key length, the value length and the timestamp, followed by the key, the value and the CRC32
+ * of all the previous bytes of the record. A record which is not complete or does not match its
+ * checksum ends the readable part of the file.
+ * <p>
+ * Records are only appended, by one thread at a time. Reads of records already written may run
+ * concurrently.
+ */
+final class LogSegment implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte REMOVE = 2;
+
+    /** Type, key length, value length and timestamp */
+    static final int HEADER_SIZE = 1 + 4 + 4 + 8;
+    /** CRC32 of the header, the key and the value */
+    static final int TRAILER_SIZE = 4;
+
+    private static final String FILE_PREFIX = "segment-";
+    private static final String FILE_SUFFIX = ".log";
+
+    final long id;
+    final File file;
+    private volatile FileChannel channel;
+    private volatile long size;
+    private volatile boolean closed;
+    private final AtomicLong deadBytes = new AtomicLong();
+
+    private LogSegment(long id, File file) throws IOException {
+        this.id = id;
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+        this.size = channel.size();
+    }
+
+    /**
+     * Opens the segment with the given id, creates the file if it does not exist yet.
+     */
+    static LogSegment open(File dir, long id) throws IOException {
+        return new LogSegment(id, new File(dir, FILE_PREFIX + String.format("%016d", id) + FILE_SUFFIX));
+    }
+
+    /**
+     * @return id of the segment stored in the file or -1 if the file is not a segment
+     */
+    static long getSegmentId(String fileName) {
+        if (!fileName.startsWith(FILE_PREFIX) || !fileName.endsWith(FILE_SUFFIX)) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(fileName.substring(FILE_PREFIX.length(), fileName.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Encodes a record, ready to be {@link #append(List) appended}.
+     *
+     * @param type {@link #PUT} or {@link #REMOVE}
+     * @param key key bytes
+     * @param value value bytes, null for {@link #REMOVE}
+     * @param timestamp time of the last access to the value
+     */
+    static ByteBuffer encode(byte type, byte[] key, byte[] value, long timestamp) {
+        final int valueLength = value == null ? 0 : value.length;
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + key.length + valueLength + TRAILER_SIZE);
+        buffer.put(type).putInt(key.length).putInt(valueLength).putLong(timestamp).put(key);
+        if (value != null) {
+            buffer.put(value);
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    /**
+     * @return false after the segment was closed
+     */
+    boolean isOpen() {
+        return !closed;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long getDeadBytes() {
+        return deadBytes.get();
+    }
+
+    /**
+     * Marks bytes of records which were replaced or removed.
+     */
+    void addDeadBytes(long bytes) {
+        deadBytes.addAndGet(bytes);
+    }
+
+    /**
+     * Appends the records to the end of the segment in one write.
+     * Callers must not append to the same segment concurrently.
+     *
+     * @return offsets of the records in the segment
+     */
+    long[] append(List<ByteBuffer> records) throws IOException {
+        final long[] offsets = new long[records.size()];
+        final ByteBuffer buffer;
+        if (records.size() == 1) {
+            buffer = records.get(0);
+        } else {
+            int length = 0;
+            for (ByteBuffer record : records) {
+                length += record.remaining();
+            }
+            buffer = ByteBuffer.allocate(length);
+        }
+        long offset = size;
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = offset;
+            offset += records.get(i).remaining();
+            if (buffer != records.get(i)) {
+                buffer.put(records.get(i));
+            }
+        }
+        if (buffer.position() > 0) {
+            buffer.flip();
+        }
+        long position = size;
+        try {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } catch (ClosedByInterruptException e) {
+            reopen();
+            throw e;
+        }
+        size = position;
+        return offsets;
+    }
+
+    /**
+     * Reads bytes written before.
+     *
+     * @param position position in the segment
+     * @param data filled with the bytes starting at the position
+     * @throws java.nio.channels.ClosedChannelException if the segment was closed
+     */
+    void read(long position, byte[] data) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        long current = position;
+        try {
+            while (buffer.hasRemaining()) {
+                int count = channel.read(buffer, current);
+                if (count < 0) {
+                    throw new EOFException("Unexpected end of " + file + " at " + current);
+                }
+                current += count;
+            }
+        } catch (ClosedByInterruptException e) {
+            reopen();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads all valid records from the beginning of the segment.
+     *
+     * @return length of the valid part of the segment
+     */
+    long scan(RecordVisitor visitor) throws IOException {
+        final long length = size;
+        long offset = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            final byte[] header = new byte[HEADER_SIZE];
+            final ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+            final CRC32 crc = new CRC32();
+            while (offset + HEADER_SIZE + TRAILER_SIZE <= length) {
+                input.readFully(header);
+                final byte type = headerBuffer.get(0);
+                final int keyLength = headerBuffer.getInt(1);
+                final int valueLength = headerBuffer.getInt(5);
+                final long timestamp = headerBuffer.getLong(9);
+                final long recordLength = (long) HEADER_SIZE + keyLength + valueLength + TRAILER_SIZE;
+                if ((type != PUT && type != REMOVE) || keyLength < 0 || valueLength < 0
+                    || offset + recordLength > length) {
+                    break;
+                }
+                final byte[] key = new byte[keyLength];
+                final byte[] value = new byte[valueLength];
+                input.readFully(key);
+                input.readFully(value);
+                final int checksum = input.readInt();
+                crc.reset();
+                crc.update(header);
+                crc.update(key);
+                crc.update(value);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                visitor.visit(new Record(type, key, type == PUT ? value : null, timestamp, offset, (int) recordLength));
+                offset += recordLength;
+            }
+        } catch (EOFException e) {
+            // the rest of the file was not written completely
+        }
+        return offset;
+    }
+
+    private synchronized void reopen() throws IOException {
+        if (!closed && !channel.isOpen()) {
+            channel = FileChannel.open(file.toPath(), READ, WRITE);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    /**
+     * Closes the segment and deletes its file.
+     *
+     * @return true if the file was deleted
+     */
+    boolean delete() throws IOException {
+        close();
+        return file.delete() || !file.exists();
+    }
+
+    @Override
+    public String toString() {
+        return file.getName() + "[size=" + size + ", dead=" + deadBytes + "]";
+    }
+
+    /**
+     * Record read from the segment.
+     */
+    static final class Record {
+
+        final byte type;
+        final byte[] key;
+        final byte[] value;
+        final long timestamp;
+        final long offset;
+        final int length;
+
+        Record(byte type, byte[] key, byte[] value, long timestamp, long offset, int length) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+            this.timestamp = timestamp;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+
+        void visit(Record record) throws IOException;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.lang.System.Logger;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the {@link FileBackingStore} with the {@link LogFileBackingStore} holding 500 000 keys.
+ * Runs only with the benchmark profile.
+ */
+@EnabledIfSystemProperty(named = "test.benchmarks", matches = "true")
+@State(Scope.Benchmark)
+public class BackingStoreBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(BackingStoreBenchmarkTest.class.getName());
+
+    @Param({"file", "log-file"})
+    private String storeType;
+
+    @Param({"500000"})
+    private int keyCount;
+
+    private File baseDir;
+    private BackingStore<String, String> store;
+    private String[] keys;
+    private String value;
+
+    @Test
+    public void compareStores() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .forks(1).threads(1).shouldFailOnError(true)
+            .warmupIterations(1).warmupTime(TimeValue.seconds(1L))
+            .measurementIterations(1).measurementTime(TimeValue.seconds(2L)).timeout(TimeValue.minutes(5L))
+            .timeUnit(TimeUnit.MICROSECONDS).mode(Mode.AverageTime)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(8));
+        for (RunResult result : results) {
+            LOG.log(INFO, "{0} with {1} store: {2} us/op", result.getParams().getBenchmark(),
+                result.getParams().getParam("storeType"), result.getPrimaryResult().getScore());
+            assertThat(result.getPrimaryResult().getScore(), greaterThan(0d));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void fillStore() throws Exception {
+        baseDir = Files.createTempDirectory("backing-store-benchmark").toFile();
+        BackingStoreConfiguration<String, String> conf = new BackingStoreConfiguration<>();
+        conf.setStoreName(storeType).setInstanceName("instance").setBaseDirectory(new File(baseDir, storeType))
+            .setKeyClazz(String.class).setValueClazz(String.class).setClassLoader(getClass().getClassLoader());
+        if ("file".equals(storeType)) {
+            FileBackingStore<String, String> fileStore = new FileBackingStore<>();
+            fileStore.initialize(conf);
+            store = fileStore;
+        } else {
+            LogFileBackingStore<String, String> logStore = new LogFileBackingStore<>();
+            logStore.initialize(conf);
+            store = logStore;
+        }
+        value = "x".repeat(512);
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "session-" + i;
+            store.save(keys[i], value, true);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void destroyStore() throws Exception {
+        store.destroy();
+        baseDir.delete();
+    }
+
+    @Benchmark
+    public String save() throws Exception {
+        return store.save(randomKey(), value, false);
+    }
+
+    @Benchmark
+    public String load() throws Exception {
+        return store.load(randomKey(), null);
+    }
+
+    @Benchmark
+    public void updateTimestamp() throws Exception {
+        store.updateTimestamp(randomKey(), System.currentTimeMillis());
+    }
+
+    /**
+     * Nothing is expired, so this measures the scan of all keys.
+     */
+    @Benchmark
+    public int removeExpired() throws Exception {
+        return store.removeExpired(TimeUnit.DAYS.toMillis(1L));
+    }
+
+    private String randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+    }
+}
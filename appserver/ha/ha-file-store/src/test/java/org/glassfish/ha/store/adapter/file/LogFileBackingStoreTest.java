@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class LogFileBackingStoreTest {
+
+    @TempDir
+    private File baseDir;
+
+    private LogFileBackingStore<String, String> store;
+
+    @AfterEach
+    public void close() throws Exception {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    public void saveLoadRemove() throws Exception {
+        store = open("64");
+        assertThat(store.save("a", "first", true), equalTo("instance"));
+        store.save("b", "second", true);
+        store.save("a", "replaced", false);
+        assertThat(store.size(), equalTo(2));
+        assertThat(store.load("a", null), equalTo("replaced"));
+        assertThat(store.load("b", null), equalTo("second"));
+
+        store.remove("a");
+        store.remove("unknown");
+        assertThat(store.load("a", null), nullValue());
+        assertThat(store.size(), equalTo(1));
+        assertThat("Small segments are rolled", segmentFiles(), arrayWithSize(lessThan(5)));
+    }
+
+    @Test
+    public void expiryUsesIndexedTimestamps() throws Exception {
+        store = open("1048576");
+        for (int i = 0; i < 3000; i++) {
+            store.save("key" + i, "value" + i, true);
+        }
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 3000; i += 2) {
+            store.updateTimestamp("key" + i, now + 60_000L);
+        }
+        // Expires what was not accessed in the next 30 seconds
+        assertThat(store.removeExpired(-30_000L), equalTo(1500));
+        assertThat(store.size(), equalTo(1500));
+        assertThat(store.load("key1", null), nullValue());
+        assertThat(store.load("key2", null), equalTo("value2"));
+    }
+
+    @Test
+    public void stateIsRecoveredAfterRestart() throws Exception {
+        store = open("256");
+        for (int i = 0; i < 100; i++) {
+            store.save("key" + i, "value" + i, true);
+        }
+        for (int i = 0; i < 100; i += 3) {
+            store.remove("key" + i);
+        }
+        store.save("key1", "replaced", false);
+        store.close();
+
+        // A record torn by a crash at the end of the last segment is ignored
+        File[] segments = segmentFiles();
+        Arrays.sort(segments);
+        try (RandomAccessFile file = new RandomAccessFile(segments[segments.length - 1], "rw")) {
+            file.seek(file.length());
+            file.write(new byte[] {LogSegment.PUT, 0, 0, 0, 3});
+        }
+
+        store = open("256");
+        assertThat(store.size(), equalTo(66));
+        assertThat(store.load("key0", null), nullValue());
+        assertThat(store.load("key1", null), equalTo("replaced"));
+        assertThat(store.load("key98", null), equalTo("value98"));
+    }
+
+    @Test
+    public void compactionKeepsLiveValuesAndRemovedKeys() throws Exception {
+        store = open("512");
+        for (int i = 0; i < 200; i++) {
+            store.save("key" + i, "value" + i, true);
+        }
+        for (int i = 0; i < 200; i++) {
+            if (i % 4 == 0) {
+                store.remove("key" + i);
+            } else if (i % 4 == 1) {
+                store.save("key" + i, "replaced" + i, false);
+            }
+        }
+        long before = totalSize();
+        store.compact();
+        assertThat(totalSize(), lessThan(before));
+        assertThat(store.size(), equalTo(150));
+        store.close();
+
+        store = open("512");
+        assertThat(store.size(), equalTo(150));
+        for (int i = 0; i < 200; i++) {
+            String expected = i % 4 == 0 ? null : (i % 4 == 1 ? "replaced" : "value") + i;
+            assertThat(store.load("key" + i, null), equalTo(expected));
+        }
+    }
+
+    @Test
+    public void destroyRemovesEverything() throws Exception {
+        store = open("128");
+        for (int i = 0; i < 20; i++) {
+            store.save("key" + i, "value" + i, true);
+        }
+        store.destroy();
+        store = null;
+        assertFalse(new File(baseDir, "store").exists());
+    }
+
+    private LogFileBackingStore<String, String> open(String segmentSize) throws Exception {
+        BackingStoreConfiguration<String, String> conf = new BackingStoreConfiguration<>();
+        conf.setStoreName("test").setInstanceName("instance").setBaseDirectory(new File(baseDir, "store"))
+            .setKeyClazz(String.class).setValueClazz(String.class).setClassLoader(getClass().getClassLoader());
+        conf.getVendorSpecificSettings().put(LogFileBackingStore.SEGMENT_SIZE_PROP, segmentSize);
+        // Compaction is started explicitly by the tests
+        conf.getVendorSpecificSettings().put(LogFileBackingStore.COMPACTION_INTERVAL_PROP, "0");
+        LogFileBackingStore<String, String> logStore = new LogFileBackingStore<>();
+        logStore.initialize(conf);
+        return logStore;
+    }
+
+    private File[] segmentFiles() {
+        return new File(baseDir, "store").listFiles((dir, name) -> LogSegment.getSegmentId(name) >= 0);
+    }
+
+    private long totalSize() {
+        return Arrays.stream(segmentFiles()).mapToLong(File::length).sum();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jdbc.admin.cli;
+
+import com.sun.enterprise.config.serverbeans.Resources;
+import com.sun.enterprise.connectors.ConnectorRegistry;
+import com.sun.enterprise.util.ColumnFormatter;
+import com.sun.enterprise.util.LocalStringManagerImpl;
+
+import jakarta.resource.spi.ManagedConnectionFactory;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.glassfish.api.ActionReport;
+import org.glassfish.api.I18n;
+import org.glassfish.api.Param;
+import org.glassfish.api.admin.AdminCommand;
+import org.glassfish.api.admin.AdminCommandContext;
+import org.glassfish.api.admin.CommandLock;
+import org.glassfish.api.admin.ExecuteOn;
+import org.glassfish.api.admin.RestEndpoint;
+import org.glassfish.api.admin.RestEndpoints;
+import org.glassfish.api.admin.RuntimeType;
+import org.glassfish.api.jdbc.SQLStatementRecord;
+import org.glassfish.api.jdbc.SQLStatementStatistics;
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.config.support.CommandTarget;
+import org.glassfish.config.support.TargetType;
+import org.glassfish.hk2.api.PerLookup;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * Lists the most executed SQL statements of a JDBC connection pool with their statement cache hit ratios.
+ * Statistics are collected only if the statement caching is enabled for the pool.
+ */
+@TargetType(value = {CommandTarget.DAS, CommandTarget.STANDALONE_INSTANCE, CommandTarget.CLUSTERED_INSTANCE})
+@Service(name = "list-jdbc-statement-statistics")
+@PerLookup
+@CommandLock(CommandLock.LockType.NONE)
+@ExecuteOn(value = {RuntimeType.INSTANCE})
+@I18n("list.jdbc.statement.statistics")
+@RestEndpoints({
+    @RestEndpoint(configBean = Resources.class,
+        opType = RestEndpoint.OpType.GET,
+        path = "list-jdbc-statement-statistics",
+        description = "List JDBC Statement Statistics")
+})
+public class ListJdbcStatementStatistics implements AdminCommand {
+
+    private static final LocalStringManagerImpl localStrings = new LocalStringManagerImpl(ListJdbcStatementStatistics.class);
+
+    private static final String[] HEADERS = {"SQL", "EXECUTIONS", "AVG-TIME-MS", "CACHE-HITS", "CACHE-MISSES", "HIT-RATIO"};
+
+    @Param(name = "pool_name", primary = true)
+    private String poolName;
+
+    @Param(name = "appname", optional = true)
+    private String applicationName;
+
+    @Param(name = "modulename", optional = true)
+    private String moduleName;
+
+    @Param(name = "top", optional = true, defaultValue = "10")
+    private int top;
+
+    @Param(optional = true, defaultValue = CommandTarget.TARGET_SERVER)
+    private String target;
+
+    @Override
+    public void execute(AdminCommandContext context) {
+        final ActionReport report = context.getActionReport();
+
+        PoolInfo poolInfo = new PoolInfo(new SimpleJndiName(poolName), applicationName, moduleName);
+        // Don't create the factory of a pool which was not used yet, there would be nothing to report.
+        ManagedConnectionFactory mcf = ConnectorRegistry.getInstance().getManagedConnectionFactory(poolInfo);
+        if (mcf == null) {
+            report.setMessage(localStrings.getLocalString("list.jdbc.statement.statistics.not.initialized",
+                "Connection pool {0} is not initialized.", poolName));
+            report.setActionExitCode(ActionReport.ExitCode.SUCCESS);
+            return;
+        }
+        if (!(mcf instanceof SQLStatementStatistics)) {
+            report.setMessage(localStrings.getLocalString("list.jdbc.statement.statistics.not.supported",
+                "Connection pool {0} does not collect statement statistics.", poolName));
+            report.setActionExitCode(ActionReport.ExitCode.FAILURE);
+            return;
+        }
+
+        List<SQLStatementRecord> statements = ((SQLStatementStatistics) mcf).getMostExecutedStatements(top);
+        if (statements.isEmpty()) {
+            report.setMessage(localStrings.getLocalString("list.jdbc.statement.statistics.empty",
+                "Nothing to list."));
+            report.setActionExitCode(ActionReport.ExitCode.SUCCESS);
+            return;
+        }
+
+        ColumnFormatter columnFormatter = new ColumnFormatter(HEADERS);
+        for (SQLStatementRecord statement : statements) {
+            columnFormatter.addRow(new Object[] {
+                statement.getSqlQuery(),
+                statement.getExecutionCount(),
+                String.format(Locale.ROOT, "%.3f", statement.getAverageExecutionTimeMillis()),
+                statement.getCacheHitCount(),
+                statement.getCacheMissCount(),
+                String.format(Locale.ROOT, "%.2f", statement.getCacheHitRatio())});
+        }
+        report.setMessage(columnFormatter.toString());
+        report.setActionExitCode(ActionReport.ExitCode.SUCCESS);
+    }
+}
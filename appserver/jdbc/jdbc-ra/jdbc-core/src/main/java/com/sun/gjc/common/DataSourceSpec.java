@@ -82,6 +82,7 @@ public class DataSourceSpec implements Serializable {
     public static final int POOLNAME = 45;
     public static final int APPLICATIONNAME = 46;
     public static final int MODULENAME = 47;
+    public static final int NUMBEROFSTATEMENTSTOPREPARE = 48;
 
     private ConcurrentHashMap<Integer, String> details = new ConcurrentHashMap<Integer, String>();
 
@@ -37,6 +37,11 @@ public interface JdbcRAConstants {
      */
     public static final String STATEMENT_CACHE_MISS = "statementCacheMissEvent";
 
+    /**
+     * Represents the statement cache eviction monitoring event.
+     */
+    public static final String STATEMENT_CACHE_EVICTION = "statementCacheEvictionEvent";
+
     /**
      * Represents caching of sql query event.
      */
@@ -89,4 +94,10 @@ public interface JdbcRAConstants {
      */
     public static final List<String> validSqlTracingMethodNames = Collections.unmodifiableList(Arrays.asList(
             "nativeSQL", "prepareCall", "prepareStatement", "addBatch", "execute", "executeQuery", "executeUpdate"));
+
+    /**
+     * List of method names which execute sql statements and whose execution time is traced.
+     */
+    public static final List<String> sqlExecutionMethodNames = Collections.unmodifiableList(Arrays.asList(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch"));
 }
@@ -17,7 +17,6 @@
 
 package com.sun.gjc.monitoring;
 
-import com.sun.gjc.util.SQLTrace;
 import com.sun.gjc.util.SQLTraceCache;
 
 import org.glassfish.api.naming.SimpleJndiName;
@@ -48,6 +47,10 @@ public class JdbcStatsProvider {
             "FreqUsedSqlQueries", "List",
             "Most frequently used sql queries");
 
+    private final StringStatisticImpl freqUsedSqlQueryStatistics = new StringStatisticImpl(
+            "FreqUsedSqlQueryStatistics", "List",
+            "Execution counts and latencies of the most frequently used sql queries");
+
     private final CountStatisticImpl numStatementCacheHit = new CountStatisticImpl(
             "NumStatementCacheHit", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache hits.");
@@ -56,6 +59,10 @@ public class JdbcStatsProvider {
             "NumStatementCacheMiss", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache misses.");
 
+    private final CountStatisticImpl numStatementCacheEviction = new CountStatisticImpl(
+            "NumStatementCacheEviction", StatisticImpl.UNIT_COUNT,
+            "The total number of statements evicted from the Statement Cache.");
+
     private final CountStatisticImpl numPotentialStatementLeak = new CountStatisticImpl(
             "NumPotentialStatementLeak", StatisticImpl.UNIT_COUNT,
             "The total number of potential Statement leaks");
@@ -104,30 +111,18 @@ public class JdbcStatsProvider {
     }
 
     /**
-     * Whenever a sql statement that is traced is to be cache for monitoring
-     * purpose, the SQLTrace object is created for the specified sql and
-     * updated in the SQLTraceCache. This is used to update the
-     * frequently used sql queries.
-     *
-     * @param poolName
-     * @param sql
+     * Whenever a statement is evicted from the statement cache, increment numStatementCacheEviction count.
+     * @param poolName JdbcConnectionPool that has got a statement cache eviction event.
      */
-    @ProbeListener(JdbcRAConstants.SQL_TRACING_DOTTED_NAME + JdbcRAConstants.TRACE_SQL)
-    public void traceSQLEvent(
-                                   @ProbeParam("poolName") String poolName,
-                                   @ProbeParam("appName") String appName,
-                                   @ProbeParam("moduleName") String moduleName,
-                                   @ProbeParam("sql") String sql) {
+    @ProbeListener(JdbcRAConstants.STATEMENT_CACHE_DOTTED_NAME + JdbcRAConstants.STATEMENT_CACHE_EVICTION)
+    public void statementCacheEvictionEvent(@ProbeParam("poolName") String poolName,
+                                            @ProbeParam("appName") String appName,
+                                            @ProbeParam("moduleName") String moduleName
+                                            ) {
 
         PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
         if(this.poolInfo.equals(poolInfo)){
-            if(sqlTraceCache != null) {
-                if (sql != null) {
-                    SQLTrace cacheObj = new SQLTrace(sql, 1,
-                            System.currentTimeMillis());
-                    sqlTraceCache.checkAndUpdateCache(cacheObj);
-                }
-            }
+            numStatementCacheEviction.increment();
         }
     }
 
@@ -158,6 +153,11 @@ public class JdbcStatsProvider {
         return numStatementCacheMiss;
     }
 
+    @ManagedAttribute(id="numstatementcacheeviction")
+    public CountStatistic getNumStatementCacheEviction() {
+        return numStatementCacheEviction;
+    }
+
     @ManagedAttribute(id="frequsedsqlqueries")
     public StringStatistic getfreqUsedSqlQueries() {
         if(sqlTraceCache != null) {
@@ -168,6 +168,14 @@ public class JdbcStatsProvider {
         return freqUsedSqlQueries;
     }
 
+    @ManagedAttribute(id="frequsedsqlquerystatistics")
+    public StringStatistic getFreqUsedSqlQueryStatistics() {
+        if(sqlTraceCache != null) {
+            freqUsedSqlQueryStatistics.setCurrent(sqlTraceCache.getTopQueryStatistics());
+        }
+        return freqUsedSqlQueryStatistics;
+    }
+
     @ManagedAttribute(id="numpotentialstatementleak")
     public CountStatistic getNumPotentialStatementLeak() {
         return numPotentialStatementLeak;
@@ -59,4 +59,18 @@ public class StatementCacheProbeProvider {
 
     }
 
+    /**
+     * Emits probe event/notification that the given connection pool
+     * <code>poolName</code>has evicted a statement from the statement cache
+     *
+     * @param poolName for which the statement was evicted
+     */
+    @Probe(name=JdbcRAConstants.STATEMENT_CACHE_EVICTION)
+    public void statementCacheEvictionEvent(@ProbeParam("poolName") String poolName,
+                                            @ProbeParam("appName") String appName,
+                                            @ProbeParam("moduleName") String moduleName
+                                            ) {
+
+    }
+
 }
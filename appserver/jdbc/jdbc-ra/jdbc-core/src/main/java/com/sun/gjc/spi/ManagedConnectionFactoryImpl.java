@@ -22,6 +22,7 @@ import com.sun.enterprise.util.i18n.StringManager;
 import com.sun.gjc.common.DataSourceObjectBuilder;
 import com.sun.gjc.common.DataSourceSpec;
 import com.sun.gjc.monitoring.JdbcStatsProvider;
+import com.sun.gjc.util.SQLStatementRegistry;
 import com.sun.gjc.util.SQLTraceDelegator;
 import com.sun.logging.LogDomains;
 
@@ -53,6 +54,7 @@ import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -67,6 +69,8 @@ import javax.sql.PooledConnection;
 
 import org.glassfish.api.invocation.InvocationManager;
 import org.glassfish.api.jdbc.ConnectionValidation;
+import org.glassfish.api.jdbc.SQLStatementRecord;
+import org.glassfish.api.jdbc.SQLStatementStatistics;
 import org.glassfish.api.jdbc.SQLTraceListener;
 import org.glassfish.api.jdbc.objects.TxIsolationLevel;
 import org.glassfish.api.naming.SimpleJndiName;
@@ -97,7 +101,7 @@ import static java.util.logging.Level.SEVERE;
 
 public abstract class ManagedConnectionFactoryImpl
         implements ManagedConnectionFactory, ValidatingManagedConnectionFactory, MCFLifecycleListener,
-        ResourceAdapterAssociation, Serializable, Externalizable {
+        ResourceAdapterAssociation, SQLStatementStatistics, Serializable, Externalizable {
 
     private static Logger _logger = LogDomains.getLogger(ManagedConnectionFactoryImpl.class, LogDomains.RSR_LOGGER);
     protected static final StringManager localStrings = StringManager.getManager(DataSourceObjectBuilder.class);
@@ -119,6 +123,10 @@ public abstract class ManagedConnectionFactoryImpl
     private String statementCacheType;
     private long statementLeakTimeout;
     private boolean statementLeakReclaim;
+    private int numberOfStatementsToPrepare;
+
+    // Statements prepared through the statement caches of all connections
+    private final transient SQLStatementRegistry statementRegistry = new SQLStatementRegistry();
 
     // Jdbc Stats provider that is created
     private JdbcStatsProvider jdbcStatsProvider;
@@ -623,6 +631,7 @@ public abstract class ManagedConnectionFactoryImpl
         try {
             isValid(managedConnectionImpl);
             setIsolation(managedConnectionImpl);
+            prepareMostExecutedStatements(managedConnectionImpl);
         } catch (ResourceException e) {
             if (managedConnectionImpl != null) {
                 try {
@@ -636,6 +645,13 @@ public abstract class ManagedConnectionFactoryImpl
         }
     }
 
+    private void prepareMostExecutedStatements(ManagedConnectionImpl managedConnectionImpl) {
+        if (numberOfStatementsToPrepare > 0 && statementCacheSize > 0) {
+            managedConnectionImpl.prepareStatements(
+                statementRegistry.getMostExecutedSql(Math.min(numberOfStatementsToPrepare, statementCacheSize)));
+        }
+    }
+
     private void detectStatementCachingSupport() {
         String cacheSize = getStatementCacheSize();
         if (cacheSize != null) {
@@ -1079,6 +1095,37 @@ public abstract class ManagedConnectionFactoryImpl
         spec.setDetail(DataSourceSpec.NUMBEROFTOPQUERIESTOREPORT, numTopQueriesToReport);
     }
 
+    public String getNumberOfStatementsToPrepare() {
+        return spec.getDetail(DataSourceSpec.NUMBEROFSTATEMENTSTOPREPARE);
+    }
+
+    /**
+     * Sets the number of the most executed statements of the pool prepared on each new connection.
+     * Used only if the statement caching is enabled.
+     *
+     * @param numStatementsToPrepare number of statements, 0 disables the preparation
+     */
+    public void setNumberOfStatementsToPrepare(String numStatementsToPrepare) {
+        spec.setDetail(DataSourceSpec.NUMBEROFSTATEMENTSTOPREPARE, numStatementsToPrepare);
+        numberOfStatementsToPrepare = 0;
+        if (numStatementsToPrepare != null && !numStatementsToPrepare.equals("null")) {
+            try {
+                numberOfStatementsToPrepare = Integer.parseInt(numStatementsToPrepare.trim());
+            } catch (NumberFormatException nfe) {
+                _logger.log(Level.WARNING, "Invalid value for NumberOfStatementsToPrepare: " + numStatementsToPrepare);
+            }
+        }
+    }
+
+    SQLStatementRegistry getStatementRegistry() {
+        return statementRegistry;
+    }
+
+    @Override
+    public List<SQLStatementRecord> getMostExecutedStatements(int count) {
+        return statementRegistry.getMostExecutedStatements(count);
+    }
+
     public String getTimeToKeepQueriesInMinutes() {
         return spec.getDetail(DataSourceSpec.TIMETOKEEPQUERIESINMINUTES);
     }
@@ -1400,6 +1447,9 @@ public abstract class ManagedConnectionFactoryImpl
                 _logger.finest("Scheduling timer task for sql trace caching");
                 Timer timer = ((ResourceAdapterImpl) resourceAdapter).getTimer();
                 jdbcStatsProvider.getSqlTraceCache().scheduleTimerTask(timer);
+                if (sqlTraceDelegator != null) {
+                    sqlTraceDelegator.setSqlTraceCache(jdbcStatsProvider.getSqlTraceCache());
+                }
             }
 
             _logger.finest("Registered JDBCRA Stats Provider");
@@ -1414,12 +1464,16 @@ public abstract class ManagedConnectionFactoryImpl
             if (jdbcStatsProvider.getSqlTraceCache() != null) {
                 _logger.finest("Canceling timer task for sql trace caching");
                 jdbcStatsProvider.getSqlTraceCache().cancelTimerTask();
+                if (sqlTraceDelegator != null) {
+                    sqlTraceDelegator.setSqlTraceCache(null);
+                }
             }
 
             StatsProviderManager.unregister(jdbcStatsProvider);
             jdbcStatsProvider = null;
             _logger.finest("Unregistered JDBCRA Stats Provider");
         }
+        statementRegistry.clear();
     }
 
     private void detectStatementLeakSupport() {
@@ -27,6 +27,8 @@ import com.sun.gjc.spi.base.ConnectionWrapper;
 import com.sun.gjc.spi.base.PreparedStatementWrapper;
 import com.sun.gjc.spi.base.datastructure.Cache;
 import com.sun.gjc.spi.base.datastructure.CacheFactory;
+import com.sun.gjc.util.SQLStatementRegistry;
+import com.sun.gjc.util.SQLStatementRegistry.StatementStatistics;
 import com.sun.gjc.util.SQLTraceDelegator;
 import com.sun.gjc.util.StatementLeakDetector;
 import com.sun.logging.LogDomains;
@@ -50,6 +52,7 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -64,6 +67,8 @@ import javax.transaction.xa.XAResource;
 import org.glassfish.resourcebase.resources.api.PoolInfo;
 
 import static jakarta.resource.spi.ConnectionEvent.CONNECTION_ERROR_OCCURRED;
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.INFO;
 import static java.util.logging.Level.WARNING;
@@ -118,6 +123,7 @@ public class ManagedConnectionImpl
     private int cacheSize;
     private String cacheType;
     private boolean statementCaching;
+    private SQLStatementRegistry statementRegistry;
     private long stmtLeakTimeout;
     private boolean stmtLeakReclaim;
     private boolean statementLeakTracing;
@@ -151,8 +157,8 @@ public class ManagedConnectionImpl
      * Configured via create-jdbc-connection-pool --statementcachesize
      * @param statementCacheType In case statementCacheSize is not 0 this defines the statement cache type to be used. Valid
      * values are defined in com.sun.gjc.spi.base.datastructure.CacheFactory. Value null or "" uses an LRU Cache
-     * implementation. Value FIXED uses FIXED size cache implementation. Any other values are expected to be a className for
-     * a cache implementation.
+     * implementation. Value FIXED uses FIXED size cache implementation. Value CONCURRENT uses a lock-free cache
+     * implementation. Any other values are expected to be a className for a cache implementation.
      * @param delegator optional SqlTraceDelegator, value is allowed to be null.
      * @param statementLeakTimeout statement leak timeout in seconds.<br>
      * Configured via create-jdbc-connection-pool --statementleaktimeout
@@ -231,6 +237,9 @@ public class ManagedConnectionImpl
             try {
                 statementCache = CacheFactory.getDataStructure(poolInfo, cacheType, cacheSize);
                 statementCaching = true;
+                if (managedConnectionFactory instanceof ManagedConnectionFactoryImpl) {
+                    statementRegistry = ((ManagedConnectionFactoryImpl) managedConnectionFactory).getStatementRegistry();
+                }
             } catch (ResourceException ex) {
                 LOG.severe(ex.getMessage());
             }
@@ -922,37 +931,8 @@ public class ManagedConnectionImpl
         if (statementCaching) {
             CacheObjectKey key =
                 new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, resultSetType, resultSetConcurrency);
-
-            // TODO-SC should a null check be done for statementCache?
-            // TODO-SC refactor this method.
-            PreparedStatementWrapper preparedStatement = (PreparedStatementWrapper) statementCache.checkAndUpdateCache(key);
-
-            // TODO-SC-DEFER can the usability (isFree()) check be done by the cache itself
-            // and make sure that only a free stmt is returned
-            if (preparedStatement != null) {
-                if (isFree(preparedStatement)) {
-                    // Find if this preparedStatement is a valid one. If invalid, remove it
-                    // from the cache and prepare a new stmt & add it to cache
-                    if (!preparedStatement.isValid()) {
-                        statementCache.purge(preparedStatement);
-                        preparedStatement = connection.prepareCachedStatement(sql, resultSetType, resultSetConcurrency, true);
-                        preparedStatement.setBusy(true);
-                        statementCache.addToCache(key, preparedStatement, false);
-                    } else {
-                        // Valid preparedStatement
-                        preparedStatement.setBusy(true);
-                    }
-                } else {
-                    return connection.prepareCachedStatement(sql, resultSetType, resultSetConcurrency, false);
-                }
-            } else {
-                preparedStatement = connection.prepareCachedStatement(sql, resultSetType, resultSetConcurrency, true);
-
-                preparedStatement.setBusy(true);
-                statementCache.addToCache(key, preparedStatement, false);
-            }
-
-            return preparedStatement;
+            return prepareCachedStatement(key,
+                enableCaching -> connection.prepareCachedStatement(sql, resultSetType, resultSetConcurrency, enableCaching));
         }
 
         return connection.prepareCachedStatement(sql, resultSetType, resultSetConcurrency, false);
@@ -963,79 +943,19 @@ public class ManagedConnectionImpl
         if (statementCaching) {
             CacheObjectKey key =
                 new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, resultSetType, resultSetConcurrency, resultSetHoldability);
-
-            // TODO-SC should a null check be done for statementCache?
-            PreparedStatementWrapper preparedStatement = (PreparedStatementWrapper) statementCache.checkAndUpdateCache(key);
-
-            // TODO-SC-DEFER can the usability (isFree()) check be done by the cache itself
-            // and make sure that only a free stmt is returned
-            if (preparedStatement != null) {
-                if (isFree(preparedStatement)) {
-                    // Find if this preparedStatement is a valid one. If invalid, remove it
-                    // from the cache and prepare a new stmt & add it to cache
-                    if (!preparedStatement.isValid()) {
-                        statementCache.purge(preparedStatement);
-                        preparedStatement = connection.prepareCachedStatement(sql, resultSetType, resultSetConcurrency,
-                                resultSetHoldability, true);
-                        preparedStatement.setBusy(true);
-                        statementCache.addToCache(key, preparedStatement, false);
-                    } else {
-                        // Valid preparedStatement
-                        preparedStatement.setBusy(true);
-                    }
-
-                } else {
-                    return connection.prepareCachedStatement(sql, resultSetType, resultSetConcurrency,
-                            resultSetHoldability, false);
-                }
-            } else {
-                preparedStatement = connection.prepareCachedStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability,
-                        true);
-
-                statementCache.addToCache(key, preparedStatement, false);
-                preparedStatement.setBusy(true);
-            }
-            return preparedStatement;
+            return prepareCachedStatement(key, enableCaching -> connection.prepareCachedStatement(sql, resultSetType,
+                resultSetConcurrency, resultSetHoldability, enableCaching));
         }
 
         return connection.prepareCachedStatement(
-                   sql, resultSetType, resultSetConcurrency, resultSetHoldability, false);
+                sql, resultSetType, resultSetConcurrency, resultSetHoldability, false);
     }
 
     public PreparedStatement prepareCachedStatement(ConnectionWrapper connection, String sql, String[] columnNames) throws SQLException {
         if (statementCaching) {
             CacheObjectKey key = new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, columnNames);
-
-            // TODO-SC should a null check be done for statementCache?
-            PreparedStatementWrapper preparedStatement = (PreparedStatementWrapper) statementCache.checkAndUpdateCache(key);
-
-            // TODO-SC-DEFER can the usability (isFree()) check be done by the cache itself
-            // and make sure that only a free stmt is returned
-            if (preparedStatement != null) {
-                if (isFree(preparedStatement)) {
-                    // Find if this preparedStatement is a valid one. If invalid, remove it
-                    // from the cache and prepare a new stmt & add it to cache
-                    if (!preparedStatement.isValid()) {
-                        statementCache.purge(preparedStatement);
-                        preparedStatement = connection.prepareCachedStatement(sql, columnNames, true);
-                        preparedStatement.setBusy(true);
-                        statementCache.addToCache(key, preparedStatement, false);
-                    } else {
-                        // Valid preparedStatement
-                        preparedStatement.setBusy(true);
-                    }
-
-                } else {
-                    return connection.prepareCachedStatement(sql, columnNames, false);
-                }
-            } else {
-                preparedStatement = connection.prepareCachedStatement(sql, columnNames, true);
-
-                statementCache.addToCache(key, preparedStatement, false);
-                preparedStatement.setBusy(true);
-            }
-
-            return preparedStatement;
+            return prepareCachedStatement(key,
+                enableCaching -> connection.prepareCachedStatement(sql, columnNames, enableCaching));
         }
 
         return connection.prepareCachedStatement(sql, columnNames, false);
@@ -1044,37 +964,8 @@ public class ManagedConnectionImpl
     public PreparedStatement prepareCachedStatement(ConnectionWrapper connection, String sql, int[] columnIndexes) throws SQLException {
         if (statementCaching) {
             CacheObjectKey key = new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, columnIndexes);
-
-            // TODO-SC should a null check be done for statementCache?
-            PreparedStatementWrapper preparedStatement = (PreparedStatementWrapper) statementCache.checkAndUpdateCache(key);
-
-            // TODO-SC-DEFER can the usability (isFree()) check be done by the cache itself
-            // and make sure that only a free stmt is returned
-            if (preparedStatement != null) {
-                if (isFree(preparedStatement)) {
-                    // Find if this preparedStatement is a valid one. If invalid, remove it
-                    // from the cache and prepare a new stmt & add it to cache
-                    if (!preparedStatement.isValid()) {
-                        statementCache.purge(preparedStatement);
-                        preparedStatement = connection.prepareCachedStatement(sql, columnIndexes, true);
-                        preparedStatement.setBusy(true);
-                        statementCache.addToCache(key, preparedStatement, false);
-                    } else {
-                        // Valid preparedStatement
-                        preparedStatement.setBusy(true);
-                    }
-
-                } else {
-                    return connection.prepareCachedStatement(sql, columnIndexes, false);
-                }
-            } else {
-                preparedStatement = connection.prepareCachedStatement(sql, columnIndexes, true);
-
-                statementCache.addToCache(key, preparedStatement, false);
-                preparedStatement.setBusy(true);
-            }
-
-            return preparedStatement;
+            return prepareCachedStatement(key,
+                enableCaching -> connection.prepareCachedStatement(sql, columnIndexes, enableCaching));
         }
 
         return connection.prepareCachedStatement(sql, columnIndexes, false);
@@ -1083,40 +974,109 @@ public class ManagedConnectionImpl
     public PreparedStatement prepareCachedStatement(ConnectionWrapper connection, String sql, int autoGeneratedKeys) throws SQLException {
         if (statementCaching) {
             CacheObjectKey key = new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, autoGeneratedKeys);
+            return prepareCachedStatement(key,
+                enableCaching -> connection.prepareCachedStatement(sql, autoGeneratedKeys, enableCaching));
+        }
 
-            // TODO-SC should a null check be done for statementCache?
-            PreparedStatementWrapper preparedStatement = (PreparedStatementWrapper) statementCache.checkAndUpdateCache(key);
-
-            // TODO-SC-DEFER can the usability (isFree()) check be done by the cache itself
-            // and make sure that only a free stmt is returned
-            if (preparedStatement != null) {
-                if (isFree(preparedStatement)) {
-                    // Find if this preparedStatement is a valid one. If invalid, remove it
-                    // from the cache and prepare a new stmt & add it to cache
-                    if (!preparedStatement.isValid()) {
-                        statementCache.purge(preparedStatement);
-                        preparedStatement = connection.prepareCachedStatement(sql, autoGeneratedKeys, true);
-                        preparedStatement.setBusy(true);
-                        statementCache.addToCache(key, preparedStatement, false);
-                    } else {
-                        // Valid preparedStatement
-                        preparedStatement.setBusy(true);
-                    }
+        return connection.prepareCachedStatement(sql, autoGeneratedKeys, false);
+    }
 
-                } else {
-                    return connection.prepareCachedStatement(sql, autoGeneratedKeys, false);
-                }
-            } else {
-                preparedStatement = connection.prepareCachedStatement(sql, autoGeneratedKeys, true);
+    /**
+     * Returns a free valid statement from the statement cache. If there is none, a new statement is prepared
+     * and added to the cache. If the cached statement is used by another handle, a new uncached statement is returned.
+     *
+     * @param key key of the statement in the statement cache
+     * @param preparer prepares a new statement, the parameter enables the caching of the statement
+     * @return the prepared statement marked as busy
+     * @throws SQLException if the statement could not be prepared
+     */
+    private PreparedStatement prepareCachedStatement(CacheObjectKey key, StatementPreparer preparer) throws SQLException {
+        final StatementStatistics statistics = statementRegistry == null ? null : statementRegistry.getStatistics(key.getSql());
+        // TODO-SC should a null check be done for statementCache?
+        PreparedStatementWrapper preparedStatement = (PreparedStatementWrapper) statementCache.checkAndUpdateCache(key);
+
+        // TODO-SC-DEFER can the usability (isFree()) check be done by the cache itself
+        // and make sure that only a free stmt is returned
+        if (preparedStatement != null && !isFree(preparedStatement)) {
+            preparedStatement = preparer.prepare(false);
+            recordCacheMiss(statistics, preparedStatement);
+            return preparedStatement;
+        }
 
-                statementCache.addToCache(key, preparedStatement, false);
-                preparedStatement.setBusy(true);
+        if (preparedStatement != null && preparedStatement.isValid()) {
+            preparedStatement.setBusy(true);
+            if (statistics != null) {
+                statistics.cacheHit();
+                preparedStatement.setStatementStatistics(statistics);
             }
-
             return preparedStatement;
         }
 
-        return connection.prepareCachedStatement(sql, autoGeneratedKeys, false);
+        // Not cached yet or invalid. If invalid, remove it from the cache and prepare a new stmt & add it to cache
+        if (preparedStatement != null) {
+            statementCache.purge(preparedStatement);
+        }
+        preparedStatement = preparer.prepare(true);
+        preparedStatement.setBusy(true);
+        statementCache.addToCache(key, preparedStatement, false);
+        recordCacheMiss(statistics, preparedStatement);
+        return preparedStatement;
+    }
+
+    private static void recordCacheMiss(StatementStatistics statistics, PreparedStatementWrapper preparedStatement) {
+        if (statistics != null) {
+            statistics.cacheMiss();
+            preparedStatement.setStatementStatistics(statistics);
+        }
+    }
+
+    /**
+     * Prepares the statements on this connection and adds them to the statement cache, so they are ready
+     * before the first use. Statements are prepared with the default result set type and concurrency.
+     * Failures are only logged, the connection stays usable.
+     * <p>
+     * Must be called before the connection is handed over to the pool, the temporary connection handle
+     * used to prepare the statements is closed at the end.
+     *
+     * @param sqls SQL statements to prepare
+     */
+    void prepareStatements(Collection<String> sqls) {
+        if (!statementCaching || sqls.isEmpty()) {
+            return;
+        }
+        ManagedConnectionFactoryImpl managedConnectionFactoryImpl = (ManagedConnectionFactoryImpl) managedConnectionFactory;
+        ConnectionHolder connectionHolder;
+        try {
+            connectionHolder = managedConnectionFactoryImpl.getJdbcObjectsFactory().getConnection(getActualConnection(),
+                this, null, managedConnectionFactoryImpl.isStatementWrappingEnabled(), sqlTraceDelegator);
+        } catch (ResourceException e) {
+            LOG.log(FINE, "Could not prepare statements on the new connection", e);
+            return;
+        }
+        // Balanced by the close of the handle
+        incrementCount();
+        try {
+            if (!(connectionHolder instanceof ConnectionWrapper)) {
+                // Statements are cached only if statement wrapping is enabled
+                return;
+            }
+
+            ConnectionWrapper connection = (ConnectionWrapper) connectionHolder;
+            for (String sql : sqls) {
+                CacheObjectKey key = new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+                try {
+                    statementCache.addToCache(key, connection.prepareCachedStatement(sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, true), false);
+                } catch (SQLException e) {
+                    LOG.log(FINE, "Could not prepare statement " + sql, e);
+                }
+            }
+        } finally {
+            try {
+                connectionHolder.close();
+            } catch (SQLException e) {
+                LOG.log(FINE, "Could not close the connection handle used to prepare statements", e);
+            }
+        }
     }
 
     public CallableStatement prepareCachedCallableStatement(ConnectionWrapper connection, String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
@@ -1217,4 +1177,18 @@ public class ManagedConnectionImpl
         // TODO isValid check for preparedStatement?
         statementCache.purge(preparedStatement);
     }
+
+    /**
+     * Prepares a statement on the actual connection.
+     */
+    @FunctionalInterface
+    private interface StatementPreparer {
+
+        /**
+         * @param enableCaching true if the statement will be cached
+         * @return new statement
+         * @throws SQLException if the statement could not be prepared
+         */
+        PreparedStatementWrapper prepare(boolean enableCaching) throws SQLException;
+    }
 }
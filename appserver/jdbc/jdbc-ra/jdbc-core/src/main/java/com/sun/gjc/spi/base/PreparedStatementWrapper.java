@@ -19,6 +19,7 @@ package com.sun.gjc.spi.base;
 
 
 import com.sun.gjc.util.ResultSetClosedEventListener;
+import com.sun.gjc.util.SQLStatementRegistry.StatementStatistics;
 
 import java.io.InputStream;
 import java.io.Reader;
@@ -58,6 +59,7 @@ public abstract class PreparedStatementWrapper extends StatementWrapper implemen
     private int currentFetchDirection;
     private int currentFetchSize;
     private boolean valid = true;
+    private StatementStatistics statementStatistics;
 
     /**
      * Abstract class for wrapping PreparedStatement <br>
@@ -109,7 +111,10 @@ public abstract class PreparedStatementWrapper extends StatementWrapper implemen
      */
     @Override
     public int executeUpdate() throws SQLException {
-        return preparedStatement.executeUpdate();
+        long started = executionStarted();
+        int result = preparedStatement.executeUpdate();
+        executionFinished(started);
+        return result;
     }
 
     /**
@@ -513,7 +518,10 @@ public abstract class PreparedStatementWrapper extends StatementWrapper implemen
      */
     @Override
     public boolean execute() throws SQLException {
-        return preparedStatement.execute();
+        long started = executionStarted();
+        boolean result = preparedStatement.execute();
+        executionFinished(started);
+        return result;
     }
 
     /**
@@ -899,6 +907,31 @@ public abstract class PreparedStatementWrapper extends StatementWrapper implemen
         this.cached = cached;
     }
 
+    /**
+     * @param statementStatistics pool level statistics of this statement updated on each execution, can be null.
+     */
+    public void setStatementStatistics(StatementStatistics statementStatistics) {
+        this.statementStatistics = statementStatistics;
+    }
+
+    /**
+     * @return start time of the execution if statistics are collected for this statement
+     */
+    protected final long executionStarted() {
+        return statementStatistics == null ? 0L : System.nanoTime();
+    }
+
+    /**
+     * Records the successful execution in the statement statistics.
+     *
+     * @param started value returned by {@link #executionStarted()}
+     */
+    protected final void executionFinished(long started) {
+        if (statementStatistics != null) {
+            statementStatistics.executed(System.nanoTime() - started);
+        }
+    }
+
     public boolean isValid() {
         return valid;
     }
@@ -36,6 +36,10 @@ import static java.util.logging.Level.WARNING;
  * @author Shalini M
  */
 public class CacheFactory {
+
+    /** Statement cache type of the {@link ConcurrentCacheImpl} */
+    public static final String CONCURRENT_CACHE_TYPE = "CONCURRENT";
+
     protected final static Logger _logger = LogDomains.getLogger(CacheFactory.class, LogDomains.RSR_LOGGER);
 
     protected final static StringManager localStrings = StringManager.getManager(DataSourceObjectBuilder.class);
@@ -49,6 +53,9 @@ public class CacheFactory {
         } else if (cacheType.equals("FIXED")) {
             debug("Initializing FIXED Cache Implementation");
             stmtCacheStructure = new FIXEDCacheImpl(poolInfo, maxSize);
+        } else if (cacheType.equals(CONCURRENT_CACHE_TYPE)) {
+            debug("Initializing CONCURRENT Cache Implementation");
+            stmtCacheStructure = new ConcurrentCacheImpl(poolInfo, maxSize);
         } else { // consider the value of cacheType as a className
             stmtCacheStructure = initCustomCacheStructurePrivileged(cacheType, maxSize);
         }
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.monitoring.StatementCacheProbeProvider;
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.logging.LogDomains;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+/**
+ * Statement cache without any lock on the lookups.
+ * <p>
+ * Entries are kept in a {@link ConcurrentHashMap}. Each hit only stores the access time into the entry.
+ * When the cache is full, the next few entries of a cursor sweeping over the map are sampled and the least
+ * recently used of them is evicted, which approximates the LRU policy without maintaining any access ordered
+ * list. Hits, misses and evictions are published as the statement cache statistics of the pool.
+ * <p>
+ * Selected by the statement cache type {@value CacheFactory#CONCURRENT_CACHE_TYPE}.
+ */
+public class ConcurrentCacheImpl implements Cache {
+
+    private static final Logger LOG = LogDomains.getLogger(ConcurrentCacheImpl.class, LogDomains.RSR_LOGGER);
+
+    /** Number of entries compared when looking for the eviction victim */
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final ConcurrentHashMap<CacheObjectKey, CacheEntry> cache;
+    private final int maxSize;
+    private final PoolInfo poolInfo;
+    private final StatementCacheProbeProvider probeProvider;
+
+    /** Position of the next eviction sample, guarded by this cache */
+    private Iterator<Map.Entry<CacheObjectKey, CacheEntry>> sampler;
+
+    public ConcurrentCacheImpl(PoolInfo poolInfo, int maxSize) {
+        this(poolInfo, maxSize, new StatementCacheProbeProvider());
+    }
+
+    ConcurrentCacheImpl(PoolInfo poolInfo, int maxSize, StatementCacheProbeProvider probeProvider) {
+        this.poolInfo = poolInfo;
+        this.maxSize = maxSize;
+        this.probeProvider = probeProvider;
+        this.cache = new ConcurrentHashMap<>(Math.min(maxSize, 1024) * 4 / 3 + 1);
+    }
+
+    @Override
+    public Object checkAndUpdateCache(CacheObjectKey key) {
+        CacheEntry entry = cache.get(key);
+        if (entry == null) {
+            LOG.finest("Cache Miss");
+            probeProvider.statementCacheMissEvent(
+                poolInfo.getName().toString(),
+                poolInfo.getApplicationName(),
+                poolInfo.getModuleName());
+            return null;
+        }
+
+        entry.lastAccess = System.nanoTime();
+        LOG.finest("Cache Hit");
+        probeProvider.statementCacheHitEvent(
+            poolInfo.getName().toString(),
+            poolInfo.getApplicationName(),
+            poolInfo.getModuleName());
+        return entry.entryObj;
+    }
+
+    @Override
+    public void addToCache(CacheObjectKey key, Object o, boolean force) {
+        CacheEntry entry = new CacheEntry(o);
+        if (force) {
+            cache.put(key, entry);
+        } else if (cache.putIfAbsent(key, entry) != null) {
+            return;
+        }
+
+        while (cache.size() > maxSize) {
+            if (!evict(key)) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        LOG.fine("clearing objects in cache");
+        cache.clear();
+    }
+
+    @Override
+    public void flushCache() {
+        Iterator<CacheEntry> iterator = cache.values().iterator();
+        while (iterator.hasNext()) {
+            CacheEntry entry = iterator.next();
+            iterator.remove();
+            close(entry);
+        }
+    }
+
+    @Override
+    public void purge() {
+        evict(null);
+    }
+
+    @Override
+    public void purge(Object obj) {
+        for (Map.Entry<CacheObjectKey, CacheEntry> entry : cache.entrySet()) {
+            if (entry.getValue().entryObj.equals(obj)) {
+                if (cache.remove(entry.getKey(), entry.getValue())) {
+                    LOG.log(Level.FINEST, "Purging an entry from cache");
+                    close(entry.getValue());
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return cache.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public boolean isSynchronized() {
+        return true;
+    }
+
+    /**
+     * Evicts the least recently used of the sampled entries.
+     *
+     * @param keep key of the entry just added, must not be evicted. Can be null.
+     * @return true if an entry was evicted
+     */
+    private boolean evict(CacheObjectKey keep) {
+        final Map.Entry<CacheObjectKey, CacheEntry> victim = sampleVictim(keep);
+        if (victim == null) {
+            return false;
+        }
+        if (cache.remove(victim.getKey(), victim.getValue())) {
+            probeProvider.statementCacheEvictionEvent(
+                poolInfo.getName().toString(),
+                poolInfo.getApplicationName(),
+                poolInfo.getModuleName());
+            close(victim.getValue());
+        }
+        // Another thread removed the victim, the cache is smaller anyway
+        return true;
+    }
+
+    /**
+     * Compares the next {@value #EVICTION_SAMPLE_SIZE} entries after the previous sample, restarting
+     * from the beginning of the map when the end is reached.
+     *
+     * @param keep key of the entry which must not be evicted. Can be null.
+     * @return the least recently used of the sampled entries or null if the cache has no other entry
+     */
+    private synchronized Map.Entry<CacheObjectKey, CacheEntry> sampleVictim(CacheObjectKey keep) {
+        Map.Entry<CacheObjectKey, CacheEntry> victim = null;
+        boolean restarted = false;
+        int sampled = 0;
+        while (sampled < EVICTION_SAMPLE_SIZE) {
+            if (sampler == null || !sampler.hasNext()) {
+                if (restarted) {
+                    // The whole map is smaller than the sample
+                    break;
+                }
+                sampler = cache.entrySet().iterator();
+                restarted = true;
+                continue;
+            }
+            final Map.Entry<CacheObjectKey, CacheEntry> candidate = sampler.next();
+            if (candidate.getKey().equals(keep)) {
+                continue;
+            }
+            if (victim == null || candidate.getValue().lastAccess < victim.getValue().lastAccess) {
+                victim = candidate;
+            }
+            sampled++;
+        }
+        return victim;
+    }
+
+    private static void close(CacheEntry entry) {
+        if (!(entry.entryObj instanceof PreparedStatementWrapper ps)) {
+            return;
+        }
+        try {
+            ps.setCached(false);
+            ps.close();
+        } catch (SQLException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * Cached statement with its last access time.
+     */
+    private static final class CacheEntry {
+        private final Object entryObj;
+        private volatile long lastAccess = System.nanoTime();
+
+        CacheEntry(Object o) {
+            this.entryObj = o;
+        }
+    }
+}
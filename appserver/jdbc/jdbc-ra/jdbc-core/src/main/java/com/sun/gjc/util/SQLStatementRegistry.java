@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.api.jdbc.SQLStatementRecord;
+import org.glassfish.api.jdbc.SQLStatementStatistics;
+
+/**
+ * Pool level registry of the SQL statements prepared through the statement cache of all connections
+ * of the pool.
+ * <p>
+ * Statement caches are per physical connection, this registry collects the execution counts, execution
+ * times and cache hits of each SQL string across the connections. The most executed statements
+ * are prepared in advance on new connections, so they don't start with an empty statement cache.
+ * <p>
+ * The number of tracked statements is limited, when the limit is reached, the less executed half
+ * of the statements is forgotten.
+ */
+public class SQLStatementRegistry implements SQLStatementStatistics {
+
+    private static final Logger LOG = LogDomains.getLogger(SQLStatementRegistry.class, LogDomains.RSR_LOGGER);
+
+    /** Default maximal number of tracked statements */
+    public static final int DEFAULT_MAX_STATEMENTS = 1000;
+
+    private static final Comparator<SQLStatementRecord> MOST_EXECUTED_FIRST = Comparator
+        .comparingLong(SQLStatementRecord::getExecutionCount)
+        .thenComparingLong(record -> record.getCacheHitCount() + record.getCacheMissCount()).reversed();
+
+    private final ConcurrentHashMap<String, StatementStatistics> statements = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private final int maxStatements;
+
+    public SQLStatementRegistry() {
+        this(DEFAULT_MAX_STATEMENTS);
+    }
+
+    public SQLStatementRegistry(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * @param sql the SQL statement
+     * @return statistics of the statement, never null.
+     */
+    public StatementStatistics getStatistics(String sql) {
+        StatementStatistics statistics = statements.get(sql);
+        if (statistics != null) {
+            return statistics;
+        }
+        if (statements.size() >= maxStatements) {
+            prune();
+        }
+        return statements.computeIfAbsent(sql, StatementStatistics::new);
+    }
+
+    /**
+     * @param count maximal number of returned statements
+     * @return SQL strings of the most executed statements, the most executed first
+     */
+    public List<String> getMostExecutedSql(int count) {
+        List<SQLStatementRecord> mostExecuted = getMostExecutedStatements(count);
+        List<String> sqls = new ArrayList<>(mostExecuted.size());
+        for (SQLStatementRecord record : mostExecuted) {
+            sqls.add(record.getSqlQuery());
+        }
+        return sqls;
+    }
+
+    @Override
+    public List<SQLStatementRecord> getMostExecutedStatements(int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        List<SQLStatementRecord> sorted = getSortedRecords();
+        return sorted.size() > count ? sorted.subList(0, count) : sorted;
+    }
+
+    /**
+     * @return number of tracked statements
+     */
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Forgets all statements.
+     */
+    public void clear() {
+        statements.clear();
+    }
+
+    /**
+     * The counters change concurrently, so they are copied to records before sorting.
+     */
+    private List<SQLStatementRecord> getSortedRecords() {
+        List<SQLStatementRecord> records = new ArrayList<>(statements.size());
+        for (StatementStatistics statistics : statements.values()) {
+            records.add(statistics.toRecord());
+        }
+        records.sort(MOST_EXECUTED_FIRST);
+        return records;
+    }
+
+    /**
+     * Removes the less executed half of the statements. Only one thread prunes at a time,
+     * other threads just continue.
+     */
+    private void prune() {
+        if (!pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<SQLStatementRecord> sorted = getSortedRecords();
+            for (SQLStatementRecord record : sorted.subList(sorted.size() / 2, sorted.size())) {
+                statements.remove(record.getSqlQuery());
+            }
+            LOG.log(Level.FINE, "Pruned SQL statement registry from {0} to {1} statements",
+                new Object[] {sorted.size(), statements.size()});
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    /**
+     * Counters of one SQL statement, updated concurrently by all connections of the pool.
+     */
+    public static final class StatementStatistics {
+
+        private final String sql;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder executionTime = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+
+        StatementStatistics(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * The statement was reused from the statement cache.
+         */
+        public void cacheHit() {
+            cacheHits.increment();
+        }
+
+        /**
+         * The statement had to be prepared.
+         */
+        public void cacheMiss() {
+            cacheMisses.increment();
+        }
+
+        /**
+         * The statement was executed.
+         *
+         * @param nanos duration of the execution
+         */
+        public void executed(long nanos) {
+            executions.increment();
+            executionTime.add(nanos);
+        }
+
+        SQLStatementRecord toRecord() {
+            return new SQLStatementRecord(sql, executions.sum(), executionTime.sum(), cacheHits.sum(),
+                cacheMisses.sum());
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -21,9 +21,17 @@ import com.sun.logging.LogDomains;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,33 +41,72 @@ import org.glassfish.api.naming.SimpleJndiName;
  * Maintains the Sql Tracing Cache used to store SQL statements used by the
  * applications. This is used by the JDBCRA monitoring to display the most
  * frequently used queries by applications.
+ * <p>
+ * Executed statements are recorded into striped ring buffers without locking
+ * and without allocation. The buffers are drained periodically by a timer task
+ * (or by a producer which found its buffer full) into per query statistics
+ * containing the number of executions and a latency histogram. If the buffer is
+ * full and another thread is just draining, the record is dropped and counted.
  *
  * @author Shalini M
  */
 public class SQLTraceCache {
 
-    // List of sql trace objects
-    private final List<SQLTrace> list;
+    private final static Logger _logger = LogDomains.getLogger(SQLTraceCache.class, LogDomains.RSR_LOGGER);
+    private static final String LINE_BREAK = "%%%EOL%%%";
+
+    /** Period of draining the trace buffers in milliseconds */
+    private static final long DRAIN_PERIOD = 1000L;
+    private static final int MAX_STRIPES = 64;
+    /** Latency buckets, bucket n contains latencies up to 2^n microseconds */
+    private static final int LATENCY_BUCKETS = 32;
+
+    private final TraceBuffer[] buffers;
+    private final int stripeMask;
+    private final LongAdder dropped = new LongAdder();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    // guarded by drainLock
+    private final Map<String, QueryStatistics> statistics = new HashMap<>();
+
     // Maximum size of the cache.
     private int numTopQueriesToReport = 10;
     private long timeToKeepQueries = 60 * 1000;
     private SQLTraceTimerTask sqlTraceTimerTask;
+    private TimerTask drainTimerTask;
     private final SimpleJndiName poolName;
     private final String appName;
     private final String moduleName;
-    private final static Logger _logger = LogDomains.getLogger(SQLTraceCache.class, LogDomains.RSR_LOGGER);
-    private static final String LINE_BREAK = "%%%EOL%%%";
 
     public SQLTraceCache(SimpleJndiName poolName, String appName, String moduleName, int maxSize, long timeToKeepQueries) {
         this.poolName = poolName;
         this.appName = appName;
         this.moduleName = moduleName;
         this.numTopQueriesToReport = maxSize;
-        list = new ArrayList<>();
         this.timeToKeepQueries = timeToKeepQueries * 60 * 1000;
+        int stripes = Math.min(MAX_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+        this.buffers = new TraceBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            buffers[i] = new TraceBuffer();
+        }
+        this.stripeMask = stripes - 1;
     }
 
+    /**
+     * @return snapshot of the traced sql queries, the most frequently used first.
+     */
     public List<SQLTrace> getSqlTraceList() {
+        drainBuffers();
+        List<SQLTrace> list;
+        drainLock.lock();
+        try {
+            list = new ArrayList<>(statistics.size());
+            for (QueryStatistics query : statistics.values()) {
+                list.add(query.toSQLTrace());
+            }
+        } finally {
+            drainLock.unlock();
+        }
+        Collections.sort(list);
         return list;
     }
 
@@ -67,22 +114,40 @@ public class SQLTraceCache {
         return poolName;
     }
 
+    /**
+     * @return number of executions which were not traced because the trace buffer was full.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
     /**
      * Schedule timer to perform purgeEntries on the cache after the specified
-     * timeToKeepQueries delay and period.
+     * timeToKeepQueries delay and period and the timer draining the trace buffers.
      */
-    public void scheduleTimerTask(Timer timer) {
+    public synchronized void scheduleTimerTask(Timer timer) {
 
         if (sqlTraceTimerTask != null) {
             sqlTraceTimerTask.cancel();
             sqlTraceTimerTask = null;
         }
+        if (drainTimerTask != null) {
+            drainTimerTask.cancel();
+            drainTimerTask = null;
+        }
 
         sqlTraceTimerTask = initializeTimerTask();
+        drainTimerTask = new TimerTask() {
 
-        if (timer != null) {
+            @Override
+            public void run() {
+                drainBuffers();
+            }
+        };
 
+        if (timer != null) {
             timer.scheduleAtFixedRate(sqlTraceTimerTask, timeToKeepQueries, timeToKeepQueries);
+            timer.schedule(drainTimerTask, DRAIN_PERIOD, DRAIN_PERIOD);
         }
         if (_logger.isLoggable(Level.FINEST)) {
             _logger.finest("Scheduled Sql Trace Caching timer task");
@@ -90,7 +155,8 @@ public class SQLTraceCache {
     }
 
     /**
-     * Cancel the timer task used to perform a purgeEntries on the cache.
+     * Cancel the timer tasks used to perform a purgeEntries on the cache and
+     * to drain the trace buffers.
      */
     public synchronized void cancelTimerTask() {
 
@@ -101,6 +167,10 @@ public class SQLTraceCache {
             sqlTraceTimerTask.cancel();
         }
         sqlTraceTimerTask = null;
+        if (drainTimerTask != null) {
+            drainTimerTask.cancel();
+        }
+        drainTimerTask = null;
     }
 
     /**
@@ -116,57 +186,113 @@ public class SQLTraceCache {
     }
 
     /**
-     * Request for adding a sql query in the form of SQLTrace to this cache. If the
-     * query is already found in the list, the number of times it is executed is
-     * incremented by one along with the timestamp. If the query is a new one, it is
-     * added to the list.
+     * Request for adding a sql query in the form of SQLTrace to this cache.
+     * The execution time of the query is unknown.
      *
      * @param cacheObj
-     * @return
+     * @see #record(String, long)
      */
     public void checkAndUpdateCache(SQLTrace cacheObj) {
-        synchronized (list) {
-            if (cacheObj != null) {
-                int index = list.indexOf(cacheObj);
-                if (index != -1) {
-                    // If already found in the cache
-                    // equals is invoked here and hence comparison based on query name is done
-                    // Get the object at the index to update the numExecutions
-                    SQLTrace cache = list.get(index);
-                    cache.setNumExecutions(cache.getNumExecutions() + 1);
-                    cache.setLastUsageTime(System.currentTimeMillis());
-                } else {
-                    // First occurrence of the query. query to be added.
-                    cacheObj.setNumExecutions(1);
-                    cacheObj.setLastUsageTime(System.currentTimeMillis());
-                    list.add(cacheObj);
-                }
+        if (cacheObj != null) {
+            record(cacheObj.getQueryName(), -1L);
+        }
+    }
+
+    /**
+     * Records an execution of the sql query. Doesn't block and doesn't allocate,
+     * the query is aggregated later by the draining thread.
+     *
+     * @param sql the executed sql query, ignored if null.
+     * @param nanos execution time of the query in nanoseconds, negative if unknown.
+     */
+    public void record(String sql, long nanos) {
+        if (sql == null) {
+            return;
+        }
+        TraceBuffer buffer = buffers[stripe()];
+        if (buffer.offer(sql, nanos)) {
+            return;
+        }
+        // The buffer is full, help the drainer if nobody is draining right now.
+        if (drainLock.tryLock()) {
+            try {
+                drainBuffersLocked();
+            } finally {
+                drainLock.unlock();
             }
+            if (buffer.offer(sql, nanos)) {
+                return;
+            }
+        }
+        dropped.increment();
+    }
+
+    /**
+     * Aggregates all recorded sql queries from the trace buffers.
+     */
+    public void drainBuffers() {
+        drainLock.lock();
+        try {
+            drainBuffersLocked();
+        } finally {
+            drainLock.unlock();
         }
     }
 
+    private void drainBuffersLocked() {
+        long now = System.currentTimeMillis();
+        for (TraceBuffer buffer : buffers) {
+            buffer.drainTo(this, now);
+        }
+    }
+
+    /**
+     * Called by the draining thread holding the drainLock.
+     */
+    private void aggregate(String sql, long nanos, long timestamp) {
+        QueryStatistics query = statistics.get(sql);
+        if (query == null) {
+            query = new QueryStatistics(sql);
+            statistics.put(sql, query);
+        }
+        query.executed(nanos, timestamp);
+    }
+
+    private int stripe() {
+        // Virtual threads are too many for own buffers, threads share buffers by their id.
+        int hash = Long.hashCode(Thread.currentThread().threadId()) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & stripeMask;
+    }
+
     /**
      * Entries are removed from the list after sorting them in the least frequently
      * used order. Only numTopQueriesToReport number of entries are maintained in
      * the list after the purgeEntries.
      */
     public void purgeEntries() {
-        synchronized (list) {
+        drainLock.lock();
+        try {
+            drainBuffersLocked();
+            if (statistics.size() <= numTopQueriesToReport) {
+                return;
+            }
+            List<SQLTrace> list = new ArrayList<>(statistics.size());
+            for (QueryStatistics query : statistics.values()) {
+                list.add(query.toSQLTrace());
+            }
             Collections.sort(list, Collections.reverseOrder());
             Iterator<SQLTrace> i = list.iterator();
-            while (i.hasNext()) {
+            int size = list.size();
+            while (i.hasNext() && size > numTopQueriesToReport) {
                 SQLTrace cacheObj = i.next();
-                if (list.size() > numTopQueriesToReport) {
-                    if (_logger.isLoggable(Level.FINEST)) {
-                        _logger.finest("removing sql=" + cacheObj.getQueryName());
-                    }
-                    i.remove();
-                } else {
-                    break;
+                if (_logger.isLoggable(Level.FINEST)) {
+                    _logger.finest("removing sql=" + cacheObj.getQueryName());
                 }
+                statistics.remove(cacheObj.getQueryName());
+                size--;
             }
-            // sort by most frequently used queries first
-            Collections.sort(list);
+        } finally {
+            drainLock.unlock();
         }
     }
 
@@ -180,11 +306,154 @@ public class SQLTraceCache {
      */
     public String getTopQueries() {
         purgeEntries();
-        StringBuffer sb = new StringBuffer();
-        for (SQLTrace cache : list) {
+        StringBuilder sb = new StringBuilder();
+        for (SQLTrace cache : getSqlTraceList()) {
             sb.append(LINE_BREAK);
             sb.append(cache.getQueryName());
         }
         return sb.toString();
     }
+
+    /**
+     * Returns the String representation of the execution statistics of the top
+     * 'n' queries in the same order as {@link #getTopQueries()}. Latency
+     * percentiles are upper bounds of the histogram buckets.
+     *
+     * @return string representation of the statistics of the sql queries
+     */
+    public String getTopQueryStatistics() {
+        purgeEntries();
+        List<String> lines = new ArrayList<>();
+        drainLock.lock();
+        try {
+            for (SQLTrace cache : getSqlTraceList()) {
+                QueryStatistics query = statistics.get(cache.getQueryName());
+                if (query != null) {
+                    lines.add(query.toString());
+                }
+            }
+        } finally {
+            drainLock.unlock();
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            sb.append(LINE_BREAK);
+            sb.append(line);
+        }
+        if (dropped.sum() > 0) {
+            sb.append(LINE_BREAK);
+            sb.append("Dropped traces: ").append(dropped.sum());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Bounded multi producer single consumer ring buffer of executed queries.
+     * The consumer always holds the drainLock.
+     */
+    private static final class TraceBuffer {
+
+        private static final int SIZE = 1024;
+        private static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<String> sqls = new AtomicReferenceArray<>(SIZE);
+        private final long[] nanos = new long[SIZE];
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head;
+
+        boolean offer(String sql, long elapsed) {
+            long current;
+            do {
+                current = tail.get();
+                if (current - head >= SIZE) {
+                    return false;
+                }
+            } while (!tail.compareAndSet(current, current + 1));
+            int index = (int) current & MASK;
+            nanos[index] = elapsed;
+            // publishes also the execution time
+            sqls.setRelease(index, sql);
+            return true;
+        }
+
+        void drainTo(SQLTraceCache cache, long timestamp) {
+            long current = head;
+            long last = tail.get();
+            while (current < last) {
+                int index = (int) current & MASK;
+                String sql = sqls.getAcquire(index);
+                if (sql == null) {
+                    // reserved, but not published yet, next drain will take it.
+                    break;
+                }
+                long elapsed = nanos[index];
+                sqls.setPlain(index, null);
+                cache.aggregate(sql, elapsed, timestamp);
+                current++;
+            }
+            head = current;
+        }
+    }
+
+    /**
+     * Aggregated executions of one sql query. Accessed under the drainLock.
+     */
+    private static final class QueryStatistics {
+
+        private final String sql;
+        private final long[] histogram = new long[LATENCY_BUCKETS];
+        private long executions;
+        private long timedExecutions;
+        private long totalNanos;
+        private long maxNanos;
+        private long lastUsageTime;
+
+        QueryStatistics(String sql) {
+            this.sql = sql;
+        }
+
+        void executed(long nanos, long timestamp) {
+            executions++;
+            lastUsageTime = timestamp;
+            if (nanos < 0) {
+                return;
+            }
+            timedExecutions++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            long micros = nanos / 1000;
+            int bucket = micros == 0 ? 0 : Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            histogram[bucket]++;
+        }
+
+        /**
+         * @param percentile 0 - 100
+         * @return upper bound of the latency in microseconds
+         */
+        long getPercentileMicros(int percentile) {
+            long rank = Math.max(1L, (timedExecutions * percentile + 99) / 100);
+            long count = 0;
+            for (int bucket = 0; bucket < LATENCY_BUCKETS; bucket++) {
+                count += histogram[bucket];
+                if (count >= rank) {
+                    return Math.min(1L << bucket, Math.max(1L, maxNanos / 1000));
+                }
+            }
+            return maxNanos / 1000;
+        }
+
+        SQLTrace toSQLTrace() {
+            return new SQLTrace(sql, (int) Math.min(Integer.MAX_VALUE, executions), lastUsageTime);
+        }
+
+        @Override
+        public String toString() {
+            if (timedExecutions == 0) {
+                return String.format(Locale.ROOT, "%s | executions=%d", sql, executions);
+            }
+            return String.format(Locale.ROOT, "%s | executions=%d, avg=%.3f ms, p50=%.3f ms, p99=%.3f ms, max=%.3f ms",
+                sql, executions, totalNanos / 1_000_000d / timedExecutions, getPercentileMicros(50) / 1_000d,
+                getPercentileMicros(99) / 1_000d, maxNanos / 1_000_000d);
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -51,6 +51,7 @@ public class SQLTraceDelegator implements SQLTraceListener {
     private final SimpleJndiName poolName;
     private InvocationManager invocationManager;
     private SQLTraceProbeProvider probeProvider = null;
+    private volatile SQLTraceCache sqlTraceCache;
 
     public SQLTraceProbeProvider getProbeProvider() {
         return probeProvider;
@@ -62,6 +63,15 @@ public class SQLTraceDelegator implements SQLTraceListener {
         probeProvider = new SQLTraceProbeProvider();
     }
 
+    /**
+     * Set the cache collecting the most frequently used queries of the pool.
+     *
+     * @param sqlTraceCache the cache or null to stop collecting.
+     */
+    public void setSqlTraceCache(SQLTraceCache sqlTraceCache) {
+        this.sqlTraceCache = sqlTraceCache;
+    }
+
     /**
      * Add a listener to the list of sql trace listeners maintained by this registry.
      *
@@ -109,6 +119,22 @@ public class SQLTraceDelegator implements SQLTraceListener {
         }
     }
 
+    /**
+     * Records the execution time of the traced statement execution into the sql trace cache.
+     * Other traced methods, like the preparation of statements, are not recorded.
+     *
+     * @param record record previously passed to {@link #sqlTrace(SQLTraceRecord)}
+     * @param statementSql sql query of the prepared or callable statement which executed the method,
+     *            used if the method has no sql parameter. Null for plain statements.
+     * @param nanos execution time of the method
+     */
+    public void sqlExecuted(SQLTraceRecord record, String statementSql, long nanos) {
+        SQLTraceCache cache = sqlTraceCache;
+        if (cache != null && JdbcRAConstants.sqlExecutionMethodNames.contains(record.getMethodName())) {
+            cache.record(record.getSqlQuery().orElse(statementSql), nanos);
+        }
+    }
+
     private Optional<StackWalker.StackFrame> getCallingApplicationStackFrame() {
         Set<Class<?>> checkedClasses = new HashSet<>();
         checkedClasses.add(this.getClass());
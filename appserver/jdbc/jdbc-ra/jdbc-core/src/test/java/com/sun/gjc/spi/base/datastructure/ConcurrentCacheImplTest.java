@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.monitoring.StatementCacheProbeProvider;
+import com.sun.gjc.spi.base.CacheObjectKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentCacheImplTest {
+
+    private static final PoolInfo POOL_INFO = new PoolInfo(SimpleJndiName.of("testPool"));
+
+    @Test
+    public void testCacheFactory() throws Exception {
+        Cache cache = CacheFactory.getDataStructure(POOL_INFO, CacheFactory.CONCURRENT_CACHE_TYPE, 10);
+        assertTrue(cache instanceof ConcurrentCacheImpl);
+        assertTrue(cache.isSynchronized());
+    }
+
+    private final CountingProbeProvider probes = new CountingProbeProvider();
+
+    @Test
+    public void testHitAndMiss() {
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, 10, probes);
+        Object statement = new Object();
+
+        assertNull(cache.checkAndUpdateCache(createKey("SELECT 1")));
+        cache.addToCache(createKey("SELECT 1"), statement, false);
+        assertEquals(statement, cache.checkAndUpdateCache(createKey("SELECT 1")));
+
+        assertEquals(1, cache.getSize());
+        assertEquals(1, probes.hits.sum());
+        assertEquals(1, probes.misses.sum());
+        assertEquals(0, probes.evictions.sum());
+    }
+
+    @Test
+    public void testAddWithoutForceKeepsExistingEntry() {
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, 10);
+        Object first = new Object();
+        cache.addToCache(createKey("SELECT 1"), first, false);
+        cache.addToCache(createKey("SELECT 1"), new Object(), false);
+        assertEquals(first, cache.checkAndUpdateCache(createKey("SELECT 1")));
+
+        Object second = new Object();
+        cache.addToCache(createKey("SELECT 1"), second, true);
+        assertEquals(second, cache.checkAndUpdateCache(createKey("SELECT 1")));
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, 4, probes);
+        for (int i = 0; i < 4; i++) {
+            cache.addToCache(createKey("SELECT " + i), new Object(), false);
+        }
+        Thread.sleep(1L);
+        assertNotNull(cache.checkAndUpdateCache(createKey("SELECT 0")));
+
+        cache.addToCache(createKey("SELECT 4"), new Object(), false);
+        assertEquals(4, cache.getSize());
+        assertEquals(1, probes.evictions.sum());
+        assertNotNull(cache.checkAndUpdateCache(createKey("SELECT 0")));
+        assertNotNull(cache.checkAndUpdateCache(createKey("SELECT 4")));
+    }
+
+    @Test
+    public void testPurge() {
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, 10);
+        Object statement = new Object();
+        cache.addToCache(createKey("SELECT 1"), statement, false);
+        cache.addToCache(createKey("SELECT 2"), new Object(), false);
+
+        cache.purge(statement);
+        assertEquals(1, cache.getSize());
+        assertNull(cache.checkAndUpdateCache(createKey("SELECT 1")));
+
+        cache.purge();
+        assertEquals(0, cache.getSize());
+
+        cache.addToCache(createKey("SELECT 3"), new Object(), false);
+        cache.flushCache();
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final int maxSize = 32;
+        final ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, maxSize, probes);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        CacheObjectKey key = createKey("SELECT " + (i % 100));
+                        if (cache.checkAndUpdateCache(key) == null) {
+                            cache.addToCache(key, new Object(), false);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(cache.getSize() <= maxSize, "Cache size " + cache.getSize());
+        assertEquals(80_000, probes.hits.sum() + probes.misses.sum());
+        assertTrue(probes.evictions.sum() > 0);
+    }
+
+    @Test
+    public void testEvictionSamplesAFewEntries() {
+        final int maxSize = 10_000;
+        ConcurrentCacheImpl cache = new ConcurrentCacheImpl(POOL_INFO, maxSize, probes);
+        for (int i = 0; i < maxSize; i++) {
+            cache.addToCache(createKey("SELECT " + i), new Object(), false);
+        }
+        // Each eviction sweeps further instead of starting again at the beginning of the map
+        for (int i = maxSize; i < 3 * maxSize; i++) {
+            cache.addToCache(createKey("SELECT " + i), new Object(), false);
+        }
+        assertEquals(maxSize, cache.getSize());
+        assertEquals(2 * maxSize, probes.evictions.sum());
+    }
+
+    private static CacheObjectKey createKey(String sql) {
+        return new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, 0, 0);
+    }
+
+    private static final class CountingProbeProvider extends StatementCacheProbeProvider {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        @Override
+        public void statementCacheHitEvent(String poolName, String appName, String moduleName) {
+            hits.increment();
+        }
+
+        @Override
+        public void statementCacheMissEvent(String poolName, String appName, String moduleName) {
+            misses.increment();
+        }
+
+        @Override
+        public void statementCacheEvictionEvent(String poolName, String appName, String moduleName) {
+            evictions.increment();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import com.sun.gjc.util.SQLStatementRegistry.StatementStatistics;
+
+import java.util.List;
+
+import org.glassfish.api.jdbc.SQLStatementRecord;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SQLStatementRegistryTest {
+
+    @Test
+    public void testStatisticsAreShared() {
+        SQLStatementRegistry registry = new SQLStatementRegistry();
+        StatementStatistics statistics = registry.getStatistics("SELECT 1");
+        assertSame(statistics, registry.getStatistics(new String("SELECT 1")));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testMostExecutedStatements() {
+        SQLStatementRegistry registry = new SQLStatementRegistry();
+        execute(registry, "SELECT 1", 1);
+        execute(registry, "SELECT 2", 3);
+        execute(registry, "SELECT 3", 2);
+
+        StatementStatistics statistics = registry.getStatistics("SELECT 2");
+        statistics.cacheMiss();
+        statistics.cacheHit();
+        statistics.cacheHit();
+        statistics.cacheHit();
+
+        assertEquals(List.of("SELECT 2", "SELECT 3"), registry.getMostExecutedSql(2));
+        assertEquals(List.of(), registry.getMostExecutedSql(0));
+
+        List<SQLStatementRecord> records = registry.getMostExecutedStatements(10);
+        assertEquals(3, records.size());
+        SQLStatementRecord record = records.get(0);
+        assertEquals("SELECT 2", record.getSqlQuery());
+        assertEquals(3, record.getExecutionCount());
+        assertEquals(3_000_000L, record.getExecutionTimeNanos());
+        assertEquals(1d, record.getAverageExecutionTimeMillis());
+        assertEquals(3, record.getCacheHitCount());
+        assertEquals(1, record.getCacheMissCount());
+        assertEquals(0.75d, record.getCacheHitRatio());
+    }
+
+    @Test
+    public void testPruneLeastExecuted() {
+        SQLStatementRegistry registry = new SQLStatementRegistry(4);
+        execute(registry, "SELECT 1", 4);
+        execute(registry, "SELECT 2", 3);
+        execute(registry, "SELECT 3", 1);
+        execute(registry, "SELECT 4", 2);
+
+        registry.getStatistics("SELECT 5");
+        assertEquals(3, registry.size());
+        assertTrue(registry.getMostExecutedSql(10).containsAll(List.of("SELECT 1", "SELECT 2", "SELECT 5")));
+    }
+
+    private static void execute(SQLStatementRegistry registry, String sql, int times) {
+        StatementStatistics statistics = registry.getStatistics(sql);
+        for (int i = 0; i < times; i++) {
+            statistics.executed(1_000_000L);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SQLTraceCacheTest {
+
+    private static final SimpleJndiName POOL_NAME = SimpleJndiName.of("testPool");
+
+    @Test
+    public void testTopQueries() {
+        SQLTraceCache cache = new SQLTraceCache(POOL_NAME, null, null, 2, 5);
+        record(cache, "SELECT 2", 3);
+        record(cache, "SELECT 3", 2);
+        cache.checkAndUpdateCache(new SQLTrace("SELECT 1", 1, System.currentTimeMillis()));
+
+        assertEquals("%%%EOL%%%SELECT 2%%%EOL%%%SELECT 3", cache.getTopQueries());
+        List<SQLTrace> traces = cache.getSqlTraceList();
+        assertEquals(2, traces.size());
+        assertEquals("SELECT 2", traces.get(0).getQueryName());
+        assertEquals(3, traces.get(0).getNumExecutions());
+    }
+
+    @Test
+    public void testQueryStatistics() {
+        SQLTraceCache cache = new SQLTraceCache(POOL_NAME, null, null, 10, 5);
+        for (int i = 0; i < 99; i++) {
+            cache.record("SELECT 1", 1_000_000L);
+        }
+        cache.record("SELECT 1", 100_000_000L);
+        cache.checkAndUpdateCache(new SQLTrace("SELECT 2", 1, System.currentTimeMillis()));
+
+        String statistics = cache.getTopQueryStatistics();
+        assertTrue(statistics.contains("SELECT 1 | executions=100, avg=1.990 ms, p50=1.024 ms, p99=1.024 ms, max=100.000 ms"), statistics);
+        assertTrue(statistics.contains("SELECT 2 | executions=1"), statistics);
+    }
+
+    @Test
+    public void testFullBufferIsDrainedByProducer() {
+        SQLTraceCache cache = new SQLTraceCache(POOL_NAME, null, null, 10, 5);
+        record(cache, "SELECT 1", 100_000);
+        assertEquals(100_000, cache.getSqlTraceList().get(0).getNumExecutions());
+        assertEquals(0, cache.getDroppedCount());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        final SQLTraceCache cache = new SQLTraceCache(POOL_NAME, null, null, 100, 5);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.record("SELECT " + (i % 10), i);
+                        if (i % 1000 == 0) {
+                            cache.drainBuffers();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long executions = 0;
+        for (SQLTrace trace : cache.getSqlTraceList()) {
+            executions += trace.getNumExecutions();
+        }
+        assertEquals(80_000, executions + cache.getDroppedCount());
+    }
+
+    private static void record(SQLTraceCache cache, String sql, int times) {
+        for (int i = 0; i < times; i++) {
+            cache.record(sql, 1000L);
+        }
+    }
+}
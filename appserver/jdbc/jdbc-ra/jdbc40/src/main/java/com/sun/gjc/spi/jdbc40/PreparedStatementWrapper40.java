@@ -653,7 +653,9 @@ public class PreparedStatementWrapper40 extends PreparedStatementWrapper {
      */
     @Override
     public ResultSet executeQuery() throws SQLException {
+        long started = executionStarted();
         ResultSet resultSet = preparedStatement.executeQuery();
+        executionFinished(started);
         incrementResultSetReferenceCount();
         return new ResultSetWrapper40(this, resultSet);
     }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -70,7 +71,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
     public Statement createStatement() throws SQLException {
         Statement output = null;
         try {
-            output = (Statement) getProxyObject(new StatementWrapper40(this, super.createStatement()), new Class<?>[] { Statement.class });
+            output = (Statement) getProxyObject(new StatementWrapper40(this, super.createStatement()), new Class<?>[] { Statement.class }, null);
         } catch (Exception e) {
             // TODO SQLexception or any other type?
             throw new SQLException(e);
@@ -92,7 +93,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (Statement)
                 getProxyObject(
-                    new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency)), new Class<?>[] { Statement.class });
+                    new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency)), new Class<?>[] { Statement.class }, null);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -116,7 +117,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (Statement)
                 getProxyObject(
-                    new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability)), intf);
+                    new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability)), intf, null);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -150,7 +151,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (CallableStatement)
                 getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf);
+                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -174,7 +175,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (CallableStatement)
                 getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency), intf);
+                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -199,7 +200,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (CallableStatement)
                 getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf);
+                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -222,7 +223,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (PreparedStatement)
                 getProxyObject(
-                    managedConnectionImpl.prepareCachedStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf);
+                    managedConnectionImpl.prepareCachedStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -245,7 +246,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, autoGeneratedKeys), intf);
+                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, autoGeneratedKeys), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -268,7 +269,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnIndexes), intf);
+                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnIndexes), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -291,7 +292,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency), intf);
+                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -317,7 +318,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (PreparedStatement)
                 getProxyObject(
-                    managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf);
+                    managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -341,7 +342,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnNames), intf);
+                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnNames), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -389,7 +390,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
 
     // TODO refactor this method and move to a higher level
     @SuppressWarnings("unchecked")
-    private <T> T getProxyObject(final Object actualObject, Class<?>[] ifaces) throws Exception {
+    private <T> T getProxyObject(final Object actualObject, Class<?>[] ifaces, final String sql) throws Exception {
         InvocationHandler ih = new InvocationHandler() {
 
             @Override
@@ -402,7 +403,13 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
                 record.setThreadID(Thread.currentThread().getId());
                 record.setTimeStamp(System.currentTimeMillis());
                 sqlTraceDelegator.sqlTrace(record);
-                return method.invoke(actualObject, args);
+
+                long started = System.nanoTime();
+                try {
+                    return method.invoke(actualObject, args);
+                } finally {
+                    sqlTraceDelegator.sqlExecuted(record, sql, System.nanoTime() - started);
+                }
             }
         };
 
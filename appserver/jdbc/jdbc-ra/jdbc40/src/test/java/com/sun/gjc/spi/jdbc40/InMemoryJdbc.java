@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * In-memory JDBC objects without any database. Every query returns the same number of rows.
+ * <p>
+ * Methods not handled explicitly return {@code null}, {@code false} or zero.
+ */
+final class InMemoryJdbc {
+
+    private InMemoryJdbc() {
+        // utility class
+    }
+
+    static Connection createConnection(int rowsPerQuery) {
+        return createConnection(rowsPerQuery, 0L);
+    }
+
+    /**
+     * @param rowsPerQuery number of rows returned by every query
+     * @param queryMillis time spent in every {@code executeQuery} call
+     */
+    static Connection createConnection(int rowsPerQuery, long queryMillis) {
+        return createProxy(Connection.class, new StubHandler() {
+
+            @Override
+            Object handle(Method method, Object[] args) {
+                if (method.getName().startsWith("prepareStatement")) {
+                    return createPreparedStatement(rowsPerQuery, queryMillis);
+                }
+                return null;
+            }
+        });
+    }
+
+    static PreparedStatement createPreparedStatement(int rowsPerQuery, long queryMillis) {
+        return createProxy(PreparedStatement.class, new StubHandler() {
+
+            @Override
+            Object handle(Method method, Object[] args) {
+                if ("executeQuery".equals(method.getName())) {
+                    sleep(queryMillis);
+                    return createResultSet(rowsPerQuery);
+                }
+                return null;
+            }
+        });
+    }
+
+    static ResultSet createResultSet(int rows) {
+        return createProxy(ResultSet.class, new StubHandler() {
+
+            private int row;
+
+            @Override
+            Object handle(Method method, Object[] args) {
+                switch (method.getName()) {
+                    case "next":
+                        return ++row <= rows;
+                    case "getInt":
+                        return row;
+                    default:
+                        return null;
+                }
+            }
+        });
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> T createProxy(Class<T> iface, InvocationHandler handler) {
+        return iface.cast(Proxy.newProxyInstance(InMemoryJdbc.class.getClassLoader(), new Class<?>[] {iface}, handler));
+    }
+
+    private abstract static class StubHandler implements InvocationHandler {
+
+        @Override
+        public final Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return proxy.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    break;
+            }
+            Object result = handle(method, args);
+            return result == null ? getDefaultValue(method.getReturnType()) : result;
+        }
+
+        abstract Object handle(Method method, Object[] args);
+
+        private static Object getDefaultValue(Class<?> type) {
+            if (!type.isPrimitive() || type == void.class) {
+                return null;
+            }
+            if (type == boolean.class) {
+                return Boolean.FALSE;
+            }
+            if (type == long.class) {
+                return 0L;
+            }
+            if (type == float.class) {
+                return 0f;
+            }
+            if (type == double.class) {
+                return 0d;
+            }
+            if (type == short.class) {
+                return (short) 0;
+            }
+            if (type == byte.class) {
+                return (byte) 0;
+            }
+            if (type == char.class) {
+                return (char) 0;
+            }
+            return 0;
+        }
+    }
+}
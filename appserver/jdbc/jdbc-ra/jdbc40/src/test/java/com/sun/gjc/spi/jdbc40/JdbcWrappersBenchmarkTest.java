@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.spi.DSManagedConnectionFactory;
+import com.sun.gjc.spi.ManagedConnectionImpl;
+
+import java.lang.System.Logger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Measures the throughput and allocation of the JDBC wrappers: {@link ConnectionWrapper40},
+ * {@link PreparedStatementWrapper40} and {@link ResultSetWrapper40}, with and without the statement cache.
+ * <p>
+ * The wrapped JDBC objects are in-memory stubs, see {@link InMemoryJdbc}. The {@code baseline} benchmark
+ * runs the same statement on the stubs without any wrapper, so the difference is the cost of the wrappers.
+ * Runs only with the benchmark profile.
+ */
+@EnabledIfSystemProperty(named = "test.benchmarks", matches = "true")
+public class JdbcWrappersBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(JdbcWrappersBenchmarkTest.class.getName());
+
+    private static final String SQL = "SELECT ID FROM BENCHMARK WHERE ID > ?";
+    private static final int ROWS = 10;
+
+    @Test
+    public void jdbcWrappers() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .forks(1).threads(Runtime.getRuntime().availableProcessors()).shouldFailOnError(true)
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).measurementTime(TimeValue.milliseconds(500L))
+            .timeout(TimeValue.seconds(10L))
+            .mode(Mode.Throughput).timeUnit(TimeUnit.MILLISECONDS)
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, not(empty()));
+        for (RunResult result : results) {
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            LOG.log(INFO, "Benchmark: {0}, statementCacheSize: {1}, score: {2} {3}, allocated: {4} {5}",
+                result.getParams().getBenchmark(), result.getParams().getParam("statementCacheSize"),
+                result.getPrimaryResult().getScore(), result.getPrimaryResult().getScoreUnit(),
+                allocation == null ? null : allocation.getScore(), allocation == null ? null : allocation.getScoreUnit());
+            assertThat(result.getPrimaryResult().getScore(), greaterThan(0d));
+        }
+    }
+
+
+    @Benchmark
+    public int baseline(ConnectionState state) throws SQLException {
+        return executeQuery(state.physicalConnection);
+    }
+
+
+    @Benchmark
+    public Connection getConnectionAndClose(ConnectionState state) throws Exception {
+        Connection connection = (Connection) state.managedConnection.getConnection(null, null);
+        connection.close();
+        return connection;
+    }
+
+
+    @Benchmark
+    public int executePreparedStatement(ConnectionState state) throws SQLException {
+        return executeQuery(state.connection);
+    }
+
+
+    private static int executeQuery(Connection connection) throws SQLException {
+        int sum = 0;
+        try (PreparedStatement statement = connection.prepareStatement(SQL)) {
+            statement.setInt(1, 0);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    sum += resultSet.getInt(1);
+                }
+            }
+        }
+        return sum;
+    }
+
+
+    /**
+     * Connections are not shared by threads, so each thread has its own managed connection.
+     */
+    @State(Scope.Thread)
+    public static class ConnectionState {
+
+        @Param({"0", "64"})
+        public int statementCacheSize;
+
+        Connection physicalConnection;
+        ManagedConnectionImpl managedConnection;
+        Connection connection;
+
+        @Setup(Level.Trial)
+        public void createConnection() throws Exception {
+            DSManagedConnectionFactory managedConnectionFactory = new DSManagedConnectionFactory();
+            managedConnectionFactory.setStatementWrapping("true");
+
+            physicalConnection = InMemoryJdbc.createConnection(ROWS);
+            managedConnection = new ManagedConnectionImpl(null, physicalConnection, null, managedConnectionFactory,
+                new PoolInfo(SimpleJndiName.of("benchmarkPool")), statementCacheSize, null, null, 0, false);
+            connection = (Connection) managedConnection.getConnection(null, null);
+            assertThat(connection, instanceOf(ConnectionWrapper40.class));
+        }
+
+        @TearDown(Level.Trial)
+        public void closeConnection() throws Exception {
+            connection.close();
+            managedConnection.destroy();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.spi.DSManagedConnectionFactory;
+import com.sun.gjc.spi.ManagedConnectionImpl;
+import com.sun.gjc.util.SQLTrace;
+import com.sun.gjc.util.SQLTraceCache;
+import com.sun.gjc.util.SQLTraceDelegator;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.glassfish.api.invocation.InvocationManager;
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProfiledConnectionWrapper40Test {
+
+    private static final SimpleJndiName POOL_NAME = SimpleJndiName.of("tracedPool");
+    private static final String SQL = "SELECT ID FROM TRACED WHERE ID > ?";
+    private static final long QUERY_MILLIS = 50L;
+    private static final Pattern MAX_LATENCY = Pattern.compile("max=([0-9.]+) ms");
+
+    private SQLTraceCache cache;
+    private ManagedConnectionImpl managedConnection;
+    private Connection connection;
+
+    @BeforeEach
+    public void createConnection() throws Exception {
+        InvocationManager invocationManager = (InvocationManager) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[] {InvocationManager.class}, (proxy, method, args) -> null);
+        SQLTraceDelegator delegator = new SQLTraceDelegator(POOL_NAME, invocationManager);
+        cache = new SQLTraceCache(POOL_NAME, null, null, 10, 5);
+        delegator.setSqlTraceCache(cache);
+
+        DSManagedConnectionFactory managedConnectionFactory = new DSManagedConnectionFactory();
+        managedConnectionFactory.setStatementWrapping("true");
+        managedConnection = new ManagedConnectionImpl(null, InMemoryJdbc.createConnection(1, QUERY_MILLIS), null,
+            managedConnectionFactory, new PoolInfo(POOL_NAME), 10, null, delegator, 0, false);
+        connection = (Connection) managedConnection.getConnection(null, null);
+        assertThat(connection, instanceOf(ProfiledConnectionWrapper40.class));
+    }
+
+    @AfterEach
+    public void closeConnection() throws Exception {
+        connection.close();
+        managedConnection.destroy();
+    }
+
+    @Test
+    public void preparedStatementExecutionIsTraced() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            try (PreparedStatement statement = connection.prepareStatement(SQL)) {
+                statement.setInt(1, i);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    assertTrue(resultSet.next());
+                }
+            }
+        }
+
+        List<SQLTrace> traces = cache.getSqlTraceList();
+        assertThat(traces, hasSize(1));
+        assertThat(traces.get(0).getQueryName(), equalTo(SQL));
+        // Counts the executions only, not the preparations
+        assertThat(traces.get(0).getNumExecutions(), equalTo(2));
+
+        String statistics = cache.getTopQueryStatistics();
+        Matcher matcher = MAX_LATENCY.matcher(statistics);
+        assertTrue(matcher.find(), statistics);
+        assertThat(Double.parseDouble(matcher.group(1)), greaterThanOrEqualTo((double) QUERY_MILLIS));
+    }
+}
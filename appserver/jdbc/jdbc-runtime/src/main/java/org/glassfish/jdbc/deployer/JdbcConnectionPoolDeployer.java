@@ -448,6 +448,14 @@ public class JdbcConnectionPoolDeployer implements ResourceDeployer<JdbcConnecti
                     connectorConnectionPool.setAssociateWithThread(toBoolean(adminPoolProperty.getValue(), false));
                     LOG.log(Level.FINEST, "ASSOCIATEWITHTHREAD");
 
+                } else if ("LOCKFREEACQUISITION".equals(name.toUpperCase(LOCALE))) {
+                    connectorConnectionPool.setLockFreeAcquisition(toBoolean(adminPoolProperty.getValue(), false));
+                    LOG.log(Level.FINEST, "LOCKFREEACQUISITION");
+
+                } else if ("ADAPTIVERESIZE".equals(name.toUpperCase(LOCALE))) {
+                    connectorConnectionPool.setAdaptiveResize(toBoolean(adminPoolProperty.getValue(), false));
+                    LOG.log(Level.FINEST, "ADAPTIVERESIZE");
+
                 } else if ("LAZYCONNECTIONASSOCIATION".equals(name.toUpperCase(LOCALE))) {
                     setLazyEnlistAndLazyAssocProperties(adminPoolProperty.getValue(), adminPool.getProperty(), connectorConnectionPool);
                     LOG.log(Level.FINEST, "LAZYCONNECTIONASSOCIATION");
@@ -500,6 +508,11 @@ public class JdbcConnectionPoolDeployer implements ResourceDeployer<JdbcConnecti
                     configProperties.add(new ConnectorConfigProperty("NumberOfTopQueriesToReport", adminPoolProperty.getValue(), "NumberOfTopQueriesToReport",
                             String.class.getName()));
 
+                } else if ("NUMBER-OF-STATEMENTS-TO-PREPARE".equals(name.toUpperCase(Locale.getDefault()))
+                    || "NUMBEROFSTATEMENTSTOPREPARE".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("NumberOfStatementsToPrepare", adminPoolProperty.getValue(), "NumberOfStatementsToPrepare",
+                            String.class.getName()));
+
                 } else if ("TIME-TO-KEEP-QUERIES-IN-MINUTES".equals(name.toUpperCase(Locale.getDefault()))) {
                     configProperties.add(new ConnectorConfigProperty("TimeToKeepQueriesInMinutes", adminPoolProperty.getValue(), "TimeToKeepQueriesInMinutes",
                             String.class.getName()));
@@ -714,9 +727,7 @@ public class JdbcConnectionPoolDeployer implements ResourceDeployer<JdbcConnecti
                     if (reconfigWaitQueue.getQueueContents().size() > 0) {
                         for (Object o : reconfigWaitQueue.getQueueContents()) {
                             LOG.fine("notifying reconfig-wait-queue object [ " + o + " ]");
-                            synchronized (o) {
-                                o.notify();
-                            }
+                            reconfigWaitQueue.notifyWaitMonitor(o);
                         }
                     }
 
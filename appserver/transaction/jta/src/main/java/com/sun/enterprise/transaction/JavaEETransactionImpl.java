@@ -38,9 +38,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.Vector;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -52,14 +51,15 @@ import javax.transaction.xa.Xid;
  * This class implements the JTA Transaction API for the JEE RI. It is a wrapper over the JTS Transaction object that
  * provides optimized local transaction support when a transaction uses zero/one non-XA resource, and delegates to JTS
  * otherwise. This object can be in two states: local tx (jtsTx==null) or global (JTS) tx. If jtsTx!=null, all calls are
- * delegated to jtsTx.
+ * delegated to jtsTx. When the single-xa-one-phase-commit property is enabled, a local tx can also hold one XA
+ * resource, committed in one phase, until a second resource is enlisted.
  *
  *
- * Time out capability is added to the local transactions. This class extends the TimerTask. When the transaction needs
- * to be timedout, this schedules with the timer. At the commit and rollback time, task will be cancelled. If the
- * transaction is timedout, run() method will be called and transaction will be marked for rollback.
+ * Time out capability is added to the local transactions. When the transaction needs to be timedout, this schedules
+ * itself with the {@link TransactionTimeoutScheduler}. At the commit and rollback time, the timeout will be cancelled.
+ * If the transaction is timedout, run() method will be called and transaction will be marked for rollback.
  */
-public final class JavaEETransactionImpl extends TimerTask implements JavaEETransaction {
+public final class JavaEETransactionImpl implements JavaEETransaction, Runnable {
 
     private static final Logger LOG = LogDomains.getLogger(JavaEETransactionImpl.class, LogDomains.JTA_LOGGER);
     private static StringManager I18N = StringManager.getManager(JavaEETransactionImpl.class);
@@ -90,6 +90,16 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
      * use-last-agent-optimization resource
      */
     private TransactionalResource laoResource;
+
+    /**
+     * The only XA resource of a local transaction, completed in one phase
+     */
+    private OnePhaseXAResource onePhaseResource;
+
+    /**
+     * Name of the resource whose enlistment promotes this transaction to JTS
+     */
+    private String promotionTrigger;
     private int localTxStatus;
     private Vector syncs = new Vector();
     private Vector interposedSyncs = new Vector();
@@ -102,6 +112,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     private boolean timedOut = false;
     private boolean isTimerTask = false;
     private int timeout = 0;
+    private TransactionTimeoutScheduler.Timeout timeoutHandle;
     // END: local transaction timeout
     private boolean imported = false;
 
@@ -126,18 +137,6 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     // tx-specific ejb container info associated with this tx
     private Object containerData = null;
 
-    static private boolean isTimerInitialized = false;
-    static private Timer timer = null;
-    static private long timerTasksScheduled = 0; // Global counter
-
-    static synchronized private void initializeTimer() {
-        if (isTimerInitialized) {
-            return;
-        }
-        timer = new Timer(true); // daemon
-        isTimerInitialized = true;
-    }
-
     JavaEETransactionImpl(JavaEETransactionManager javaEETM) {
         this.javaEETM = javaEETM;
         this.txId = txIdCounter.incrementAndGet();
@@ -153,11 +152,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     // START: local transaction timeout
     JavaEETransactionImpl(int timeout, JavaEETransactionManager javaEETM) {
         this(javaEETM);
-        if (!isTimerInitialized) {
-            initializeTimer();
-        }
-        timer.schedule(this, timeout * 1000L);
-        timerTasksScheduled++;
+        timeoutHandle = TransactionTimeoutScheduler.getInstance().schedule(this, timeout, TimeUnit.SECONDS);
         isTimerTask = true;
         this.timeout = timeout;
     }
@@ -170,7 +165,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     }
 
     // START: local transaction timeout
-    // TimerTask run() method implementation
+    // Runnable run() method implementation, called by the TransactionTimeoutScheduler
     @Override
     public void run() {
         timedOut = true;
@@ -197,15 +192,10 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
         return isTimerTask;
     }
 
-    // Cancels the timertask and returns the timeout
+    // Cancels the timeout and returns it. The cancelled timeout is unlinked at once, nothing has to be purged.
     public int cancelTimerTask() {
-        cancel();
-        int mod = javaEETM.getPurgeCancelledTtransactionsAfter();
-        if (mod > 0 && timerTasksScheduled % mod == 0) {
-            int purged = timer.purge();
-            if (LOG.isLoggable(Level.FINE)) {
-                LOG.log(Level.FINE, "Purged " + purged + " timer tasks from canceled queue");
-            }
+        if (timeoutHandle != null) {
+            timeoutHandle.cancel();
         }
         return timeout;
     }
@@ -256,6 +246,32 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
         laoResource = h;
     }
 
+    OnePhaseXAResource getOnePhaseResource() {
+        return onePhaseResource;
+    }
+
+    void setOnePhaseResource(OnePhaseXAResource resource) {
+        onePhaseResource = resource;
+    }
+
+    String getPromotionTrigger() {
+        return promotionTrigger;
+    }
+
+    void setPromotionTrigger(String resourceName) {
+        promotionTrigger = resourceName;
+    }
+
+    /**
+     * @return the resource completed by this transaction while it is local, null if none
+     */
+    private XAResource getLocalXAResource() {
+        if (nonXAResource != null) {
+            return nonXAResource.getXAResource();
+        }
+        return onePhaseResource;
+    }
+
     boolean isImportedTransaction() {
         return imported;
     }
@@ -436,8 +452,9 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
             try {
                 if (timedOut) {
                     // rollback nonXA resource
-                    if (nonXAResource != null) {
-                        nonXAResource.getXAResource().rollback(xid);
+                    XAResource localResource = getLocalXAResource();
+                    if (localResource != null) {
+                        localResource.rollback(xid);
                     }
                     localTxStatus = Status.STATUS_ROLLEDBACK;
                     throw new RollbackException(I18N.getString("enterprise_distributedtx.rollback_timeout"));
@@ -445,8 +462,9 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
 
                 if (isRollbackOnly()) {
                     // rollback nonXA resource
-                    if (nonXAResource != null) {
-                        nonXAResource.getXAResource().rollback(xid);
+                    XAResource localResource = getLocalXAResource();
+                    if (localResource != null) {
+                        localResource.rollback(xid);
                     }
 
                     localTxStatus = Status.STATUS_ROLLEDBACK;
@@ -493,8 +511,9 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
                     // Check if it is a Local Transaction
                     RollbackException rbe = null;
                     if (jtsTx == null) {
-                        if (nonXAResource != null) {
-                            nonXAResource.getXAResource().rollback(xid);
+                        XAResource localResource = getLocalXAResource();
+                        if (localResource != null) {
+                            localResource.rollback(xid);
                         }
                         localTxStatus = Status.STATUS_ROLLEDBACK;
                         rbe = new RollbackException(I18N.getString("enterprise_distributedtx.mark_rollback"));
@@ -523,9 +542,12 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
                     // So afterCompletions are called in finally block below.
 
                 } else {
-                    // do single-phase commit on nonXA resource
+                    // do single-phase commit on nonXA resource or on the only XA resource
                     if (nonXAResource != null) {
                         nonXAResource.getXAResource().commit(xid, true);
+                    } else if (onePhaseResource != null) {
+                        onePhaseResource.commit(xid, true);
+                        TransactionPromotionStatistics.getInstance().committedOnePhase();
                     }
 
                 }
@@ -598,9 +620,10 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
         try {
             if (jtsTx != null) {
                 jtsTx.rollback();
-            } else { // rollback nonXA resource
-                if (nonXAResource != null) {
-                    nonXAResource.getXAResource().rollback(xid);
+            } else { // rollback nonXA resource or the only XA resource
+                XAResource localResource = getLocalXAResource();
+                if (localResource != null) {
+                    localResource.rollback(xid);
                 }
 
             }
@@ -672,6 +695,9 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
         } else if (nonXAResource != null) {
             throw new IllegalStateException(I18N.getString("enterprise_distributedtx.already_has_nonxa"));
         } else { // Start a new JTS tx
+            if (promotionTrigger == null) {
+                promotionTrigger = xaRes.getClass().getName();
+            }
             ((JavaEETransactionManagerSimplified) javaEETM).startJTSTx(this);
             return jtsTx.enlistResource(xaRes);
         }
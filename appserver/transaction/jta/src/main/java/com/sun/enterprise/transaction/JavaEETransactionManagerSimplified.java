@@ -49,13 +49,14 @@ import jakarta.transaction.TransactionManager;
 
 import java.rmi.RemoteException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -121,12 +122,22 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
     private int purgeCancelledTtransactions = 0;
 
+    // If singleXAOnePhaseCommit is set to true, the first XA resource enlisted in a local
+    // transaction is committed in one phase without promoting the transaction to JTS.
+    // - Set by the transaction-service property single-xa-one-phase-commit
+    // - Requires the last agent optimization, the resource becomes the last agent
+    // - if a second resource promotes the transaction
+    private boolean singleXAOnePhaseCommit = false;
+
+    private final TransactionPromotionStatistics promotionStatistics = TransactionPromotionStatistics.getInstance();
+
     // admin and monitoring related parameters
     private static final Hashtable statusMap = new Hashtable();
-    private final List activeTransactions = Collections.synchronizedList(new ArrayList());
+    // keyed by the transaction id through equals/hashCode, iteration is weakly consistent
+    private final Set<Transaction> activeTransactions = ConcurrentHashMap.newKeySet();
     private boolean monitoringEnabled = false;
 
-    private TransactionServiceProbeProvider monitor;
+    private final TransactionServiceProbeProvider monitor = new TransactionServiceProbeProvider();
     private Hashtable txnTable = null;
 
     private Cache resourceTable;
@@ -205,6 +216,8 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
                     purgeCancelledTtransactions = Integer.parseInt(v);
                 }
 
+                singleXAOnePhaseCommit = Boolean.parseBoolean(txnService.getPropertyValue("single-xa-one-phase-commit"));
+
                 TransactionServiceConfigListener listener = habitat.getService(TransactionServiceConfigListener.class);
                 listener.setTM(this);
             }
@@ -236,8 +249,6 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
         } catch (Exception ex) {
             // ignore
         }
-
-        monitor = new TransactionServiceProbeProvider();
     }
 
     /**
@@ -282,6 +293,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     @Override
     public void shutdown() {
         _timer.cancel();
+        TransactionTimeoutScheduler.shutdownInstance();
     }
 
     @Override
@@ -351,6 +363,16 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
             }
 
             if (tx.isLocalTx()) {
+                OnePhaseXAResource onePhaseResource = tx.getOnePhaseResource();
+                if (onePhaseResource != null && onePhaseResource.getResource() == h) {
+                    return enlistOnePhaseResource(tx, onePhaseResource);
+                }
+                if (onePhaseResource == null && tx.getNonXAResource() == null && singleXAOnePhaseCommit && useLAO
+                        && !tx.isImportedTransaction()) {
+                    return enlistOnePhaseResource(tx, new OnePhaseXAResource(h));
+                }
+
+                tx.setPromotionTrigger(h.getName());
                 d.enlistLAOResource(tx, tx.getNonXAResource());
 
                 /**
@@ -366,6 +388,10 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
             if (tx.isImportedTransaction()) {
                 throw new IllegalStateException(sm.getString("enterprise_distributedtx.nonxa_usein_jts"));
             }
+            if (tx.getOnePhaseResource() != null) {
+                // Only one resource can be the last agent
+                throw new IllegalStateException(sm.getString("enterprise_distributedtx.already_has_one_phase_xa"));
+            }
             if (tx.getNonXAResource() == null) {
                 tx.setNonXAResource(h);
             }
@@ -428,6 +454,58 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
         tx.setJTSTx(jtsTx);
         jtsTx.registerSynchronization(new JTSSynchronization(jtsTx, this));
+
+        // The only XA resource of the local transaction becomes the last agent
+        OnePhaseXAResource onePhaseResource = tx.getOnePhaseResource();
+        if (onePhaseResource != null) {
+            boolean associated = onePhaseResource.isAssociated();
+            tx.setLAOResource(onePhaseResource.getResource());
+            jtsTx.enlistResource(onePhaseResource);
+            if (!associated) {
+                jtsTx.delistResource(onePhaseResource, XAResource.TMSUCCESS);
+            }
+        }
+
+        ComponentInvocation inv = invMgr == null ? null : invMgr.getCurrentInvocation();
+        String appName = inv == null ? null : inv.getAppName();
+        promotionStatistics.promoted(appName, tx.getPromotionTrigger());
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.log(Level.FINE, "Local transaction " + tx.getTransactionId() + " of application " + appName
+                    + " promoted by the enlistment of " + tx.getPromotionTrigger());
+        }
+    }
+
+    /**
+     * Enlists the only XA resource of a local transaction, the transaction stays local and the
+     * resource is committed in one phase.
+     */
+    private boolean enlistOnePhaseResource(JavaEETransactionImpl tx, OnePhaseXAResource onePhaseResource) {
+        TransactionalResource h = onePhaseResource.getResource();
+        try {
+            onePhaseResource.start(tx.getLocalXid(), XAResource.TMNOFLAGS);
+        } catch (XAException ex) {
+            throw new RuntimeException(sm.getString("enterprise_distributedtx.xaresource_start_excep"), ex);
+        }
+        tx.setOnePhaseResource(onePhaseResource);
+        h.enlistedInTransaction(tx);
+        return true;
+    }
+
+    /**
+     * @return the XAResource enlisted in the transaction for the given resource
+     */
+    private static XAResource getXAResource(Transaction tran, TransactionalResource h) {
+        if (tran instanceof JavaEETransactionImpl) {
+            OnePhaseXAResource onePhaseResource = ((JavaEETransactionImpl) tran).getOnePhaseResource();
+            if (onePhaseResource != null && onePhaseResource.getResource() == h) {
+                return onePhaseResource;
+            }
+        }
+        return h.getXAResource();
+    }
+
+    void setSingleXAOnePhaseCommit(boolean singleXAOnePhaseCommit) {
+        this.singleXAOnePhaseCommit = singleXAOnePhaseCommit;
     }
 
     /**
@@ -517,7 +595,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
         if (tx.isLocalTx()) {
             // dissociate resource from tx
             try {
-                h.getXAResource().end(tx.getLocalXid(), flag);
+                getXAResource(tx, h).end(tx.getLocalXid(), flag);
             } catch (XAException ex) {
                 throw new RuntimeException(sm.getString("enterprise_distributedtx.xaresource_end_excep", ex));
             }
@@ -1126,10 +1204,9 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     public ArrayList getActiveTransactions() {
         ArrayList tranBeans = new ArrayList();
         txnTable = new Hashtable();
-        Object[] activeCopy = activeTransactions.toArray(); // get the clone of the active transactions
-        for (Object element : activeCopy) {
+        // weakly consistent, transactions completed meanwhile may still be reported
+        for (Transaction tran : activeTransactions) {
             try {
-                Transaction tran = (Transaction) element;
                 TransactionAdminBean tBean = getDelegate().getTransactionAdminBean(tran);
                 if (tBean == null) {
                     // Shouldn't happen
@@ -1312,7 +1389,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
                 LOG.log(Level.FINE, "\n\nIn JavaEETransactionManagerSimplified.enlistXAResource - enlistable");
             }
 
-            XAResource res = h.getXAResource();
+            XAResource res = getXAResource(tran, h);
             boolean result = tran.enlistResource(res);
             if (!h.isEnlisted()) {
                 if (LOG.isLoggable(Level.FINE)) {
@@ -1449,7 +1526,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
                     LOG.log(Level.FINE, "\n\nIn JavaEETransactionManagerSimplified.delistJTSResource - delist");
                 }
 
-                return tran.delistResource(h.getXAResource(), flag);
+                return tran.delistResource(getXAResource(tran, h), flag);
             } else {
                 return true;
             }
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.transaction;
+
+import com.sun.enterprise.transaction.api.TransactionConstants;
+import com.sun.enterprise.transaction.spi.TransactionalResource;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import javax.transaction.xa.XAException;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+/**
+ * The only XA resource of a local transaction, completed with a one-phase commit without
+ * promoting the transaction to JTS and without any coordinator log.
+ * <p>
+ * The branch runs on its own {@link Xid}, whatever Xid the caller passes in. This keeps the
+ * branch alive if a second resource promotes the transaction later: the resource is then enlisted
+ * in the JTS transaction as its last agent, votes {@link TransactionConstants#LAO_PREPARE_OK} and
+ * is committed in one phase once all the other participants are prepared.
+ */
+final class OnePhaseXAResource implements XAResource {
+
+    /** Differs from the local and JTS formats, the branch is never prepared nor recovered */
+    private static final int FORMAT_ID = 0x4f505843;
+
+    private final TransactionalResource resource;
+    private final XAResource delegate;
+    private final Xid branchXid;
+
+    private boolean started;
+    private boolean associated;
+    private int lastEndFlags = TMSUCCESS;
+
+    OnePhaseXAResource(TransactionalResource resource) {
+        this.resource = resource;
+        this.delegate = resource.getXAResource();
+        this.branchXid = new BranchXid(UUID.randomUUID());
+    }
+
+    TransactionalResource getResource() {
+        return resource;
+    }
+
+    Xid getBranchXid() {
+        return branchXid;
+    }
+
+    synchronized boolean isAssociated() {
+        return associated;
+    }
+
+    /**
+     * Associates the branch with the resource. The flags are ignored: the first call starts the
+     * branch, the next ones resume or join it depending on how it was last ended.
+     */
+    @Override
+    public synchronized void start(Xid xid, int flags) throws XAException {
+        if (associated) {
+            return;
+        }
+        int startFlags = TMNOFLAGS;
+        if (started) {
+            startFlags = lastEndFlags == TMSUSPEND ? TMRESUME : TMJOIN;
+        }
+        delegate.start(branchXid, startFlags);
+        started = true;
+        associated = true;
+    }
+
+    @Override
+    public synchronized void end(Xid xid, int flags) throws XAException {
+        if (!associated) {
+            return;
+        }
+        delegate.end(branchXid, flags);
+        associated = false;
+        lastEndFlags = flags;
+    }
+
+    /**
+     * The branch is never prepared, the transaction manager commits it in one phase as the last
+     * agent.
+     */
+    @Override
+    public int prepare(Xid xid) throws XAException {
+        return TransactionConstants.LAO_PREPARE_OK;
+    }
+
+    @Override
+    public void commit(Xid xid, boolean onePhase) throws XAException {
+        endBranch(TMSUCCESS);
+        delegate.commit(branchXid, true);
+    }
+
+    @Override
+    public void rollback(Xid xid) throws XAException {
+        try {
+            endBranch(TMFAIL);
+        } catch (XAException e) {
+            // The resource manager may have already rolled the branch back
+        }
+        delegate.rollback(branchXid);
+    }
+
+    @Override
+    public void forget(Xid xid) throws XAException {
+        delegate.forget(branchXid);
+    }
+
+    @Override
+    public Xid[] recover(int flag) throws XAException {
+        return new Xid[0];
+    }
+
+    @Override
+    public boolean isSameRM(XAResource xaResource) throws XAException {
+        if (xaResource instanceof OnePhaseXAResource) {
+            xaResource = ((OnePhaseXAResource) xaResource).delegate;
+        }
+        return delegate.isSameRM(xaResource);
+    }
+
+    @Override
+    public int getTransactionTimeout() throws XAException {
+        return delegate.getTransactionTimeout();
+    }
+
+    @Override
+    public boolean setTransactionTimeout(int seconds) throws XAException {
+        return delegate.setTransactionTimeout(seconds);
+    }
+
+    /**
+     * Ends the branch before its completion, if the resource is still associated with it or has
+     * only been suspended.
+     */
+    private synchronized void endBranch(int flags) throws XAException {
+        if (associated || (started && lastEndFlags == TMSUSPEND)) {
+            delegate.end(branchXid, flags);
+            associated = false;
+            lastEndFlags = flags;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OnePhaseXAResource[" + branchXid + ", " + delegate + "]";
+    }
+
+    private static final class BranchXid implements Xid {
+
+        private static final byte[] BQUAL = new byte[] { 1 };
+
+        private final byte[] gtrid;
+
+        BranchXid(UUID uuid) {
+            gtrid = ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits()).array();
+        }
+
+        @Override
+        public int getFormatId() {
+            return FORMAT_ID;
+        }
+
+        @Override
+        public byte[] getGlobalTransactionId() {
+            return gtrid.clone();
+        }
+
+        @Override
+        public byte[] getBranchQualifier() {
+            return BQUAL.clone();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Xid) {
+                Xid other = (Xid) obj;
+                return other.getFormatId() == FORMAT_ID
+                    && Arrays.equals(gtrid, other.getGlobalTransactionId())
+                    && Arrays.equals(BQUAL, other.getBranchQualifier());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(gtrid);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(gtrid.length * 2);
+            for (byte b : gtrid) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        }
+    }
+}
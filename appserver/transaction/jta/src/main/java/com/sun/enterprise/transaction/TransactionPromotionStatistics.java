@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.transaction;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the promotions of local transactions to JTS transactions, per application and per
+ * resource whose enlistment triggered the promotion, and the local transactions completed with
+ * a one-phase commit of their only XA resource.
+ */
+public final class TransactionPromotionStatistics {
+
+    /** Used when the application or the resource is not known */
+    public static final String UNKNOWN = "-";
+
+    private static final TransactionPromotionStatistics INSTANCE = new TransactionPromotionStatistics();
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, LongAdder>> promotions = new ConcurrentHashMap<>();
+    private final LongAdder promoted = new LongAdder();
+    private final LongAdder onePhaseCommitted = new LongAdder();
+
+    /**
+     * @return the statistics of this server
+     */
+    public static TransactionPromotionStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    TransactionPromotionStatistics() {
+    }
+
+    /**
+     * Records the promotion of a local transaction.
+     *
+     * @param appName application which started the transaction, can be null
+     * @param resourceName resource whose enlistment promoted the transaction, can be null
+     */
+    void promoted(String appName, String resourceName) {
+        promotions.computeIfAbsent(appName == null ? UNKNOWN : appName, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(resourceName == null ? UNKNOWN : resourceName, k -> new LongAdder()).increment();
+        promoted.increment();
+    }
+
+    /**
+     * Records a local transaction committed in one phase on its only XA resource.
+     */
+    void committedOnePhase() {
+        onePhaseCommitted.increment();
+    }
+
+    /**
+     * @return number of local transactions promoted to JTS transactions
+     */
+    public long getPromotedCount() {
+        return promoted.sum();
+    }
+
+    /**
+     * @return number of local transactions committed in one phase on their only XA resource
+     */
+    public long getOnePhaseCommitCount() {
+        return onePhaseCommitted.sum();
+    }
+
+    /**
+     * @return sorted snapshot of the promotion counts by application, then by resource
+     */
+    public Map<String, Map<String, Long>> getPromotions() {
+        Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        promotions.forEach((appName, byResource) -> {
+            Map<String, Long> counts = new TreeMap<>();
+            byResource.forEach((resourceName, count) -> counts.put(resourceName, count.sum()));
+            snapshot.put(appName, counts);
+        });
+        return snapshot;
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.transaction;
+
+import com.sun.logging.LogDomains;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Scheduler of the transaction timeouts.
+ * <p>
+ * Timeouts are kept in a hashed timing wheel: an array of buckets, each holding a doubly linked
+ * list of the timeouts expiring in the same tick modulo the wheel size. Scheduling and cancelling
+ * a timeout just links or unlinks it, so both are O(1) and a cancelled timeout leaves no garbage
+ * behind, unlike in {@link java.util.Timer} where cancelled tasks stay in the queue until purged.
+ * <p>
+ * The wheel is sharded, the thread scheduling a timeout picks the shard, so concurrent
+ * transactions rarely contend on the same lock. A single daemon thread advances all the shards
+ * every {@link #TICK_MILLIS} ms and runs the expired tasks; the tasks must be short.
+ */
+public final class TransactionTimeoutScheduler {
+
+    private static final Logger LOG = LogDomains.getLogger(TransactionTimeoutScheduler.class, LogDomains.JTA_LOGGER);
+
+    /** Resolution of the timeouts */
+    static final long TICK_MILLIS = 100L;
+    /** Number of buckets of each shard, one revolution takes 51.2 seconds */
+    static final int WHEEL_SIZE = 512;
+
+    private static volatile TransactionTimeoutScheduler instance;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Shard[] shards;
+    private final int shardMask;
+    private final Thread ticker;
+    private volatile boolean stopped;
+
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    /**
+     * @return the shared scheduler, started on first use
+     */
+    public static TransactionTimeoutScheduler getInstance() {
+        TransactionTimeoutScheduler scheduler = instance;
+        if (scheduler == null) {
+            synchronized (TransactionTimeoutScheduler.class) {
+                scheduler = instance;
+                if (scheduler == null) {
+                    scheduler = new TransactionTimeoutScheduler(TICK_MILLIS, WHEEL_SIZE,
+                        Runtime.getRuntime().availableProcessors());
+                    instance = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * @return the shared scheduler, or null if it was not started
+     */
+    public static TransactionTimeoutScheduler getInstanceIfStarted() {
+        return instance;
+    }
+
+    /**
+     * Stops the shared scheduler if it was started. Pending timeouts are dropped,
+     * the next {@link #getInstance()} starts a new scheduler.
+     */
+    public static void shutdownInstance() {
+        synchronized (TransactionTimeoutScheduler.class) {
+            if (instance != null) {
+                instance.shutdown();
+                instance = null;
+            }
+        }
+    }
+
+    TransactionTimeoutScheduler(long tickMillis, int wheelSize, int concurrency) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        int shardCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, 64)) * 2 - 1);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(wheelSize);
+        }
+        this.shardMask = shardCount - 1;
+        this.startNanos = System.nanoTime();
+        this.ticker = new Thread(this::advance, "transaction-timeout");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    /**
+     * Schedules the task to run once after the delay.
+     *
+     * @param task short task to run on the scheduler thread when the timeout expires
+     * @param delay time to wait
+     * @param unit unit of the delay
+     * @return the timeout to cancel when the task is no longer needed
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("The transaction timeout scheduler was shut down");
+        }
+        long elapsed = System.nanoTime() - startNanos + unit.toNanos(Math.max(0L, delay));
+        long deadline = (elapsed + tickNanos - 1) / tickNanos;
+        Shard shard = shards[(int) Thread.currentThread().threadId() & shardMask];
+        Timeout timeout = new Timeout(task, shard);
+        shard.add(timeout, deadline);
+        scheduled.increment();
+        return timeout;
+    }
+
+    /**
+     * @return number of timeouts scheduled since the scheduler started
+     */
+    public long getScheduledCount() {
+        return scheduled.sum();
+    }
+
+    /**
+     * @return number of timeouts which expired and whose task was run
+     */
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    /**
+     * @return number of timeouts cancelled before they expired
+     */
+    public long getCancelledCount() {
+        return cancelled.sum();
+    }
+
+    /**
+     * @return number of timeouts waiting for expiration
+     */
+    public long getPendingCount() {
+        return scheduled.sum() - expired.sum() - cancelled.sum();
+    }
+
+    void shutdown() {
+        stopped = true;
+        ticker.interrupt();
+    }
+
+    private void advance() {
+        long tick = 0;
+        while (!stopped) {
+            tick++;
+            long wait = startNanos + tick * tickNanos - System.nanoTime();
+            while (wait > 0 && !stopped) {
+                LockSupport.parkNanos(this, wait);
+                if (Thread.interrupted()) {
+                    return;
+                }
+                wait = startNanos + tick * tickNanos - System.nanoTime();
+            }
+            for (Shard shard : shards) {
+                Timeout expiredTimeouts = shard.expire(tick);
+                while (expiredTimeouts != null) {
+                    Timeout next = expiredTimeouts.next;
+                    expiredTimeouts.next = null;
+                    run(expiredTimeouts);
+                    expiredTimeouts = next;
+                }
+            }
+        }
+    }
+
+    private void run(Timeout timeout) {
+        if (!timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+            return;
+        }
+        expired.increment();
+        try {
+            timeout.task.run();
+        } catch (RuntimeException | Error e) {
+            LOG.log(Level.WARNING, "Transaction timeout task failed: " + timeout.task, e);
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final Shard shard;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // guarded by the lock of the shard
+        private long deadline;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, Shard shard) {
+            this.task = task;
+            this.shard = shard;
+        }
+
+        /**
+         * Cancels the timeout.
+         *
+         * @return false if the timeout already expired or was cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            shard.remove(this);
+            cancelled.increment();
+            return true;
+        }
+
+        /**
+         * @return true if the timeout expired and its task was run or is running
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /**
+         * @return true if the timeout was cancelled
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+
+    /**
+     * One timing wheel; all its state is guarded by its lock.
+     */
+    private static final class Shard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Timeout[] buckets;
+        private final int mask;
+        private long processedTick;
+
+        Shard(int wheelSize) {
+            this.buckets = new Timeout[wheelSize];
+            this.mask = wheelSize - 1;
+        }
+
+        void add(Timeout timeout, long deadline) {
+            lock.lock();
+            try {
+                // the bucket of the current tick could have been processed already
+                timeout.deadline = Math.max(deadline, processedTick + 1);
+                int index = (int) (timeout.deadline & mask);
+                Timeout head = buckets[index];
+                timeout.next = head;
+                if (head != null) {
+                    head.prev = timeout;
+                }
+                buckets[index] = timeout;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Timeout timeout) {
+            lock.lock();
+            try {
+                int index = (int) (timeout.deadline & mask);
+                if (timeout.prev == null) {
+                    if (buckets[index] != timeout) {
+                        // already unlinked by expire
+                        return;
+                    }
+                    buckets[index] = timeout.next;
+                } else {
+                    timeout.prev.next = timeout.next;
+                }
+                if (timeout.next != null) {
+                    timeout.next.prev = timeout.prev;
+                }
+                timeout.prev = null;
+                timeout.next = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Unlinks the timeouts which expire in the tick.
+         *
+         * @return the expired timeouts linked by their next field, or null
+         */
+        Timeout expire(long tick) {
+            lock.lock();
+            try {
+                processedTick = tick;
+                int index = (int) (tick & mask);
+                Timeout expiredTimeouts = null;
+                Timeout timeout = buckets[index];
+                while (timeout != null) {
+                    Timeout next = timeout.next;
+                    if (timeout.deadline <= tick) {
+                        if (timeout.prev == null) {
+                            buckets[index] = next;
+                        } else {
+                            timeout.prev.next = next;
+                        }
+                        if (next != null) {
+                            next.prev = timeout.prev;
+                        }
+                        timeout.prev = null;
+                        timeout.next = expiredTimeouts;
+                        expiredTimeouts = timeout;
+                    }
+                    timeout = next;
+                }
+                return expiredTimeouts;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
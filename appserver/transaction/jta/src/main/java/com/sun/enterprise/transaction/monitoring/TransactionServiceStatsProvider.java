@@ -17,10 +17,13 @@
 
 package com.sun.enterprise.transaction.monitoring;
 
+import com.sun.enterprise.transaction.TransactionPromotionStatistics;
+import com.sun.enterprise.transaction.TransactionTimeoutScheduler;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
 import com.sun.enterprise.transaction.api.TransactionAdminBean;
 
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import org.glassfish.external.probe.provider.annotations.ProbeListener;
@@ -62,6 +65,25 @@ public class TransactionServiceStatsProvider {
 
     private StringStatisticImpl state = new StringStatisticImpl("State", "String", "Indicates if the transaction service has been frozen.");
 
+    private CountStatisticImpl scheduledTimeoutCount = new CountStatisticImpl("ScheduledTimeoutCount", "count",
+            "Provides the number of transaction timeouts that have been scheduled.");
+
+    private CountStatisticImpl expiredTimeoutCount = new CountStatisticImpl("ExpiredTimeoutCount", "count",
+            "Provides the number of transaction timeouts that have expired.");
+
+    private CountStatisticImpl cancelledTimeoutCount = new CountStatisticImpl("CancelledTimeoutCount", "count",
+            "Provides the number of transaction timeouts that have been cancelled on completion.");
+
+    private CountStatisticImpl promotedCount = new CountStatisticImpl("PromotedCount", "count",
+            "Provides the number of local transactions that have been promoted to global transactions.");
+
+    private CountStatisticImpl onePhaseCommitCount = new CountStatisticImpl("OnePhaseCommitCount", "count",
+            "Provides the number of local transactions that have been committed in one phase on their only XA resource.");
+
+    private StringStatisticImpl promotions = new StringStatisticImpl("Promotions", "List",
+            "Provides the number of promotions of local transactions to global transactions by application "
+                    + "and by the resource whose enlistment triggered the promotion.");
+
     private boolean isFrozen = false;
 
     private JavaEETransactionManager txMgr;
@@ -91,6 +113,77 @@ public class TransactionServiceStatsProvider {
         return rolledbackCount;
     }
 
+    @ManagedAttribute(id = "scheduledtimeoutcount")
+    @Description("Provides the number of transaction timeouts that have been scheduled.")
+    public CountStatistic getScheduledTimeoutCount() {
+        TransactionTimeoutScheduler scheduler = TransactionTimeoutScheduler.getInstanceIfStarted();
+        scheduledTimeoutCount.setCount(scheduler == null ? 0 : scheduler.getScheduledCount());
+        return scheduledTimeoutCount;
+    }
+
+    @ManagedAttribute(id = "expiredtimeoutcount")
+    @Description("Provides the number of transaction timeouts that have expired.")
+    public CountStatistic getExpiredTimeoutCount() {
+        TransactionTimeoutScheduler scheduler = TransactionTimeoutScheduler.getInstanceIfStarted();
+        expiredTimeoutCount.setCount(scheduler == null ? 0 : scheduler.getExpiredCount());
+        return expiredTimeoutCount;
+    }
+
+    @ManagedAttribute(id = "cancelledtimeoutcount")
+    @Description("Provides the number of transaction timeouts that have been cancelled on completion.")
+    public CountStatistic getCancelledTimeoutCount() {
+        TransactionTimeoutScheduler scheduler = TransactionTimeoutScheduler.getInstanceIfStarted();
+        cancelledTimeoutCount.setCount(scheduler == null ? 0 : scheduler.getCancelledCount());
+        return cancelledTimeoutCount;
+    }
+
+    @ManagedAttribute(id = "promotedcount")
+    @Description("Provides the number of local transactions that have been promoted to global transactions.")
+    public CountStatistic getPromotedCount() {
+        promotedCount.setCount(TransactionPromotionStatistics.getInstance().getPromotedCount());
+        return promotedCount;
+    }
+
+    @ManagedAttribute(id = "onephasecommitcount")
+    @Description("Provides the number of local transactions that have been committed in one phase on their only XA resource.")
+    public CountStatistic getOnePhaseCommitCount() {
+        onePhaseCommitCount.setCount(TransactionPromotionStatistics.getInstance().getOnePhaseCommitCount());
+        return onePhaseCommitCount;
+    }
+
+    @ManagedAttribute(id = "promotions")
+    @Description("List of promotions by application and resource.")
+    public StringStatistic getPromotions() {
+        Map<String, Map<String, Long>> counts = TransactionPromotionStatistics.getInstance().getPromotions();
+        StringBuffer strBuf = new StringBuffer(1024);
+        if (!counts.isEmpty()) {
+            int appNameLength = COLUMN_LENGTH;
+            int resourceNameLength = COLUMN_LENGTH;
+            for (Map.Entry<String, Map<String, Long>> app : counts.entrySet()) {
+                appNameLength = Math.max(appNameLength, app.getKey().length() + 1);
+                for (String resourceName : app.getValue().keySet()) {
+                    resourceNameLength = Math.max(resourceNameLength, resourceName.length() + 1);
+                }
+            }
+
+            strBuf.append(LINE_BREAK).append(LINE_BREAK);
+            appendColumn(strBuf, "Application", appNameLength);
+            appendColumn(strBuf, "ResourceName", resourceNameLength);
+            strBuf.append("Count").append(LINE_BREAK);
+
+            for (Map.Entry<String, Map<String, Long>> app : counts.entrySet()) {
+                for (Map.Entry<String, Long> resource : app.getValue().entrySet()) {
+                    appendColumn(strBuf, app.getKey(), appNameLength);
+                    appendColumn(strBuf, resource.getKey(), resourceNameLength);
+                    strBuf.append(resource.getValue()).append(LINE_BREAK);
+                }
+            }
+        }
+
+        promotions.setCurrent(strBuf.toString());
+        return promotions;
+    }
+
     @ManagedAttribute(id = "state")
     @Description("Indicates if the transaction service has been frozen.")
     public StringStatistic getState() {
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.transaction;
+
+import com.sun.enterprise.transaction.spi.JavaEETransactionManagerDelegate;
+
+import java.lang.System.Logger;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.api.invocation.InvocationManagerImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Measures the scaling of local transaction begin and commit with the monitoring enabled,
+ * when every transaction is added to and removed from the active transaction registry.
+ * Runs only with the benchmark profile.
+ */
+@EnabledIfSystemProperty(named = "test.benchmarks", matches = "true")
+public class JavaEETransactionManagerBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(JavaEETransactionManagerBenchmarkTest.class.getName());
+
+    private static final int[] THREADS = {1, 4, 16, 64, 256};
+
+    @Test
+    public void beginAndCommit() throws Exception {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+                .forks(1).threads(threads).shouldFailOnError(true)
+                .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+                .measurementIterations(3).measurementTime(TimeValue.milliseconds(500L))
+                .timeout(TimeValue.seconds(10L))
+                .mode(Mode.Throughput).timeUnit(TimeUnit.MILLISECONDS)
+                .build();
+            Collection<RunResult> results = new Runner(options).run();
+            assertThat(results, hasSize(1));
+            RunResult result = results.iterator().next();
+            LOG.log(INFO, "Threads: {0}, score: {1} {2}", threads, result.getPrimaryResult().getScore(),
+                result.getPrimaryResult().getScoreUnit());
+            assertThat(result.getPrimaryResult().getScore(), greaterThan(0d));
+        }
+    }
+
+
+    @Benchmark
+    public void beginCommit(TransactionManagerState state) throws Exception {
+        state.txManager.begin();
+        state.txManager.commit();
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class TransactionManagerState {
+
+        JavaEETransactionManagerSimplified txManager;
+
+        @Setup(Level.Trial)
+        public void createTransactionManager() {
+            txManager = new JavaEETransactionManagerSimplified();
+            txManager.invMgr = new InvocationManagerImpl();
+            JavaEETransactionManagerDelegate delegate = new JavaEETransactionManagerSimplifiedDelegate();
+            txManager.setDelegate(delegate);
+            delegate.setTransactionManager(txManager);
+            txManager.setMonitoringEnabled(true);
+        }
+
+
+        @Setup(Level.Iteration)
+        public void checkNoTransactionLeaked() {
+            assertThat(txManager.getActiveTransactions(), empty());
+        }
+    }
+}
@@ -18,8 +18,10 @@
 package com.sun.enterprise.transaction;
 
 import com.sun.enterprise.config.serverbeans.ServerTags;
+import com.sun.enterprise.transaction.api.JavaEETransaction;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
 import com.sun.enterprise.transaction.spi.JavaEETransactionManagerDelegate;
+import com.sun.enterprise.transaction.spi.TransactionalResource;
 
 import jakarta.transaction.InvalidTransactionException;
 import jakarta.transaction.NotSupportedException;
@@ -31,6 +33,8 @@ import jakarta.transaction.TransactionManager;
 import jakarta.transaction.UserTransaction;
 
 import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 
 import javax.transaction.xa.XAException;
@@ -392,6 +396,74 @@ public class JavaEETransactionManagerSimplifiedTest {
         return utx;
     }
 
+    @Test
+    public void testSingleXAResourceCommitOnePhase() throws Exception {
+        RecordingResource xaRes = new RecordingResource();
+        setUpSingleXAOnePhaseCommit();
+        TransactionPromotionStatistics statistics = TransactionPromotionStatistics.getInstance();
+        long committed = statistics.getOnePhaseCommitCount();
+        long promoted = statistics.getPromotedCount();
+
+        txManager.begin();
+        Transaction tx = txManager.getTransaction();
+        TestTransactionalResource h = new TestTransactionalResource(xaRes, true);
+        assertTrue(txManager.enlistResource(tx, h));
+        assertTrue(txManager.delistResource(tx, h, XAResource.TMSUCCESS));
+        assertTrue(txManager.enlistResource(tx, h));
+        txManager.commit();
+
+        assertAll(
+            () -> assertEquals(List.of("start:0", "end:" + XAResource.TMSUCCESS, "start:" + XAResource.TMJOIN,
+                "end:" + XAResource.TMSUCCESS, "commit:true"), xaRes.calls),
+            () -> assertTrue(((JavaEETransaction) tx).isLocalTx(), "transaction was promoted"),
+            () -> assertEquals("Committed", getStatusAsString(tx.getStatus())),
+            () -> assertEquals(committed + 1, statistics.getOnePhaseCommitCount()),
+            () -> assertEquals(promoted, statistics.getPromotedCount())
+        );
+    }
+
+
+    @Test
+    public void testSingleXAResourceRollback() throws Exception {
+        RecordingResource xaRes = new RecordingResource();
+        setUpSingleXAOnePhaseCommit();
+
+        txManager.begin();
+        Transaction tx = txManager.getTransaction();
+        assertTrue(txManager.enlistResource(tx, new TestTransactionalResource(xaRes, true)));
+        txManager.rollback();
+
+        assertEquals(List.of("start:0", "end:" + XAResource.TMFAIL, "rollback"), xaRes.calls);
+    }
+
+
+    @Test
+    public void testNonXAResourceAfterSingleXAResource() throws Exception {
+        setUpSingleXAOnePhaseCommit();
+
+        txManager.begin();
+        Transaction tx = txManager.getTransaction();
+        assertTrue(txManager.enlistResource(tx, new TestTransactionalResource(new RecordingResource(), true)));
+        TestTransactionalResource nonXA = new TestTransactionalResource(new RecordingResource(), false);
+        assertThrows(IllegalStateException.class, () -> txManager.enlistResource(tx, nonXA));
+        txManager.rollback();
+    }
+
+
+    private void setUpSingleXAOnePhaseCommit() {
+        JavaEETransactionManagerSimplifiedDelegate delegate = new JavaEETransactionManagerSimplifiedDelegate() {
+
+            @Override
+            public boolean supportsXAResource() {
+                return true;
+            }
+        };
+        delegate.setUseLAO(true);
+        txManager.setDelegate(delegate);
+        delegate.setTransactionManager(txManager);
+        ((JavaEETransactionManagerSimplified) txManager).setSingleXAOnePhaseCommit(true);
+    }
+
     static class TestSync implements Synchronization {
 
         // Used to validate the calls
@@ -447,6 +519,101 @@ public class JavaEETransactionManagerSimplifiedTest {
         }
     }
 
+    static class TestTransactionalResource implements TransactionalResource {
+
+        private final XAResource xaRes;
+        private final boolean supportsXA;
+        private Object instance;
+        private boolean enlisted;
+
+        TestTransactionalResource(XAResource xaRes, boolean supportsXA) {
+            this.xaRes = xaRes;
+            this.supportsXA = supportsXA;
+        }
+
+        @Override
+        public boolean isTransactional() {
+            return true;
+        }
+
+        @Override
+        public boolean isEnlistmentSuspended() {
+            return false;
+        }
+
+        @Override
+        public XAResource getXAResource() {
+            return xaRes;
+        }
+
+        @Override
+        public boolean supportsXA() {
+            return supportsXA;
+        }
+
+        @Override
+        public Object getComponentInstance() {
+            return instance;
+        }
+
+        @Override
+        public void setComponentInstance(Object instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public void closeUserConnection() throws Exception {
+        }
+
+        @Override
+        public boolean isEnlisted() {
+            return enlisted;
+        }
+
+        @Override
+        public boolean isShareable() {
+            return true;
+        }
+
+        @Override
+        public String getName() {
+            return "jdbc/test";
+        }
+
+        @Override
+        public void enlistedInTransaction(Transaction transaction) throws IllegalStateException {
+            enlisted = true;
+        }
+    }
+
+    static class RecordingResource extends TestResource {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void start(Xid xid, int flags) throws XAException {
+            calls.add("start:" + flags);
+        }
+
+
+        @Override
+        public void end(Xid xid, int flags) throws XAException {
+            calls.add("end:" + flags);
+        }
+
+
+        @Override
+        public void commit(Xid xid, boolean onePhase) throws XAException {
+            calls.add("commit:" + onePhase);
+        }
+
+
+        @Override
+        public void rollback(Xid xid) throws XAException {
+            calls.add("rollback");
+        }
+    }
+
     static class TestResource implements XAResource {
 
         @Override
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.transaction;
+
+import com.sun.enterprise.transaction.monitoring.TransactionServiceStatsProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransactionTimeoutSchedulerTest {
+
+    private TransactionTimeoutScheduler scheduler;
+
+    @BeforeEach
+    public void startScheduler() {
+        // small wheel, so the longer timeouts need more revolutions
+        scheduler = new TransactionTimeoutScheduler(10L, 8, 4);
+    }
+
+    @AfterEach
+    public void stopScheduler() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void expires() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        long start = System.nanoTime();
+        TransactionTimeoutScheduler.Timeout first = scheduler.schedule(latch::countDown, 30, TimeUnit.MILLISECONDS);
+        TransactionTimeoutScheduler.Timeout second = scheduler.schedule(latch::countDown, 200, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertAll(
+            () -> assertTrue(elapsed >= 200, "Expired too early: " + elapsed),
+            () -> assertTrue(first.isExpired()),
+            () -> assertTrue(second.isExpired()),
+            () -> assertFalse(second.cancel()),
+            () -> assertEquals(2, scheduler.getScheduledCount()),
+            () -> assertEquals(2, scheduler.getExpiredCount()),
+            () -> assertEquals(0, scheduler.getCancelledCount()),
+            () -> assertEquals(0, scheduler.getPendingCount())
+        );
+    }
+
+    @Test
+    public void cancelled() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        TransactionTimeoutScheduler.Timeout timeout = scheduler.schedule(runs::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        Thread.sleep(200L);
+        assertAll(
+            () -> assertEquals(0, runs.get()),
+            () -> assertTrue(timeout.isCancelled()),
+            () -> assertEquals(1, scheduler.getCancelledCount()),
+            () -> assertEquals(0, scheduler.getExpiredCount()),
+            () -> assertEquals(0, scheduler.getPendingCount())
+        );
+    }
+
+    @Test
+    public void concurrentScheduleAndCancel() throws Exception {
+        final int threads = 8;
+        final int timeoutsPerThread = 10_000;
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < timeoutsPerThread; i++) {
+                        TransactionTimeoutScheduler.Timeout timeout = scheduler.schedule(runs::incrementAndGet,
+                            i % 100 == 0 ? 20 : 60_000, TimeUnit.MILLISECONDS);
+                        if (i % 100 != 0) {
+                            assertTrue(timeout.cancel());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (scheduler.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertAll(
+            () -> assertEquals(threads * timeoutsPerThread, scheduler.getScheduledCount()),
+            () -> assertEquals(threads * timeoutsPerThread / 100, scheduler.getExpiredCount()),
+            () -> assertEquals(threads * timeoutsPerThread / 100, runs.get()),
+            () -> assertEquals(threads * (timeoutsPerThread - timeoutsPerThread / 100), scheduler.getCancelledCount())
+        );
+    }
+
+    @Test
+    public void statisticsDoNotStartTheSharedScheduler() {
+        TransactionTimeoutScheduler.shutdownInstance();
+        TransactionServiceStatsProvider statistics = new TransactionServiceStatsProvider(null, null);
+        assertAll(
+            () -> assertEquals(0, statistics.getScheduledTimeoutCount().getCount()),
+            () -> assertEquals(0, statistics.getExpiredTimeoutCount().getCount()),
+            () -> assertEquals(0, statistics.getCancelledTimeoutCount().getCount()),
+            () -> assertNull(TransactionTimeoutScheduler.getInstanceIfStarted())
+        );
+
+        TransactionTimeoutScheduler shared = TransactionTimeoutScheduler.getInstance();
+        try {
+            shared.schedule(() -> { }, 60, TimeUnit.SECONDS);
+            assertSame(shared, TransactionTimeoutScheduler.getInstanceIfStarted());
+            assertEquals(1, statistics.getScheduledTimeoutCount().getCount());
+        } finally {
+            TransactionTimeoutScheduler.shutdownInstance();
+        }
+    }
+}
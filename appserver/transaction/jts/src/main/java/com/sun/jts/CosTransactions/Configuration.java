@@ -186,6 +186,38 @@ public class Configuration extends Object {
      */
     public final static String TIMEOUT_INTERVAL = "com.sun.jts.timeoutInterval" ;
 
+    /**The property is used to specify the maximum time in microseconds a forced log
+     * write waits for concurrent forced writes to join the same group commit. All the
+     * records of a group are forced to the log with a single sync. A higher value
+     * saves syncs under load at the cost of a longer commit latency.
+     * <p>
+     * The value is <em><b>com.sun.jts.groupCommitDelay</b></em>
+     * <p>
+     * The default value is 0, the records written while a sync is in progress are
+     * still forced together by the next one.
+     */
+    public final static String GROUP_COMMIT_DELAY = "com.sun.jts.groupCommitDelay";
+
+    /**The property is used to select the storage engine of the transaction log.
+     * <p>
+     * The value is <em><b>com.sun.jts.logEngine</b></em>
+     * <p>
+     * The value <em>file</em>, the default, selects the extent files written through
+     * the log buffer. The value <em>mapped</em> selects fixed-size memory-mapped segments
+     * with checksummed records and an index file pointing to the records still needed
+     * for recovery, so that the restart only reads the index and the tail of the log.
+     */
+    public final static String LOG_ENGINE = "com.sun.jts.logEngine";
+
+    /**The property is used to specify the size in bytes of a segment of the
+     * <em>mapped</em> log engine. The largest log record must fit in one segment.
+     * <p>
+     * The value is <em><b>com.sun.jts.logSegmentSize</b></em>
+     * <p>
+     * The default value for this property is 16 MB.
+     */
+    public final static String LOG_SEGMENT_SIZE = "com.sun.jts.logSegmentSize";
+
     /**The default subdirectory in which log and repository files are stored.
      */
     public final static String JTS_SUBDIRECTORY = "jts"/*#Frozen*/;
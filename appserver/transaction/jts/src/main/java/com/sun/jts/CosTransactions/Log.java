@@ -128,11 +128,25 @@ class Log {
         // Open the log using the server name.
 
         try {
-            LogHandle handle = logControl.openFile(serverName,upcall,null,newLog);
+            String engine = LogFile.getLogEngine();
+            if( LogFile.MAPPED_ENGINE.equals(engine) ) {
 
-            // Create a new LogFile object with the handle to represent the open log.
+                // The mapped log keeps its segments and index in the log directory.
 
-            logFile = new LogFile(handle);
+                logFile = new MappedLogFile(LogControl.directory(serverName,logPath),
+                                            MappedLogFile.getSegmentSize());
+            } else {
+                if( !LogFile.FILE_ENGINE.equals(engine) ) {
+                    _logger.log(Level.WARNING,"jts.invalid_property_value",
+                                new java.lang.Object[] {Configuration.LOG_ENGINE,engine});
+                }
+
+                LogHandle handle = logControl.openFile(serverName,upcall,null,newLog);
+
+                // Create a new LogFile object with the handle to represent the open log.
+
+                logFile = new LogFile(handle);
+            }
         }
 
         // If the log open failed, report the error.
@@ -176,7 +190,8 @@ class Log {
 
         if( serverName != null ) {
             String logPath = LogControl.getLogPath();
-            exists = LogControl.checkFileExists(serverName,logPath);
+            exists = LogControl.checkFileExists(serverName,logPath)
+                || (logPath != null && MappedLogFile.exists(LogControl.directory(serverName,logPath)));
         }
 
         return exists;
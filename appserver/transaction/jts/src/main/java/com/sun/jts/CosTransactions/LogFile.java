@@ -69,6 +69,11 @@ class LogFile {
     final static int KEYPOINT_END   = 2;
     final static int REWRITE        = 3;
 
+    /**Names of the log engines.
+     */
+    final static String FILE_ENGINE   = "file"/*#Frozen*/;
+    final static String MAPPED_ENGINE = "mapped"/*#Frozen*/;
+
     /*
         Logger to log transaction messages
     */
@@ -79,6 +84,10 @@ class LogFile {
      */
     LogHandle handle = null;
 
+    /**The group commit of the forced writes.
+     */
+    final LogGroupCommit groupCommit;
+
     /**LogFile constructor.
      *
      * @param LogHandle
@@ -90,15 +99,49 @@ class LogFile {
         // Set up the instance variables to those values passed in.
 
         this.handle = handle;
+        this.groupCommit = new LogGroupCommit(this,getGroupCommitDelay());
 
     }
 
+    /**Returns the name of the configured log engine.
+     *
+     * @return  The configured engine, {@link #FILE_ENGINE} if not configured.
+     *
+     */
+    static String getLogEngine() {
+        String engine = Configuration.getPropertyValue(Configuration.LOG_ENGINE);
+        if( engine == null || engine.isBlank() )
+            return FILE_ENGINE;
+        return engine.trim().toLowerCase(java.util.Locale.ENGLISH);
+    }
+
+    /**Returns the maximum group commit delay in microseconds.
+     *
+     * @return  The configured delay, 0 if not configured or invalid.
+     *
+     */
+    private static long getGroupCommitDelay() {
+        String delay = Configuration.getPropertyValue(Configuration.GROUP_COMMIT_DELAY);
+        if( delay != null ) {
+            try {
+                return Math.max(0L,Long.parseLong(delay.trim()));
+            } catch( NumberFormatException e ) {
+                _logger.log(Level.WARNING,"jts.invalid_property_value",
+                            new java.lang.Object[] {Configuration.GROUP_COMMIT_DELAY,delay});
+            }
+        }
+        return 0L;
+    }
+
     /**Writes a log record to the physical log.
      * <p>
      * Supports either a force or unforced option with force requiring an immediate
      * write to the log and unforced keeping the data until a force is done somewhere
      * else in the log service.
      * <p>
+     * A forced write waits for the group commit of the record, so that the records of
+     * concurrent forced writes are forced together with a single sync.
+     * <p>
      * The LSN of the written log record is an output parameter.
      * <p>
      * Returns true if the write completed successfully and false if the write
@@ -111,21 +154,26 @@ class LogFile {
      *
      *
      */
-    synchronized boolean write( int    writeType,
-                                byte[] record,
-                                int    recordType,
-                                LogLSN recordLSN ) {
+    boolean write( int    writeType,
+                   byte[] record,
+                   int    recordType,
+                   LogLSN recordLSN ) {
 
         boolean result = true;
 
-        // Write the record.
+        // Write the record to the log buffer, then wait for the group commit if forced.
         // Set the result based on return code from log write.
 
         try {
-            LogLSN resultLSN = handle.writeRecord(record,recordType,
-                                                  (writeType==LogFile.FORCED ? LogHandle.FORCE : LogHandle.BUFFER));
-            if( recordLSN != null )
-                recordLSN.copy(resultLSN);
+            long sequence;
+            synchronized( this ) {
+                LogLSN resultLSN = writeRecord(record,recordType);
+                sequence = groupCommit.written();
+                if( recordLSN != null )
+                    recordLSN.copy(resultLSN);
+            }
+            if( writeType == LogFile.FORCED )
+                groupCommit.force(sequence);
         } catch( LogException le ) {
             _logger.log(Level.SEVERE,"jts.log_error",le.toString());
              String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
@@ -139,6 +187,33 @@ class LogFile {
         return result;
     }
 
+    /**Writes a log record to the log buffer without forcing it.
+     * The caller holds the monitor of this object.
+     *
+     * @param record      Log record data.
+     * @param recordType  Log record type.
+     *
+     * @return  The LSN of the written record.
+     *
+     * @exception LogException  The write failed.
+     *
+     */
+    LogLSN writeRecord( byte[] record,
+                        int    recordType )
+        throws LogException {
+        return handle.writeRecord(record,recordType,LogHandle.BUFFER);
+    }
+
+    /**Forces all log records previously written to permanent storage.
+     * Called by the group commit without the monitor of this object.
+     *
+     * @exception LogException  The force failed.
+     *
+     */
+    void forceLog() throws LogException {
+        handle.forceLog();
+    }
+
     /**Informs the log that all log records older than the one with the given LSN
      * are no longer required.
      * <p>
@@ -256,7 +331,7 @@ class LogFile {
      */
     synchronized Vector getLogRecords() {
         Vector logRecords = new Vector();
-        boolean keypointEndFound = false;
+        boolean[] keypointEndFound = new boolean[1];
         LogCursor logCursor;
 
         // Open a cursor for use with the log.
@@ -279,42 +354,8 @@ class LogFile {
 
                 // Process the log record depending on its type.
 
-                switch( recordType[0] ) {
-
-                    // If the record is a keypoint start, and we have found the end of the
-                    // keypoint, then we can stop processing the log.  If the end has not been
-                    // found then a failure must have occurred during the keypoint operation,
-                    // so we must continue to process the log.
-                    // We do not do anything with the contents of the keypoint start record.
-
-                case LogFile.KEYPOINT_START :
-                    if( keypointEndFound )
-                        throw new LogException(null,LogException.LOG_END_OF_CURSOR,2);
-                    break;
-
-                    // If the record is a keypoint end, remember this so that we can stop when
-                    // we find the start of the keypoint.
-                    // We do not do anything with the contents of the keypoint end record.
-
-                case LogFile.KEYPOINT_END :
-                    keypointEndFound = true;
-                    break;
-
-                    // For a normal log record, add the records to the list.
-                    // For a rewritten record, only add the record to the list if the
-                    // keypoint end record has been found.
-
-                case LogFile.NORMAL :
-                case LogFile.REWRITE :
-                    if( (recordType[0] == LogFile.NORMAL) || keypointEndFound )
-                        logRecords.addElement(logRecord);
-                    break;
-
-                    // Any other type of log record is ignored.
-
-                default :
-                    break;
-                }
+                if( !addLogRecord(logRecords,logRecord,recordType[0],keypointEndFound) )
+                    throw new LogException(null,LogException.LOG_END_OF_CURSOR,2);
             }
         } catch( LogException le ) {
 
@@ -336,6 +377,64 @@ class LogFile {
         return logRecords;
     }
 
+    /**Processes a log record read from the newest to the oldest one.
+     * <p>
+     * Normal records are always added to the list, rewritten records only when the
+     * end of the keypoint that has written them has been found.
+     *
+     * @param logRecords        The list of records required for recovery.
+     * @param logRecord         The log record data.
+     * @param recordType        The log record type.
+     * @param keypointEndFound  A one-element array with the keypoint end found indicator.
+     *
+     * @return  False when the processing of the log can stop.
+     *
+     */
+    static boolean addLogRecord( Vector    logRecords,
+                                 byte[]    logRecord,
+                                 int       recordType,
+                                 boolean[] keypointEndFound ) {
+
+        switch( recordType ) {
+
+            // If the record is a keypoint start, and we have found the end of the
+            // keypoint, then we can stop processing the log.  If the end has not been
+            // found then a failure must have occurred during the keypoint operation,
+            // so we must continue to process the log.
+            // We do not do anything with the contents of the keypoint start record.
+
+        case LogFile.KEYPOINT_START :
+            if( keypointEndFound[0] )
+                return false;
+            break;
+
+            // If the record is a keypoint end, remember this so that we can stop when
+            // we find the start of the keypoint.
+            // We do not do anything with the contents of the keypoint end record.
+
+        case LogFile.KEYPOINT_END :
+            keypointEndFound[0] = true;
+            break;
+
+            // For a normal log record, add the records to the list.
+            // For a rewritten record, only add the record to the list if the
+            // keypoint end record has been found.
+
+        case LogFile.NORMAL :
+        case LogFile.REWRITE :
+            if( (recordType == LogFile.NORMAL) || keypointEndFound[0] )
+                logRecords.addElement(logRecord);
+            break;
+
+            // Any other type of log record is ignored.
+
+        default :
+            break;
+        }
+
+        return true;
+    }
+
     /**Dumps the state of the object.
      *
      *
@@ -36,6 +36,8 @@ import com.sun.enterprise.util.i18n.StringManager;
 import java.io.File;
 import java.io.FileDescriptor;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**This class encapsulates file I/O operations and the file handle.
  *
@@ -107,12 +109,21 @@ class LogFileHandle {
      */
     private RandomAccessFile fhandle = null;
     private FileDescriptor   fd      = null;
+    private FileChannel      channel = null;
     private byte[] bufferData = null;
     boolean buffered = false;
     int bufferUpdateStart = -1;
     int bufferUpdateEnd   = -1;
     int buffPos = 0;
 
+    /**Number of writes of the buffer updates to the file, how many of them have been
+     * forced, and whether the unforced writes extended the file.  Guarded by the
+     * monitor of the owning LogHandle.
+     */
+    long flushCount = 0;
+    long forcedCount = 0;
+    boolean extendedSinceForce = false;
+
     static {
         dsyncProp = System.getProperty(DSYNC_PROPERTY);
         if (dsyncProp != null) {
@@ -323,6 +334,7 @@ class LogFileHandle {
         try {
             fhandle = new RandomAccessFile(file,fileMode);
             fd = fhandle.getFD();
+            channel = fhandle.getChannel();
 
             // If buffering, and the opened file has contents, then allocate the buffer
             // and read the file contents in.  Otherwise make the buffer an empty array.
@@ -371,6 +383,7 @@ class LogFileHandle {
 
         fhandle = null;
         fd = null;                                                            //@MA
+        channel = null;
 
     }
 
@@ -424,17 +437,39 @@ class LogFileHandle {
      *
      */
     void fileSync() throws LogException {
+        long flushed = fileFlush();
+        if( flushed > forcedCount ) {
+            fileForce(extendedSinceForce);
+            extendedSinceForce = false;
+            forcedCount = flushed;
+        }
+    }
+
+    /**Writes the buffer updates to the file, without forcing them to permanent storage.
+     *
+     * @return  The number of writes so far, to be recorded in forcedCount once forced.
+     *
+     * @exception LogException The write failed
+     *
+     */
+    long fileFlush() throws LogException {
 
         // Synchronization is only done for buffered files which have been updated.
         // Non-buffered files have every write synchronized with the file system.
+        // All records buffered since the last sync are contiguous in the buffer, so
+        // they go out with one positional write.
 
         if( bufferUpdateStart != -1 )
             try {
-                fhandle.seek(bufferUpdateStart);
-                fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
-                if (dsyncProp == null)
-                    fd.sync();
-
+                if( bufferUpdateEnd > channel.size() )
+                    extendedSinceForce = true;
+                ByteBuffer updated = ByteBuffer.wrap(bufferData,bufferUpdateStart,
+                                                     bufferUpdateEnd-bufferUpdateStart);
+                long position = bufferUpdateStart;
+                while( updated.hasRemaining() )
+                    position += channel.write(updated,position);
+
+                flushCount++;
                 bufferUpdateStart = -1;
                 bufferUpdateEnd   = -1;
             } catch (Throwable e) {
@@ -442,6 +477,27 @@ class LogFileHandle {
                         sm.getString("jts.log_file_sync_failed"), e);
             }
 
+        return flushCount;
+    }
+
+    /**Forces the writes of the buffer updates to permanent storage.
+     * Does not use the buffer, so it may run while the buffer is updated.
+     *
+     * @param metaData  Whether the file metadata must be forced too, as the
+     *                  writes extended the file.
+     *
+     * @exception LogException The force failed
+     *
+     */
+    void fileForce( boolean metaData ) throws LogException {
+        if( dsyncProp != null )
+            return;
+        try {
+            channel.force(metaData);
+        } catch (Throwable e) {
+            throw new LogException(LogException.LOG_READ_FAILURE,1,
+                    sm.getString("jts.log_file_sync_failed"), e);
+        }
     }
 
     /**Reads a vector of records from the file.
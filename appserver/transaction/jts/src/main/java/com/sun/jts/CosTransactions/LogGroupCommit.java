@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.jts.CosTransactions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group commit of the forced records of a {@link LogFile}.
+ * <p>
+ * Every record is first written to the log buffer and gets a sequence number. A writer
+ * requesting a force either becomes the leader of the next group or waits until a leader
+ * has forced its record. The leader optionally waits for the configured maximum delay,
+ * then forces everything written so far with a single {@link LogFile#forceLog()} and
+ * completes all waiters of the group together. Records written while a force is in
+ * progress form the next group.
+ */
+final class LogGroupCommit {
+
+    private final LogFile logFile;
+    private final long maxDelayNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition forcedCondition = lock.newCondition();
+
+    /** Sequence number of the last record written to the log buffer. */
+    private long writtenSequence;
+    /** All records up to this sequence number are on permanent storage. */
+    private long forcedSequence;
+    /** A leader is forcing the log. */
+    private boolean forcing;
+
+    private long groupCount;
+    private long forcedRecordCount;
+
+    LogGroupCommit(LogFile logFile, long maxDelayMicros) {
+        this.logFile = logFile;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0L, maxDelayMicros));
+    }
+
+    /**
+     * Registers a record just written to the log buffer.
+     *
+     * @return the sequence number to be passed to {@link #force(long)}
+     */
+    long written() {
+        lock.lock();
+        try {
+            return ++writtenSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns once the record with the given sequence number is on permanent storage.
+     *
+     * @param sequence the sequence number returned by {@link #written()}
+     * @throws LogException the force of the group failed
+     */
+    void force(long sequence) throws LogException {
+        lock.lock();
+        try {
+            while (forcedSequence < sequence) {
+                if (forcing) {
+                    forcedCondition.awaitUninterruptibly();
+                    continue;
+                }
+                forcing = true;
+                try {
+                    if (maxDelayNanos > 0L) {
+                        lock.unlock();
+                        try {
+                            LockSupport.parkNanos(this, maxDelayNanos);
+                        } finally {
+                            lock.lock();
+                        }
+                    }
+                    long target = writtenSequence;
+                    lock.unlock();
+                    try {
+                        logFile.forceLog();
+                    } finally {
+                        lock.lock();
+                    }
+                    if (target > forcedSequence) {
+                        groupCount++;
+                        forcedRecordCount += target - forcedSequence;
+                        forcedSequence = target;
+                    }
+                } finally {
+                    forcing = false;
+                    forcedCondition.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of groups forced to the log
+     */
+    long getGroupCount() {
+        lock.lock();
+        try {
+            return groupCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of records forced to the log by all groups
+     */
+    long getForcedRecordCount() {
+        lock.lock();
+        try {
+            return forcedRecordCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
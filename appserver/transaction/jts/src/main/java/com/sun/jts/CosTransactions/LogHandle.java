@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.List;
 
 /**A class containing attributes of an open log file.
  *
@@ -521,19 +522,7 @@ class LogHandle {
         //   ENDLOOP
 
         if( writeMode == FORCE ) {
-            Enumeration extents = extentTable.elements();
-            while( extents.hasMoreElements() ) {
-                LogExtent nextEDP = (LogExtent)extents.nextElement();
-                if( nextEDP.writtenSinceLastForce ) {
-                    try {
-                        nextEDP.fileHandle.fileSync();
-                        nextEDP.writtenSinceLastForce = false;
-                    } catch (LogException le) {
-                        throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
-                                sm.getString("jts.log_file_sync_failed"), le);
-                    }
-                }
-            }
+            forceExtents();
         }
 
         // Update the head LSN and 'next free' LSN in the Log_FileDescriptor
@@ -571,6 +560,113 @@ class LogHandle {
         return result;
     }
 
+    /**Forces all records buffered by previous writes to permanent storage.
+     * <p>
+     * Used by the group commit of {@link LogFile} to force the records of several
+     * concurrent writers with one sync per extent. If the log has been closed in the
+     * meantime there is nothing to do, as the close has already forced the extents.
+     *
+     * @exception LogException  The force failed.
+     *
+     */
+    void forceLog() throws LogException {
+
+        // Write the buffered records to the extent files under the monitor, but force
+        // them without it, so that the writers may buffer the records of the next group
+        // meanwhile.  An extent stays marked as written until all its writes are forced,
+        // so a close or a forced write in the meantime forces it again.
+
+        List<LogExtent> dirty = new ArrayList<>();
+        List<Long> flushCounts = new ArrayList<>();
+        List<Boolean> extended = new ArrayList<>();
+        synchronized( this ) {
+            if( blockValid != this ) {
+                return;
+            }
+            Enumeration extents = extentTable.elements();
+            while( extents.hasMoreElements() ) {
+                LogExtent nextEDP = (LogExtent)extents.nextElement();
+                if( nextEDP.writtenSinceLastForce ) {
+                    LogFileHandle fileHandle = nextEDP.fileHandle;
+                    long flushCount;
+                    try {
+                        flushCount = fileHandle.fileFlush();
+                    } catch (LogException le) {
+                        throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
+                                sm.getString("jts.log_file_sync_failed"), le);
+                    }
+                    if( flushCount > fileHandle.forcedCount ) {
+                        dirty.add(nextEDP);
+                        flushCounts.add(flushCount);
+                        extended.add(fileHandle.extendedSinceForce);
+                        fileHandle.extendedSinceForce = false;
+                    } else {
+                        nextEDP.writtenSinceLastForce = false;
+                    }
+                }
+            }
+        }
+        for( int i = 0; i < dirty.size(); i++ ) {
+            LogExtent nextEDP = dirty.get(i);
+            LogFileHandle fileHandle = nextEDP.fileHandle;
+            long flushCount = flushCounts.get(i);
+            boolean metaData = extended.get(i);
+            try {
+                fileHandle.fileForce(metaData);
+            } catch (LogException le) {
+                synchronized( this ) {
+
+                    // An extent closed in the meantime was either forced by the close
+                    // or deleted by a truncation, which no longer needs its records.
+
+                    if( blockValid != this || extentTable == null
+                            || extentTable.get(nextEDP.extentNumber) != nextEDP ) {
+                        continue;
+                    }
+                    fileHandle.extendedSinceForce |= metaData;
+                }
+                throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
+                        sm.getString("jts.log_file_sync_failed"), le);
+            }
+            synchronized( this ) {
+                fileHandle.forcedCount = Math.max(fileHandle.forcedCount, flushCount);
+                if( fileHandle.forcedCount == fileHandle.flushCount
+                        && fileHandle.bufferUpdateStart == -1 ) {
+                    nextEDP.writtenSinceLastForce = false;
+                }
+            }
+        }
+    }
+
+    /**Syncs every extent written since the last force.
+     * This internal method does not need to be synchronized.
+     *
+     * @exception LogException  The sync failed.
+     *
+     */
+    private void forceExtents() throws LogException {
+
+        // LOOP through each extent chain in the hash table
+        //   IF 'extent written' flag is TRUE
+        //     Issue FSYNC for extent file descriptor
+        //     Set 'extent written' flag to FALSE
+        // ENDLOOP
+
+        Enumeration extents = extentTable.elements();
+        while( extents.hasMoreElements() ) {
+            LogExtent nextEDP = (LogExtent)extents.nextElement();
+            if( nextEDP.writtenSinceLastForce ) {
+                try {
+                    nextEDP.fileHandle.fileSync();
+                    nextEDP.writtenSinceLastForce = false;
+                } catch (LogException le) {
+                    throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
+                            sm.getString("jts.log_file_sync_failed"), le);
+                }
+            }
+        }
+    }
+
     /**Reads a record from the log.
      *
      * @param readLSN  The LSN of the record to be read.
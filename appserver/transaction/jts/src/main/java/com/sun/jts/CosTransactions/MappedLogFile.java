@@ -0,0 +1,641 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.jts.CosTransactions;
+
+import com.sun.enterprise.util.i18n.StringManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.Vector;
+import java.util.logging.Level;
+import java.util.zip.CRC32C;
+
+/**
+ * Log file storing the records in fixed-size memory-mapped segments.
+ * <p>
+ * Every record is written with its length, type and a CRC32C checksum. The LSN of a record is
+ * its segment number and its offset in the segment. Segments are filled one after the other;
+ * the end of the records of a full segment is marked so that a reader moves on to the next one.
+ * <p>
+ * The index file holds the LSN of the first record needed for recovery, moved forward by every
+ * {@link #checkpoint(LogLSN) checkpoint} at the end of a keypoint, and the restart record. Segments
+ * before the checkpoint are deleted. So the records of the in-doubt transactions are exactly the
+ * ones between the checkpoint and the tail. On open only that part is read: the scan stops at the
+ * first record whose checksum does not match, which is where a crash interrupted the last write.
+ * If anything was written after that record, the log is corrupted and the open fails.
+ */
+class MappedLogFile extends LogFile {
+
+    private static final StringManager sm = StringManager.getManager(MappedLogFile.class);
+
+    /** Default size of a segment. */
+    static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+    /** Minimal size of a segment. */
+    static final int MIN_SEGMENT_SIZE = 64 * 1024;
+
+    private static final int SEGMENT_MAGIC = 0x4A54534D;
+    private static final int INDEX_MAGIC = 0x4A545349;
+    private static final int VERSION = 1;
+
+    /** Magic, version and segment number. */
+    static final int SEGMENT_HEADER_SIZE = 12;
+    /** Length, type and checksum. */
+    static final int RECORD_HEADER_SIZE = 12;
+    /** Length marking the end of the records of a full segment. */
+    private static final int END_OF_SEGMENT = -1;
+
+    static final String INDEX_NAME = "mapped.index"/*#Frozen*/;
+    private static final String SEGMENT_PREFIX = "segment."/*#Frozen*/;
+
+    private final File directory;
+    private final int segmentSize;
+
+    /** Open segments by their number. */
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private Segment current;
+    /** Offset of the next record in the current segment. */
+    private int position;
+    /** LSN of the last record written, null if none since open. */
+    private LogLSN lastLSN;
+    /** LSN of the first record needed for recovery. */
+    private LogLSN checkpointLSN;
+    private byte[] restart;
+    private boolean closed;
+
+    /**Opens the mapped log in the given directory, creating it if necessary.
+     *
+     * @param directory    The log directory.
+     * @param segmentSize  The size of a segment.
+     *
+     * @exception LogException  The log could not be opened.
+     *
+     */
+    MappedLogFile( File directory,
+                   int  segmentSize )
+        throws LogException {
+        super(null);
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        if( !directory.isDirectory() && !directory.mkdirs() ) {
+            throw new LogException(LogException.LOG_OPEN_FAILURE, 1,
+                sm.getString("jts.log_open_failed", directory), null);
+        }
+        try {
+            open();
+        } catch( LogException le ) {
+            closeSegments();
+            throw le;
+        }
+    }
+
+    /**Returns the configured segment size.
+     *
+     * @return  The segment size, {@link #DEFAULT_SEGMENT_SIZE} if not configured or invalid.
+     *
+     */
+    static int getSegmentSize() {
+        String size = Configuration.getPropertyValue(Configuration.LOG_SEGMENT_SIZE);
+        if( size != null ) {
+            try {
+                return Math.max(MIN_SEGMENT_SIZE,Integer.parseInt(size.trim()));
+            } catch( NumberFormatException e ) {
+                _logger.log(Level.WARNING,"jts.invalid_property_value",
+                            new java.lang.Object[] {Configuration.LOG_SEGMENT_SIZE,size});
+            }
+        }
+        return DEFAULT_SEGMENT_SIZE;
+    }
+
+    /**Determines whether a mapped log exists in the given directory.
+     *
+     * @param directory  The log directory.
+     *
+     * @return  Indicates whether the index of a mapped log exists.
+     *
+     */
+    static boolean exists( File directory ) {
+        return new File(directory,INDEX_NAME).exists();
+    }
+
+    /**Reads the index, removes the segments which are no longer needed and positions
+     * the writer after the last valid record.
+     */
+    private void open() throws LogException {
+        readIndex();
+
+        // Open the remaining segments, removing those before the checkpoint which
+        // a crash may have left behind.
+
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX));
+        TreeMap<Integer, File> segmentFiles = new TreeMap<>();
+        if( files != null ) {
+            for( File file : files ) {
+                try {
+                    segmentFiles.put(Integer.parseInt(file.getName().substring(SEGMENT_PREFIX.length()),16),file);
+                } catch( NumberFormatException e ) {
+                    // not a segment
+                }
+            }
+        }
+        if( checkpointLSN == null ) {
+            int first = segmentFiles.isEmpty() ? LogLSN.FIRST_LSN.extent : segmentFiles.firstKey();
+            checkpointLSN = new LogLSN(first,SEGMENT_HEADER_SIZE);
+        }
+        for( Map.Entry<Integer, File> entry : segmentFiles.entrySet() ) {
+            if( entry.getKey() < checkpointLSN.extent ) {
+                deleteFile(entry.getValue());
+            } else {
+                segments.put(entry.getKey(),openSegment(entry.getKey(),false));
+            }
+        }
+
+        // Find the tail, the segments after it were never written to.
+
+        LogLSN tail = scan(checkpointLSN,null);
+        checkTail(tail);
+        for( Iterator<Segment> i = segments.tailMap(tail.extent,false).values().iterator(); i.hasNext(); ) {
+            Segment segment = i.next();
+            segment.close();
+            deleteFile(segment.file);
+            i.remove();
+        }
+        current = segments.get(tail.extent);
+        if( current == null ) {
+            current = openSegment(tail.extent,true);
+            segments.put(tail.extent,current);
+        }
+        position = tail.offset;
+
+        // Clear what a torn write may have left after the tail.
+
+        current.written = Math.max(current.written,position);
+        for( int i = position; i < segmentSize; i++ ) {
+            if( current.buffer.get(i) != 0 ) {
+                current.buffer.put(i,(byte)0);
+                current.written = i + 1;
+            }
+        }
+
+        if( !exists(directory) ) {
+            writeIndex();
+        }
+    }
+
+    @Override
+    LogLSN writeRecord( byte[] record,
+                        int    recordType )
+        throws LogException {
+
+        if( closed ) {
+            throw new LogException(null,LogException.LOG_INVALID_FILE_DESCRIPTOR,1);
+        }
+
+        // Keep room for the end of segment marker.
+
+        int recordSize = RECORD_HEADER_SIZE + record.length;
+        if( recordSize > segmentSize - SEGMENT_HEADER_SIZE - Integer.BYTES ) {
+            throw new LogException(null,LogException.LOG_RECORD_TOO_LARGE,2);
+        }
+        if( position + recordSize + Integer.BYTES > segmentSize ) {
+            roll();
+        }
+
+        MappedByteBuffer buffer = current.buffer;
+        buffer.putInt(position + Integer.BYTES,recordType);
+        buffer.put(position + RECORD_HEADER_SIZE,record);
+        buffer.putInt(position + 2 * Integer.BYTES,checksum(record.length,recordType,ByteBuffer.wrap(record)));
+        buffer.putInt(position,record.length);
+
+        LogLSN lsn = new LogLSN(current.number,position);
+        position += recordSize;
+        current.written = Math.max(current.written,position);
+        lastLSN = lsn;
+        return new LogLSN(lsn);
+    }
+
+    /**Marks the end of the current segment and continues in the next one.
+     */
+    private void roll() throws LogException {
+        current.buffer.putInt(position,END_OF_SEGMENT);
+        current.written = position + Integer.BYTES;
+        int next = current.number + 1;
+        if( next < 0 ) {
+            throw new LogException(null,LogException.LOG_WRITE_FAILURE,3);
+        }
+        current = openSegment(next,true);
+        segments.put(next,current);
+        position = SEGMENT_HEADER_SIZE;
+    }
+
+    @Override
+    void forceLog() throws LogException {
+
+        // Take the ranges to be forced under the monitor, but force them without it, so
+        // that the writers may fill the log buffer for the next group meanwhile.
+
+        List<Segment> dirty = new ArrayList<>();
+        List<int[]> ranges = new ArrayList<>();
+        synchronized( this ) {
+            if( closed ) {
+                return;
+            }
+            for( Segment segment : segments.values() ) {
+                if( segment.written > segment.forced ) {
+                    dirty.add(segment);
+                    ranges.add(new int[] {segment.forced,segment.written});
+                }
+            }
+        }
+        for( int i = 0; i < dirty.size(); i++ ) {
+            Segment segment = dirty.get(i);
+            int[] range = ranges.get(i);
+            try {
+                segment.buffer.force(range[0],range[1] - range[0]);
+            } catch( RuntimeException e ) {
+                throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 4,
+                    sm.getString("jts.log_segment_force_failed", segment.file), e);
+            }
+            synchronized( this ) {
+                segment.forced = Math.max(segment.forced,range[1]);
+            }
+        }
+    }
+
+    @Override
+    synchronized boolean checkpoint( LogLSN firstLSN ) {
+
+        // If the LSN passed in is NULL, assume it means the head.
+
+        LogLSN checkLSN;
+        if( !firstLSN.isNULL() )
+            checkLSN = new LogLSN(firstLSN);
+        else if( lastLSN != null )
+            checkLSN = new LogLSN(lastLSN);
+        else
+            checkLSN = new LogLSN(current.number,position);
+
+        // The records from the checkpoint on must be on permanent storage before the
+        // index points to them.
+
+        LogLSN previous = checkpointLSN;
+        try {
+            forceLog();
+            checkpointLSN = checkLSN;
+            writeIndex();
+        } catch( LogException le ) {
+            checkpointLSN = previous;
+            return false;
+        }
+
+        // Remove the segments before the checkpoint.
+
+        for( Iterator<Segment> i = segments.headMap(checkpointLSN.extent,false).values().iterator(); i.hasNext(); ) {
+            Segment segment = i.next();
+            segment.close();
+            deleteFile(segment.file);
+            i.remove();
+        }
+        return true;
+    }
+
+    @Override
+    synchronized boolean writeRestart( byte[] record ) {
+        byte[] previous = restart;
+        restart = record.clone();
+        try {
+            writeIndex();
+            return true;
+        } catch( LogException le ) {
+            restart = previous;
+            return false;
+        }
+    }
+
+    @Override
+    synchronized byte[] readRestart() {
+        return restart == null ? null : restart.clone();
+    }
+
+    @Override
+    synchronized boolean close( boolean deleteFile ) {
+        if( closed ) {
+            return true;
+        }
+        boolean result = true;
+        try {
+            forceLog();
+        } catch( LogException le ) {
+            result = false;
+        }
+        closed = true;
+        closeSegments();
+        if( deleteFile ) {
+            for( Segment segment : segments.values() ) {
+                deleteFile(segment.file);
+            }
+            deleteFile(new File(directory,INDEX_NAME));
+        }
+        segments.clear();
+        return result;
+    }
+
+    @Override
+    synchronized Vector getLogRecords() {
+
+        // Read the records from the checkpoint to the tail, then process them from the
+        // newest to the oldest one like the records of the file engine.
+
+        List<byte[]> records = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        try {
+            scan(checkpointLSN,(type, record) -> {
+                types.add(type);
+                records.add(record);
+            });
+        } catch( LogException le ) {
+            return new Vector();
+        }
+
+        Vector logRecords = new Vector();
+        boolean[] keypointEndFound = new boolean[1];
+        for( int i = records.size() - 1; i >= 0; i-- ) {
+            if( !addLogRecord(logRecords,records.get(i),types.get(i),keypointEndFound) )
+                break;
+        }
+        return logRecords;
+    }
+
+    /**Reads the records from the given LSN to the first invalid one.
+     *
+     * @param from     The LSN of the first record.
+     * @param visitor  Receives the type and data of each record, may be null.
+     *
+     * @return  The LSN following the last valid record.
+     *
+     */
+    private LogLSN scan( LogLSN          from,
+                         RecordVisitor   visitor )
+        throws LogException {
+
+        int number = from.extent;
+        int offset = from.offset;
+        for(;;) {
+            Segment segment = segments.get(number);
+            if( segment == null ) {
+                return new LogLSN(number,SEGMENT_HEADER_SIZE);
+            }
+            MappedByteBuffer buffer = segment.buffer;
+            for(;;) {
+                if( offset + Integer.BYTES > segmentSize ) {
+                    return new LogLSN(number,offset);
+                }
+                int length = buffer.getInt(offset);
+                if( length == END_OF_SEGMENT ) {
+                    break;
+                }
+                if( length < 0 || offset + RECORD_HEADER_SIZE + length > segmentSize ) {
+                    return new LogLSN(number,offset);
+                }
+                int type = buffer.getInt(offset + Integer.BYTES);
+                int checksum = buffer.getInt(offset + 2 * Integer.BYTES);
+                ByteBuffer data = buffer.slice(offset + RECORD_HEADER_SIZE,length);
+                if( checksum != checksum(length,type,data.duplicate()) ) {
+                    return new LogLSN(number,offset);
+                }
+                if( visitor != null ) {
+                    byte[] record = new byte[length];
+                    data.get(record);
+                    visitor.visit(type,record);
+                }
+                offset += RECORD_HEADER_SIZE + length;
+            }
+            if( !segments.containsKey(number + 1) ) {
+
+                // The next segment was about to be created.
+
+                return new LogLSN(number + 1,SEGMENT_HEADER_SIZE);
+            }
+            number++;
+            offset = SEGMENT_HEADER_SIZE;
+        }
+    }
+
+    /**Verifies that the tail is where a crash interrupted the last write: nothing was
+     * written after the invalid record, neither in its segment nor in the next ones. A
+     * forced record implies that the records before it were forced too, so anything
+     * written after an invalid record means that the log is corrupted, and recovery fails
+     * rather than discarding the records after it.
+     *
+     * @param tail  The LSN following the last valid record.
+     *
+     * @exception LogException  Records follow the invalid one; the files are left untouched.
+     *
+     */
+    private void checkTail( LogLSN tail ) throws LogException {
+        boolean writtenAfter = false;
+        Segment segment = segments.get(tail.extent);
+        if( segment != null ) {
+
+            // A torn write may only have left data within the extent of its own record.
+
+            long end = segmentSize;
+            if( tail.offset + RECORD_HEADER_SIZE <= segmentSize ) {
+                end = tail.offset + RECORD_HEADER_SIZE + Math.max(segment.buffer.getInt(tail.offset),0);
+            }
+            for( long i = end; i < segmentSize && !writtenAfter; i++ ) {
+                writtenAfter = segment.buffer.get((int) i) != 0;
+            }
+        }
+        for( Segment later : segments.tailMap(tail.extent,false).values() ) {
+            writtenAfter |= later.buffer.getInt(SEGMENT_HEADER_SIZE) != 0;
+        }
+        if( writtenAfter ) {
+            throw new LogException(LogException.LOG_CORRUPTED, 9,
+                sm.getString("jts.log_record_corrupted", segmentFile(tail.extent), Integer.toString(tail.offset)), null);
+        }
+    }
+
+    private static int checksum( int length, int type, ByteBuffer data ) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES);
+        header.putInt(length).putInt(type).flip();
+        crc.update(header);
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    /**Reads the checkpoint LSN and the restart record from the index, if it exists.
+     */
+    private void readIndex() throws LogException {
+        Path index = new File(directory,INDEX_NAME).toPath();
+        if( !Files.exists(index) ) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(index));
+            int length = buffer.remaining() - Integer.BYTES;
+            if( length < 5 * Integer.BYTES ) {
+                throw new IOException("Truncated index");
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.array(),0,length);
+            if( buffer.getInt(length) != (int) crc.getValue()
+                || buffer.getInt() != INDEX_MAGIC || buffer.getInt() != VERSION ) {
+                throw new IOException("Invalid index");
+            }
+            checkpointLSN = new LogLSN(buffer.getInt(),buffer.getInt());
+            int restartLength = buffer.getInt();
+            if( restartLength >= 0 ) {
+                restart = new byte[restartLength];
+                buffer.get(restart);
+            }
+        } catch( IOException | RuntimeException e ) {
+            throw new LogException(LogException.LOG_CORRUPTED, 5,
+                sm.getString("jts.log_index_corrupted", index), e);
+        }
+    }
+
+    /**Replaces the index with the current checkpoint LSN and restart record.
+     */
+    private void writeIndex() throws LogException {
+        Path index = new File(directory,INDEX_NAME).toPath();
+        Path temporary = new File(directory,INDEX_NAME + ".tmp").toPath();
+        int restartLength = restart == null ? 0 : restart.length;
+        ByteBuffer buffer = ByteBuffer.allocate(6 * Integer.BYTES + restartLength);
+        buffer.putInt(INDEX_MAGIC).putInt(VERSION)
+              .putInt(checkpointLSN.extent).putInt(checkpointLSN.offset)
+              .putInt(restart == null ? -1 : restartLength);
+        if( restart != null ) {
+            buffer.put(restart);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(),0,buffer.position());
+        buffer.putInt((int) crc.getValue()).flip();
+        try {
+            try( FileChannel channel = FileChannel.open(temporary,StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING,StandardOpenOption.WRITE) ) {
+                while( buffer.hasRemaining() ) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary,index,StandardCopyOption.REPLACE_EXISTING,StandardCopyOption.ATOMIC_MOVE);
+        } catch( IOException e ) {
+            throw new LogException(LogException.LOG_WRITE_FAILURE, 6,
+                sm.getString("jts.log_index_write_failed", index), e);
+        }
+    }
+
+    private File segmentFile( int number ) {
+        return new File(directory,String.format("%s%08X",SEGMENT_PREFIX,number));
+    }
+
+    private Segment openSegment( int number, boolean create ) throws LogException {
+        File file = segmentFile(number);
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file.toPath(),StandardOpenOption.CREATE,
+                                       StandardOpenOption.READ,StandardOpenOption.WRITE);
+            boolean empty = channel.size() == 0;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE,0,segmentSize);
+            Segment segment = new Segment(number,file,channel,buffer);
+            if( empty || create ) {
+                buffer.putInt(0,SEGMENT_MAGIC);
+                buffer.putInt(Integer.BYTES,VERSION);
+                buffer.putInt(2 * Integer.BYTES,number);
+                segment.written = SEGMENT_HEADER_SIZE;
+            } else if( buffer.getInt(0) != SEGMENT_MAGIC || buffer.getInt(Integer.BYTES) != VERSION
+                       || buffer.getInt(2 * Integer.BYTES) != number ) {
+                throw new LogException(LogException.LOG_CORRUPTED, 7,
+                    sm.getString("jts.log_segment_corrupted", file), null);
+            }
+            return segment;
+        } catch( IOException e ) {
+            closeChannel(channel);
+            throw new LogException(LogException.LOG_OPEN_EXTENT_FAILURE, 8,
+                sm.getString("jts.log_segment_open_failed", file), e);
+        } catch( LogException le ) {
+            closeChannel(channel);
+            throw le;
+        }
+    }
+
+    private void closeSegments() {
+        for( Segment segment : segments.values() ) {
+            segment.close();
+        }
+    }
+
+    private static void closeChannel( FileChannel channel ) {
+        if( channel != null ) {
+            try {
+                channel.close();
+            } catch( IOException e ) {
+                _logger.log(Level.FINE,"Failed to close " + channel,e);
+            }
+        }
+    }
+
+    private static void deleteFile( File file ) {
+        if( !file.delete() && file.exists() ) {
+            _logger.log(Level.WARNING,"jts.log_error","Failed to delete " + file);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        void visit( int type, byte[] record );
+    }
+
+    /**A segment file and its mapping.
+     */
+    private static final class Segment {
+
+        final int number;
+        final File file;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        /** End of the bytes written to the buffer. */
+        int written;
+        /** End of the bytes forced to permanent storage. */
+        int forced;
+
+        Segment( int number, File file, FileChannel channel, MappedByteBuffer buffer ) {
+            this.number = number;
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        void close() {
+            closeChannel(channel);
+        }
+    }
+}
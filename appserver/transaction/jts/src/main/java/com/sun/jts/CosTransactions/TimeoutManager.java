@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -31,6 +31,7 @@
 
 package com.sun.jts.CosTransactions;
 
+import com.sun.enterprise.transaction.TransactionTimeoutScheduler;
 import com.sun.jts.jtsxa.XID;
 import com.sun.logging.LogDomains;
 
@@ -38,14 +39,19 @@ import java.util.Date;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.omg.CosTransactions.Status;
 
 /**
- * This class records state for timing out transactions, and runs a thread
- * which performs occasional checks to time out transactions.
+ * This class records state for timing out transactions. The timeouts are
+ * scheduled with the {@link TransactionTimeoutScheduler}; the expired
+ * transactions are handled on a dedicated thread, as that may block on the
+ * Coordinator or drive the recovery.
  *
  * @version 0.01
  *
@@ -76,7 +82,8 @@ class TimeoutManager {
 
     private static Hashtable     pendingTimeouts = new Hashtable();
     private static Hashtable     indoubtTimeouts = new Hashtable();
-    private static TimeoutThread timeoutThread = null;
+    private static ExecutorService timeoutExecutor = null;
+    private static long retryInterval;
     private static boolean       timeoutActive = false;
     private static boolean       quiescing = false;
     private static boolean       isSetTimeout = false;
@@ -116,8 +123,27 @@ class TimeoutManager {
             return;
         }
         isSetTimeout = true;
-        timeoutThread = new TimeoutThread();
-        timeoutThread.start();
+        retryInterval = getRetryInterval();
+        timeoutExecutor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "JTS Timeout Thread"/* #Frozen */);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return interval in millis between the attempts to complete a timed out transaction
+     */
+    private static long getRetryInterval() {
+        try {
+            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
+            if (timeout_interval != null) {
+                return Math.max(10000L, Integer.parseInt(timeout_interval) * 1000L);
+            }
+        } catch (Exception e) {
+            // use the default
+        }
+        return 10000L;
     }
 
     /**
@@ -157,7 +183,7 @@ class TimeoutManager {
                     timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    pendingTimeouts.put(localTID, timeoutInfo);
+                    schedule(pendingTimeouts, timeoutInfo, seconds * 1000L);
                     break;
                 case TimeoutManager.IN_DOUBT_TIMEOUT:
                     if (!isSetTimeout) {
@@ -168,7 +194,7 @@ class TimeoutManager {
                     timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    indoubtTimeouts.put(localTID, timeoutInfo);
+                    schedule(indoubtTimeouts, timeoutInfo, seconds * 1000L);
                     break;
 
                 // For any other type, remove the timeout if there is one.
@@ -177,9 +203,13 @@ class TimeoutManager {
                     if (!isSetTimeout) {
                         break;
                     }
-                    result = (pendingTimeouts.remove(localTID) != null);
-                    if (!result) {
-                        result = (indoubtTimeouts.remove(localTID) != null);
+                    timeoutInfo = (TimeoutInfo) pendingTimeouts.remove(localTID);
+                    if (timeoutInfo == null) {
+                        timeoutInfo = (TimeoutInfo) indoubtTimeouts.remove(localTID);
+                    }
+                    result = (timeoutInfo != null);
+                    if (result) {
+                        timeoutInfo.cancel();
                     }
 
                     // If the transaction service is quiescing and
@@ -187,7 +217,7 @@ class TimeoutManager {
                     // deactivate timeout and stop the timeout thread.
 
                     if (quiescing && pendingTimeouts.isEmpty() && indoubtTimeouts.isEmpty()) {
-                        timeoutThread.stop();
+                        timeoutExecutor.shutdown();
                         timeoutActive = false;
                         // pendingTimeouts = null;
                     }
@@ -316,98 +346,58 @@ class TimeoutManager {
     }
 
     /**
-     * Periodically checks the existing timeouts.
-     * <p>
-     * This is done to discover if any transactions have overrun their allotted
-     * time.  Those which have are returned as an Enumeration.
-     * <p>
-     * Note that this method should not do anything that will cause a
-     * synchronized method in the RecoveryManager to be called, as this could
-     * cause a deadlock when RecoveryManager methods on other threads call
-     * setTimeout.
-     *
-     *
-     * @return  The information for transactions which have timed out.
+     * Registers the timeout and schedules its expiration, replacing the
+     * previous timeout of the transaction.
      *
+     * @param timeouts     The table of the timeouts of the same type.
+     * @param timeoutInfo  The timeout.
+     * @param delay        The time to the expiration in millis.
      */
-     static Enumeration checkTimeouts() {
-        if (!isSetTimeout) {
-            return null;
+    private static void schedule(Hashtable timeouts, TimeoutInfo timeoutInfo, long delay) {
+        TimeoutInfo previous = (TimeoutInfo) timeouts.put(timeoutInfo.localTID, timeoutInfo);
+        if (previous != null) {
+            previous.cancel();
         }
+        timeoutInfo.timeout = TransactionTimeoutScheduler.getInstance().schedule(
+            () -> dispatch(timeouts, timeoutInfo), delay, TimeUnit.MILLISECONDS);
+    }
 
-        Enumeration result = null;
-
-        // When woken up, go through all current timeouts and identify those
-        // which have expired.
-
-        if (timeoutActive && (pendingTimeouts.size() != 0 || indoubtTimeouts.size() != 0)) {
-            Vector timedOut = null;
-
-            Enumeration timeouts = null;
-
-            synchronized (pendingTimeouts) {
-                timeouts = pendingTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                       // Add the TimeoutInfo to the queue of
-                       //those that have timed out.
-
-                       if (timedOut == null) {
-                           timedOut = new Vector();
-                       }
-
-                       timedOut.addElement(timeoutInfo);
-                    }
-               }
-            }
-
-            synchronized (indoubtTimeouts) {
-
-                timeouts = indoubtTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                        // Add the TimeoutInfo to the queue of
-                        //those that have timed out.
-
-                        if (timedOut == null) {
-                            timedOut = new Vector();
-                        }
-
-                        timedOut.addElement(timeoutInfo);
-                    }
-                }
-
-            }
-            // Enumerate the transactions which have timed out.
+    /**
+     * Hands the expired timeout over to the timeout thread, so the scheduler
+     * thread is never blocked by a Coordinator.
+     */
+    private static void dispatch(Hashtable timeouts, TimeoutInfo timeoutInfo) {
+        ExecutorService executor = timeoutExecutor;
+        if (executor != null && !executor.isShutdown()) {
+            executor.execute(() -> expired(timeouts, timeoutInfo));
+        }
+    }
 
-            if (timedOut != null) {
-                result = timedOut.elements();
-            }
+    /**
+     * Handles the expired timeout on the timeout thread.
+     * <p>
+     * The timeout stays registered until the Coordinator removes it when it
+     * has finished; until then, the Coordinator is told again after the
+     * retry interval.
+     *
+     * @param timeouts     The table of the timeouts of the same type.
+     * @param timeoutInfo  The expired timeout.
+     */
+    private static void expired(Hashtable timeouts, TimeoutInfo timeoutInfo) {
+        if (!timeoutActive || timeouts.get(timeoutInfo.localTID) != timeoutInfo) {
+            // cancelled or replaced in the meantime
+            return;
         }
 
-        // The remainder of the timeout processing is not carried out here
-        // because we would get deadlocked with addCoordinator or
-        // removeCoordinator that also update the timeout list.  Hence the
-        // returned enumeration, which may be processed with
-        // no concurrency control.
+        // Note that we rely on the Coordinator calling removeCoordinator when
+        // it has finished, which will remove the timeout from the list, and
+        // remove other associations as well.
+        timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
 
-        return result;
+        if (timeoutActive && timeouts.get(timeoutInfo.localTID) == timeoutInfo) {
+            timeoutInfo.timeout = TransactionTimeoutScheduler.getInstance().schedule(
+                () -> dispatch(timeouts, timeoutInfo), retryInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     /**
@@ -490,22 +480,33 @@ class TimeoutManager {
 
         if (immediate ||
             pendingTimeouts == null || pendingTimeouts.isEmpty()) {
-            if (timeoutThread != null) {
-                timeoutThread.stop();
+            if (timeoutExecutor != null) {
+                timeoutExecutor.shutdownNow();
             }
 
             if (pendingTimeouts != null) {
-                pendingTimeouts.clear();
+                cancelAll(pendingTimeouts);
             }
+            cancelAll(indoubtTimeouts);
 
             pendingTimeouts = null;
-            timeoutThread = null;
+            timeoutExecutor = null;
             timeoutActive = false;
         } else {
             quiescing = true;
         }
     }
 
+    private static void cancelAll(Hashtable timeouts) {
+        synchronized (timeouts) {
+            Enumeration elements = timeouts.elements();
+            while (elements.hasMoreElements()) {
+                ((TimeoutInfo) elements.nextElement()).cancel();
+            }
+            timeouts.clear();
+        }
+    }
+
     /**
      * Reports the contents of the TimeoutManager tables.
      *$Only required for debug.
@@ -568,94 +569,12 @@ class TimeoutInfo extends Object {
     Long localTID = null;
     long expireTime = 0;
     int  timeoutType = TimeoutManager.NO_TIMEOUT;
-}
-
-/**
- * This class represents a thread on which the TimeoutManager can perform
- * timeout checking.
- *
- * @version 0.01
- *
- * @author Simon Holdsworth, IBM Corporation
- *
- */
+    volatile TransactionTimeoutScheduler.Timeout timeout = null;
 
-//----------------------------------------------------------------------------
-// CHANGE HISTORY
-//
-// Version By     Change Description
-//   0.01  SAJH   Initial implementation.
-//----------------------------------------------------------------------------
-
-class TimeoutThread extends Thread {
-
-    private int TIMEOUT_INTERVAL ;
-
-    static Logger _logger = LogDomains.getLogger(TimeoutThread.class, LogDomains.TRANSACTION_LOGGER);
-
-    /**
-     * TimeoutThread constructor.
-     * <p>
-     * This sets the thread name, and sets the thread to be a daemon thread so
-     * that it does not prevent the process from terminating.
-     *
-     */
-    TimeoutThread() {
-        setName("JTS Timeout Thread"/* #Frozen */);
-        setDaemon(true);
-        try {
-            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
-            if (timeout_interval != null) {
-                TIMEOUT_INTERVAL = Integer.parseInt(timeout_interval);
-                TIMEOUT_INTERVAL *= 1000;
-                if (TIMEOUT_INTERVAL < 10000)
-                    TIMEOUT_INTERVAL = 10000;
-            } else {
-                TIMEOUT_INTERVAL = 10000;
-            }
-        } catch (Exception e) {
-            TIMEOUT_INTERVAL = 10000;
-        }
-    }
-
-    /**
-     * Performs timeout checking on a regular basis (every ten seconds or so).
-     *
-     *
-     *
-     */
-    public void run() {
-        try {
-            while (true) {
-
-                // Sleep for a while between checks.
-
-                Thread.sleep(TIMEOUT_INTERVAL);
-
-                // Perform timeout checks, getting a list of timed-out
-                // transactions.
-
-                Enumeration timedOut = TimeoutManager.checkTimeouts();
-
-                // Now we must go through the list, telling each
-                // timed-out Coordinator to do something appropriate.
-
-                if (timedOut != null) {
-                    while (timedOut.hasMoreElements()) {
-                        TimeoutInfo timeoutInfo = (TimeoutInfo) timedOut.nextElement();
-
-                        // Look up the Coordinator and tell it to roll back
-                        // if it still exists. Note that we rely on the
-                        // Coordinator calling removeCoordinator when it
-                        // has finished, which will remove the timeout from
-                        // the list, and remove other associations as well.
-
-                        TimeoutManager.timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
-                    }
-                }
-            }
-        } catch (InterruptedException exc) {
-            _logger.log(Level.INFO,"jts.time_out_thread_stopped");
+    void cancel() {
+        TransactionTimeoutScheduler.Timeout scheduled = timeout;
+        if (scheduled != null) {
+            scheduled.cancel();
         }
     }
 }
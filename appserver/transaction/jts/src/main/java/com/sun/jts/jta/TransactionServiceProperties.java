@@ -119,6 +119,21 @@ public class TransactionServiceProperties {
                                 jtsProperties.put(JTS_XA_SERVER_NAME, value);
                             }
 
+                        } else if (name.equals("group-commit-delay")) {
+                            if (isValueSet(value)) {
+                                jtsProperties.put(Configuration.GROUP_COMMIT_DELAY, value);
+                            }
+
+                        } else if (name.equals("log-engine")) {
+                            if (isValueSet(value)) {
+                                jtsProperties.put(Configuration.LOG_ENGINE, value);
+                            }
+
+                        } else if (name.equals("log-segment-size")) {
+                            if (isValueSet(value)) {
+                                jtsProperties.put(Configuration.LOG_SEGMENT_SIZE, value);
+                            }
+
                         } else if (name.equals("pending-txn-cleanup-interval")) {
                             if (isValueSet(value)) {
                                 jtsProperties.put("pending-txn-cleanup-interval", value);
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.jts.CosTransactions;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogFileTest {
+
+    private static final String SERVER_NAME = "server";
+    private static final int THREADS = 16;
+    private static final int RECORDS_PER_THREAD = 50;
+
+    @TempDir
+    private Path logDirectory;
+
+    @Test
+    public void concurrentForcedWritesAreGroupedAndRecovered() throws Exception {
+        LogFile logFile = open();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int id = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                        byte[] record = (id + ":" + i).getBytes(StandardCharsets.UTF_8);
+                        assertTrue(logFile.write(LogFile.FORCED, record, LogFile.NORMAL, new LogLSN()));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long groups = logFile.groupCommit.getGroupCount();
+        long forced = logFile.groupCommit.getForcedRecordCount();
+        assertTrue(logFile.close(false));
+
+        Vector<?> records = open().getLogRecords();
+        Set<String> recovered = new TreeSet<>();
+        for (Object record : records) {
+            recovered.add(new String((byte[]) record, StandardCharsets.UTF_8));
+        }
+        assertAll(
+            () -> assertEquals(THREADS * RECORDS_PER_THREAD, forced, "forced records"),
+            () -> assertTrue(groups <= forced, "groups " + groups + " > forced records " + forced),
+            () -> assertEquals(THREADS * RECORDS_PER_THREAD, records.size(), "recovered records"),
+            () -> assertEquals(THREADS * RECORDS_PER_THREAD, recovered.size(), "distinct recovered records")
+        );
+    }
+
+
+    @Test
+    public void unforcedWriteIsForcedByNextForcedWrite() throws Exception {
+        LogFile logFile = open();
+        assertTrue(logFile.write(LogFile.UNFORCED, new byte[] {1}, LogFile.NORMAL, null));
+        assertTrue(logFile.write(LogFile.FORCED, new byte[] {2}, LogFile.NORMAL, null));
+        assertAll(
+            () -> assertEquals(1L, logFile.groupCommit.getGroupCount()),
+            () -> assertEquals(2L, logFile.groupCommit.getForcedRecordCount()),
+            () -> assertEquals(2, logFile.getLogRecords().size())
+        );
+        assertTrue(logFile.close(false));
+    }
+
+
+    @Test
+    public void forceLogForcesTheWrittenExtentsOnce() throws Exception {
+        LogFile logFile = open();
+        assertTrue(logFile.write(LogFile.UNFORCED, new byte[] {1}, LogFile.NORMAL, null));
+        assertTrue(logFile.write(LogFile.UNFORCED, new byte[] {2}, LogFile.NORMAL, null));
+        logFile.forceLog();
+        List<Long> forcedCounts = new ArrayList<>();
+        for (Object element : logFile.handle.extentTable.values()) {
+            LogExtent extent = (LogExtent) element;
+            assertAll(
+                () -> assertFalse(extent.writtenSinceLastForce, "written since last force"),
+                () -> assertEquals(extent.fileHandle.flushCount, extent.fileHandle.forcedCount, "forced count")
+            );
+            forcedCounts.add(extent.fileHandle.forcedCount);
+        }
+        // nothing was written since, so nothing is forced again
+        logFile.forceLog();
+        List<Long> forcedAgain = new ArrayList<>();
+        for (Object element : logFile.handle.extentTable.values()) {
+            forcedAgain.add(((LogExtent) element).fileHandle.forcedCount);
+        }
+        assertEquals(forcedCounts, forcedAgain);
+        assertEquals(2, logFile.getLogRecords().size());
+        assertTrue(logFile.close(false));
+    }
+
+
+    private LogFile open() {
+        Log log = new Log(logDirectory.toString());
+        assertTrue(log.initialise());
+        return log.open(SERVER_NAME, null);
+    }
+}
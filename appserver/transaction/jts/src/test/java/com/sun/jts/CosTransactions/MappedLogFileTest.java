@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.jts.CosTransactions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Vector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedLogFileTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private static final int RECORDS = 1000;
+
+    @TempDir
+    private File logDirectory;
+
+    @Test
+    public void recordsAndRestartSurviveReopen() throws Exception {
+        MappedLogFile logFile = new MappedLogFile(logDirectory, SEGMENT_SIZE);
+        for (int i = 0; i < RECORDS; i++) {
+            assertTrue(logFile.write(LogFile.FORCED, record(i), LogFile.NORMAL, null));
+        }
+        assertTrue(logFile.writeRestart(record(-1)));
+        assertTrue(logFile.close(false));
+
+        MappedLogFile reopened = new MappedLogFile(logDirectory, SEGMENT_SIZE);
+        assertAll(
+            () -> assertEquals(newestFirst(0, RECORDS), strings(reopened.getLogRecords())),
+            () -> assertArrayEquals(record(-1), reopened.readRestart()),
+            () -> assertTrue(segmentCount() > 1, "segments: " + segmentCount())
+        );
+        assertTrue(reopened.close(false));
+    }
+
+
+    @Test
+    public void checkpointDropsSegmentsBeforeKeypoint() throws Exception {
+        MappedLogFile logFile = new MappedLogFile(logDirectory, SEGMENT_SIZE);
+        for (int i = 0; i < RECORDS; i++) {
+            logFile.write(LogFile.UNFORCED, record(i), LogFile.NORMAL, null);
+        }
+        int segmentsBefore = segmentCount();
+        LogLSN keypointStart = new LogLSN();
+        logFile.write(LogFile.FORCED, "START".getBytes(StandardCharsets.UTF_8), LogFile.KEYPOINT_START, keypointStart);
+        logFile.write(LogFile.UNFORCED, record(RECORDS - 1), LogFile.REWRITE, null);
+        logFile.write(LogFile.UNFORCED, "END".getBytes(StandardCharsets.UTF_8), LogFile.KEYPOINT_END, null);
+        assertTrue(logFile.checkpoint(keypointStart));
+        logFile.write(LogFile.FORCED, record(RECORDS), LogFile.NORMAL, null);
+        assertTrue(logFile.close(false));
+
+        MappedLogFile reopened = new MappedLogFile(logDirectory, SEGMENT_SIZE);
+        assertAll(
+            () -> assertEquals(List.of(Integer.toString(RECORDS), Integer.toString(RECORDS - 1)), strings(reopened.getLogRecords())),
+            () -> assertTrue(segmentCount() < segmentsBefore, segmentCount() + " >= " + segmentsBefore)
+        );
+        assertTrue(reopened.close(false));
+    }
+
+
+    @Test
+    public void tornWriteIsDiscardedOnOpen() throws Exception {
+        MappedLogFile logFile = new MappedLogFile(logDirectory, SEGMENT_SIZE);
+        LogLSN last = new LogLSN();
+        for (int i = 0; i < 3; i++) {
+            logFile.write(LogFile.FORCED, record(i), LogFile.NORMAL, last);
+        }
+        assertTrue(logFile.close(false));
+
+        // Damage the payload of the last record.
+        writePayload(last, 'X');
+
+        MappedLogFile reopened = new MappedLogFile(logDirectory, SEGMENT_SIZE);
+        assertEquals(newestFirst(0, 2), strings(reopened.getLogRecords()));
+        reopened.write(LogFile.FORCED, record(3), LogFile.NORMAL, null);
+        assertTrue(reopened.close(false));
+
+        MappedLogFile again = new MappedLogFile(logDirectory, SEGMENT_SIZE);
+        assertEquals(List.of("3", "1", "0"), strings(again.getLogRecords()));
+        assertTrue(again.close(true));
+        assertFalse(MappedLogFile.exists(logDirectory));
+    }
+
+
+    @Test
+    public void corruptedRecordFollowedByRecordsFailsOpen() throws Exception {
+        MappedLogFile logFile = new MappedLogFile(logDirectory, SEGMENT_SIZE);
+        LogLSN first = new LogLSN();
+        logFile.write(LogFile.FORCED, record(0), LogFile.NORMAL, first);
+        for (int i = 1; i < RECORDS; i++) {
+            logFile.write(LogFile.FORCED, record(i), LogFile.NORMAL, null);
+        }
+        assertTrue(logFile.close(false));
+        int segments = segmentCount();
+
+        writePayload(first, 'X');
+        LogException exception = assertThrows(LogException.class, () -> new MappedLogFile(logDirectory, SEGMENT_SIZE));
+        assertAll(
+            () -> assertEquals(LogException.LOG_CORRUPTED, exception.errorCode),
+            () -> assertEquals(segments, segmentCount())
+        );
+
+        // Nothing was discarded, the repaired log has all its records.
+        writePayload(first, '0');
+        MappedLogFile repaired = new MappedLogFile(logDirectory, SEGMENT_SIZE);
+        assertEquals(newestFirst(0, RECORDS), strings(repaired.getLogRecords()));
+        assertTrue(repaired.close(false));
+    }
+
+
+    @Test
+    public void logSelectsMappedEngine() throws Exception {
+        Path directory = logDirectory.toPath();
+        Properties properties = new Properties();
+        properties.setProperty(Configuration.LOG_ENGINE, "mapped");
+        Configuration.setProperties(properties);
+        try {
+            Log log = new Log(directory.toString());
+            assertTrue(log.initialise());
+            LogFile logFile = log.open("server", null);
+            assertTrue(logFile instanceof MappedLogFile, logFile.getClass().getName());
+            assertTrue(logFile.close(false));
+            assertTrue(MappedLogFile.exists(LogControl.directory("server", directory.toString())));
+        } finally {
+            Properties reset = new Properties();
+            reset.setProperty(Configuration.LOG_ENGINE, LogFile.FILE_ENGINE);
+            Configuration.setProperties(reset);
+        }
+    }
+
+
+    private void writePayload(LogLSN lsn, char payload) throws IOException {
+        File segment = new File(logDirectory, String.format("segment.%08X", lsn.extent));
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.seek(lsn.offset + MappedLogFile.RECORD_HEADER_SIZE);
+            file.write(payload);
+        }
+    }
+
+
+    private int segmentCount() {
+        return logDirectory.list((dir, name) -> name.startsWith("segment.")).length;
+    }
+
+
+    private static byte[] record(int i) {
+        return Integer.toString(i).getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    private static List<String> newestFirst(int from, int to) {
+        List<String> result = new ArrayList<>();
+        for (int i = to - 1; i >= from; i--) {
+            result.add(Integer.toString(i));
+        }
+        return result;
+    }
+
+
+    private static List<String> strings(Vector<?> records) {
+        List<String> result = new ArrayList<>();
+        for (Object record : records) {
+            result.add(new String((byte[]) record, StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+}
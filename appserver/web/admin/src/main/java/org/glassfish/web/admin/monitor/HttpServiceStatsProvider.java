@@ -101,6 +101,10 @@ public class HttpServiceStatsProvider implements PostConstruct {
             "Number of responses with a status code in the 5xx range";
     private static final String COUNT_OTHER_DESCRIPTION =
             "Number of responses with a status code outside the 2xx, 3xx, 4xx, and 5xx range";
+    private static final String COUNT_ACCESS_LOG_DROPPED_DESCRIPTION =
+            "Number of access log entries dropped because the access log buffer was full";
+    private static final String COUNT_ACCESS_LOG_OVERFLOW_WRITES_DESCRIPTION =
+            "Number of times a request thread wrote a full access log buffer to the log file itself";
 
     private CountStatisticImpl errorCount = new CountStatisticImpl("ErrorCount",
             StatisticImpl.UNIT_COUNT, ERROR_COUNT_DESCRIPTION);
@@ -149,6 +153,10 @@ public class HttpServiceStatsProvider implements PostConstruct {
             StatisticImpl.UNIT_COUNT, COUNT_5xx_DESCRIPTION);
     private CountStatisticImpl countOther = new CountStatisticImpl("CountOther",
             StatisticImpl.UNIT_COUNT, COUNT_OTHER_DESCRIPTION);
+    private CountStatisticImpl countAccessLogDropped = new CountStatisticImpl("CountAccessLogDropped",
+            StatisticImpl.UNIT_COUNT, COUNT_ACCESS_LOG_DROPPED_DESCRIPTION);
+    private CountStatisticImpl countAccessLogOverflowWrites = new CountStatisticImpl("CountAccessLogOverflowWrites",
+            StatisticImpl.UNIT_COUNT, COUNT_ACCESS_LOG_OVERFLOW_WRITES_DESCRIPTION);
 
     private TimeStatisticImpl requestProcessTime = new TimeStatisticImpl(0L, 0L, 0L, 0L,
             "", "", "", System.currentTimeMillis(), -1L);
@@ -323,6 +331,18 @@ public class HttpServiceStatsProvider implements PostConstruct {
         return this.countOther;
     }
 
+    @ManagedAttribute(id="countaccesslogdropped")
+    @Description(COUNT_ACCESS_LOG_DROPPED_DESCRIPTION)
+    public CountStatistic getCountAccessLogDropped() {
+        return this.countAccessLogDropped;
+    }
+
+    @ManagedAttribute(id="countaccesslogoverflowwrites")
+    @Description(COUNT_ACCESS_LOG_OVERFLOW_WRITES_DESCRIPTION)
+    public CountStatistic getCountAccessLogOverflowWrites() {
+        return this.countAccessLogOverflowWrites;
+    }
+
     @ProbeListener("glassfish:web:http-service:dataReceivedEvent")
     public void dataReceivedEvent(
         @ProbeParam("size") int size,
@@ -341,6 +361,22 @@ public class HttpServiceStatsProvider implements PostConstruct {
         }
     }
 
+    @ProbeListener("glassfish:web:http-service:accessLogEntryDroppedEvent")
+    public void accessLogEntryDroppedEvent(
+        @ProbeParam("hostName") String hostName) {
+        if ((hostName != null) && (hostName.equals(virtualServerName))) {
+            countAccessLogDropped.increment();
+        }
+    }
+
+    @ProbeListener("glassfish:web:http-service:accessLogOverflowWriteEvent")
+    public void accessLogOverflowWriteEvent(
+        @ProbeParam("hostName") String hostName) {
+        if ((hostName != null) && (hostName.equals(virtualServerName))) {
+            countAccessLogOverflowWrites.increment();
+        }
+    }
+
     @ProbeListener("glassfish:web:http-service:requestStartEvent")
     public void requestStartEvent(
             @ProbeParam("appName") String appName,
@@ -512,6 +548,8 @@ public class HttpServiceStatsProvider implements PostConstruct {
         this.count503.reset();
         this.count5xx.reset();
         this.countOther.reset();
+        this.countAccessLogDropped.reset();
+        this.countAccessLogOverflowWrites.reset();
         this.errorCount.reset();
         this.maxTime.reset();
         this.processingTime.reset();
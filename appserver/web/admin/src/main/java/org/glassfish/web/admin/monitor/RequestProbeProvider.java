@@ -57,4 +57,22 @@ public class RequestProbeProvider {
         @ProbeParam("size") long size,
         @ProbeParam("hostName") String hostName) {}
 
+    @Probe(name="cacheCoalescedHitEvent")
+    public void cacheCoalescedHitEvent(
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {}
+
+    @Probe(name="cacheStaleHitEvent")
+    public void cacheStaleHitEvent(
+        @ProbeParam("appName") String appName,
+        @ProbeParam("hostName") String hostName) {}
+
+    @Probe(name="accessLogEntryDroppedEvent")
+    public void accessLogEntryDroppedEvent(
+        @ProbeParam("hostName") String hostName) {}
+
+    @Probe(name="accessLogOverflowWriteEvent")
+    public void accessLogOverflowWriteEvent(
+        @ProbeParam("hostName") String hostName) {}
+
 }
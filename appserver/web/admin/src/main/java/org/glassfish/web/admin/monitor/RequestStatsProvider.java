@@ -52,6 +52,10 @@ public class RequestStatsProvider {
         "Longest response time for a request; not a cumulative value, but the largest response time from among the response times";
     private static final String PROCESSING_TIME_DESCRIPTION =
         "Average request processing time";
+    private static final String COALESCED_CACHE_HITS_DESCRIPTION =
+        "Cumulative number of requests served with a cached response regenerated by another request";
+    private static final String STALE_CACHE_HITS_DESCRIPTION =
+        "Cumulative number of requests served with an expired cached response while it was regenerated";
 
     private CountStatisticImpl errorCount = new CountStatisticImpl("ErrorCount",
             StatisticImpl.UNIT_COUNT, ERROR_COUNT_DESCRIPTION);
@@ -61,6 +65,10 @@ public class RequestStatsProvider {
             StatisticImpl.UNIT_MILLISECOND, MAX_TIME_DESCRIPTION);
     private CountStatisticImpl processingTime = new CountStatisticImpl("ProcessingTime",
             StatisticImpl.UNIT_MILLISECOND, PROCESSING_TIME_DESCRIPTION);
+    private CountStatisticImpl coalescedCacheHits = new CountStatisticImpl("CoalescedCacheHits",
+            StatisticImpl.UNIT_COUNT, COALESCED_CACHE_HITS_DESCRIPTION);
+    private CountStatisticImpl staleCacheHits = new CountStatisticImpl("StaleCacheHits",
+            StatisticImpl.UNIT_COUNT, STALE_CACHE_HITS_DESCRIPTION);
 
     private TimeStatisticImpl requestProcessTime = new TimeStatisticImpl(0L, 0L, 0L, 0L,
             "", "", "", System.currentTimeMillis(), -1L);
@@ -120,6 +128,18 @@ public class RequestStatsProvider {
         return processingTime;
     }
 
+    @ManagedAttribute(id="coalescedcachehits")
+    @Description(COALESCED_CACHE_HITS_DESCRIPTION)
+    public CountStatistic getCoalescedCacheHits() {
+        return coalescedCacheHits;
+    }
+
+    @ManagedAttribute(id="stalecachehits")
+    @Description(STALE_CACHE_HITS_DESCRIPTION)
+    public CountStatistic getStaleCacheHits() {
+        return staleCacheHits;
+    }
+
     @ProbeListener("glassfish:web:http-service:requestStartEvent")
     public void requestStartEvent(
             @ProbeParam("appName") String appName,
@@ -230,6 +250,35 @@ public class RequestStatsProvider {
         }
     }
 
+    @ProbeListener("glassfish:web:http-service:cacheCoalescedHitEvent")
+    public void cacheCoalescedHitEvent(
+            @ProbeParam("appName") String appName,
+            @ProbeParam("hostName") String hostName) {
+        if (isMonitored(appName, hostName)) {
+            coalescedCacheHits.increment();
+        }
+    }
+
+    @ProbeListener("glassfish:web:http-service:cacheStaleHitEvent")
+    public void cacheStaleHitEvent(
+            @ProbeParam("appName") String appName,
+            @ProbeParam("hostName") String hostName) {
+        if (isMonitored(appName, hostName)) {
+            staleCacheHits.increment();
+        }
+    }
+
+    /**
+     * @return true if the event of the application on the virtual server
+     *         counts in this provider, either the one of the application
+     *         or the one of the whole web container
+     */
+    private boolean isMonitored(String appName, String hostName) {
+        if ((virtualServerName != null) && (moduleName != null)) {
+            return virtualServerName.equals(hostName) && moduleName.equals(appName);
+        }
+        return true;
+    }
 
     public long getProcessTime() {
         return requestProcessTime.getTotalTime()/requestProcessTime.getCount();
@@ -250,6 +299,8 @@ public class RequestStatsProvider {
         this.maxTime.reset();
         this.processingTime.reset();
         this.requestCount.reset();
+        this.coalescedCacheHits.reset();
+        this.staleCacheHits.reset();
     }
 
 }
@@ -21,6 +21,8 @@ import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.ResourceBundle;
 
 import org.apache.catalina.LogFacade;
@@ -140,6 +142,38 @@ public class CoyoteOutputStream
     }
 
 
+    /**
+     * Write the content of a buffer which never changes, without copying it.
+     *
+     * @see OutputBuffer#sendBuffer(ByteBuffer)
+     */
+    public void sendBuffer(ByteBuffer buffer)
+        throws IOException {
+        // Disallow operation if the object has gone out of scope
+        if (ob == null) {
+            throw new IllegalStateException(rb.getString(LogFacade.OBJECT_INVALID_SCOPE_EXCEPTION));
+        }
+
+        ob.sendBuffer(buffer);
+    }
+
+
+    /**
+     * Write a region of a file, without copying it through the heap.
+     *
+     * @see OutputBuffer#sendFile(Path, long, long)
+     */
+    public void sendFile(Path file, long position, long count)
+        throws IOException {
+        // Disallow operation if the object has gone out of scope
+        if (ob == null) {
+            throw new IllegalStateException(rb.getString(LogFacade.OBJECT_INVALID_SCOPE_EXCEPTION));
+        }
+
+        ob.sendFile(file, position, count);
+    }
+
+
     // -------------------------------------------- ServletOutputStream Methods
 
 
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.connector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-only mappings of file regions shared by the responses, so that a file served again and
+ * again is mapped once instead of once per response.
+ * <p>
+ * The files are split into regions of a fixed size, aligned on that size. A mapping is only
+ * reused while the size and the modification time of its file are unchanged. The least
+ * recently used mappings are released once the mapped regions exceed the maximal size;
+ * a released mapping is unmapped by the garbage collector once no response writes it anymore.
+ */
+final class MappedFileRegions {
+
+    private final long regionSize;
+    private final long maxMappedSize;
+    private final Map<RegionKey, MappedByteBuffer> regions = new LinkedHashMap<>(16, 0.75f, true);
+    private long mappedSize;
+
+    /**
+     * @param regionSize Size of the mapped regions, at most {@link Integer#MAX_VALUE}
+     * @param maxMappedSize Maximal size of the regions kept mapped
+     */
+    MappedFileRegions(long regionSize, long maxMappedSize) {
+        this.regionSize = regionSize;
+        this.maxMappedSize = maxMappedSize;
+    }
+
+    /**
+     * Return the content of the file from the given position to the end of its region.
+     *
+     * @param file The file
+     * @param attributes The current attributes of the file
+     * @param position Position in the file, lower than its size
+     * @return new buffer over the shared mapping, positioned at the given position
+     *
+     * @throws IOException if the file cannot be mapped
+     */
+    ByteBuffer getRegion(Path file, BasicFileAttributes attributes, long position) throws IOException {
+        long index = position / regionSize;
+        long start = index * regionSize;
+        RegionKey key = new RegionKey(file, attributes.size(), attributes.lastModifiedTime().toMillis(), index);
+        MappedByteBuffer region;
+        synchronized (this) {
+            region = regions.get(key);
+        }
+        if (region == null) {
+            // Mapped regions stay valid once the channel is closed
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                region = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, key.size() - start));
+            }
+            synchronized (this) {
+                MappedByteBuffer mapped = regions.putIfAbsent(key, region);
+                if (mapped == null) {
+                    mappedSize += region.capacity();
+                    release();
+                } else {
+                    region = mapped;
+                }
+            }
+        }
+        return region.duplicate().position((int) (position - start));
+    }
+
+    synchronized int size() {
+        return regions.size();
+    }
+
+    synchronized long getMappedSize() {
+        return mappedSize;
+    }
+
+    /**
+     * Release the least recently used mappings, keeping at least the last one.
+     */
+    private void release() {
+        Iterator<MappedByteBuffer> iterator = regions.values().iterator();
+        while (mappedSize > maxMappedSize && regions.size() > 1) {
+            mappedSize -= iterator.next().capacity();
+            iterator.remove();
+        }
+    }
+
+    private record RegionKey(Path file, long size, long lastModified, long index) {
+    }
+}
@@ -23,7 +23,11 @@ import jakarta.servlet.http.HttpServletRequest;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.channels.InterruptedByTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.logging.Level;
@@ -60,6 +64,18 @@ public class OutputBuffer extends Writer implements ByteChunk.ByteOutputChannel
     private static final String SET_COOKIE_HEADER = "Set-Cookie";
     public static final String DEFAULT_ENCODING = org.glassfish.grizzly.http.util.Constants.DEFAULT_HTTP_CHARACTER_ENCODING;
     public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Largest file region mapped at once by {@link #sendFile(Path, long, long)}.
+     */
+    static final long MAPPED_REGION_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Largest size of the file regions kept mapped between the calls of {@link #sendFile(Path, long, long)}.
+     */
+    static final long MAPPED_REGIONS_MAX_SIZE = 16 * MAPPED_REGION_SIZE;
+
+    private static final MappedFileRegions MAPPED_REGIONS = new MappedFileRegions(MAPPED_REGION_SIZE, MAPPED_REGIONS_MAX_SIZE);
     static final int debug = 0;
 
     // ----------------------------------------------------- Instance Variables
@@ -263,6 +279,81 @@ public class OutputBuffer extends Writer implements ByteChunk.ByteOutputChannel
         bytesWritten++;
     }
 
+    /**
+     * Write the content of a buffer to the response without copying it. The buffer may still be
+     * read once this method returns, so its content must never change: this is meant for
+     * immutable content, typically cached.
+     *
+     * @param buffer The buffer whose remaining bytes are written, it is not modified
+     *
+     * @throws IOException An underlying IOException occurred
+     */
+    public void sendBuffer(ByteBuffer buffer) throws IOException {
+        if (suspended)
+            return;
+
+        if (grizzlyOutputBuffer.isClosed())
+            return;
+
+        if (charsWritten > 0) {
+            // Chars still buffered by Grizzly would otherwise be sent after the buffer
+            grizzlyOutputBuffer.flush();
+        }
+        int len = buffer.remaining();
+        try {
+            grizzlyOutputBuffer.writeByteBuffer(buffer.duplicate());
+        } catch (IOException e) {
+            throw new ClientAbortException(e);
+        }
+        bytesWritten += len;
+    }
+
+    /**
+     * Write a region of a file to the response. The region is mapped in memory and handed to
+     * Grizzly as is, so the file content is never copied through the heap, whatever the listener:
+     * clear text or TLS, HTTP/1.1 or HTTP/2. The mappings are shared by the responses, so a file
+     * served again is not mapped again while it is unchanged.
+     * <p>
+     * The file must not be truncated while the region is written.
+     *
+     * @param file The file to write
+     * @param position Position of the first byte of the region in the file
+     * @param count Length of the region
+     *
+     * @throws IOException if the file cannot be read, or an underlying IOException occurred
+     */
+    public void sendFile(Path file, long position, long count) throws IOException {
+        if (suspended)
+            return;
+
+        if (grizzlyOutputBuffer.isClosed())
+            return;
+
+        if (log.isLoggable(FINE))
+            log.log(FINE, "sendFile(" + file + ", " + position + ", " + count + ")");
+
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long end = position + count;
+        if (position < 0 || count < 0 || end > attributes.size()) {
+            throw new IOException("Invalid region [" + position + ", " + end + "] of " + file
+                    + " of length " + attributes.size());
+        }
+        // Chars still buffered by Grizzly would otherwise be sent after the file
+        grizzlyOutputBuffer.flush();
+        while (position < end) {
+            ByteBuffer region = MAPPED_REGIONS.getRegion(file, attributes, position);
+            int length = (int) Math.min(end - position, region.remaining());
+            region.limit(region.position() + length);
+            try {
+                grizzlyOutputBuffer.writeByteBuffer(region);
+            } catch (IOException e) {
+                throw new ClientAbortException(e);
+            }
+            position += length;
+            bytesWritten += length;
+        }
+    }
+
     // ------------------------------------------------- Chars Handling Methods
 
     @Override
@@ -641,6 +641,11 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     protected int cacheTTL = 5000;
 
+    /**
+     * Where the cached resource contents are kept: heap, direct or mapped.
+     */
+    protected String cacheStorage = BaseDirContext.CACHE_STORAGE_HEAP;
+
     /**
      * Non proxied resources.
      */
@@ -898,6 +903,20 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         this.cacheMaxSize = cacheMaxSize;
     }
 
+    /**
+     * @return where the cached resource contents are kept.
+     */
+    public String getCacheStorage() {
+        return cacheStorage;
+    }
+
+    /**
+     * Set where the cached resource contents are kept: heap, direct or mapped.
+     */
+    public void setCacheStorage(String cacheStorage) {
+        this.cacheStorage = cacheStorage;
+    }
+
     /**
      * @return the "follow standard delegation model" flag used to configure our ClassLoader.
      */
@@ -1573,6 +1592,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             baseDirContext.setCached(isCachingAllowed());
             baseDirContext.setCacheTTL(getCacheTTL());
             baseDirContext.setCacheMaxSize(getCacheMaxSize());
+            baseDirContext.setCacheStorage(getCacheStorage());
         }
 
         if (resources instanceof FileDirContext) {
@@ -1604,6 +1624,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             ((BaseDirContext) resources).setCached(isCachingAllowed());
             ((BaseDirContext) resources).setCacheTTL(getCacheTTL());
             ((BaseDirContext) resources).setCacheMaxSize(getCacheMaxSize());
+            ((BaseDirContext) resources).setCacheStorage(getCacheStorage());
         }
 
         if (resources instanceof FileDirContext) {
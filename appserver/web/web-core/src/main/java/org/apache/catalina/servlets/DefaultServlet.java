@@ -46,6 +46,8 @@ import java.io.RandomAccessFile;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -73,6 +75,7 @@ import javax.xml.transform.stream.StreamSource;
 
 import org.apache.catalina.Globals;
 import org.apache.catalina.LogFacade;
+import org.apache.catalina.connector.CoyoteOutputStream;
 import org.apache.catalina.core.ContextsAdapterUtility;
 import org.apache.catalina.util.ServerInfo;
 import org.apache.catalina.util.URLEncoder;
@@ -225,6 +228,12 @@ public class DefaultServlet extends HttpServlet {
      */
     protected int sendfileSize = 48 * 1024;
 
+    /**
+     * Should large files be mapped and written without copying them through the heap? Off by default: a mapping keeps
+     * its file open until it is evicted, and truncating a mapped file crashes the JVM.
+     */
+    protected boolean mapFiles = false;
+
     /**
      * Should the Accept-Ranges: bytes header be send with static resources?
      */
@@ -315,6 +324,8 @@ public class DefaultServlet extends HttpServlet {
             sendfileSize = Integer.parseInt(sc.getInitParameter("sendfileSize")) * 1024;
         }
 
+        mapFiles = Boolean.parseBoolean(sc.getInitParameter("mapFiles"));
+
         if (sc.getInitParameter("maxHeaderRangeItems") != null) {
             maxHeaderRangeItems = Integer.parseInt(sc.getInitParameter("maxHeaderRangeItems"));
         }
@@ -1714,7 +1725,7 @@ public class DefaultServlet extends HttpServlet {
      * Check if sendfile can be used.
      */
     protected boolean checkSendfile(HttpServletRequest request, HttpServletResponse response, CacheEntry entry, long length, Range range) {
-        if ((sendfileSize > 0) && (entry.resource != null) && ((length > sendfileSize) || (entry.resource.getContent() == null))
+        if ((sendfileSize > 0) && (entry.resource != null) && ((length > sendfileSize) || (!entry.resource.isContentLoaded()))
                 && (entry.attributes.getCanonicalPath() != null)
                 && (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support")))
                 && (request.getClass().getName().equals("org.apache.catalina.connector.RequestFacade"))
@@ -1734,6 +1745,32 @@ public class DefaultServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Write a region of the resource straight from its file, without copying it through the heap,
+     * when {@link #mapFiles} is enabled, the region is at least {@link #sendfileSize} bytes long and
+     * the output stream is the container's own. This works on every listener, unlike
+     * {@link #checkSendfile}.
+     *
+     * @param cacheEntry The cache entry of the resource
+     * @param ostream The output stream to write to
+     * @param start Position of the first byte of the region
+     * @param length Length of the region
+     * @return true if the region has been written, false if it has to be copied
+     * @exception IOException if an input/output error occurs
+     */
+    protected boolean sendFile(CacheEntry cacheEntry, ServletOutputStream ostream, long start, long length) throws IOException {
+        if (!mapFiles || (sendfileSize <= 0) || (length < sendfileSize) || (cacheEntry.resource == null)
+                || !(ostream instanceof CoyoteOutputStream)) {
+            return false;
+        }
+        String canonicalPath = cacheEntry.attributes.getCanonicalPath();
+        if (canonicalPath == null) {
+            return false;
+        }
+        ((CoyoteOutputStream) ostream).sendFile(Path.of(canonicalPath), start, length);
+        return true;
+    }
+
     /**
      * Check if the if-match condition is satisfied.
      *
@@ -1904,6 +1941,10 @@ public class DefaultServlet extends HttpServlet {
         IOException exception = null;
         InputStream resourceInputStream = null;
 
+        if (cacheEntry.resource != null && sendFile(cacheEntry, ostream, 0, cacheEntry.attributes.getContentLength())) {
+            return;
+        }
+
         // Optimization: If the binary content has already been loaded, send
         // it directly
         if (cacheEntry.resource != null) {
@@ -1912,6 +1953,16 @@ public class DefaultServlet extends HttpServlet {
                 ostream.write(buffer, 0, buffer.length);
                 return;
             }
+            ByteBuffer content = cacheEntry.resource.getContentBuffer();
+            if (content != null) {
+                byte[] chunk = new byte[Math.min(content.remaining(), output)];
+                while (content.hasRemaining()) {
+                    int n = Math.min(chunk.length, content.remaining());
+                    content.get(chunk, 0, n);
+                    ostream.write(chunk, 0, n);
+                }
+                return;
+            }
             resourceInputStream = cacheEntry.resource.streamContent();
         } else {
             resourceInputStream = is;
@@ -1986,6 +2037,10 @@ public class DefaultServlet extends HttpServlet {
      */
     protected void copy(CacheEntry cacheEntry, ServletOutputStream ostream, Range range) throws IOException {
 
+        if (sendFile(cacheEntry, ostream, range.start, range.end - range.start + 1)) {
+            return;
+        }
+
         IOException exception = null;
 
         InputStream resourceInputStream = cacheEntry.resource.streamContent();
@@ -2054,25 +2109,27 @@ public class DefaultServlet extends HttpServlet {
 
         while ((exception == null) && (ranges.hasNext())) {
 
+            Range currentRange = ranges.next();
+
+            // Writing MIME header.
+            ostream.println();
+            ostream.println("--" + mimeSeparation);
+            if (contentType != null) {
+                ostream.println("Content-Type: " + contentType);
+            }
+            ostream.println("Content-Range: bytes " + currentRange.start + "-" + currentRange.end + "/" + currentRange.length);
+            ostream.println();
+
+            // Printing content
+            if (sendFile(cacheEntry, ostream, currentRange.start, currentRange.end - currentRange.start + 1)) {
+                continue;
+            }
+
             InputStream resourceInputStream = cacheEntry.resource.streamContent();
             InputStream istream = null;
             try {
                 istream = new BufferedInputStream(resourceInputStream, input);
-
-                Range currentRange = ranges.next();
-
-                // Writing MIME header.
-                ostream.println();
-                ostream.println("--" + mimeSeparation);
-                if (contentType != null) {
-                    ostream.println("Content-Type: " + contentType);
-                }
-                ostream.println("Content-Range: bytes " + currentRange.start + "-" + currentRange.end + "/" + currentRange.length);
-                ostream.println();
-
-                // Printing content
                 exception = copyRange(istream, ostream, currentRange.start, currentRange.end);
-
             } finally {
                 if (istream != null) {
                     istream.close();
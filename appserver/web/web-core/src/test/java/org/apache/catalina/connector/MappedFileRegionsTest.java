@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.connector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class MappedFileRegionsTest {
+
+    private static final int REGION_SIZE = 1024;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void regionsAreMappedOnce() throws Exception {
+        Path file = createFile("static.bin", 3 * REGION_SIZE - 10);
+        MappedFileRegions regions = new MappedFileRegions(REGION_SIZE, 10 * REGION_SIZE);
+
+        for (int i = 0; i < 3; i++) {
+            ByteBuffer region = regions.getRegion(file, attributes(file), REGION_SIZE + 5);
+            assertThat(region.remaining(), equalTo(REGION_SIZE - 5));
+            assertThat(region.get(), equalTo(contentAt(REGION_SIZE + 5)));
+        }
+        // the last region ends with the file
+        assertThat(regions.getRegion(file, attributes(file), 2 * REGION_SIZE).remaining(), equalTo(REGION_SIZE - 10));
+
+        assertThat(regions.size(), equalTo(2));
+        assertThat(regions.getMappedSize(), equalTo(2L * REGION_SIZE - 10));
+    }
+
+
+    @Test
+    public void modifiedFileIsMappedAgain() throws Exception {
+        Path file = createFile("static.bin", REGION_SIZE);
+        MappedFileRegions regions = new MappedFileRegions(REGION_SIZE, 10 * REGION_SIZE);
+        regions.getRegion(file, attributes(file), 0);
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() - 10_000L));
+        regions.getRegion(file, attributes(file), 0);
+
+        assertThat(regions.size(), equalTo(2));
+    }
+
+
+    @Test
+    public void leastRecentlyUsedRegionsAreReleased() throws Exception {
+        Path first = createFile("first.bin", REGION_SIZE + 100);
+        Path second = createFile("second.bin", REGION_SIZE + 100);
+        MappedFileRegions regions = new MappedFileRegions(REGION_SIZE, 2 * REGION_SIZE + 100);
+
+        regions.getRegion(first, attributes(first), 0);
+        regions.getRegion(first, attributes(first), REGION_SIZE);
+        regions.getRegion(second, attributes(second), 0);
+        // the first region of the first file is used again, so its last region is released
+        regions.getRegion(first, attributes(first), 0);
+        regions.getRegion(second, attributes(second), REGION_SIZE);
+
+        assertThat(regions.size(), equalTo(3));
+        assertThat(regions.getMappedSize(), equalTo(2L * REGION_SIZE + 100));
+    }
+
+
+    private Path createFile(String name, int size) throws IOException {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = contentAt(i);
+        }
+        return Files.write(directory.resolve(name), content);
+    }
+
+
+    private static byte contentAt(int position) {
+        return (byte) (position * 31);
+    }
+
+
+    private static BasicFileAttributes attributes(Path file) throws IOException {
+        return Files.readAttributes(file, BasicFileAttributes.class);
+    }
+}
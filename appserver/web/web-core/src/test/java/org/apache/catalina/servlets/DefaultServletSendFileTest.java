@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.servlets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.apache.catalina.connector.OutputBuffer;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.servlets.DefaultServlet.Range;
+import org.apache.naming.resources.CacheEntry;
+import org.apache.naming.resources.Resource;
+import org.apache.naming.resources.ResourceAttributes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.easymock.EasyMock.anyInt;
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.anyString;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.getCurrentArgument;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Checks that the ranges written from the mapped file regions match the ranges copied through
+ * the heap.
+ */
+public class DefaultServletSendFileTest {
+
+    private static final int REGION_SIZE = 4 * 1024 * 1024;
+    private static final int FILE_SIZE = 2 * REGION_SIZE + 1000;
+    private static final String CONTENT_TYPE = "application/octet-stream";
+
+    @TempDir
+    private Path directory;
+
+    private byte[] content;
+    private CacheEntry cacheEntry;
+    private final DefaultServlet servlet = new DefaultServlet();
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final AtomicInteger bufferWrites = new AtomicInteger();
+
+    @BeforeEach
+    public void createFile() throws IOException {
+        servlet.mapFiles = true;
+        content = new byte[FILE_SIZE];
+        new Random(42).nextBytes(content);
+        Path file = Files.write(directory.resolve("static.bin"), content);
+
+        cacheEntry = new CacheEntry();
+        cacheEntry.attributes = new ResourceAttributes() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String getCanonicalPath() {
+                return file.toString();
+            }
+        };
+        cacheEntry.attributes.setContentLength(FILE_SIZE);
+        cacheEntry.resource = new Resource() {
+
+            @Override
+            public InputStream streamContent() throws IOException {
+                return Files.newInputStream(file);
+            }
+        };
+    }
+
+
+    @Test
+    public void fullContent() throws Exception {
+        servlet.copy(cacheEntry, null, createOutputStream());
+
+        assertThat(bufferWrites.get(), greaterThan(0));
+        assertThat(body.toByteArray(), equalTo(content));
+    }
+
+
+    @Test
+    public void filesAreNotMappedByDefault() throws Exception {
+        new DefaultServlet().copy(cacheEntry, null, createOutputStream());
+
+        assertThat(bufferWrites.get(), equalTo(0));
+        assertThat(body.toByteArray(), equalTo(content));
+    }
+
+
+    @Test
+    public void rangeAcrossRegions() throws Exception {
+        Range range = range(REGION_SIZE - 100, 2 * REGION_SIZE + 100);
+        servlet.copy(cacheEntry, createOutputStream(), range);
+
+        assertThat(bufferWrites.get(), greaterThan(0));
+        assertThat(body.toByteArray(), equalTo(Arrays.copyOfRange(content, (int) range.start, (int) range.end + 1)));
+    }
+
+
+    @Test
+    public void multipartRanges() throws Exception {
+        List<Range> ranges = List.of(range(0, 99_999), range(REGION_SIZE - 60_000, REGION_SIZE + 60_000),
+            range(FILE_SIZE - 50_000, FILE_SIZE - 1));
+        servlet.copy(cacheEntry, createOutputStream(), ranges.iterator(), CONTENT_TYPE);
+        byte[] sent = body.toByteArray();
+        assertThat(bufferWrites.get(), greaterThan(0));
+
+        body.reset();
+        bufferWrites.set(0);
+        servlet.sendfileSize = -1;
+        servlet.copy(cacheEntry, createOutputStream(), ranges.iterator(), CONTENT_TYPE);
+        byte[] copied = body.toByteArray();
+        assertThat(bufferWrites.get(), equalTo(0));
+
+        assertThat(sent, equalTo(copied));
+        String header = "\r\n--" + DefaultServlet.mimeSeparation + "\r\nContent-Type: " + CONTENT_TYPE
+            + "\r\nContent-Range: bytes 0-99999/" + FILE_SIZE + "\r\n\r\n";
+        assertThat(new String(sent, 0, header.length(), StandardCharsets.ISO_8859_1), equalTo(header));
+        assertThat(Arrays.copyOfRange(sent, header.length(), header.length() + 100_000),
+            equalTo(Arrays.copyOf(content, 100_000)));
+    }
+
+
+    private static Range range(long start, long end) {
+        Range range = new Range();
+        range.start = start;
+        range.end = end;
+        range.length = FILE_SIZE;
+        return range;
+    }
+
+
+    /**
+     * @return the container's output stream, writing everything Grizzly is given to {@link #body}
+     */
+    private CoyoteOutputStream createOutputStream() throws IOException {
+        org.glassfish.grizzly.http.io.OutputBuffer grizzlyOutputBuffer = createNiceMock(
+            org.glassfish.grizzly.http.io.OutputBuffer.class);
+        grizzlyOutputBuffer.write(anyObject(byte[].class), anyInt(), anyInt());
+        expectLastCall().andAnswer(() -> {
+            body.write((byte[]) getCurrentArgument(0), (int) getCurrentArgument(1), (int) getCurrentArgument(2));
+            return null;
+        }).anyTimes();
+        grizzlyOutputBuffer.write(anyString());
+        expectLastCall().andAnswer(() -> {
+            body.writeBytes(((String) getCurrentArgument(0)).getBytes(StandardCharsets.ISO_8859_1));
+            return null;
+        }).anyTimes();
+        grizzlyOutputBuffer.writeByteBuffer(anyObject(ByteBuffer.class));
+        expectLastCall().andAnswer(() -> {
+            ByteBuffer buffer = getCurrentArgument(0);
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            body.writeBytes(bytes);
+            bufferWrites.incrementAndGet();
+            return null;
+        }).anyTimes();
+
+        org.glassfish.grizzly.http.server.Response grizzlyResponse = createNiceMock(
+            org.glassfish.grizzly.http.server.Response.class);
+        expect(grizzlyResponse.getOutputBuffer()).andReturn(grizzlyOutputBuffer).anyTimes();
+        Response response = createNiceMock(Response.class);
+        expect(response.getCoyoteResponse()).andReturn(grizzlyResponse).anyTimes();
+        replay(grizzlyOutputBuffer, grizzlyResponse, response);
+
+        OutputBuffer outputBuffer = new OutputBuffer();
+        outputBuffer.setCoyoteResponse(response);
+        return new CoyoteOutputStream(outputBuffer);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.servlets;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.System.Logger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Measures the throughput of writing a static file to a pipe, either copied through the heap with
+ * the {@link DefaultServlet} default buffer sizes, or written as mapped regions of the file as
+ * {@link org.apache.catalina.connector.OutputBuffer#sendFile} does.
+ * Runs only with the benchmark profile.
+ */
+@EnabledIfSystemProperty(named = "test.benchmarks", matches = "true")
+public class SendFileBenchmarkTest {
+
+    private static final Logger LOG = System.getLogger(SendFileBenchmarkTest.class.getName());
+
+    private static final int FILE_SIZE = 8 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 2048;
+    private static final long MAPPED_REGION_SIZE = 4 * 1024 * 1024;
+
+    @Test
+    public void copyAndSendFile() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .forks(1).threads(1).shouldFailOnError(true)
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).measurementTime(TimeValue.milliseconds(500L))
+            .timeout(TimeValue.seconds(10L))
+            .mode(Mode.Throughput).timeUnit(TimeUnit.SECONDS)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        for (RunResult result : results) {
+            double score = result.getPrimaryResult().getScore();
+            LOG.log(INFO, "{0}: {1} MB/s", result.getParams().getBenchmark(), score * FILE_SIZE / (1024 * 1024));
+            assertThat(score, greaterThan(0d));
+        }
+    }
+
+
+    @Benchmark
+    public long copy(FileState state) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long count = 0;
+        try (InputStream istream = new BufferedInputStream(Files.newInputStream(state.file), BUFFER_SIZE)) {
+            int len;
+            while ((len = istream.read(buffer)) >= 0) {
+                count += writeFully(state.sink, ByteBuffer.wrap(buffer, 0, len));
+            }
+        }
+        return count;
+    }
+
+
+    @Benchmark
+    public long sendFile(FileState state) throws IOException {
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(state.file, StandardOpenOption.READ)) {
+            long end = channel.size();
+            for (long position = 0; position < end; position += MAPPED_REGION_SIZE) {
+                long length = Math.min(end - position, MAPPED_REGION_SIZE);
+                count += writeFully(state.sink, channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+            }
+        }
+        return count;
+    }
+
+
+    private static long writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        long count = 0;
+        while (buffer.hasRemaining()) {
+            count += channel.write(buffer);
+        }
+        return count;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class FileState {
+
+        Path file;
+        Pipe pipe;
+        WritableByteChannel sink;
+        Thread drain;
+
+        @Setup(Level.Trial)
+        public void createFile() throws IOException {
+            file = Files.createTempFile("sendfile", ".bin");
+            byte[] content = new byte[FILE_SIZE];
+            ThreadLocalRandom.current().nextBytes(content);
+            Files.write(file, content);
+
+            pipe = Pipe.open();
+            sink = pipe.sink();
+            drain = new Thread(() -> {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+                try {
+                    while (pipe.source().read(buffer) >= 0) {
+                        buffer.clear();
+                    }
+                } catch (IOException e) {
+                    // The pipe is closed
+                }
+            }, "sendfile-drain");
+            drain.setDaemon(true);
+            drain.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteFile() throws Exception {
+            sink.close();
+            drain.join(10_000L);
+            pipe.source().close();
+            Files.deleteIfExists(file);
+        }
+    }
+}
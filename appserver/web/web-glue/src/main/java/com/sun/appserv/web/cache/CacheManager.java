@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.ResourceBundle;
@@ -35,6 +36,7 @@ import java.util.logging.Logger;
 
 import org.apache.catalina.LifecycleException;
 import org.glassfish.web.LogFacade;
+import org.glassfish.web.admin.monitor.RequestProbeProvider;
 
 public class CacheManager {
 
@@ -48,6 +50,30 @@ public class CacheManager {
     public static final String DEFAULT_CACHE_CLASSNAME =
         "com.sun.appserv.util.cache.LruCache";
 
+    /**
+     * cache class used by default when the responses are cached off-heap:
+     * bounded by the MaxSize property in bytes as well as by entries
+     */
+    public static final String DIRECT_CACHE_CLASSNAME =
+        "com.sun.appserv.util.cache.ConcurrentCache";
+
+    // the cached response bodies are kept in byte arrays
+    public static final String CACHE_STORAGE_HEAP = "heap";
+
+    // the cached response bodies are kept in direct buffers
+    public static final String CACHE_STORAGE_DIRECT = "direct";
+
+    /**
+     * properties controlling how expired entries are regenerated; a
+     * property applies to all the mappings, unless overridden for a mapping
+     * by a property named after it, e.g. singleFlight:/catalog/*
+     */
+    public static final String SINGLE_FLIGHT_PROPERTY = "singleFlight";
+    public static final String STALE_WHILE_REVALIDATE_PROPERTY =
+        "staleWhileRevalidateInSeconds";
+    public static final String REFRESH_TIMEOUT_PROPERTY =
+        "refreshTimeoutInSeconds";
+
     private static final Logger _logger = LogFacade.getLogger();
 
     /**
@@ -59,12 +85,22 @@ public class CacheManager {
     int maxEntries = DEFAULT_CACHE_MAX_ENTRIES;
     int defaultTimeout = DEFAULT_CACHE_TIMEOUT;
     String cacheClassName = DEFAULT_CACHE_CLASSNAME;
+    boolean cacheClassNameSet = false;
+    String cacheStorage = CACHE_STORAGE_HEAP;
+
+    // refresh properties, by name with the optional mapping suffix
+    HashMap<String, String> refreshProps = new HashMap<String, String>();
 
     boolean enabled = false;
 
     // application servlet context
     ServletContext context;
 
+    // fires the cache events to the monitoring of the application
+    RequestProbeProvider requestProbeProvider;
+    String appName;
+    String hostName;
+
     // XXX: potentially zero or more caches?
     Properties cacheProps;
     Cache defaultCache;
@@ -133,6 +169,18 @@ public class CacheManager {
     public void addProperty(String name, String value) {
         if (name.equalsIgnoreCase("cacheClassName")) {
            cacheClassName = value;
+           cacheClassNameSet = true;
+        } else if (name.equalsIgnoreCase("cacheStorage")) {
+            if (!CACHE_STORAGE_HEAP.equalsIgnoreCase(value)
+                    && !CACHE_STORAGE_DIRECT.equalsIgnoreCase(value)) {
+                throw new IllegalArgumentException(
+                    "cacheStorage must be heap or direct: " + value);
+            }
+            cacheStorage = value.toLowerCase(Locale.ENGLISH);
+        } else if (name.startsWith(SINGLE_FLIGHT_PROPERTY)
+                || name.startsWith(STALE_WHILE_REVALIDATE_PROPERTY)
+                || name.startsWith(REFRESH_TIMEOUT_PROPERTY)) {
+            refreshProps.put(name, value);
         } else {
             if (cacheProps == null) {
                 cacheProps = new Properties();
@@ -166,6 +214,19 @@ public class CacheManager {
         this.context = context;
     }
 
+    /**
+     * set where the cache events of this application are reported
+     * @param requestProbeProvider provider of the request probes, or null
+     * @param appName monitoring name of the application
+     * @param hostName name of the virtual server
+     */
+    public void setRequestProbeProvider(RequestProbeProvider requestProbeProvider,
+                                        String appName, String hostName) {
+        this.requestProbeProvider = requestProbeProvider;
+        this.appName = appName;
+        this.hostName = hostName;
+    }
+
     /**
      * load the helper class
      * @param className of the helper
@@ -193,6 +254,11 @@ public class CacheManager {
         if (!enabled)
             return;
 
+        // off-heap responses are bounded in bytes unless told otherwise
+        if (isDirectStorage() && !cacheClassNameSet) {
+            cacheClassName = DIRECT_CACHE_CLASSNAME;
+        }
+
         // create the default cache
         try {
             defaultCache = createCache(maxEntries, cacheClassName);
@@ -231,6 +297,7 @@ public class CacheManager {
         while(filterNames.hasNext()) {
             String name = filterNames.next();
             CacheMapping mapping = cacheMappings.get(name);
+            configureRefresh(mapping);
 
             String helperNameRef = mapping.getHelperNameRef();
             CacheHelper helper;
@@ -243,6 +310,61 @@ public class CacheManager {
         }
     }
 
+    /**
+     * configure how the expired entries of a mapping are regenerated
+     * @param mapping cache mapping
+     * @throws LifecycleException if a property value is invalid
+     */
+    private void configureRefresh(CacheMapping mapping)
+        throws LifecycleException {
+        String value = getRefreshProperty(SINGLE_FLIGHT_PROPERTY, mapping);
+        if (value != null) {
+            mapping.setSingleFlight(Boolean.parseBoolean(value.trim()));
+        }
+
+        value = getRefreshProperty(STALE_WHILE_REVALIDATE_PROPERTY, mapping);
+        if (value != null) {
+            mapping.setStaleWhileRevalidate(
+                parseRefreshProperty(STALE_WHILE_REVALIDATE_PROPERTY, value));
+        }
+
+        value = getRefreshProperty(REFRESH_TIMEOUT_PROPERTY, mapping);
+        if (value != null) {
+            mapping.setRefreshTimeout(
+                parseRefreshProperty(REFRESH_TIMEOUT_PROPERTY, value));
+        }
+    }
+
+    private static int parseRefreshProperty(String name, String value)
+        throws LifecycleException {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new LifecycleException("invalid " + name + ": " + value, e);
+        }
+    }
+
+    /**
+     * get a refresh property for a mapping
+     * @param name property name
+     * @param mapping cache mapping
+     * @return the value for the servlet-name or url-pattern of the mapping,
+     *         else the value for all the mappings, else null
+     */
+    private String getRefreshProperty(String name, CacheMapping mapping) {
+        String value = null;
+        if (mapping.getServletName() != null) {
+            value = refreshProps.get(name + ":" + mapping.getServletName());
+        }
+        if (value == null && mapping.getURLPattern() != null) {
+            value = refreshProps.get(name + ":" + mapping.getURLPattern());
+        }
+        if (value == null) {
+            value = refreshProps.get(name);
+        }
+        return value;
+    }
+
     /**
      * get the underlying cache name
      * @return the cacheClassName
@@ -251,6 +373,21 @@ public class CacheManager {
         return cacheClassName;
     }
 
+    /**
+     * get where the cached response bodies are kept
+     * @return heap or direct
+     */
+    public String getCacheStorage() {
+        return cacheStorage;
+    }
+
+    /**
+     * @return whether the cached response bodies are kept off-heap
+     */
+    public boolean isDirectStorage() {
+        return CACHE_STORAGE_DIRECT.equals(cacheStorage);
+    }
+
     /**
      * create the designated cache object
      * @return the Cache implementation
@@ -295,6 +432,24 @@ public class CacheManager {
         return defaultCache;
     }
 
+    /**
+     * a request was served with an entry regenerated by another request
+     */
+    public void coalescedHit() {
+        if (requestProbeProvider != null) {
+            requestProbeProvider.cacheCoalescedHitEvent(appName, hostName);
+        }
+    }
+
+    /**
+     * a request was served with an expired entry
+     */
+    public void staleHit() {
+        if (requestProbeProvider != null) {
+            requestProbeProvider.cacheStaleHitEvent(appName, hostName);
+        }
+    }
+
     /**
      * add cache mapping
      * @param name unique name of the mapping
@@ -22,6 +22,7 @@ import com.sun.appserv.web.cache.CacheHelper;
 import com.sun.appserv.web.cache.CacheManager;
 import com.sun.appserv.web.cache.CacheManagerListener;
 import com.sun.appserv.web.cache.DefaultCacheHelper;
+import com.sun.appserv.web.cache.mapping.CacheMapping;
 
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
@@ -35,12 +36,17 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.catalina.connector.CoyoteOutputStream;
 import org.glassfish.web.LogFacade;
 
 public class CachingFilter implements Filter, CacheManagerListener {
@@ -58,8 +64,25 @@ public class CachingFilter implements Filter, CacheManagerListener {
     CacheHelper helper;
     Cache cache;
 
+    // mapping of this filter and whether it regenerates entries in single flight
+    CacheMapping mapping;
+    boolean singleFlight = false;
+
+    // requests regenerating an entry in single flight mode, by key
+    private final ConcurrentHashMap<String, Flight> flights =
+        new ConcurrentHashMap<String, Flight>();
+
+    // pool of the capture buffers, when the responses are cached off-heap
+    DirectBufferPool bufferPool;
+
     boolean isEnabled = false;
 
+    // free capture buffers kept by a filter, 1MB with 16KB buffers
+    private static final int MAX_POOLED_BUFFERS = 64;
+
+    // size of the heap chunks used to copy an off-heap body to a wrapped stream
+    private static final int COPY_CHUNK_SIZE = 8 * 1024;
+
     private static final Logger _logger = LogFacade.getLogger();
 
     /**
@@ -83,6 +106,11 @@ public class CachingFilter implements Filter, CacheManagerListener {
         if (manager != null && manager.isEnabled()) {
             this.cache = manager.getDefaultCache();
             this.helper = manager.getCacheHelperByFilterName(filterName);
+            this.mapping = manager.getCacheMapping(filterName);
+            singleFlight = (mapping != null && mapping.isSingleFlight());
+            if (manager.isDirectStorage()) {
+                bufferPool = new DirectBufferPool(MAX_POOLED_BUFFERS);
+            }
 
             // add filter as a listener so caching can be disabled at runtime.
             manager.addCacheManagerListener(this);
@@ -112,6 +140,11 @@ public class CachingFilter implements Filter, CacheManagerListener {
      * - Check if we have a response entry in the cache already.
      * - If there is entry and is valid, write out the response from that
      *   entry.
+     * - In single flight mode, only one request regenerates an expired
+     *   entry; the others wait for it, or are served the expired entry
+     *   for up to staleWhileRevalidate seconds. The waiting requests call
+     *   the servlet themselves if the entry is not cached after
+     *   refreshTimeout seconds or when the regenerating request fails.
      * - create a CachingResponse and CachingOutputStream wrappers and call
      *   the downstream filter
      */
@@ -149,8 +182,45 @@ public class CachingFilter implements Filter, CacheManagerListener {
             HttpCacheEntry entry = null;
             boolean entryReady = false, waitForRefresh = true;
 
+            // the request regenerating the entry in single flight mode
+            Flight flight = null;
+
             // if refresh is not needed then check the cache first
-            if (!helper.isRefreshNeeded(request)) {
+            boolean refreshNeeded = helper.isRefreshNeeded(request);
+            if (!refreshNeeded && singleFlight) {
+                entry = (HttpCacheEntry) cache.get(key);
+                if (entry != null && entry.isValid()) {
+                    entryReady = true;
+                } else if (!getProcessingSet(request).contains(key)) {
+                    // not a dispatch within the request regenerating the entry
+                    Flight newFlight = new Flight();
+                    Flight leader = flights.putIfAbsent(key, newFlight);
+                    if (leader == null) {
+                        // the previous leader may have just put the entry
+                        entry = (HttpCacheEntry) cache.get(key);
+                        if (entry != null && entry.isValid()) {
+                            flights.remove(key, newFlight);
+                            newFlight.land();
+                            entryReady = true;
+                        } else {
+                            flight = newFlight;
+                            getProcessingSet(request).add(key);
+                        }
+                    } else if (entry != null &&
+                            entry.isStaleUsable(mapping.getStaleWhileRevalidate())) {
+                        manager.staleHit();
+                        entryReady = true;
+                    } else if (leader.await(mapping.getRefreshTimeout() * 1000L)) {
+                        // if the leader failed to cache the response, all its
+                        // waiters call the servlet, as they do when it is slow
+                        entry = (HttpCacheEntry) cache.get(key);
+                        if (entry != null && entry.isValid()) {
+                            manager.coalescedHit();
+                            entryReady = true;
+                        }
+                    }
+                }
+            } else if (!refreshNeeded) {
                 do {
                     // lookup cache
                     entry = (HttpCacheEntry) cache.get(key);
@@ -197,7 +267,11 @@ public class CachingFilter implements Filter, CacheManagerListener {
 
                 try {
                     // setup the response wrapper (and the output stream)
-                    wrapper = new CachingResponseWrapper(response);
+                    if (bufferPool != null) {
+                        wrapper = new CachingResponseWrapper(response, bufferPool);
+                    } else {
+                        wrapper = new CachingResponseWrapper(response);
+                    }
 
                     // call the target resource
                     chain.doFilter(srequest, (ServletResponse)wrapper);
@@ -231,7 +305,13 @@ public class CachingFilter implements Filter, CacheManagerListener {
 
                         cache.put(key, entry, entry.getSize());
 
-                        cache.notifyRefresh(index);
+                        if (!singleFlight) {
+                            cache.notifyRefresh(index);
+                        } else if (flight != null) {
+                            flights.remove(key, flight);
+                            flight.land();
+                            flight = null;
+                        }
                         needNotify = false;
 
                         // transmit the response body content
@@ -245,10 +325,16 @@ public class CachingFilter implements Filter, CacheManagerListener {
                     }
                 } finally {
                     // IT 12891
-                    if (needNotify) {
+                    if (needNotify && !singleFlight) {
                         cache.notifyRefresh(index);
                     }
 
+                    // release the requests waiting for an entry not cached
+                    if (flight != null) {
+                        flights.remove(key, flight);
+                        flight.land();
+                    }
+
                     // clear the wrapper (XXX: cache these??)
                     if (wrapper != null) {
                         wrapper.clear();
@@ -336,7 +422,9 @@ public class CachingFilter implements Filter, CacheManagerListener {
     }
 
     /**
-     * called by doFilter/sendCachedResponse to write the body content
+     * called by doFilter/sendCachedResponse to write the body content.
+     * An off-heap body is handed to the container's own output stream as is;
+     * it is copied through a small heap chunk only for a wrapped stream.
      * @param entry cached response entry
      * @param response response object to write out the response
      * @throws IOException and ServletException.
@@ -345,7 +433,20 @@ public class CachingFilter implements Filter, CacheManagerListener {
                            HttpServletResponse response)
                            throws IOException {
         ServletOutputStream out = response.getOutputStream();
-        out.write(entry.bytes);
+        if (entry.content == null) {
+            out.write(entry.bytes);
+        } else if (out instanceof CoyoteOutputStream) {
+            ((CoyoteOutputStream) out).sendBuffer(entry.content);
+        } else {
+            // the entry is shared, so read it through a private view
+            ByteBuffer content = entry.content.duplicate();
+            byte[] chunk = new byte[Math.min(COPY_CHUNK_SIZE, content.remaining())];
+            while (content.hasRemaining()) {
+                int n = Math.min(chunk.length, content.remaining());
+                content.get(chunk, 0, n);
+                out.write(chunk, 0, n);
+            }
+        }
     }
 
     /**
@@ -353,6 +454,17 @@ public class CachingFilter implements Filter, CacheManagerListener {
      * See IT 17377.
      */
     private boolean waitForRefresh(HttpServletRequest req, String key, int index) {
+        if (getProcessingSet(req).add(key)) {
+            return cache.waitRefresh(index);
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * get the keys of the entries being generated by this request
+     */
+    private HashSet<String> getProcessingSet(HttpServletRequest req) {
         Object obj = req.getAttribute(PROCESSING_SET);
         HashSet<String> processingSet = null;
         if (obj == null) {
@@ -365,11 +477,36 @@ public class CachingFilter implements Filter, CacheManagerListener {
         } else {
             throw new IllegalStateException();
         }
+        return processingSet;
+    }
 
-        if (processingSet.add(key)) {
-            return cache.waitRefresh(index);
-        } else {
-            return false;
+    /**
+     * a request regenerating an entry in single flight mode; the other
+     * requests for the same key wait until it lands
+     */
+    static final class Flight {
+        private final CountDownLatch landed = new CountDownLatch(1);
+
+        /**
+         * release the waiting requests, whether the entry was cached or not
+         */
+        void land() {
+            landed.countDown();
+        }
+
+        /**
+         * wait for the entry to be regenerated
+         * @param timeout maximum milliseconds to wait
+         * @return false if the timeout elapsed or the thread was interrupted
+         *         before the flight landed
+         */
+        boolean await(long timeout) {
+            try {
+                return landed.await(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
         }
     }
 
@@ -21,18 +21,36 @@ import jakarta.servlet.WriteListener;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 
 /**
- * an output stream wrapper to cache response bytes
+ * an output stream wrapper to cache response bytes, either on the heap or
+ * in pooled direct buffers
  */
 public class CachingOutputStreamWrapper extends ServletOutputStream {
 
     ByteArrayOutputStream baos;
 
+    // off-heap capture
+    DirectBufferPool pool;
+    ArrayList<ByteBuffer> buffers;
+    ByteBuffer current;
+    int length;
+
     public CachingOutputStreamWrapper() {
         this.baos = new ByteArrayOutputStream(4096);
     }
 
+    /**
+     * capture the response bytes in direct buffers of the given pool
+     * @param pool pool of direct buffers
+     */
+    CachingOutputStreamWrapper(DirectBufferPool pool) {
+        this.pool = pool;
+        this.buffers = new ArrayList<ByteBuffer>();
+    }
+
     /**
      * Write the specified byte to our output stream.
      *
@@ -42,7 +60,12 @@ public class CachingOutputStreamWrapper extends ServletOutputStream {
      */
     @Override
     public void write(int b) throws IOException {
-        baos.write(b);
+        if (pool == null) {
+            baos.write(b);
+            return;
+        }
+        nextBuffer().put((byte) b);
+        length++;
     }
 
     /**
@@ -55,7 +78,7 @@ public class CachingOutputStreamWrapper extends ServletOutputStream {
      */
     @Override
     public void write(byte b[]) throws IOException {
-        baos.write(b, 0, b.length);
+        write(b, 0, b.length);
     }
 
     /**
@@ -70,7 +93,29 @@ public class CachingOutputStreamWrapper extends ServletOutputStream {
      */
     @Override
     public void write(byte b[], int off, int len) throws IOException {
-        baos.write(b, off, len);
+        if (pool == null) {
+            baos.write(b, off, len);
+            return;
+        }
+        while (len > 0) {
+            ByteBuffer buffer = nextBuffer();
+            int n = Math.min(len, buffer.remaining());
+            buffer.put(b, off, n);
+            off += n;
+            len -= n;
+            length += n;
+        }
+    }
+
+    /**
+     * @return the buffer being filled, with some room left
+     */
+    private ByteBuffer nextBuffer() {
+        if (current == null || !current.hasRemaining()) {
+            current = pool.acquire();
+            buffers.add(current);
+        }
+        return current;
     }
 
     /**                                                                    `
@@ -109,6 +154,48 @@ public class CachingOutputStreamWrapper extends ServletOutputStream {
      * return the cached bytes
      */
     public byte[] getBytes() {
-        return baos.toByteArray();
+        if (pool == null) {
+            return baos.toByteArray();
+        }
+        byte[] bytes = new byte[length];
+        int off = 0;
+        for (ByteBuffer buffer : buffers) {
+            ByteBuffer content = buffer.duplicate().flip();
+            int n = content.remaining();
+            content.get(bytes, off, n);
+            off += n;
+        }
+        return bytes;
+    }
+
+    /**
+     * copy the captured bytes into a direct buffer of their exact size and
+     * give the capture buffers back to the pool
+     * @return read-only direct buffer with the cached bytes
+     */
+    ByteBuffer getContent() {
+        ByteBuffer content = ByteBuffer.allocateDirect(length);
+        for (ByteBuffer buffer : buffers) {
+            buffer.flip();
+            content.put(buffer);
+        }
+        release();
+        content.flip();
+        return content.asReadOnlyBuffer();
+    }
+
+    /**
+     * give the capture buffers back to the pool
+     */
+    void release() {
+        if (pool == null) {
+            return;
+        }
+        for (ByteBuffer buffer : buffers) {
+            pool.release(buffer);
+        }
+        buffers.clear();
+        current = null;
+        length = 0;
     }
 }
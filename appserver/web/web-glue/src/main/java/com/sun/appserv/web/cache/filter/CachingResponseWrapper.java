@@ -39,6 +39,9 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
 
     int statusCode = HttpCacheEntry.VALUE_NOT_SET;
 
+    // A response is used by one thread at a time: the header maps below are
+    // not synchronized, and are only read once handed to the cache entry.
+
     /**
      * The HTTP headers explicitly added via addHeader(), but not including
      * those to be added with setContentLength(), setContentType(), and so on.
@@ -76,6 +79,12 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
     CachingOutputStreamWrapper cosw;
     PrintWriter writer;
 
+    /**
+     * pool of the direct buffers capturing the content; null to capture it
+     * on the heap
+     */
+    DirectBufferPool pool;
+
     /**
      * Constructs a response adaptor wrapping the given response.
      * @throws java.lang.IllegalArgumentException if the response is null
@@ -84,6 +93,17 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
         super(response);
     }
 
+    /**
+     * Constructs a response adaptor wrapping the given response, which
+     * captures the content in direct buffers of the given pool.
+     * @throws java.lang.IllegalArgumentException if the response is null
+     */
+    CachingResponseWrapper(HttpServletResponse response,
+                           DirectBufferPool pool) {
+        super(response);
+        this.pool = pool;
+    }
+
     /**
      * Create and return a ServletOutputStream to write the content
      * associated with this Response.
@@ -92,6 +112,9 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
      */
     private CachingOutputStreamWrapper createCachingOutputStreamWrapper()
                                 throws IOException {
+        if (pool != null) {
+            return new CachingOutputStreamWrapper(pool);
+        }
         return new CachingOutputStreamWrapper();
     }
 
@@ -179,9 +202,7 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
     public void addCookie(Cookie cookie) {
         super.addCookie(cookie);
 
-        synchronized (cookies) {
-            cookies.add(cookie);
-        }
+        cookies.add(cookie);
     }
 
     /**
@@ -196,9 +217,7 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
         ArrayList<String> values = new ArrayList<String>();
         values.add(value);
 
-        synchronized (headers) {
-            headers.put(name, values);
-        }
+        headers.put(name, values);
     }
 
     /**
@@ -223,10 +242,7 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
         ArrayList<String> values = headers.get(name);
         if (values == null) {
             values = new ArrayList<String>();
-
-            synchronized (headers) {
-                headers.put(name, values);
-            }
+            headers.put(name, values);
         }
 
         values.add(value);
@@ -254,9 +270,7 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
         ArrayList<Long> values = new ArrayList<Long>();
         values.add(Long.valueOf(value));
 
-        synchronized (dateHeaders) {
-            dateHeaders.put(name, values);
-        }
+        dateHeaders.put(name, values);
     }
 
     /**
@@ -271,10 +285,7 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
         ArrayList<Long> values = dateHeaders.get(name);
         if (values == null) {
             values = new ArrayList<Long>();
-
-            synchronized (dateHeaders) {
-                dateHeaders.put(name, values);
-            }
+            dateHeaders.put(name, values);
         }
 
         values.add(Long.valueOf(value));
@@ -366,7 +377,11 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
 
 
         // IT 12891
-        entry.bytes = ((cosw != null)? cosw.getBytes() : EMPTY_BYTE_ARRAY);
+        if (cosw != null && cosw.pool != null) {
+            entry.content = cosw.getContent();
+        } else {
+            entry.bytes = ((cosw != null)? cosw.getBytes() : EMPTY_BYTE_ARRAY);
+        }
 
         return entry;
     }
@@ -375,6 +390,9 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
      * clear the contents of this wrapper
      */
     public void clear() {
+        if (cosw != null) {
+            cosw.release();
+        }
         cosw = null;
         writer = null;
     }
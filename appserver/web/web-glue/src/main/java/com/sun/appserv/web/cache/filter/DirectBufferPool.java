@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache.filter;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of the direct buffers in which the responses are captured before being cached off-heap.
+ * The buffers are given back once the response has been copied into its cache entry, so they are
+ * never shared with the entries nor with the connector.
+ */
+final class DirectBufferPool {
+
+    static final int BUFFER_SIZE = 16 * 1024;
+
+    private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final int maxPooled;
+
+    /**
+     * @param maxPooled maximum number of free buffers kept in the pool
+     */
+    DirectBufferPool(int maxPooled) {
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * @return a cleared buffer of {@link #BUFFER_SIZE} bytes
+     */
+    ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Gives a buffer back to the pool, or drops it if the pool is full.
+     * @param buffer buffer obtained from {@link #acquire()}
+     */
+    void release(ByteBuffer buffer) {
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+        buffers.offer(buffer);
+    }
+
+    /**
+     * @return number of free buffers in the pool
+     */
+    int getPooledCount() {
+        return pooled.get();
+    }
+}
@@ -18,6 +18,7 @@ package com.sun.appserv.web.cache.filter;
 
 import jakarta.servlet.http.Cookie;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Locale;
@@ -47,6 +48,9 @@ public class HttpCacheEntry {
     // XXX: other cacheable response info
     byte[] bytes;
 
+    // response bytes in a read-only direct buffer, when cached off-heap
+    ByteBuffer content;
+
     volatile long expireTime = 0;
 
     /**
@@ -76,11 +80,21 @@ public class HttpCacheEntry {
         return (expireTime > System.currentTimeMillis() || expireTime == -1);
     }
 
+    /**
+     * may this expired response still be served while it is regenerated?
+     * @param staleTimeout seconds an expired response may be served
+     */
+    public boolean isStaleUsable(int staleTimeout) {
+        return (staleTimeout > 0 && expireTime != 0 &&
+                expireTime + (staleTimeout * 1000L) > System.currentTimeMillis());
+    }
+
     /**
      * clear the contents
      */
     public void clear() {
         bytes = null;
+        content = null;
         responseHeaders = null;
         cookies = null;
     }
@@ -94,6 +108,8 @@ public class HttpCacheEntry {
         int size = 0;
         if (bytes != null) {
             size = bytes.length;
+        } else if (content != null) {
+            size = content.capacity();
         }
 
         // size of response bytes plus headers (each approx 20 chars or 40 bytes)
@@ -24,6 +24,10 @@ import com.sun.appserv.web.cache.CacheHelper;
  *  values.
  */
 public class CacheMapping {
+    /** default seconds to wait for an entry regenerated in single flight
+     */
+    public static final int DEFAULT_REFRESH_TIMEOUT = 10;
+
     private String helperNameRef;
     private String servletName;
     private String urlPattern;
@@ -44,6 +48,15 @@ public class CacheMapping {
     // additional cache constraints
     private ConstraintField constraintFields[] = new ConstraintField[0];
 
+    // only one request regenerates an expired entry, the others wait for it
+    private boolean singleFlight = false;
+
+    // seconds an expired entry may still be served while it is regenerated
+    private int staleWhileRevalidate = 0;
+
+    // seconds a request waits for another request regenerating its entry
+    private int refreshTimeout = DEFAULT_REFRESH_TIMEOUT;
+
     /** default cache mapping
      */
     public CacheMapping() {
@@ -158,6 +171,29 @@ public class CacheMapping {
         constraintFields = results;
     }
 
+    /** set whether only one request regenerates an expired entry
+     * @param singleFlight true to coalesce the concurrent refreshes of a key
+     */
+    public void setSingleFlight(boolean singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    /** set how long an expired entry may be served while one request
+     *  regenerates it; implies single flight when positive
+     * @param staleWhileRevalidate in seconds, 0 to never serve an expired entry
+     */
+    public void setStaleWhileRevalidate(int staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    /** set how long a request waits for the request regenerating its entry
+     *  in single flight mode, before it calls the servlet itself
+     * @param refreshTimeout in seconds
+     */
+    public void setRefreshTimeout(int refreshTimeout) {
+        this.refreshTimeout = refreshTimeout;
+    }
+
     /*** cache-mapping getter methods ***/
 
     /**
@@ -231,4 +267,28 @@ public class CacheMapping {
     public ConstraintField[] getConstraintFields() {
         return constraintFields;
     }
+
+    /**
+     * do the concurrent refreshes of a key wait for a single request?
+     * @return true if single flight is on
+     */
+    public boolean isSingleFlight() {
+        return singleFlight || staleWhileRevalidate > 0;
+    }
+
+    /**
+     * get how long an expired entry may be served while it is regenerated
+     * @return in seconds, 0 if expired entries are never served
+     */
+    public int getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    /**
+     * get how long a request waits for the request regenerating its entry
+     * @return in seconds
+     */
+    public int getRefreshTimeout() {
+        return refreshTimeout;
+    }
 }
@@ -220,6 +220,12 @@ public final class CacheModule {
         }
 
         manager.setServletContext(app.getServletContext());
+        if (app.getWebContainer() != null) {
+            manager.setRequestProbeProvider(
+                app.getWebContainer().getRequestProbeProvider(),
+                app.getMonitoringNodeName(),
+                app.getParent() == null ? null : app.getParent().getName());
+        }
         return manager;
     }
 
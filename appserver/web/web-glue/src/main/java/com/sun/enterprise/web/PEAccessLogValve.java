@@ -37,6 +37,8 @@ import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -44,6 +46,11 @@ import java.time.format.DateTimeFormatter;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -55,6 +62,7 @@ import org.apache.catalina.valves.ValveBase;
 import org.glassfish.api.admin.ServerEnvironment;
 import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.web.LogFacade;
+import org.glassfish.web.admin.monitor.RequestProbeProvider;
 
 import static java.time.Instant.ofEpochMilli;
 
@@ -65,8 +73,13 @@ import static java.time.Instant.ofEpochMilli;
  * Apache <code>mod_log_config</code> module.  As an additional feature,
  * automatic rollover of log files at a specified interval is also supported.
  *
- * </p>This class uses a direct <code>ByteBuffer</code> to store and write
- * logs.
+ * </p>Each request thread formats its entries in its own buffer, then
+ * appends their bytes to one of several striped buffers, so the request
+ * threads rarely contend on a lock. The background writer thread drains the
+ * striped buffers to the log file through a <code>FileChannel</code>. When a
+ * striped buffer is full, the request thread either writes it itself or, if
+ * dropping is enabled, drops its entry; both events are counted.
+ * Entries from different stripes may be written slightly out of order.
  *
  * @author Jean-Francois Arcand
  * @author Charlie J. Hunt
@@ -105,6 +118,18 @@ public final class PEAccessLogValve
     private final static int MIN_BUFFER_SIZE = 5120;
 
 
+    /**
+     * The initial size of the buffer in which a thread formats an entry.
+     */
+    private final static int ENTRY_BUFFER_SIZE = 1024;
+
+
+    /**
+     * The maximum number of striped buffers.
+     */
+    private final static int MAX_STRIPES = 64;
+
+
     // ----------------------------------------------------- Instance Variables
 
 
@@ -210,13 +235,65 @@ public final class PEAccessLogValve
     /**
      * The background writerThread completion semaphore.
      */
-    private boolean threadDone;
+    private volatile boolean threadDone;
+
+
+    /**
+     * The striped buffers storing the formatted entries until they are
+     * written.
+     */
+    private Stripe[] stripes;
 
 
     /**
-     * The <code>CharBuffer</code> used to store the logs.
+     * The buffer in which the current thread formats its entries.
      */
-    private CharBuffer charBuffer;
+    private final ThreadLocal<EntryBuffer> entryBuffers = new ThreadLocal<>();
+
+
+    /**
+     * Assigns the stripes to the threads, round robin.
+     */
+    private final AtomicInteger nextStripe = new AtomicInteger();
+
+
+    /**
+     * Only one thread at a time drains the stripes.
+     */
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+
+    /**
+     * Should an entry be dropped, rather than written by the request thread,
+     * when its striped buffer is full?
+     */
+    private boolean dropOnOverflow;
+
+
+    /**
+     * The number of entries dropped.
+     */
+    private final LongAdder droppedEntries = new LongAdder();
+
+
+    /**
+     * The number of times a request thread wrote a full striped buffer
+     * itself.
+     */
+    private final LongAdder overflowWrites = new LongAdder();
+
+
+    /**
+     * The probe provider notified of the dropped entries and of the overflow
+     * writes, so they show in the virtual server's monitoring.
+     */
+    private RequestProbeProvider requestProbeProvider;
+
+
+    /**
+     * The id of the virtual server, qualifying the probe events.
+     */
+    private String hostName;
 
 
     /**
@@ -273,12 +350,6 @@ public final class PEAccessLogValve
     private AccessLogFormatter formatter;
 
 
-    /**
-     * Simple lock
-     */
-    private final Object lock = new Object();
-
-
     /**
      * Return writerThread interval (seconds)
      */
@@ -335,6 +406,56 @@ public final class PEAccessLogValve
         return bufferSize;
     }
 
+
+    /**
+     * Should an entry be dropped, rather than written by the request thread,
+     * when its buffer is full?
+     */
+    public boolean isDropOnOverflow() {
+        return dropOnOverflow;
+    }
+
+
+    /**
+     * Set whether an entry is dropped, rather than written by the request
+     * thread, when its buffer is full. Dropping never blocks a request on the
+     * log file.
+     */
+    public void setDropOnOverflow(boolean dropOnOverflow) {
+        this.dropOnOverflow = dropOnOverflow;
+    }
+
+
+    /**
+     * Set the probe provider notified of the dropped entries and of the
+     * overflow writes.
+     *
+     * @param requestProbeProvider The probe provider, may be null
+     * @param hostName The id of the virtual server
+     */
+    void setRequestProbeProvider(RequestProbeProvider requestProbeProvider, String hostName) {
+        this.requestProbeProvider = requestProbeProvider;
+        this.hostName = hostName;
+    }
+
+
+    /**
+     * Return the number of entries dropped because their buffer was full, or
+     * because they were too large.
+     */
+    public long getDroppedEntries() {
+        return droppedEntries.sum();
+    }
+
+
+    /**
+     * Return the number of times a request thread had to write a full buffer
+     * to the log file itself.
+     */
+    public long getOverflowWrites() {
+        return overflowWrites.sum();
+    }
+
     // ------------------------------------------------------------- Properties
 
 
@@ -547,41 +668,94 @@ public final class PEAccessLogValve
         if (!started || condition != null && request.getRequest().getAttribute(condition) != null) {
             return;
         }
+        if (formatter == null) {
+            return;
+        }
+
+        EntryBuffer entry = entryBuffers.get();
+        if (entry == null) {
+            entry = new EntryBuffer(nextStripe.getAndIncrement() & (stripes.length - 1));
+            entryBuffers.set(entry);
+        }
 
-        synchronized (lock){
-            // Reset properly the buffer in case of an unexpected
-            // exception.
-            if (charBuffer.position() == charBuffer.limit()){
-                charBuffer.limit(charBuffer.capacity());
+        // Format the entry in the thread's own buffer, growing it as needed
+        while (true) {
+            entry.chars.clear();
+            try {
+                formatter.appendLogEntry(request, response, entry.chars);
+                entry.chars.put('\n');
+                break;
+            } catch (BufferOverflowException ex) {
+                if (entry.chars.capacity() >= bufferSize) {
+                    entryDropped();
+                    _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+                    return;
+                }
+                entry.grow(Math.min(entry.chars.capacity() * 2, bufferSize));
             }
+        }
+        ByteBuffer bytes = entry.encode();
 
-            int pos = charBuffer.position();
-            // We've flushed our buffer to make room for the current request.
-            // Now process the current request
-            for (int i=0; i < 2; i++){
-                try {
-                    if (formatter!=null) {
-                        formatter.appendLogEntry(request, response, charBuffer);
-                        charBuffer.put("\n");
+        if (flushRealTime) {
+            log();
+            write(bytes);
+            return;
+        }
 
-                        if (flushRealTime){
-                            log();
-                        }
-                        break;
-                    }
-                 } catch (BufferOverflowException ex) {
-                    charBuffer.position(pos);
-                    log();
-                    if (i == 1) {
-                        _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
-                        return;
-                    }
-                }
+        Stripe stripe = stripes[entry.stripe];
+        if (append(stripe, bytes)) {
+            return;
+        }
+        if (dropOnOverflow) {
+            entryDropped();
+            return;
+        }
+        // Back-pressure: the writer is behind, write the stripe now. Like the
+        // writer, under the drain lock, so the entries keep their order.
+        overflowWritten();
+        drainLock.lock();
+        try {
+            drain(stripe);
+            if (!append(stripe, bytes)) {
+                // Larger than the stripe, or the stripe filled up again
+                write(bytes);
             }
+        } finally {
+            drainLock.unlock();
         }
     }
 
 
+    /**
+     * Append the given entry to the stripe, waking the writer thread up when
+     * the stripe gets full.
+     *
+     * @return false if the stripe has no room left for the entry
+     */
+    private boolean append(Stripe stripe, ByteBuffer bytes) {
+        boolean wakeWriter;
+        stripe.lock.lock();
+        try {
+            if (stripe.buffer.remaining() < bytes.remaining()) {
+                return false;
+            }
+            int before = stripe.buffer.position();
+            stripe.buffer.put(bytes);
+            wakeWriter = before < stripe.wakeThreshold && stripe.buffer.position() >= stripe.wakeThreshold;
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        if (wakeWriter) {
+            Thread writer = writerThread;
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+        }
+        return true;
+    }
+
+
     /**
      * Log the specified message to the log file, switching files if the date
      * has changed since the previous log call.
@@ -592,6 +766,8 @@ public final class PEAccessLogValve
             long systime = System.currentTimeMillis();
             long rotationIntervalLong = rotationInterval * 1000L;
             if (systime - lastAccessLogCreationTime > rotationIntervalLong) {
+                // The buffered entries belong to the current file
+                drain();
                 synchronized (this) {
                     systime = System.currentTimeMillis();
                     if (systime - lastAccessLogCreationTime > rotationIntervalLong) {
@@ -602,7 +778,7 @@ public final class PEAccessLogValve
                         lastAccessLogCreationTime = systime;
 
                         if (!lastDateStamp.equals(newDateStamp)) {
-                            close();
+                            closeFile();
                             open(newDateStamp, false);
                         }
                     }
@@ -610,18 +786,86 @@ public final class PEAccessLogValve
             }
         }
 
-        synchronized (lock) {
-            try {
-                charBuffer.flip();
-                ByteBuffer byteBuffer = ByteBuffer.wrap(charBuffer.toString().getBytes(Charset.defaultCharset()));
-                while (byteBuffer.hasRemaining()) {
-                    fileChannel.write(byteBuffer);
-                }
-            } catch (IOException ex) {
+        drain();
+    }
+
+
+    /**
+     * Count an entry dropped and notify the probe listeners.
+     */
+    private void entryDropped() {
+        droppedEntries.increment();
+        if (requestProbeProvider != null) {
+            requestProbeProvider.accessLogEntryDroppedEvent(hostName);
+        }
+    }
+
 
-            } finally {
-                charBuffer.clear();
+    /**
+     * Count a full stripe written by a request thread and notify the probe
+     * listeners.
+     */
+    private void overflowWritten() {
+        overflowWrites.increment();
+        if (requestProbeProvider != null) {
+            requestProbeProvider.accessLogOverflowWriteEvent(hostName);
+        }
+    }
+
+
+    /**
+     * Write the entries of all the stripes to the log file. A stripe is
+     * swapped with an empty buffer, so the request threads can go on
+     * appending to it while its entries are written.
+     */
+    private void drain() {
+        if (stripes == null) {
+            return;
+        }
+        drainLock.lock();
+        try {
+            for (Stripe stripe : stripes) {
+                drain(stripe);
             }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+
+    /**
+     * Write the entries of the given stripe to the log file. Must be called
+     * holding the drain lock, which keeps the writes of a stripe in order.
+     */
+    private void drain(Stripe stripe) {
+        ByteBuffer full;
+        stripe.lock.lock();
+        try {
+            if (stripe.buffer.position() == 0) {
+                return;
+            }
+            full = stripe.buffer;
+            stripe.buffer = stripe.spare;
+        } finally {
+            stripe.lock.unlock();
+        }
+        full.flip();
+        write(full);
+        full.clear();
+        stripe.spare = full;
+    }
+
+
+    /**
+     * Write the remaining content of the given buffer to the log file.
+     */
+    private synchronized void write(ByteBuffer content) {
+        try {
+            while (content.hasRemaining()) {
+                fileChannel.write(content);
+            }
+        } catch (IOException ex) {
+
         }
     }
 
@@ -745,6 +989,13 @@ public final class PEAccessLogValve
             }
         }
 
+        /*
+         * accessLogDropOnOverflow property under <virtual-server>: drop the
+         * entries rather than block the requests when the writer is behind
+         */
+        setDropOnOverflow(Boolean.parseBoolean(vsBean.getPropertyValue(
+            Constants.ACCESS_LOG_DROP_ON_OVERFLOW_PROPERTY)));
+
         return true;
     }
 
@@ -850,10 +1101,20 @@ public final class PEAccessLogValve
     /**
      * Close the currently open log file (if any)
      */
-    private synchronized void close() {
+    private void close() {
+        // Make sure the buffered entries are written
+        drain();
+        synchronized (this) {
+            closeFile();
+        }
+    }
+
+
+    /**
+     * Close the log file, without writing the buffered entries.
+     */
+    private synchronized void closeFile() {
         try{
-            // Make sure the byteBuffer is clean
-            log();
             fileChannel.close();
             fos.close();
         } catch (IOException ex){
@@ -993,7 +1254,14 @@ public final class PEAccessLogValve
             bufferSize = MIN_BUFFER_SIZE;
         }
 
-        charBuffer = CharBuffer.allocate(bufferSize);
+        // Enough stripes for the request threads to rarely meet, sharing the
+        // configured buffer size as long as each stripe holds a few entries
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) * 2);
+        int stripeSize = Math.max(MIN_BUFFER_SIZE, bufferSize / stripeCount);
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(stripeSize);
+        }
 
         if (fileDateFormat == null) {
             fileDateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -1066,7 +1334,7 @@ public final class PEAccessLogValve
 
     /**
      * Sleep for the duration specified by the <code>writeInterval</code>
-     * property.
+     * property, or until a request thread finds its buffer filling up.
      */
     private void threadSleep() {
 
@@ -1074,11 +1342,7 @@ public final class PEAccessLogValve
             return;
         }
 
-        try {
-            Thread.sleep(writeInterval * 1000L);
-        } catch (InterruptedException e) {
-
-        }
+        LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(writeInterval));
 
     }
 
@@ -1125,4 +1389,64 @@ public final class PEAccessLogValve
     private LocalDateTime toLocalDateTime(long millis) {
         return ofEpochMilli(millis).atZone(ZoneId.systemDefault()).toLocalDateTime();
     }
+
+
+    /**
+     * A buffer of formatted entries shared by some request threads, and its
+     * spare, owned by the thread draining the stripes.
+     */
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private ByteBuffer buffer;
+        private ByteBuffer spare;
+
+        /**
+         * The writer thread is woken up when the buffer gets this full.
+         */
+        private final int wakeThreshold;
+
+        Stripe(int size) {
+            buffer = ByteBuffer.allocateDirect(size);
+            spare = ByteBuffer.allocateDirect(size);
+            wakeThreshold = size - size / 4;
+        }
+    }
+
+
+    /**
+     * The buffers in which a request thread formats and encodes its entries,
+     * and the stripe it appends them to.
+     */
+    private static final class EntryBuffer {
+
+        private final int stripe;
+        private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private CharBuffer chars;
+        private ByteBuffer bytes;
+
+        EntryBuffer(int stripe) {
+            this.stripe = stripe;
+            grow(ENTRY_BUFFER_SIZE);
+        }
+
+        void grow(int size) {
+            chars = CharBuffer.allocate(size);
+            bytes = ByteBuffer.allocate((int) Math.ceil(size * (double) encoder.maxBytesPerChar()));
+        }
+
+        /**
+         * @return the bytes of the formatted entry, ready to be read
+         */
+        ByteBuffer encode() {
+            chars.flip();
+            bytes.clear();
+            encoder.reset();
+            encoder.encode(chars, bytes, true);
+            encoder.flush(bytes);
+            return bytes.flip();
+        }
+    }
 }
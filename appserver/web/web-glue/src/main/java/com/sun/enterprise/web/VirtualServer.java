@@ -1727,6 +1727,7 @@ public class VirtualServer extends StandardHost implements org.glassfish.embedda
 
     void setWebContainer(WebContainer webContainer) {
         this.webContainer = webContainer;
+        accessLogValve.setRequestProbeProvider(webContainer.getRequestProbeProvider(), getID());
     }
 
     // ----------------------------------------------------- embedded methods
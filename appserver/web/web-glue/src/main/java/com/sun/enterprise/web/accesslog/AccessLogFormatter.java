@@ -31,6 +31,12 @@ public abstract class AccessLogFormatter {
 
     private final AccessLogPattern pattern;
 
+    /**
+     * The last formatted timestamp; the formats have a resolution of one
+     * second, so most entries reuse it.
+     */
+    private volatile FormattedTimestamp lastTimestamp;
+
     public AccessLogFormatter(AccessLogPattern pattern) {
         this.pattern = pattern;
     }
@@ -55,7 +61,36 @@ public abstract class AccessLogFormatter {
     }
 
 
+    /**
+     * @return current timestamp, formatted with the date time formatter of
+     *         the pattern
+     */
+    protected String getFormattedTimestamp() {
+        OffsetDateTime timestamp = getTimestamp();
+        long epochSecond = timestamp.toEpochSecond();
+        FormattedTimestamp last = lastTimestamp;
+        if (last != null && last.epochSecond == epochSecond) {
+            return last.text;
+        }
+        String text = pattern.getDateTimeFormatter().format(timestamp);
+        lastTimestamp = new FormattedTimestamp(epochSecond, text);
+        return text;
+    }
+
+
     public AccessLogPattern getPattern() {
         return pattern;
     }
+
+
+    private static final class FormattedTimestamp {
+
+        private final long epochSecond;
+        private final String text;
+
+        FormattedTimestamp(long epochSecond, String text) {
+            this.epochSecond = epochSecond;
+            this.text = text;
+        }
+    }
 }
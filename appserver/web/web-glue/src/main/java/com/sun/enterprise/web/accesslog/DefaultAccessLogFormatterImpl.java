@@ -103,6 +103,11 @@ public class DefaultAccessLogFormatterImpl extends AccessLogFormatter {
 
     private final Container container;
 
+    /**
+     * Appenders of the access log pattern components, in order
+     */
+    private final ItemAppender[] appenders;
+
     /**
      * Constructor.
      *
@@ -112,6 +117,7 @@ public class DefaultAccessLogFormatterImpl extends AccessLogFormatter {
     public DefaultAccessLogFormatterImpl(String pattern, Container container) {
         super(getAccessLogPattern(pattern));
         this.container = container;
+        this.appenders = compile(getPattern().getItems());
     }
 
 
@@ -128,82 +134,111 @@ public class DefaultAccessLogFormatterImpl extends AccessLogFormatter {
         HttpServletRequest hreq = (HttpServletRequest) request.getRequest();
         HttpServletResponse hres = (HttpServletResponse) response.getResponse();
 
-        for (String pc : getPattern().getItems()) {
-            if (pc.startsWith(ATTRIBUTE_BY_NAME_PREFIX)) {
-                appendAttributeByName(charBuffer, pc.substring(ATTRIBUTE_BY_NAME_PREFIX_LEN), hreq);
-            } else if (pc.startsWith(SESSION_ATTRIBUTE_BY_NAME_PREFIX)) {
-                appendSessionAttributeByName(charBuffer, pc.substring(SESSION_ATTRIBUTE_BY_NAME_PREFIX_LEN), hreq);
-            } else if (AUTH_USER_NAME.equals(pc)) {
-                appendAuthUserName(charBuffer, hreq);
-            } else if (CLIENT_DNS.equals(pc)) {
-                appendClientDNS(charBuffer, hreq);
-            } else if (CLIENT_NAME.equals(pc)) {
-                appendClientName(charBuffer, hreq);
-            } else if (COOKIE.equals(pc)) {
-                appendCookie(charBuffer, hreq);
-            } else if (COOKIES.equals(pc)) {
-                appendCookies(charBuffer, hreq);
-            } else if (COOKIE_VALUE.equals(pc)) {
-                appendCookieValue(charBuffer, hreq);
-            } else if (pc.startsWith(COOKIE_BY_NAME_PREFIX)) {
-                appendCookieByName(charBuffer, pc.substring(COOKIE_BY_NAME_PREFIX_LEN), hreq);
-            } else if (pc.startsWith(COOKIES_BY_NAME_PREFIX)) {
-                appendCookiesByName(charBuffer, pc.substring(COOKIES_BY_NAME_PREFIX_LEN), hreq);
-            } else if (DATE_TIME.equals(pc)) {
-                appendCurrentDate(charBuffer);
-            } else if (HEADER_ACCEPT.equals(pc)) {
-                appendHeaderAccept(charBuffer, hreq);
-            } else if (HEADER_AUTH.equals(pc)) {
-                appendHeaderAuth(charBuffer, hreq);
-            } else if (HEADER_DATE.equals(pc)) {
-                appendHeaderDate(charBuffer, hreq);
-            } else if (HEADER_IF_MOD_SINCE.equals(pc)) {
-                appendHeaderIfModSince(charBuffer, hreq);
-            } else if (HEADER_USER_AGENT.equals(pc)) {
-                appendUserAgent(charBuffer, hreq);
-            } else if (HEADER_REFERER.equals(pc)) {
-                appendReferer(charBuffer, hreq);
-            } else if (HTTP_METHOD.equals(pc)) {
-                appendHTTPMethod(charBuffer, hreq);
-            } else if (HTTP_URI.equals(pc)) {
-                appendHTTPUri(charBuffer, hreq);
-            } else if (HTTP_VERSION.equals(pc)) {
-                appendHTTPVersion(charBuffer, hreq);
-            } else if (QUERY_STR.equals(pc)) {
-                appendQueryString(charBuffer, hreq);
-            } else if (REFERER.equals(pc)) {
-                appendReferer(charBuffer, hreq);
-            } else if (REQUEST.equals(pc)) {
-                appendRequestInfo(charBuffer, hreq);
-            } else if (RESPONSE_LENGTH.equals(pc)) {
-                appendResponseLength(charBuffer, response);
-            } else if (RESPONSE_CONTENT_TYPE.equals(pc)) {
-                appendResponseContentType(charBuffer, response);
-            } else if (STATUS.equals(pc)) {
-                appendResponseStatus(charBuffer, response);
-            } else if (TIME_TAKEN.equals(pc)) {
-                appendTimeTaken(charBuffer, request);
-            } else if (USER_AGENT.equals(pc)) {
-                appendUserAgent(charBuffer, hreq);
-            } else if (VS_ID.equals(pc)) {
-                appendVirtualServerId(charBuffer);
-            } else if (pc.startsWith(HEADER_BY_NAME_PREFIX)) {
-                appendHeaderByName(charBuffer, pc.substring(HEADER_BY_NAME_PREFIX_LEN), hreq);
-            } else if (pc.startsWith(HEADERS_BY_NAME_PREFIX)) {
-                appendHeadersByName(charBuffer, pc.substring(HEADERS_BY_NAME_PREFIX_LEN), hreq);
-            } else if (pc.startsWith(RESPONSE_HEADER_BY_NAME_PREFIX)) {
-                appendResponseHeaderByName(charBuffer, pc.substring(RESPONSE_HEADER_BY_NAME_PREFIX_LEN), hres,
-                    response);
-            } else if (pc.startsWith(RESPONSE_HEADERS_BY_NAME_PREFIX)) {
-                appendResponseHeadersByName(charBuffer, pc.substring(RESPONSE_HEADERS_BY_NAME_PREFIX_LEN), hres,
-                    response);
-            }
-
+        for (ItemAppender appender : appenders) {
+            appender.append(charBuffer, request, response, hreq, hres);
             charBuffer.put(' ');
         }
     }
 
 
+    /**
+     * Compiles the access log pattern components into the appenders writing
+     * them, so the components are not interpreted again for each entry.
+     *
+     * @param items The access log pattern components
+     *
+     * @return appenders, in the order of the components
+     */
+    private ItemAppender[] compile(List<String> items) {
+        List<ItemAppender> list = new ArrayList<>(items.size());
+        for (String pc : items) {
+            list.add(compile(pc));
+        }
+        return list.toArray(new ItemAppender[list.size()]);
+    }
+
+
+    private ItemAppender compile(String pc) {
+        if (pc.startsWith(ATTRIBUTE_BY_NAME_PREFIX)) {
+            String name = pc.substring(ATTRIBUTE_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendAttributeByName(cb, name, hreq);
+        } else if (pc.startsWith(SESSION_ATTRIBUTE_BY_NAME_PREFIX)) {
+            String name = pc.substring(SESSION_ATTRIBUTE_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendSessionAttributeByName(cb, name, hreq);
+        } else if (AUTH_USER_NAME.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendAuthUserName(cb, hreq);
+        } else if (CLIENT_DNS.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendClientDNS(cb, hreq);
+        } else if (CLIENT_NAME.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendClientName(cb, hreq);
+        } else if (COOKIE.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendCookie(cb, hreq);
+        } else if (COOKIES.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendCookies(cb, hreq);
+        } else if (COOKIE_VALUE.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendCookieValue(cb, hreq);
+        } else if (pc.startsWith(COOKIE_BY_NAME_PREFIX)) {
+            String name = pc.substring(COOKIE_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendCookieByName(cb, name, hreq);
+        } else if (pc.startsWith(COOKIES_BY_NAME_PREFIX)) {
+            String name = pc.substring(COOKIES_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendCookiesByName(cb, name, hreq);
+        } else if (DATE_TIME.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendCurrentDate(cb);
+        } else if (HEADER_ACCEPT.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHeaderAccept(cb, hreq);
+        } else if (HEADER_AUTH.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHeaderAuth(cb, hreq);
+        } else if (HEADER_DATE.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHeaderDate(cb, hreq);
+        } else if (HEADER_IF_MOD_SINCE.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHeaderIfModSince(cb, hreq);
+        } else if (HEADER_USER_AGENT.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendUserAgent(cb, hreq);
+        } else if (HEADER_REFERER.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendReferer(cb, hreq);
+        } else if (HTTP_METHOD.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHTTPMethod(cb, hreq);
+        } else if (HTTP_URI.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHTTPUri(cb, hreq);
+        } else if (HTTP_VERSION.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHTTPVersion(cb, hreq);
+        } else if (QUERY_STR.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendQueryString(cb, hreq);
+        } else if (REFERER.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendReferer(cb, hreq);
+        } else if (REQUEST.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendRequestInfo(cb, hreq);
+        } else if (RESPONSE_LENGTH.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendResponseLength(cb, response);
+        } else if (RESPONSE_CONTENT_TYPE.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendResponseContentType(cb, response);
+        } else if (STATUS.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendResponseStatus(cb, response);
+        } else if (TIME_TAKEN.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendTimeTaken(cb, request);
+        } else if (USER_AGENT.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendUserAgent(cb, hreq);
+        } else if (VS_ID.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendVirtualServerId(cb);
+        } else if (pc.startsWith(HEADER_BY_NAME_PREFIX)) {
+            String name = pc.substring(HEADER_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendHeaderByName(cb, name, hreq);
+        } else if (pc.startsWith(HEADERS_BY_NAME_PREFIX)) {
+            String name = pc.substring(HEADERS_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendHeadersByName(cb, name, hreq);
+        } else if (pc.startsWith(RESPONSE_HEADER_BY_NAME_PREFIX)) {
+            String name = pc.substring(RESPONSE_HEADER_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendResponseHeaderByName(cb, name, hres, response);
+        } else if (pc.startsWith(RESPONSE_HEADERS_BY_NAME_PREFIX)) {
+            String name = pc.substring(RESPONSE_HEADERS_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendResponseHeadersByName(cb, name, hres, response);
+        }
+        // rejected by parsePattern
+        return (cb, request, response, hreq, hres) -> { };
+    }
+
+
     private static AccessLogPattern getAccessLogPattern(String pattern) {
         AccessLogPattern aclPattern = parsePattern(pattern);
         if (aclPattern == null) {
@@ -395,7 +430,7 @@ public class DefaultAccessLogFormatterImpl extends AccessLogFormatter {
      */
     private void appendCurrentDate(CharBuffer cb) {
         cb.put(QUOTE);
-        cb.put(getPattern().getDateTimeFormatter().format(getTimestamp()));
+        cb.put(getFormattedTimestamp());
         cb.put(QUOTE);
     }
 
@@ -839,4 +874,15 @@ public class DefaultAccessLogFormatterImpl extends AccessLogFormatter {
         }
         cb.put(vsId);
     }
+
+
+    /**
+     * Appends one component of the access log pattern to the given char
+     * buffer.
+     */
+    @FunctionalInterface
+    private interface ItemAppender {
+        void append(CharBuffer cb, Request request, Response response, HttpServletRequest hreq,
+            HttpServletResponse hres);
+    }
 }
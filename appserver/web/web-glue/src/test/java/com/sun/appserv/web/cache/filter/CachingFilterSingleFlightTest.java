@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache.filter;
+
+import com.sun.appserv.web.cache.CacheManager;
+import com.sun.appserv.web.cache.mapping.CacheMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingFilterSingleFlightTest {
+
+    private static final String FILTER_NAME = "cachingFilter";
+    private static final String BODY = "cached body";
+    private static final int REQUESTS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+    private final List<Thread> requestThreads = new ArrayList<>();
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @Timeout(30)
+    public void concurrentRequestsCallTheServletOnce() throws Exception {
+        CachingFilter filter = createFilter(Map.of(CacheManager.SINGLE_FLIGHT_PROPERTY, "true"));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            calls.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new ServletException(e);
+            }
+            response.getOutputStream().write(BODY.getBytes(UTF_8));
+        };
+
+        List<Future<String>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(executor.submit(() -> doFilter(filter, chain)));
+        }
+        // the leader waits in the servlet, the others for the leader
+        awaitAllWaiting();
+        assertEquals(1, calls.get());
+        release.countDown();
+
+        for (Future<String> response : responses) {
+            assertEquals(BODY, response.get());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @Timeout(30)
+    public void failedLeaderReleasesTheWaiters() throws Exception {
+        CachingFilter filter = createFilter(Map.of(CacheManager.SINGLE_FLIGHT_PROPERTY, "true"));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        // passes only if all the waiters call the servlet at the same time
+        CountDownLatch waitersInServlet = new CountDownLatch(REQUESTS - 1);
+        FilterChain chain = (request, response) -> {
+            try {
+                if (calls.getAndIncrement() == 0) {
+                    release.await();
+                    throw new ServletException("leader failed");
+                }
+                waitersInServlet.countDown();
+                if (!waitersInServlet.await(10, TimeUnit.SECONDS)) {
+                    throw new ServletException("waiters were not released together");
+                }
+            } catch (InterruptedException e) {
+                throw new ServletException(e);
+            }
+            response.getOutputStream().write(BODY.getBytes(UTF_8));
+        };
+
+        Future<String> leader = executor.submit(() -> doFilter(filter, chain));
+        while (calls.get() == 0) {
+            Thread.sleep(1L);
+        }
+        List<Future<String>> waiters = new ArrayList<>();
+        for (int i = 1; i < REQUESTS; i++) {
+            waiters.add(executor.submit(() -> doFilter(filter, chain)));
+        }
+        awaitAllWaiting();
+        release.countDown();
+
+        assertThrows(Exception.class, leader::get);
+        for (Future<String> waiter : waiters) {
+            assertEquals(BODY, waiter.get());
+        }
+        assertEquals(REQUESTS, calls.get());
+    }
+
+    @Test
+    @Timeout(30)
+    public void waiterCallsTheServletAfterRefreshTimeout() throws Exception {
+        CachingFilter filter = createFilter(Map.of(CacheManager.SINGLE_FLIGHT_PROPERTY, "true",
+            CacheManager.REFRESH_TIMEOUT_PROPERTY, "1"));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            if (calls.getAndIncrement() == 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new ServletException(e);
+                }
+            }
+            response.getOutputStream().write(BODY.getBytes(UTF_8));
+        };
+
+        Future<String> leader = executor.submit(() -> doFilter(filter, chain));
+        while (calls.get() == 0) {
+            Thread.sleep(1L);
+        }
+        Future<String> waiter = executor.submit(() -> doFilter(filter, chain));
+
+        assertEquals(BODY, waiter.get(10, TimeUnit.SECONDS));
+        assertFalse(leader.isDone());
+        assertEquals(2, calls.get());
+
+        release.countDown();
+        assertEquals(BODY, leader.get());
+    }
+
+    private String doFilter(CachingFilter filter, FilterChain chain) throws Exception {
+        synchronized (requestThreads) {
+            requestThreads.add(Thread.currentThread());
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        filter.doFilter(createRequest(), createResponse(body), chain);
+        return body.toString(UTF_8);
+    }
+
+    /**
+     * waits until all the requests are blocked, in the servlet or in the filter
+     */
+    private void awaitAllWaiting() throws InterruptedException {
+        while (true) {
+            boolean allWaiting;
+            synchronized (requestThreads) {
+                allWaiting = requestThreads.size() == REQUESTS;
+                for (Thread thread : requestThreads) {
+                    Thread.State state = thread.getState();
+                    allWaiting &= state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING;
+                }
+            }
+            if (allWaiting) {
+                return;
+            }
+            Thread.sleep(1L);
+        }
+    }
+
+    private static CachingFilter createFilter(Map<String, String> properties) throws Exception {
+        Map<String, Object> attributes = new ConcurrentHashMap<>();
+        ServletContext context = stub(ServletContext.class, attributes);
+
+        CacheManager manager = new CacheManager();
+        manager.setEnabled(true);
+        manager.setDefaultHelperProps(new HashMap<>());
+        properties.forEach(manager::addProperty);
+        manager.addCacheMapping(FILTER_NAME, new CacheMapping());
+        manager.setServletContext(context);
+        manager.start();
+        attributes.put(CacheManager.CACHE_MANAGER_ATTR_NAME, manager);
+
+        CachingFilter filter = new CachingFilter();
+        filter.init((FilterConfig) Proxy.newProxyInstance(CachingFilterSingleFlightTest.class.getClassLoader(),
+            new Class<?>[] {FilterConfig.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getFilterName":
+                        return FILTER_NAME;
+                    case "getServletContext":
+                        return context;
+                    default:
+                        return null;
+                }
+            }));
+        assertTrue(filter.isEnabled);
+        return filter;
+    }
+
+    private static HttpServletRequest createRequest() {
+        return stub(HttpServletRequest.class, new ConcurrentHashMap<>());
+    }
+
+    private static HttpServletResponse createResponse(ByteArrayOutputStream body) {
+        ServletOutputStream out = new ServletOutputStream() {
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+        return (HttpServletResponse) Proxy.newProxyInstance(CachingFilterSingleFlightTest.class.getClassLoader(),
+            new Class<?>[] {HttpServletResponse.class}, (proxy, method, args) -> {
+                if (method.getName().equals("getOutputStream")) {
+                    return out;
+                }
+                return defaultValue(method.getReturnType());
+            });
+    }
+
+    /**
+     * @return stub keeping the attributes in the map, a GET of /catalog for a request
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Object> attributes) {
+        return (T) Proxy.newProxyInstance(CachingFilterSingleFlightTest.class.getClassLoader(),
+            new Class<?>[] {type}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getAttribute":
+                        return attributes.get((String) args[0]);
+                    case "setAttribute":
+                        if (args[1] == null) {
+                            attributes.remove((String) args[0]);
+                        } else {
+                            attributes.put((String) args[0], args[1]);
+                        }
+                        return null;
+                    case "removeAttribute":
+                        attributes.remove((String) args[0]);
+                        return null;
+                    case "getMethod":
+                        return "GET";
+                    case "getServletPath":
+                        return "/catalog";
+                    default:
+                        return defaultValue(method.getReturnType());
+                }
+            });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.appserv.web.cache.filter;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingOutputStreamWrapperTest {
+
+    @Test
+    public void offHeapCaptureSpansSeveralBuffers() throws Exception {
+        byte[] body = new byte[DirectBufferPool.BUFFER_SIZE * 2 + 100];
+        new Random(7).nextBytes(body);
+
+        DirectBufferPool pool = new DirectBufferPool(8);
+        CachingOutputStreamWrapper out = new CachingOutputStreamWrapper(pool);
+        out.write(body[0]);
+        out.write(body, 1, body.length - 1);
+
+        assertArrayEquals(body, out.getBytes());
+
+        ByteBuffer content = out.getContent();
+        assertTrue(content.isDirect());
+        assertTrue(content.isReadOnly());
+        assertEquals(body.length, content.remaining());
+        byte[] copy = new byte[body.length];
+        content.duplicate().get(copy);
+        assertArrayEquals(body, copy);
+
+        // the capture buffers went back to the pool
+        assertEquals(3, pool.getPooledCount());
+        assertThrows(java.nio.ReadOnlyBufferException.class, () -> content.duplicate().put((byte) 0));
+    }
+
+    @Test
+    public void poolKeepsAtMostMaxPooledBuffers() {
+        DirectBufferPool pool = new DirectBufferPool(1);
+        ByteBuffer first = pool.acquire();
+        ByteBuffer second = pool.acquire();
+        first.put((byte) 1);
+        pool.release(first);
+        pool.release(second);
+
+        assertEquals(1, pool.getPooledCount());
+        ByteBuffer reused = pool.acquire();
+        assertEquals(0, reused.position());
+        assertEquals(DirectBufferPool.BUFFER_SIZE, reused.capacity());
+        assertEquals(0, pool.getPooledCount());
+    }
+
+    @Test
+    public void cacheEntrySizeCountsOffHeapContent() throws Exception {
+        CachingOutputStreamWrapper out = new CachingOutputStreamWrapper(new DirectBufferPool(4));
+        out.write(new byte[1000]);
+
+        HttpCacheEntry entry = new HttpCacheEntry();
+        entry.content = out.getContent();
+
+        assertTrue(entry.getSize() >= 1000);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.appserv.web.cache.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpCacheEntryTest {
+
+    @Test
+    public void expiredEntryIsUsableWithinStaleTimeout() {
+        HttpCacheEntry entry = new HttpCacheEntry();
+        entry.setExpireTime(System.currentTimeMillis() - 1000L);
+
+        assertFalse(entry.isValid());
+        assertTrue(entry.isStaleUsable(60));
+        assertFalse(entry.isStaleUsable(0));
+    }
+
+    @Test
+    public void expiredEntryIsNotUsableAfterStaleTimeout() {
+        HttpCacheEntry entry = new HttpCacheEntry();
+        entry.setExpireTime(System.currentTimeMillis() - 120_000L);
+
+        assertFalse(entry.isStaleUsable(60));
+    }
+
+    @Test
+    public void entryWithoutExpireTimeIsNeverStale() {
+        assertFalse(new HttpCacheEntry().isStaleUsable(60));
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.glassfish.web.admin.monitor.RequestProbeProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PEAccessLogValveTest {
+
+    private static final String HOST_NAME = "server";
+    private static final int BUFFER_SIZE = 10240;
+    /** Each stripe holds 5120 bytes, whatever the number of processors */
+    private static final int STRIPE_SIZE = 5120;
+    /** Bytes of an entry: the quoted URI, a space and the line separator */
+    private static final int ENTRY_SIZE = 100;
+    private static final int ENTRIES_PER_STRIPE = STRIPE_SIZE / ENTRY_SIZE;
+
+    @TempDir
+    private Path directory;
+
+    private final PEAccessLogValve valve = new PEAccessLogValve();
+    private final CountingProbeProvider probeProvider = new CountingProbeProvider();
+
+    @AfterEach
+    public void stop() throws Exception {
+        if (valve.isStarted()) {
+            valve.stop();
+        }
+    }
+
+
+    @Test
+    public void bufferedEntriesAreWrittenOnStop() throws Exception {
+        start(0, false);
+        List<String> uris = log(0, 3);
+        assertEquals(List.of(), readLog());
+
+        valve.stop();
+
+        assertEquals(uris, readLog());
+    }
+
+
+    @Test
+    public void entriesOfAThreadKeepTheirOrder() throws Exception {
+        // The writer thread drains the stripe while the request thread writes it when full
+        start(1, false);
+        List<String> uris = log(0, 20_000);
+
+        valve.stop();
+
+        assertEquals(uris, readLog());
+    }
+
+
+    @Test
+    public void entriesAreDroppedWhenTheStripeIsFull() throws Exception {
+        start(0, true);
+        List<String> uris = log(0, ENTRIES_PER_STRIPE + 9);
+        assertEquals(List.of(), readLog());
+
+        valve.stop();
+
+        assertEquals(uris.subList(0, ENTRIES_PER_STRIPE), readLog());
+        assertEquals(9, valve.getDroppedEntries());
+        assertEquals(0, valve.getOverflowWrites());
+        assertEquals(9, probeProvider.droppedEntries.get());
+        assertEquals(0, probeProvider.overflowWrites.get());
+    }
+
+
+    @Test
+    public void fullStripeIsWrittenByTheRequestThread() throws Exception {
+        start(0, false);
+        List<String> uris = log(0, ENTRIES_PER_STRIPE + 9);
+        assertEquals(uris.subList(0, ENTRIES_PER_STRIPE), readLog());
+
+        valve.stop();
+
+        assertEquals(uris, readLog());
+        assertEquals(0, valve.getDroppedEntries());
+        assertEquals(1, valve.getOverflowWrites());
+        assertEquals(0, probeProvider.droppedEntries.get());
+        assertEquals(1, probeProvider.overflowWrites.get());
+    }
+
+
+    @Test
+    public void entryLargerThanAStripeIsWrittenAfterTheBufferedEntries() throws Exception {
+        start(0, false);
+        List<String> uris = new ArrayList<>(log(0, 2));
+        String large = uri(2, STRIPE_SIZE + 1000);
+        valve.postInvoke(request(large), response());
+        uris.add(large);
+        assertEquals(uris, readLog());
+        uris.addAll(log(3, 2));
+
+        valve.stop();
+
+        assertEquals(uris, readLog());
+        assertEquals(0, valve.getDroppedEntries());
+        assertEquals(1, valve.getOverflowWrites());
+    }
+
+
+    @Test
+    public void entryLargerThanAStripeIsDroppedWhenConfigured() throws Exception {
+        start(0, true);
+        List<String> uris = log(0, 2);
+        valve.postInvoke(request(uri(2, STRIPE_SIZE + 1000)), response());
+
+        valve.stop();
+
+        assertEquals(uris, readLog());
+        assertEquals(1, valve.getDroppedEntries());
+        assertEquals(1, probeProvider.droppedEntries.get());
+    }
+
+
+    /**
+     * Start the valve, logging the URI of the requests. Without writer
+     * interval, the entries are only written when a stripe is full and on
+     * stop.
+     */
+    private void start(int writerInterval, boolean dropOnOverflow) throws Exception {
+        valve.setDirectory(directory.toString());
+        valve.setPrefix("access");
+        valve.setSuffix(".log");
+        valve.setRotatable(false);
+        valve.setPattern("%http-uri%");
+        valve.setBufferSize(BUFFER_SIZE);
+        valve.setWriterInterval(writerInterval);
+        valve.setDropOnOverflow(dropOnOverflow);
+        valve.setRequestProbeProvider(probeProvider, HOST_NAME);
+        valve.start();
+    }
+
+
+    /**
+     * @return the URIs of the logged requests
+     */
+    private List<String> log(int first, int count) throws IOException {
+        List<String> uris = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            String uri = uri(i, ENTRY_SIZE);
+            valve.postInvoke(request(uri), response());
+            uris.add(uri);
+        }
+        return uris;
+    }
+
+
+    /**
+     * @return the URI of the given request, padded for its entry to have the given size
+     */
+    private static String uri(int index, int entrySize) {
+        StringBuilder uri = new StringBuilder("/entry/").append(index).append('/');
+        while (uri.length() < entrySize - 4) {
+            uri.append('x');
+        }
+        return uri.toString();
+    }
+
+
+    /**
+     * @return the URIs in the access log, in order
+     */
+    private List<String> readLog() throws IOException {
+        List<String> uris = new ArrayList<>();
+        for (String line : Files.readAllLines(directory.resolve("access.log"), UTF_8)) {
+            assertEquals('"', line.charAt(0));
+            assertEquals("\" ", line.substring(line.length() - 2));
+            uris.add(line.substring(1, line.length() - 2));
+        }
+        return uris;
+    }
+
+
+    private static Request request(String uri) {
+        HttpServletRequest httpRequest = stub(HttpServletRequest.class, "getRequestURI", uri);
+        return stub(Request.class, "getRequest", httpRequest);
+    }
+
+
+    private static Response response() {
+        return stub(Response.class, "getResponse", stub(HttpServletResponse.class, null, null));
+    }
+
+
+    /**
+     * @return stub returning the given value from the given method, and null otherwise
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, String methodName, Object value) {
+        return (T) Proxy.newProxyInstance(PEAccessLogValveTest.class.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> {
+                if (method.getName().equals(methodName)) {
+                    return value;
+                }
+                if (method.getReturnType() == boolean.class) {
+                    return false;
+                }
+                if (method.getReturnType() == int.class) {
+                    return 0;
+                }
+                if (method.getReturnType() == long.class) {
+                    return 0L;
+                }
+                return null;
+            });
+    }
+
+
+    private static class CountingProbeProvider extends RequestProbeProvider {
+
+        private final AtomicInteger droppedEntries = new AtomicInteger();
+        private final AtomicInteger overflowWrites = new AtomicInteger();
+
+        @Override
+        public void accessLogEntryDroppedEvent(String hostName) {
+            assertEquals(HOST_NAME, hostName);
+            droppedEntries.incrementAndGet();
+        }
+
+        @Override
+        public void accessLogOverflowWriteEvent(String hostName) {
+            assertEquals(HOST_NAME, hostName);
+            overflowWrites.incrementAndGet();
+        }
+    }
+}
@@ -47,6 +47,27 @@ public abstract class BaseDirContext implements DirContext {
 
     private static final ResourceBundle rb = LogFacade.getLogger().getResourceBundle();
 
+    // -------------------------------------------------------------- Constants
+
+
+    /**
+     * Cached resource contents are kept in byte arrays.
+     */
+    public static final String CACHE_STORAGE_HEAP = "heap";
+
+
+    /**
+     * Cached resource contents are kept in direct buffers.
+     */
+    public static final String CACHE_STORAGE_DIRECT = "direct";
+
+
+    /**
+     * Cached resource contents are kept in memory mapped files.
+     */
+    public static final String CACHE_STORAGE_MAPPED = "mapped";
+
+
     // ----------------------------------------------------------- Constructors
 
 
@@ -105,6 +126,12 @@ public abstract class BaseDirContext implements DirContext {
     protected int cacheMaxSize = 10240; // 10 MB
 
 
+    /**
+     * Where the cached resource contents are kept.
+     */
+    protected String cacheStorage = CACHE_STORAGE_HEAP;
+
+
     // ------------------------------------------------------------- Properties
 
     /**
@@ -201,6 +228,25 @@ public abstract class BaseDirContext implements DirContext {
     }
 
 
+    /**
+     * Return where the cached resource contents are kept.
+     */
+    public String getCacheStorage() {
+        return cacheStorage;
+    }
+
+
+    /**
+     * Set where the cached resource contents are kept: heap, direct (off-heap
+     * buffers) or mapped (memory mapped files, direct buffers for the
+     * resources which are not plain files). Mapped files must not be
+     * truncated while they are cached.
+     */
+    public void setCacheStorage(String cacheStorage) {
+        this.cacheStorage = cacheStorage;
+    }
+
+
     // --------------------------------------------------------- Public Methods
 
 
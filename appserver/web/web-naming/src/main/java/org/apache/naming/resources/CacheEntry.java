@@ -40,6 +40,11 @@ public class CacheEntry {
     public long accessCount = 0;
     public int size = 1;
 
+    /**
+     * Looked up since the last pass of the cache clock hand.
+     */
+    volatile boolean referenced = false;
+
 
     // ----------------------------------------------------- Public Methods
 
@@ -53,6 +58,7 @@ public class CacheEntry {
         exists = true;
         accessCount = 0;
         size = 1;
+        referenced = false;
     }
 
 
@@ -20,7 +20,11 @@ package org.apache.naming.resources;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Hashtable;
 
 import javax.naming.Binding;
@@ -74,6 +78,7 @@ public class ProxyDirContext implements DirContext {
                 cache.setCacheMaxSize(baseDirContext.getCacheMaxSize());
                 cacheTTL = baseDirContext.getCacheTTL();
                 cacheObjectMaxSize = baseDirContext.getCacheMaxSize() / 20;
+                cacheStorage = baseDirContext.getCacheStorage();
             }
         }
         hostName = env.get(HOST);
@@ -127,6 +132,12 @@ public class ProxyDirContext implements DirContext {
     protected int cacheObjectMaxSize = 512; // 512 KB
 
 
+    /**
+     * Where the cached resource contents are kept.
+     */
+    protected String cacheStorage = BaseDirContext.CACHE_STORAGE_HEAP;
+
+
     /**
      * Immutable name not found exception.
      */
@@ -1436,7 +1447,7 @@ public class ProxyDirContext implements DirContext {
         if (((!entry.exists)
              || (entry.context != null)
              || ((entry.resource != null)
-                 && (entry.resource.getContent() != null)))
+                 && (entry.resource.isContentLoaded())))
             && (System.currentTimeMillis() < entry.timestamp)) {
             return true;
         }
@@ -1522,7 +1533,7 @@ public class ProxyDirContext implements DirContext {
 
         // Load object content
         if ((exists) && (entry.resource != null)
-            && (entry.resource.getContent() == null)
+            && (!entry.resource.isContentLoaded())
             && (entry.attributes.getContentLength() >= 0)
             && (entry.attributes.getContentLength() <
                 (cacheObjectMaxSize * 1024L))) {
@@ -1530,9 +1541,49 @@ public class ProxyDirContext implements DirContext {
             // The entry size is 1 + the resource size in KB, if it will be
             // cached
             entry.size += (entry.attributes.getContentLength() / 1024);
-            InputStream is = null;
-            try {
-                is = entry.resource.streamContent();
+            if (BaseDirContext.CACHE_STORAGE_MAPPED.equals(cacheStorage)
+                && entry.attributes.getCanonicalPath() != null) {
+                mapContent(entry, length);
+            } else {
+                loadContent(entry, length,
+                    !BaseDirContext.CACHE_STORAGE_HEAP.equals(cacheStorage));
+            }
+        }
+
+        // Set existence flag
+        entry.exists = exists;
+
+        // Set timestamp
+        entry.timestamp = System.currentTimeMillis() + cacheTTL;
+
+        // Add new entry to cache, checking cache size, and removing
+        // elements if too big
+        if ((cache.lookup(name) == null) && cache.allocate(entry.size)) {
+            cache.load(entry);
+        }
+
+    }
+
+
+    /**
+     * Read the content of a resource, into a byte array or a direct buffer.
+     */
+    private void loadContent(CacheEntry entry, int length, boolean direct) {
+        InputStream is = null;
+        try {
+            is = entry.resource.streamContent();
+            if (direct) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+                byte[] b = new byte[Math.min(length, 8192)];
+                while (buffer.hasRemaining()) {
+                    int n = is.read(b, 0, Math.min(b.length, buffer.remaining()));
+                    if (n < 0)
+                        break;
+                    buffer.put(b, 0, n);
+                }
+                buffer.flip();
+                entry.resource.setContent(buffer);
+            } else {
                 int pos = 0;
                 byte[] b = new byte[length];
                 while (pos < length) {
@@ -1542,32 +1593,33 @@ public class ProxyDirContext implements DirContext {
                     pos = pos + n;
                 }
                 entry.resource.setContent(b);
+            }
+        } catch (IOException e) {
+            // Ignore
+        } finally {
+            try {
+                if (is != null)
+                    is.close();
             } catch (IOException e) {
                 // Ignore
-            } finally {
-                try {
-                    if (is != null)
-                        is.close();
-                } catch (IOException e) {
-                    // Ignore
-                }
             }
         }
+    }
 
-        // Set existence flag
-        entry.exists = exists;
-
-        // Set timestamp
-        entry.timestamp = System.currentTimeMillis() + cacheTTL;
 
-        // Add new entry to cache
-        synchronized (cache) {
-            // Check cache size, and remove elements if too big
-            if ((cache.lookup(name) == null) && cache.allocate(entry.size)) {
-                cache.load(entry);
+    /**
+     * Map the content of a file resource.
+     */
+    private void mapContent(CacheEntry entry, int length) {
+        Path path = Path.of(entry.attributes.getCanonicalPath());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() == length) {
+                entry.resource.setContent(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
             }
+        } catch (IOException | UnsupportedOperationException e) {
+            // Ignore, the content will be streamed
         }
-
     }
 
 
@@ -1577,9 +1629,7 @@ public class ProxyDirContext implements DirContext {
     protected boolean cacheUnload(String name) {
         if (cache == null)
             return false;
-        synchronized (cache) {
-            return cache.unload(name);
-        }
+        return cache.unload(name);
     }
 
 
@@ -20,6 +20,7 @@ package org.apache.naming.resources;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * Encapsultes the contents of a resource.
@@ -56,6 +57,12 @@ public class Resource {
     protected byte[] binaryContent = null;
 
 
+    /**
+     * Binary content kept off-heap, in a direct or mapped read-only buffer.
+     */
+    protected ByteBuffer bufferContent = null;
+
+
     /**
      * Input stream.
      */
@@ -75,6 +82,9 @@ public class Resource {
         if (binaryContent != null) {
             return new ByteArrayInputStream(binaryContent);
         }
+        if (bufferContent != null) {
+            return new ByteBufferInputStream(bufferContent.duplicate());
+        }
         return inputStream;
     }
 
@@ -89,6 +99,17 @@ public class Resource {
     }
 
 
+    /**
+     * Off-heap content accessor.
+     *
+     * @return a read-only view of the off-heap content, positioned at its
+     * start, or null if the content is not held off-heap
+     */
+    public ByteBuffer getContentBuffer() {
+        return bufferContent == null ? null : bufferContent.duplicate();
+    }
+
+
     /**
      * Content mutator.
      *
@@ -109,4 +130,69 @@ public class Resource {
     }
 
 
+    /**
+     * Off-heap content mutator.
+     *
+     * @param bufferContent New content, read from its position to its limit
+     */
+    public void setContent(ByteBuffer bufferContent) {
+        this.bufferContent =
+            bufferContent == null ? null : bufferContent.slice().asReadOnlyBuffer();
+    }
+
+
+    /**
+     * Is the content loaded, on or off the heap ?
+     */
+    public boolean isContentLoaded() {
+        return binaryContent != null || bufferContent != null;
+    }
+
+
+    // -------------------------------------------------------- Private Classes
+
+
+    /**
+     * Input stream over a buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+
 }
@@ -18,10 +18,24 @@
 
 package org.apache.naming.resources;
 
-import java.security.SecureRandom;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Implements a special purpose cache.
+ * <p>
+ * Entries are kept in concurrent hash maps, so lookups, inserts and removals
+ * take constant time and lookups never lock. The cache is bounded by the sum
+ * of the entry sizes, which are weighted by the size of their content in KB.
+ * Space is freed with the clock algorithm: the cached entries are queued in
+ * their insertion order, and an entry looked up since the last pass of the
+ * clock hand is given a second chance instead of being evicted.
+ * <p>
+ * Names which were not found are cached separately, each counting for 1 KB,
+ * and are dropped together once there are more of them than the spare amount.
  *
  * @author <a href="mailto:remm@apache.org">Remy Maucherat</a>
  * @version $Revision: 1.3 $
@@ -40,23 +54,26 @@ public class ResourceCache {
 
 
     /**
-     * Random generator used to determine elements to free.
+     * Cache.
+     * Path -> Cache entry.
      */
-    protected SecureRandom random = new SecureRandom();
+    protected final ConcurrentHashMap<String, CacheEntry> cache =
+        new ConcurrentHashMap<String, CacheEntry>();
 
 
     /**
-     * Cache.
-     * Path -> Cache entry.
+     * Cached entries in eviction order. May still hold entries which were
+     * unloaded, they are skipped by the clock hand.
      */
-    protected CacheEntry[] cache = new CacheEntry[0];
+    protected final ConcurrentLinkedQueue<CacheEntry> clock =
+        new ConcurrentLinkedQueue<CacheEntry>();
 
 
     /**
      * Not found cache.
      */
-    protected HashMap<String, CacheEntry> notFoundCache =
-        new HashMap<String, CacheEntry>();
+    protected final ConcurrentHashMap<String, CacheEntry> notFoundCache =
+        new ConcurrentHashMap<String, CacheEntry>();
 
 
     /**
@@ -67,13 +84,14 @@ public class ResourceCache {
 
     /**
      * Max amount of removals during a make space.
+     * Not used anymore, the clock hand runs until enough space is freed.
      */
     protected int maxAllocateIterations = 20;
 
 
     /**
      * Entry hit ratio at which an entry will never be removed from the cache.
-     * Compared with entry.access / hitsCount
+     * Not used anymore, entries looked up recently are kept instead.
      */
     protected long desiredEntryAccessRatio = 3;
 
@@ -87,19 +105,25 @@ public class ResourceCache {
     /**
      * Current cache size in KB.
      */
-    protected int cacheSize = 0;
+    private final AtomicInteger cacheSize = new AtomicInteger();
+
+
+    /**
+     * Number of unloaded entries still in the clock.
+     */
+    private final AtomicInteger staleCount = new AtomicInteger();
 
 
     /**
      * Number of accesses to the cache.
      */
-    protected long accessCount = 0;
+    private final LongAdder accessCount = new LongAdder();
 
 
     /**
      * Number of cache hits.
      */
-    protected long hitsCount = 0;
+    private final LongAdder hitsCount = new LongAdder();
 
 
     // ------------------------------------------------------------- Properties
@@ -107,11 +131,9 @@ public class ResourceCache {
 
     /**
      * Return the access count.
-     * Note: Update is not synced, so the number may not be completely
-     * accurate.
      */
     public long getAccessCount() {
-        return accessCount;
+        return accessCount.sum();
     }
 
 
@@ -135,7 +157,7 @@ public class ResourceCache {
      * Return the current cache size in KB.
      */
     public int getCacheSize() {
-        return cacheSize;
+        return cacheSize.get();
     }
 
 
@@ -157,11 +179,9 @@ public class ResourceCache {
 
     /**
      * Return the number of cache hits.
-     * Note: Update is not synced, so the number may not be completely
-     * accurate.
      */
     public long getHitsCount() {
-        return hitsCount;
+        return hitsCount.sum();
     }
 
 
@@ -200,9 +220,20 @@ public class ResourceCache {
     // --------------------------------------------------------- Public Methods
 
 
+    /**
+     * Make room for an entry of the given size, evicting other entries if
+     * needed.
+     *
+     * @param space the size of the entry in KB
+     * @return true if the entry fits in the cache
+     */
     public boolean allocate(int space) {
 
-        int toFree = space - (cacheMaxSize - cacheSize);
+        if (space > cacheMaxSize) {
+            return false;
+        }
+
+        int toFree = space - (cacheMaxSize - cacheSize.get());
 
         if (toFree <= 0) {
             return true;
@@ -212,100 +243,53 @@ public class ResourceCache {
         // away again
         toFree += (cacheMaxSize / 20);
 
-        int size = notFoundCache.size();
-        if (size > spareNotFoundEntries) {
-            notFoundCache.clear();
-            cacheSize -= size;
-            toFree -= size;
-        }
-
-        if (toFree <= 0) {
-            return true;
-        }
-
-        int attempts = 0;
-        int entriesFound = 0;
-        long totalSpace = 0;
-        int[] toRemove = new int[maxAllocateIterations];
-        while (toFree > 0) {
-            if (attempts == maxAllocateIterations) {
-                // Give up, no changes are made to the current cache
-                return false;
-            }
-            if (toFree > 0) {
-                // Randomly select an entry in the array
-                int entryPos = -1;
-                boolean unique = false;
-                int count = 0;
-                while (!unique) {
-                    unique = true;
-                    entryPos = random.nextInt(cache.length) ;
-                    // Guarantee uniqueness
-                    for (int i = 0; i < entriesFound; i++) {
-                        if (toRemove[i] == entryPos) {
-                            unique = false;
-                        }
-                    }
-                }
-                long entryAccessRatio =
-                    ((cache[entryPos].accessCount * 100) / accessCount);
-                if (entryAccessRatio < desiredEntryAccessRatio) {
-                    toRemove[entriesFound] = entryPos;
-                    totalSpace += cache[entryPos].size;
-                    toFree -= cache[entryPos].size;
-                    entriesFound++;
-                }
+        if (notFoundCache.size() > spareNotFoundEntries) {
+            Iterator<String> names = notFoundCache.keySet().iterator();
+            while (names.hasNext()) {
+                names.next();
+                names.remove();
+                cacheSize.decrementAndGet();
+                toFree--;
             }
-            attempts++;
         }
 
-        // Now remove the selected entries
-        java.util.Arrays.sort(toRemove, 0, entriesFound);
-        CacheEntry[] newCache = new CacheEntry[cache.length - entriesFound];
-        int pos = 0;
-        int n = -1;
-        if (entriesFound > 0) {
-            n = toRemove[0];
-            for (int i = 0; i < cache.length; i++) {
-                if (i == n) {
-                    if ((pos + 1) < entriesFound) {
-                        n = toRemove[pos + 1];
-                        pos++;
-                    } else {
-                        pos++;
-                        n = -1;
-                    }
-                } else {
-                    newCache[i - pos] = cache[i];
-                }
+        // Two turns of the clock hand clear the second chances and then evict
+        int turns = 2 * (cache.size() + Math.max(0, staleCount.get())) + 1;
+        while (toFree > 0 && turns-- > 0) {
+            CacheEntry entry = clock.poll();
+            if (entry == null) {
+                break;
+            }
+            if (cache.get(entry.name) != entry) {
+                staleCount.decrementAndGet();
+            } else if (entry.referenced) {
+                entry.referenced = false;
+                clock.offer(entry);
+            } else if (cache.remove(entry.name, entry)) {
+                cacheSize.addAndGet(-entry.size);
+                toFree -= entry.size;
+            } else {
+                staleCount.decrementAndGet();
             }
         }
-        cache = newCache;
-        cacheSize -= totalSpace;
 
-        return true;
+        return (space <= cacheMaxSize - cacheSize.get());
 
     }
 
 
     public CacheEntry lookup(String name) {
 
-        CacheEntry cacheEntry = null;
-        CacheEntry[] currentCache = cache;
-        accessCount++;
-        int pos = find(currentCache, name);
-        if ((pos != -1) && (name.equals(currentCache[pos].name))) {
-            cacheEntry = currentCache[pos];
-        }
+        accessCount.increment();
+        CacheEntry cacheEntry = cache.get(name);
         if (cacheEntry == null) {
-            try {
-                cacheEntry = notFoundCache.get(name);
-            } catch (Exception e) {
-                // Ignore: the reliability of this lookup is not critical
-            }
+            cacheEntry = notFoundCache.get(name);
         }
         if (cacheEntry != null) {
-            hitsCount++;
+            hitsCount.increment();
+            if (!cacheEntry.referenced) {
+                cacheEntry.referenced = true;
+            }
         }
         return cacheEntry;
 
@@ -314,25 +298,28 @@ public class ResourceCache {
 
     public void load(CacheEntry entry) {
         if (entry.exists) {
-            if (insertCache(entry)) {
-                cacheSize += entry.size;
+            if (cache.putIfAbsent(entry.name, entry) == null) {
+                cacheSize.addAndGet(entry.size);
+                clock.offer(entry);
             }
         } else {
-            int sizeIncrement = (notFoundCache.get(entry.name) == null) ? 1 : 0;
-            notFoundCache.put(entry.name, entry);
-            cacheSize += sizeIncrement;
+            if (notFoundCache.put(entry.name, entry) == null) {
+                cacheSize.incrementAndGet();
+            }
         }
     }
 
 
     public boolean unload(String name) {
-        CacheEntry removedEntry = removeCache(name);
+        CacheEntry removedEntry = cache.remove(name);
         if (removedEntry != null) {
-            cacheSize -= removedEntry.size;
+            cacheSize.addAndGet(-removedEntry.size);
+            if (staleCount.incrementAndGet() > cache.size()) {
+                purgeClock();
+            }
             return true;
         } else if (notFoundCache.remove(name) != null) {
-
-            cacheSize--;
+            cacheSize.decrementAndGet();
             return true;
         }
         return false;
@@ -340,85 +327,12 @@ public class ResourceCache {
 
 
     /**
-     * Find a map elemnt given its name in a sorted array of map elements.
-     * This will return the index for the closest inferior or equal item in the
-     * given array.
-     */
-    private static final int find(CacheEntry[] map, String name) {
-
-        int a = 0;
-        int b = map.length - 1;
-
-        // Special cases: -1 and 0
-        if (b == -1) {
-            return -1;
-        }
-        if (name.compareTo(map[0].name) < 0) {
-            return -1;
-        }
-        if (b == 0) {
-            return 0;
-        }
-
-        int i = 0;
-        while (true) {
-            i = (b + a) >>> 1;
-            int result = name.compareTo(map[i].name);
-            if (result > 0) {
-                a = i;
-            } else if (result == 0) {
-                return i;
-            } else {
-                b = i;
-            }
-            if ((b - a) == 1) {
-                int result2 = name.compareTo(map[b].name);
-                if (result2 < 0) {
-                    return a;
-                } else {
-                    return b;
-                }
-            }
-        }
-
-    }
-
-
-    /**
-     * Insert into the right place in a sorted MapElement array, and prevent
-     * duplicates.
+     * Remove the unloaded entries from the clock, so that it does not grow
+     * when entries are unloaded and loaded again without any eviction.
      */
-    private final boolean insertCache(CacheEntry newElement) {
-        CacheEntry[] oldCache = cache;
-        int pos = find(oldCache, newElement.name);
-        if ((pos != -1) && (newElement.name.equals(oldCache[pos].name))) {
-            return false;
-        }
-        CacheEntry[] newCache = new CacheEntry[cache.length + 1];
-        System.arraycopy(oldCache, 0, newCache, 0, pos + 1);
-        newCache[pos + 1] = newElement;
-        System.arraycopy
-            (oldCache, pos + 1, newCache, pos + 2, oldCache.length - pos - 1);
-        cache = newCache;
-        return true;
-    }
-
-
-    /**
-     * Insert into the right place in a sorted MapElement array.
-     */
-    private final CacheEntry removeCache(String name) {
-        CacheEntry[] oldCache = cache;
-        int pos = find(oldCache, name);
-        if ((pos != -1) && (name.equals(oldCache[pos].name))) {
-            CacheEntry[] newCache = new CacheEntry[cache.length - 1];
-            System.arraycopy(oldCache, 0, newCache, 0, pos);
-            System.arraycopy(oldCache, pos + 1, newCache, pos,
-                             oldCache.length - pos - 1);
-            cache = newCache;
-            return oldCache[pos];
-        }
-        return null;
+    private void purgeClock() {
+        clock.removeIf(entry -> cache.get(entry.name) != entry);
+        staleCount.set(0);
     }
 
 
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.naming.resources;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceCacheTest {
+
+    @Test
+    public void loadLookupUnload() {
+        ResourceCache cache = new ResourceCache();
+        CacheEntry entry = entry("/index.html", true, 3);
+        assertTrue(cache.allocate(entry.size));
+        cache.load(entry);
+        cache.load(entry("/index.html", true, 5));
+
+        assertAll(
+            () -> assertSame(entry, cache.lookup("/index.html")),
+            () -> assertNull(cache.lookup("/missing.html")),
+            () -> assertEquals(3, cache.getCacheSize()),
+            () -> assertEquals(2, cache.getAccessCount()),
+            () -> assertEquals(1, cache.getHitsCount())
+        );
+
+        assertTrue(cache.unload("/index.html"));
+        assertFalse(cache.unload("/index.html"));
+        assertNull(cache.lookup("/index.html"));
+        assertEquals(0, cache.getCacheSize());
+    }
+
+
+    @Test
+    public void notFoundEntries() {
+        ResourceCache cache = new ResourceCache();
+        cache.setCacheMaxSize(20);
+        cache.setSpareNotFoundEntries(2);
+        for (int i = 0; i < 3; i++) {
+            cache.load(entry("/missing" + i, false, 1));
+        }
+        CacheEntry notFound = cache.lookup("/missing0");
+        assertNotNull(notFound);
+        assertFalse(notFound.exists);
+        assertEquals(3, cache.getCacheSize());
+
+        // Over the spare amount, the not found entries are dropped first
+        assertTrue(cache.allocate(18));
+        assertNull(cache.lookup("/missing0"));
+        assertEquals(0, cache.getCacheSize());
+    }
+
+
+    @Test
+    public void evictsEntriesNotLookedUp() {
+        ResourceCache cache = new ResourceCache();
+        cache.setCacheMaxSize(12);
+        for (String name : new String[] {"/a", "/b", "/c"}) {
+            CacheEntry entry = entry(name, true, 4);
+            assertTrue(cache.allocate(entry.size));
+            cache.load(entry);
+        }
+        assertNotNull(cache.lookup("/a"));
+
+        assertTrue(cache.allocate(4));
+        assertAll(
+            () -> assertNotNull(cache.lookup("/a")),
+            () -> assertNull(cache.lookup("/b")),
+            () -> assertNotNull(cache.lookup("/c")),
+            () -> assertEquals(8, cache.getCacheSize())
+        );
+    }
+
+
+    @Test
+    public void rejectsEntriesLargerThanTheCache() {
+        ResourceCache cache = new ResourceCache();
+        cache.setCacheMaxSize(10);
+        cache.load(entry("/a", true, 4));
+        assertFalse(cache.allocate(11));
+        assertNotNull(cache.lookup("/a"));
+    }
+
+
+    @Test
+    public void concurrentAccessKeepsSizeConsistent() throws Exception {
+        ResourceCache cache = new ResourceCache();
+        cache.setCacheMaxSize(500);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        String name = "/r" + random.nextInt(200);
+                        int op = random.nextInt(10);
+                        if (op == 0) {
+                            cache.unload(name);
+                        } else if (cache.lookup(name) == null) {
+                            CacheEntry entry = entry(name, true, 1 + random.nextInt(8));
+                            if (cache.allocate(entry.size)) {
+                                cache.load(entry);
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int size = 0;
+        for (int i = 0; i < 200; i++) {
+            CacheEntry entry = cache.cache.get("/r" + i);
+            if (entry != null) {
+                size += entry.size;
+            }
+        }
+        assertEquals(size, cache.getCacheSize());
+    }
+
+
+    @Test
+    public void offHeapContent() throws Exception {
+        byte[] bytes = "<html>off-heap</html>".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        Resource resource = new Resource();
+        resource.setContent(buffer);
+
+        assertTrue(resource.isContentLoaded());
+        assertNull(resource.getContent());
+        for (int i = 0; i < 2; i++) {
+            try (InputStream is = resource.streamContent()) {
+                assertArrayEquals(bytes, is.readAllBytes());
+            }
+        }
+        assertEquals(bytes.length, resource.getContentBuffer().remaining());
+    }
+
+
+    private static CacheEntry entry(String name, boolean exists, int size) {
+        CacheEntry entry = new CacheEntry();
+        entry.name = name;
+        entry.exists = exists;
+        entry.size = size;
+        return entry;
+    }
+}
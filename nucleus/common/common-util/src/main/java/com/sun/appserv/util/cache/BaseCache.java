@@ -143,16 +143,21 @@ public class BaseCache implements Cache {
             threshold = (int)(maxEntries * loadFactor) + 1;
         }
 
-        // create the cache and the bucket locks
         entryCount = 0;
-               buckets = new CacheItem[maxBuckets];
-               bucketLocks = new Object[maxBuckets];
+        createBuckets();
+    }
+
+    /**
+     * create the cache buckets, their locks and refresh flags;
+     * subclasses keeping their entries elsewhere may skip them.
+     */
+    protected void createBuckets() {
+        buckets = new CacheItem[maxBuckets];
+        bucketLocks = new Object[maxBuckets];
         refreshFlags = new boolean[maxBuckets];
 
         for (int i=0; i<maxBuckets; i++) {
-                       buckets[i] = null;
-                        bucketLocks[i] = new Object();
-            refreshFlags[i] = false;
+            bucketLocks[i] = new Object();
         }
     }
 
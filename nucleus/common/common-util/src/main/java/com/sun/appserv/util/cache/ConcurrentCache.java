@@ -0,0 +1,500 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.appserv.util.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ConcurrentCache -- in-memory bounded cache without locks on the read path.
+ * <p>
+ * Entries are kept in a {@link ConcurrentHashMap}, a hit only updates the
+ * access frequency of the key. The cache is bounded by the number of entries
+ * and optionally by the size in bytes of the values (the MaxSize property
+ * with the same format as in {@link BoundedMultiLruCache}).
+ * <p>
+ * When the cache overflows, a few entries at the position of a rotating
+ * cursor are sampled and the least frequently used of them is the victim.
+ * A new entry is admitted only if it was used more frequently than the
+ * victim (TinyLFU admission), so one time requests don't push out the popular
+ * entries. Frequencies are counted in a small count-min sketch which is
+ * halved periodically, so old popularity fades away.
+ * <p>
+ * The cache holds a single value for each key, {@link #add(Object, Object)}
+ * replaces the value as {@link #put(Object, Object)} does.
+ * <p>
+ * The statistics of {@link BaseCache} are kept, so the cache can be monitored
+ * by the {@link com.sun.appserv.util.cache.mbeans.JmxBaseCache}.
+ */
+public class ConcurrentCache extends BaseCache {
+
+    // number of entries compared when looking for an eviction victim
+    static final int EVICTION_SAMPLE_SIZE = 8;
+
+    // upper bound on the cache size in bytes
+    protected long maxSize = Constants.DEFAULT_MAX_CACHE_SIZE;
+    private final AtomicLong currentSize = new AtomicLong();
+
+    private ConcurrentHashMap<Object, Entry> entries;
+    private FrequencySketch sketch;
+
+    // guards the eviction cursor
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Iterator<Entry> evictionCursor;
+
+    // indexes being refreshed, with the lock their waiters wait on
+    private final ConcurrentHashMap<Integer, Object> refreshLocks = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder removals = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder additions = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries expected in the cache
+     * @param loadFactor the load factor
+     * @param props opaque list of properties; MaxSize limits the size in bytes
+     */
+    @Override
+    public void init(int maxEntries, float loadFactor, Properties props) {
+        super.init(maxEntries, loadFactor, props);
+
+        if (props != null && props.getProperty("MaxSize") != null) {
+            maxSize = BoundedMultiLruCache.parseMaxSize(props.getProperty("MaxSize"));
+        }
+        entries = new ConcurrentHashMap<>(Math.min(this.maxEntries, 1 << 16));
+        sketch = new FrequencySketch(this.maxEntries);
+        evictionCursor = entries.values().iterator();
+        currentSize.set(0);
+    }
+
+    /**
+     * The entries are kept in a {@link ConcurrentHashMap}, the buckets of the
+     * base cache are not needed.
+     */
+    @Override
+    protected void createBuckets() {
+    }
+
+    @Override
+    public Object get(int hashCode, Object key) {
+        sketch.increment(hashCode);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return loadValue(key, hashCode);
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    @Override
+    public Iterator getAll(Object key) {
+        Object value = get(key);
+        if (value == null) {
+            return Collections.emptyIterator();
+        }
+        return Collections.singletonList(value).iterator();
+    }
+
+    @Override
+    public Iterator keys() {
+        return new ArrayList<>(entries.keySet()).iterator();
+    }
+
+    @Override
+    public Enumeration elements() {
+        return Collections.enumeration(new ArrayList<>(entries.keySet()));
+    }
+
+    @Override
+    public Iterator values() {
+        List<Object> values = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            values.add(entry.value);
+        }
+        return values.iterator();
+    }
+
+    @Override
+    public Object put(Object key, Object value) {
+        return put(key, value, -1);
+    }
+
+    @Override
+    public Object put(Object key, Object value, int size) {
+        if (size > maxSize) {
+            // would push out everything else
+            return remove(key);
+        }
+        int hashCode = hash(key);
+        Entry entry = new Entry(key, value, hashCode, size);
+        Entry old = entries.put(key, entry);
+        if (old != null) {
+            currentSize.addAndGet(entry.size - old.size);
+            refreshes.increment();
+            if (currentSize.get() > maxSize) {
+                evict(null);
+            }
+            return old.value;
+        }
+
+        sketch.increment(hashCode);
+        currentSize.addAndGet(entry.size);
+        additions.increment();
+        if (isThresholdReached()) {
+            evict(entry);
+        }
+        return null;
+    }
+
+    @Override
+    public void add(Object key, Object value) {
+        put(key, value, -1);
+    }
+
+    @Override
+    public void add(Object key, Object value, int size) {
+        put(key, value, size);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return removeEntry(entries.get(key));
+    }
+
+    @Override
+    public Object remove(int hashCode, Object key) {
+        return removeEntry(entries.get(key));
+    }
+
+    @Override
+    public Object remove(Object key, Object value) {
+        Entry entry = entries.get(key);
+        if (entry == null || (value != null && !value.equals(entry.value))) {
+            return null;
+        }
+        return removeEntry(entry);
+    }
+
+    @Override
+    public void removeAll(Object key) {
+        remove(key);
+    }
+
+    @Override
+    public boolean waitRefresh(int index) {
+        Object refresh = refreshLocks.putIfAbsent(index, new Object());
+        if (refresh == null) {
+            return false;
+        }
+
+        // wait till refresh is finished
+        synchronized (refresh) {
+            try {
+                while (refreshLocks.get(index) == refresh) {
+                    refresh.wait();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void notifyRefresh(int index) {
+        Object refresh = refreshLocks.remove(index);
+        if (refresh != null) {
+            synchronized (refresh) {
+                refresh.notifyAll();
+            }
+        }
+    }
+
+    private Object removeEntry(Entry entry) {
+        if (entry == null || !entries.remove(entry.key, entry)) {
+            return null;
+        }
+        currentSize.addAndGet(-entry.size);
+        removals.increment();
+        return entry.value;
+    }
+
+    @Override
+    protected boolean isThresholdReached() {
+        return entries.size() > threshold || currentSize.get() > maxSize;
+    }
+
+    /**
+     * evict entries until the cache is within its bounds
+     * @param candidate entry just added; it is removed instead of the victim
+     *        unless it was used more frequently than the victim. May be null.
+     */
+    private void evict(Entry candidate) {
+        evictionLock.lock();
+        try {
+            while (isThresholdReached()) {
+                Entry victim = sampleVictim(candidate);
+                if (victim == null) {
+                    // the candidate is the only entry and still too big
+                    victim = candidate;
+                    if (victim == null) {
+                        return;
+                    }
+                } else if (candidate != null && sketch.frequency(candidate.hashCode) <= sketch.frequency(victim.hashCode)) {
+                    victim = candidate;
+                }
+                if (entries.remove(victim.key, victim)) {
+                    currentSize.addAndGet(-victim.size);
+                    overflows.increment();
+                    for (int i = 0; i < listeners.size(); i++) {
+                        CacheListener listener = (CacheListener) listeners.get(i);
+                        listener.trimEvent(victim.key, victim.value);
+                    }
+                }
+                if (victim == candidate) {
+                    return;
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * @return the least frequently used of the sampled entries; null if there is nothing to evict
+     */
+    private Entry sampleVictim(Entry candidate) {
+        Entry victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        boolean restarted = false;
+        for (int sampled = 0; sampled < EVICTION_SAMPLE_SIZE;) {
+            if (!evictionCursor.hasNext()) {
+                if (restarted) {
+                    break;
+                }
+                evictionCursor = entries.values().iterator();
+                restarted = true;
+                continue;
+            }
+            Entry entry = evictionCursor.next();
+            if (entry == candidate) {
+                continue;
+            }
+            int frequency = sketch.frequency(entry.hashCode);
+            if (frequency < victimFrequency) {
+                victim = entry;
+                victimFrequency = frequency;
+            }
+            sampled++;
+        }
+        return victim;
+    }
+
+    @Override
+    public int clear() {
+        int count = 0;
+        for (Entry entry : entries.values()) {
+            if (entries.remove(entry.key, entry)) {
+                currentSize.addAndGet(-entry.size);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    @Override
+    public Object getStatByName(String key) {
+        if (key == null) {
+            return null;
+        }
+        switch (key) {
+            case Constants.STAT_BASECACHE_MAX_ENTRIES:
+                return Integer.valueOf(maxEntries);
+            case Constants.STAT_BASECACHE_THRESHOLD:
+                return Integer.valueOf(threshold);
+            case Constants.STAT_BASECACHE_TABLE_SIZE:
+                return Integer.valueOf(maxBuckets);
+            case Constants.STAT_BASECACHE_ENTRY_COUNT:
+                return Integer.valueOf(entries.size());
+            case Constants.STAT_BASECACHE_HIT_COUNT:
+                return Integer.valueOf(hits.intValue());
+            case Constants.STAT_BASECACHE_MISS_COUNT:
+                return Integer.valueOf(misses.intValue());
+            case Constants.STAT_BASECACHE_REMOVAL_COUNT:
+                return Integer.valueOf(removals.intValue());
+            case Constants.STAT_BASECACHE_REFRESH_COUNT:
+                return Integer.valueOf(refreshes.intValue());
+            case Constants.STAT_BASECACHE_OVERFLOW_COUNT:
+                return Integer.valueOf(overflows.intValue());
+            case Constants.STAT_BASECACHE_ADD_COUNT:
+                return Integer.valueOf(additions.intValue());
+            case Constants.STAT_CONCURRENTCACHE_CURRENT_SIZE:
+                return Long.valueOf(currentSize.get());
+            case Constants.STAT_CONCURRENTCACHE_MAX_SIZE:
+                if (maxSize == Constants.DEFAULT_MAX_CACHE_SIZE) {
+                    return Constants.STAT_DEFAULT;
+                }
+                return Long.valueOf(maxSize);
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public Map getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        for (String key : new String[] {Constants.STAT_BASECACHE_MAX_ENTRIES, Constants.STAT_BASECACHE_THRESHOLD,
+            Constants.STAT_BASECACHE_TABLE_SIZE, Constants.STAT_BASECACHE_ENTRY_COUNT,
+            Constants.STAT_BASECACHE_HIT_COUNT, Constants.STAT_BASECACHE_MISS_COUNT,
+            Constants.STAT_BASECACHE_REMOVAL_COUNT, Constants.STAT_BASECACHE_REFRESH_COUNT,
+            Constants.STAT_BASECACHE_OVERFLOW_COUNT, Constants.STAT_BASECACHE_ADD_COUNT,
+            Constants.STAT_CONCURRENTCACHE_CURRENT_SIZE, Constants.STAT_CONCURRENTCACHE_MAX_SIZE}) {
+            stats.put(key, getStatByName(key));
+        }
+        return stats;
+    }
+
+    @Override
+    public void clearStats() {
+        hits.reset();
+        misses.reset();
+        removals.reset();
+        refreshes.reset();
+        overflows.reset();
+        additions.reset();
+    }
+
+    @Override
+    public void destroy() {
+        if (entries != null) {
+            clear();
+        }
+        super.destroy();
+        entries = null;
+        evictionCursor = null;
+    }
+
+    /**
+     * cached value; immutable, a refresh replaces the entry
+     */
+    private static final class Entry {
+        final Object key;
+        final Object value;
+        final int hashCode;
+        // unknown sizes are not counted
+        final int size;
+
+        Entry(Object key, Object value, int hashCode, int size) {
+            this.key = key;
+            this.value = value;
+            this.hashCode = hashCode;
+            this.size = Math.max(size, 0);
+        }
+    }
+
+    /**
+     * Count-min sketch of 4 bit counters estimating how often the keys were used.
+     * Counters are updated without synchronization, lost updates only make the
+     * estimate a bit less accurate. After the number of increments reaches ten
+     * times the size of the cache, all counters are halved.
+     */
+    static final class FrequencySketch {
+
+        private static final int MAX_FREQUENCY = 15;
+        private static final int[] SEEDS = {0x97cb3127, 0xb492b66f, 0x9ae16a3b, 0xcf1bbcdc};
+
+        private final byte[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int increments;
+
+        FrequencySketch(int maxEntries) {
+            // sixteen counters for each entry keep the collisions low
+            int length = 16;
+            while (length < 16L * maxEntries && length < (1 << 24)) {
+                length <<= 1;
+            }
+            this.table = new byte[length];
+            this.mask = length - 1;
+            this.sampleSize = (int) Math.min(10L * Math.max(maxEntries, 16), Integer.MAX_VALUE);
+        }
+
+        void increment(int hashCode) {
+            boolean added = false;
+            for (int seed : SEEDS) {
+                int index = index(hashCode, seed);
+                if (table[index] < MAX_FREQUENCY) {
+                    table[index]++;
+                    added = true;
+                }
+            }
+            if (added && ++increments >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(int hashCode) {
+            int frequency = MAX_FREQUENCY;
+            for (int seed : SEEDS) {
+                frequency = Math.min(frequency, table[index(hashCode, seed)]);
+            }
+            return frequency;
+        }
+
+        private synchronized void reset() {
+            if (increments < sampleSize) {
+                // another thread just did it
+                return;
+            }
+            for (int i = 0; i < table.length; i++) {
+                table[i] >>= 1;
+            }
+            increments = 0;
+        }
+
+        private int index(int hashCode, int seed) {
+            int hash = (hashCode + seed) * 0x9e3779b9;
+            hash ^= hash >>> 15;
+            hash *= 0x2c1b3c6d;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+}
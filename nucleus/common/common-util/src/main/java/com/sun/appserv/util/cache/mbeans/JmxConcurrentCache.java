@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.appserv.util.cache.mbeans;
+
+import com.sun.appserv.util.cache.ConcurrentCache;
+import com.sun.appserv.util.cache.Constants;
+
+/**
+ * This class provides implementation for JmxConcurrentCache MBean
+ */
+public class JmxConcurrentCache extends JmxBaseCache implements JmxConcurrentCacheMBean {
+
+    private ConcurrentCache concurrentCache;
+
+    public JmxConcurrentCache(ConcurrentCache concurrentCache, String name) {
+        super(concurrentCache, name);
+        this.concurrentCache = concurrentCache;
+    }
+
+    /**
+     * Returns the current size of the cache in bytes
+     */
+    public Long getCurrentSize() {
+        return (Long) concurrentCache.getStatByName(
+                                        Constants.STAT_CONCURRENTCACHE_CURRENT_SIZE);
+    }
+
+    /**
+     * Returns the upper bound on the cache size
+     */
+    public Long getMaxSize() {
+        Object object = concurrentCache.getStatByName(
+                                        Constants.STAT_CONCURRENTCACHE_MAX_SIZE);
+        if (object instanceof String &&
+            ((String) object).equals(Constants.STAT_DEFAULT)) {
+            return Long.valueOf(Constants.DEFAULT_MAX_CACHE_SIZE);
+        }
+        return (Long) object;
+    }
+}
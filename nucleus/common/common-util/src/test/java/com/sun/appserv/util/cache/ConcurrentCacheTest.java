@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.appserv.util.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentCacheTest {
+
+    @Test
+    public void putGetRemove() throws Exception {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(10, null);
+
+        assertNull(cache.put("a", "A"));
+        assertEquals("A", cache.put("a", "AA"));
+        assertEquals("AA", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertTrue(cache.contains("a"));
+        assertEquals("AA", cache.remove("a"));
+        assertTrue(cache.isEmpty());
+
+        assertEquals(Integer.valueOf(2), cache.getStatByName(Constants.STAT_BASECACHE_HIT_COUNT));
+        assertEquals(Integer.valueOf(1), cache.getStatByName(Constants.STAT_BASECACHE_MISS_COUNT));
+        assertEquals(Integer.valueOf(1), cache.getStatByName(Constants.STAT_BASECACHE_ADD_COUNT));
+        assertEquals(Integer.valueOf(1), cache.getStatByName(Constants.STAT_BASECACHE_REFRESH_COUNT));
+        assertEquals(Integer.valueOf(1), cache.getStatByName(Constants.STAT_BASECACHE_REMOVAL_COUNT));
+        assertEquals(Constants.STAT_DEFAULT, cache.getStatByName(Constants.STAT_CONCURRENTCACHE_MAX_SIZE));
+
+        cache.clearStats();
+        assertEquals(Integer.valueOf(0), cache.getStats().get(Constants.STAT_BASECACHE_HIT_COUNT));
+    }
+
+    @Test
+    public void frequentlyUsedEntriesSurvive() throws Exception {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(100, 1.0f, null);
+        List<Object> trimmed = new ArrayList<>();
+        cache.addCacheListener((key, value) -> trimmed.add(key));
+        for (int i = 0; i < 100; i++) {
+            cache.put("hot" + i, i);
+            for (int j = 0; j < 5; j++) {
+                assertNotNull(cache.get("hot" + i));
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            cache.put("cold" + i, i);
+        }
+
+        assertThat(cache.getEntryCount(), lessThanOrEqualTo(101));
+        int hot = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.get("hot" + i) != null) {
+                hot++;
+            }
+        }
+        assertThat(100 - hot, lessThanOrEqualTo(5));
+        assertFalse(trimmed.isEmpty());
+        assertEquals(cache.getStatByName(Constants.STAT_BASECACHE_OVERFLOW_COUNT), trimmed.size());
+    }
+
+    @Test
+    public void boundedBySize() throws Exception {
+        Properties props = new Properties();
+        props.setProperty("MaxSize", "1KB");
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(1000, props);
+        for (int i = 0; i < 100; i++) {
+            cache.put("key" + i, new byte[100], 100);
+        }
+        long currentSize = (Long) cache.getStatByName(Constants.STAT_CONCURRENTCACHE_CURRENT_SIZE);
+        assertThat(currentSize, lessThanOrEqualTo(1024L));
+        assertEquals(Long.valueOf(1024L), cache.getStatByName(Constants.STAT_CONCURRENTCACHE_MAX_SIZE));
+
+        cache.put("huge", new byte[2048], 2048);
+        assertNull(cache.get("huge"));
+
+        props.setProperty("MaxSize", "nonsense");
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentCache().init(10, props));
+    }
+
+    @Test
+    public void concurrentAccess() throws Exception {
+        final ConcurrentCache cache = new ConcurrentCache();
+        cache.init(64, 1.0f, null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        String key = "key" + (i % 200);
+                        if (cache.get(key) == null) {
+                            cache.put(key, key, 10);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(cache.getEntryCount(), lessThanOrEqualTo(65));
+        assertEquals(10L * cache.getEntryCount(), cache.getStatByName(Constants.STAT_CONCURRENTCACHE_CURRENT_SIZE));
+        assertEquals(cache.getEntryCount(), cache.clear());
+        assertEquals(0L, cache.getStatByName(Constants.STAT_CONCURRENTCACHE_CURRENT_SIZE));
+    }
+
+    @Test
+    public void largestCacheKeepsItsFrequencies() {
+        ConcurrentCache.FrequencySketch sketch = new ConcurrentCache.FrequencySketch(BaseCache.MAX_ENTRIES);
+        for (int i = 0; i < 3; i++) {
+            sketch.increment(42);
+        }
+        assertEquals(3, sketch.frequency(42));
+    }
+
+    @Test
+    public void refreshesWithoutBuckets() throws Exception {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(1000, null);
+        assertNull(cache.buckets);
+        assertNull(cache.bucketLocks);
+
+        int index = cache.getIndex("key");
+        assertFalse(cache.waitRefresh(index));
+        AtomicBoolean refreshed = new AtomicBoolean();
+        Thread waiter = new Thread(() -> refreshed.set(cache.waitRefresh(index)));
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            assertTrue(waiter.isAlive());
+            Thread.sleep(10L);
+        }
+        cache.notifyRefresh(index);
+        waiter.join(5000L);
+        assertTrue(refreshed.get());
+        assertFalse(cache.waitRefresh(index));
+        cache.notifyRefresh(index);
+        cache.destroy();
+    }
+}
@@ -259,6 +259,26 @@ public class ComponentInvocation implements Cloneable {
         return moduleName;
     }
 
+    /**
+     * Clears the state of the finished invocation so the object can be reused for another
+     * invocation of the same component. The component id, container, application and module names
+     * and the invocation type are kept.
+     */
+    protected void reset() {
+        preInvokeDoneStatus = false;
+        auth = null;
+        instance = null;
+        instanceName = null;
+        jndiEnvironment = null;
+        transaction = null;
+        transactionCompleting = false;
+        transactionOperationsManager = null;
+        oldSecurityContext = null;
+        resourceTableKey = null;
+        resourceHandler = null;
+        clearRegistry();
+    }
+
     @Override
     public ComponentInvocation clone() {
         ComponentInvocation newInv = null;
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.api.jdbc;
+
+import java.io.Serializable;
+
+/**
+ * Snapshot of the statistics of one SQL statement in a connection pool.
+ *
+ * @see SQLStatementStatistics
+ */
+public class SQLStatementRecord implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String sqlQuery;
+    private final long executionCount;
+    private final long executionTimeNanos;
+    private final long cacheHitCount;
+    private final long cacheMissCount;
+
+    public SQLStatementRecord(String sqlQuery, long executionCount, long executionTimeNanos, long cacheHitCount,
+        long cacheMissCount) {
+        this.sqlQuery = sqlQuery;
+        this.executionCount = executionCount;
+        this.executionTimeNanos = executionTimeNanos;
+        this.cacheHitCount = cacheHitCount;
+        this.cacheMissCount = cacheMissCount;
+    }
+
+    /**
+     * @return the SQL statement
+     */
+    public String getSqlQuery() {
+        return sqlQuery;
+    }
+
+    /**
+     * @return number of executions of the statement
+     */
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    /**
+     * @return total time spent executing the statement, in nanoseconds
+     */
+    public long getExecutionTimeNanos() {
+        return executionTimeNanos;
+    }
+
+    /**
+     * @return average time of one execution in milliseconds, zero if the statement was not executed.
+     */
+    public double getAverageExecutionTimeMillis() {
+        return executionCount == 0 ? 0d : executionTimeNanos / 1_000_000d / executionCount;
+    }
+
+    /**
+     * @return number of times the statement was reused from the statement cache
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    /**
+     * @return number of times the statement had to be prepared
+     */
+    public long getCacheMissCount() {
+        return cacheMissCount;
+    }
+
+    /**
+     * @return ratio of the cache hits to all requests for the statement, between 0 and 1.
+     */
+    public double getCacheHitRatio() {
+        long requests = cacheHitCount + cacheMissCount;
+        return requests == 0 ? 0d : (double) cacheHitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "SQLStatementRecord[sqlQuery=" + sqlQuery + ", executionCount=" + executionCount
+            + ", executionTimeNanos=" + executionTimeNanos + ", cacheHitCount=" + cacheHitCount
+            + ", cacheMissCount=" + cacheMissCount + "]";
+    }
+}
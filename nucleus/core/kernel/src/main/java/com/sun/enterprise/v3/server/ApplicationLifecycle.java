@@ -194,6 +194,7 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
 
     private DeploymentLifecycleProbeProvider deploymentLifecycleProbeProvider;
     private ExecutorService executorService;
+    private DeployableTypesCache typesCache;
     private Collection<ApplicationLifecycleInterceptor> alcInterceptors = emptyList();
 
     private ThreadLocal<Deque<ExtendedDeploymentContext>> currentDeploymentContext;
@@ -205,6 +206,7 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
     @Override
     public void postConstruct() {
         executorService = createExecutorService();
+        typesCache = DeployableTypesCache.create();
         deploymentLifecycleProbeProvider = new DeploymentLifecycleProbeProvider();
         alcInterceptors = serviceLocator.getAllServices(ApplicationLifecycleInterceptor.class);
         currentDeploymentContext = new ThreadLocal<>();
@@ -608,6 +610,22 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
             }
 
             try {
+                // Reuse the class model of unchanged files parsed by a previous deployment
+                String fingerprint = null;
+                if (typesCache != null) {
+                    List<URI> inputs = new ArrayList<>();
+                    inputs.add(context.getSource().getURI());
+                    inputs.addAll(getExternalLibraryURIs(context));
+                    fingerprint = DeployableTypesCache.fingerprint(inputs);
+                    Parser parser = fingerprint == null ? null : typesCache.get(context.getSource().getURI(), fingerprint);
+                    if (parser != null) {
+                        LOG.log(FINE, "Reusing the class model of {0}", context.getSource().getURI());
+                        context.addTransientAppMetaData(Types.class.getName(), parser.getContext().getTypes());
+                        context.addTransientAppMetaData(Parser.class.getName(), parser);
+                        return parser.getContext().getTypes();
+                    }
+                }
+
                 // Scan the jar and store the result in the deployment context.
                 Parser parser = new Parser(
                         new ParsingContext.Builder()
@@ -632,6 +650,10 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
                     }
                 }
 
+                if (fingerprint != null) {
+                    typesCache.put(context.getSource().getURI(), fingerprint, parser);
+                }
+
                 context.addTransientAppMetaData(Types.class.getName(), parser.getContext().getTypes());
                 context.addTransientAppMetaData(Parser.class.getName(), parser);
 
@@ -680,7 +702,14 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
 
     private List<ReadableArchive> getExternalLibraries(DeploymentContext context) throws IOException, URISyntaxException {
         List<ReadableArchive> externalLibArchives = new ArrayList<>();
+        for (URI externalLib : getExternalLibraryURIs(context)) {
+            externalLibArchives.add(archiveFactory.openArchive(new File(externalLib)));
+        }
 
+        return externalLibArchives;
+    }
+
+    private List<URI> getExternalLibraryURIs(DeploymentContext context) throws IOException, URISyntaxException {
         String skipScanExternalLibProp = context.getAppProps().getProperty(SKIP_SCAN_EXTERNAL_LIB);
 
         if (Boolean.parseBoolean(skipScanExternalLibProp)) {
@@ -689,17 +718,19 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
             return emptyList();
         }
 
+        List<URI> externalLibURIs = new ArrayList<>();
+
         // Get the libraries referenced in the manifest class-path
         for (URI externalLib : DeploymentUtils.getExternalLibraries(context.getSource())) {
-            externalLibArchives.add(archiveFactory.openArchive(new File(externalLib.getPath())));
+            externalLibURIs.add(new File(externalLib.getPath()).toURI());
         }
 
         // Get the libraries referenced in the manifest extension-list
         for (URI externalLib : context.getAppLibs()) {
-            externalLibArchives.add(archiveFactory.openArchive(new File(externalLib.getPath())));
+            externalLibURIs.add(new File(externalLib.getPath()).toURI());
         }
 
-        return externalLibArchives;
+        return externalLibURIs;
     }
 
     /**
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.server;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.glassfish.hk2.classmodel.reflect.Parser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Keeps the class model parsed from the deployed archives, so an archive prepared again with
+ * unchanged files, typically when the application is redeployed, reloaded or enabled again,
+ * is not parsed again.
+ * <p>
+ * The cached model is only reused if the fingerprint of the archive and of its external
+ * libraries still matches. The fingerprint covers the path, the size and the modification
+ * time of all their files. The model must not change once cached: a parser which was given
+ * more files to parse since is not reused. The parsers are held by soft references and the
+ * least recently used ones are evicted when the cache is full.
+ * <p>
+ * The class model is kept in memory only, it is parsed again after a restart. It is not
+ * persisted next to the generated artifacts, because the class model is not serializable
+ * and the annotation processing needs the parser itself, not just an index of the types.
+ */
+final class DeployableTypesCache {
+
+    /**
+     * System property with the maximal number of cached class models. The cache is disabled
+     * when the property is not set or is not positive.
+     */
+    static final String MAX_ENTRIES_PROPERTY = "org.glassfish.deployment.typesCacheSize";
+
+    private final Map<URI, Entry> entries;
+
+    DeployableTypesCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<URI, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return cache sized by the {@value #MAX_ENTRIES_PROPERTY} system property, or null if
+     *         caching is disabled.
+     */
+    static DeployableTypesCache create() {
+        int maxEntries = Integer.getInteger(MAX_ENTRIES_PROPERTY, 0);
+        return maxEntries > 0 ? new DeployableTypesCache(maxEntries) : null;
+    }
+
+    /**
+     * @param source URI of the deployed archive
+     * @param fingerprint current fingerprint of the archive, see {@link #fingerprint(List)}
+     * @return the parser which parsed the archive with the same fingerprint, or null
+     */
+    synchronized Parser get(URI source, String fingerprint) {
+        Entry entry = entries.get(source);
+        if (entry == null) {
+            return null;
+        }
+        Parser parser = entry.parser.get();
+        if (parser == null || !entry.fingerprint.equals(fingerprint)
+                || parser.getContext().getTypes().getAllTypes().size() != entry.typeCount) {
+            entries.remove(source);
+            return null;
+        }
+        return parser;
+    }
+
+    /**
+     * @param source URI of the deployed archive
+     * @param fingerprint fingerprint of the parsed files, see {@link #fingerprint(List)}
+     * @param parser parser which parsed all the files and terminated
+     */
+    synchronized void put(URI source, String fingerprint, Parser parser) {
+        entries.put(source, new Entry(fingerprint, parser));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Computes the fingerprint of the files of an archive and its external libraries.
+     *
+     * @param uris URIs of the archive and of the external libraries, directories or files
+     * @return the fingerprint or null if some of the URIs is not a local file
+     * @throws IOException if the files could not be listed
+     */
+    static String fingerprint(List<URI> uris) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final ByteBuffer attributes = ByteBuffer.allocate(2 * Long.BYTES);
+        for (URI uri : uris) {
+            if (uri == null || !"file".equals(uri.getScheme())) {
+                return null;
+            }
+            Path root = Path.of(uri);
+            if (!Files.exists(root)) {
+                return null;
+            }
+            final List<Path> files;
+            try (Stream<Path> walk = Files.walk(root)) {
+                files = walk.filter(Files::isRegularFile).sorted().toList();
+            }
+            digest.update(root.toString().getBytes(UTF_8));
+            for (Path file : files) {
+                BasicFileAttributes fileAttributes = Files.readAttributes(file, BasicFileAttributes.class);
+                digest.update(root.relativize(file).toString().getBytes(UTF_8));
+                attributes.clear();
+                attributes.putLong(fileAttributes.size()).putLong(fileAttributes.lastModifiedTime().toMillis());
+                digest.update(attributes.array());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static final class Entry {
+
+        final String fingerprint;
+        final SoftReference<Parser> parser;
+        final int typeCount;
+
+        Entry(String fingerprint, Parser parser) {
+            this.fingerprint = fingerprint;
+            this.parser = new SoftReference<>(parser);
+            this.typeCount = parser.getContext().getTypes().getAllTypes().size();
+        }
+    }
+}
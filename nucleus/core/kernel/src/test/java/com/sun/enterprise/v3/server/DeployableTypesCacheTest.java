@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.server;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.glassfish.hk2.classmodel.reflect.Parser;
+import org.glassfish.hk2.classmodel.reflect.ParsingContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class DeployableTypesCacheTest {
+
+    @TempDir
+    private Path dir;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void createExecutor() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void fingerprintChangesWithFiles() throws Exception {
+        Path app = Files.createDirectories(dir.resolve("app/WEB-INF/classes"));
+        Path library = Files.writeString(dir.resolve("library.jar"), "library");
+        Files.writeString(app.resolve("A.class"), "A");
+        List<URI> inputs = List.of(dir.resolve("app").toUri(), library.toUri());
+
+        String fingerprint = DeployableTypesCache.fingerprint(inputs);
+        assertThat(fingerprint, notNullValue());
+        assertThat(DeployableTypesCache.fingerprint(inputs), equalTo(fingerprint));
+
+        Files.writeString(app.resolve("B.class"), "B");
+        String withNewClass = DeployableTypesCache.fingerprint(inputs);
+        assertThat(withNewClass, not(equalTo(fingerprint)));
+
+        Files.setLastModifiedTime(library, FileTime.fromMillis(Files.getLastModifiedTime(library).toMillis() + 2000L));
+        assertThat(DeployableTypesCache.fingerprint(inputs), not(equalTo(withNewClass)));
+    }
+
+    @Test
+    public void noFingerprintForRemoteOrMissingFiles() throws Exception {
+        assertThat(DeployableTypesCache.fingerprint(List.of(URI.create("http://localhost/app.war"))), nullValue());
+        assertThat(DeployableTypesCache.fingerprint(List.of(dir.resolve("missing.war").toUri())), nullValue());
+    }
+
+    @Test
+    public void parserIsReusedForSameFingerprint() throws Exception {
+        DeployableTypesCache cache = new DeployableTypesCache(2);
+        URI first = URI.create("file:/first");
+        Parser parser = newParser();
+        cache.put(first, "1", parser);
+        assertThat(cache.get(first, "1"), sameInstance(parser));
+        assertThat(cache.get(first, "2"), nullValue());
+        assertThat("Changed archive is evicted", cache.get(first, "1"), nullValue());
+    }
+
+    @Test
+    public void parserGivenMoreFilesIsNotReused() throws Exception {
+        DeployableTypesCache cache = new DeployableTypesCache(2);
+        URI first = URI.create("file:/first");
+        Parser parser = newParser();
+        cache.put(first, "1", parser);
+
+        Path classFile = dir.resolve("classes").resolve(getClass().getName().replace('.', '/') + ".class");
+        Files.createDirectories(classFile.getParent());
+        try (InputStream classContent = getClass().getResourceAsStream(getClass().getSimpleName() + ".class")) {
+            Files.copy(classContent, classFile);
+        }
+        parser.parse(dir.resolve("classes").toFile(), null);
+        parser.awaitTermination();
+
+        assertThat(parser.getContext().getTypes().getBy(getClass().getName()), notNullValue());
+        assertThat(cache.get(first, "1"), nullValue());
+    }
+
+    @Test
+    public void leastRecentlyUsedParserIsEvicted() throws Exception {
+        DeployableTypesCache cache = new DeployableTypesCache(2);
+        URI first = URI.create("file:/first");
+        URI second = URI.create("file:/second");
+        URI third = URI.create("file:/third");
+        cache.put(first, "1", newParser());
+        cache.put(second, "2", newParser());
+        assertThat(cache.get(first, "1"), notNullValue());
+        cache.put(third, "3", newParser());
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.get(second, "2"), nullValue());
+        assertThat(cache.get(first, "1"), notNullValue());
+        assertThat(cache.get(third, "3"), notNullValue());
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertThat(System.getProperty(DeployableTypesCache.MAX_ENTRIES_PROPERTY), nullValue());
+        assertThat(DeployableTypesCache.create(), nullValue());
+    }
+
+    private Parser newParser() {
+        return new Parser(new ParsingContext.Builder().executorService(executor).build());
+    }
+}
@@ -19,6 +19,7 @@ package com.sun.enterprise.security;
 
 import java.lang.reflect.Method;
 import java.security.Principal;
+import java.util.concurrent.Callable;
 
 import javax.security.auth.Subject;
 
@@ -58,6 +59,22 @@ public interface SecurityManager {
 
     Object invoke(Object bean, Method beanClassMethod, Object[] methodParameters) throws Throwable;
 
+    /**
+     * Executes the bean class method like {@link #invoke(Object, Method, Object[])}, but lets the container
+     * call the method directly instead of through reflection.
+     *
+     * @param bean the bean instance
+     * @param beanClassMethod the bean class method
+     * @param methodParameters the parameters for the method
+     * @param directInvocation calls the bean class method; exceptions thrown by the method are not wrapped
+     * @return the result of the execution of the method
+     * @throws java.lang.reflect.InvocationTargetException wrapping any exception thrown by the method
+     */
+    default Object invoke(Object bean, Method beanClassMethod, Object[] methodParameters, Callable<Object> directInvocation)
+        throws Throwable {
+        return invoke(bean, beanClassMethod, methodParameters);
+    }
+
     /**
      * This method is used by the Invocation Manager to remove the run-as identity information that was set up using the preInvoke
      *